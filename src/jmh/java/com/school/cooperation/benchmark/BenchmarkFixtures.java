@@ -0,0 +1,99 @@
+package com.school.cooperation.benchmark;
+
+import com.school.cooperation.entity.User;
+import com.school.cooperation.entity.enums.UserRole;
+import com.school.cooperation.entity.enums.UserStatus;
+import com.school.cooperation.repository.UserRepository;
+import com.school.cooperation.security.JwtTokenProvider;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 基准测试公共数据
+ * 按 application.yml / application-prod.yml 的默认值构造组件，不启动Spring容器。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+final class BenchmarkFixtures {
+
+    static final String USERNAME = "teacher001";
+
+    /**
+     * 与 application-dev.yml 中 jwt.secret 长度一致的测试密钥
+     */
+    static final String JWT_SECRET = "mySecretKey123456789012345678901234567890";
+
+    static final long JWT_EXPIRATION = 7_200_000L;
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtTokenProvider jwtTokenProvider() {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", JWT_EXPIRATION);
+        ReflectionTestUtils.setField(provider, "refreshExpiration", 604_800_000L);
+        return provider;
+    }
+
+    /**
+     * 与登录接口（JwtUtils.generateToken）签发的访问令牌形状一致
+     */
+    static String accessToken(JwtTokenProvider provider) {
+        return provider.generateToken(USERNAME, Map.of("role", UserRole.TEACHER.name()));
+    }
+
+    static User user(String passwordHash) {
+        LocalDateTime now = LocalDateTime.now();
+        return User.builder()
+                .id(101L)
+                .username(USERNAME)
+                .password(passwordHash)
+                .realName("王老师")
+                .phone("13900000001")
+                .email("teacher1@homeschool.test")
+                .role(UserRole.TEACHER)
+                .status(UserStatus.ACTIVE)
+                .lastLoginTime(now)
+                .createdTime(now.minusYears(1))
+                .updatedTime(now)
+                .deleted(false)
+                .build();
+    }
+
+    static UserDetails userDetails(User user) {
+        return org.springframework.security.core.userdetails.User.builder()
+                .username(user.getUsername())
+                .password(user.getPassword())
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())))
+                .build();
+    }
+
+    /**
+     * 只实现按用户名查询的仓库桩，其余方法不应被调用
+     */
+    static UserRepository userRepository(User user) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findByUsernameAndDeletedFalse")) {
+                        return user.getUsername().equals(args[0]) ? Optional.of(user) : Optional.empty();
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            case "equals" -> proxy == args[0];
+                            default -> "UserRepositoryStub";
+                        };
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,64 @@
+package com.school.cooperation.benchmark;
+
+import com.school.cooperation.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT解析与校验基准
+ * 每个受保护请求在过滤器中依次调用 validateTokenFormat、getUsernameFromToken、validateToken，
+ * 各自完整解析一次令牌。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider provider;
+    private String token;
+    private UserDetails userDetails;
+
+    @Setup
+    public void setUp() {
+        provider = BenchmarkFixtures.jwtTokenProvider();
+        token = BenchmarkFixtures.accessToken(provider);
+        userDetails = BenchmarkFixtures.userDetails(BenchmarkFixtures.user("{noop}unused"));
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return provider.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public Boolean validateTokenFormat() {
+        return provider.validateTokenFormat(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return provider.validateToken(token, userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return BenchmarkFixtures.accessToken(provider);
+    }
+}
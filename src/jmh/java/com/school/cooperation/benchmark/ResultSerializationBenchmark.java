@@ -0,0 +1,87 @@
+package com.school.cooperation.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.cooperation.common.utils.PageResult;
+import com.school.cooperation.common.utils.Result;
+import com.school.cooperation.config.JacksonConfig;
+import com.school.cooperation.dto.LoginResponse;
+import com.school.cooperation.dto.UserResponse;
+import com.school.cooperation.entity.User;
+import com.school.cooperation.entity.enums.UserRole;
+import com.school.cooperation.entity.enums.UserStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 统一响应JSON序列化基准
+ * 使用 JacksonConfig 配置的 ObjectMapper 序列化分页用户列表与登录响应。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Result<PageResult<UserResponse>> pageResult;
+    private Result<LoginResponse> loginResult;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<UserResponse> users = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            UserResponse user = new UserResponse();
+            user.setId(1000L + i);
+            user.setUsername("parent" + i);
+            user.setRealName("家长" + i);
+            user.setPhone(String.format("137%08d", i));
+            user.setEmail("parent" + i + "@homeschool.test");
+            user.setRole(UserRole.PARENT);
+            user.setStatus(UserStatus.ACTIVE);
+            user.setLastLoginTime(now.minusHours(i));
+            user.setCreatedTime(now.minusDays(i));
+            user.setUpdatedTime(now);
+            users.add(user);
+        }
+        pageResult = Result.success(new PageResult<>(users, 1_000L, 1, pageSize));
+
+        User user = BenchmarkFixtures.user("{noop}unused");
+        loginResult = Result.success(LoginResponse.from("header.payload.signature", "refresh-token", 7200, user));
+    }
+
+    @Benchmark
+    public byte[] pageOfUsers() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageResult);
+    }
+
+    @Benchmark
+    public byte[] loginResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(loginResult);
+    }
+}
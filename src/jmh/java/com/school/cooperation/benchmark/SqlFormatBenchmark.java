@@ -0,0 +1,56 @@
+package com.school.cooperation.benchmark;
+
+import com.school.cooperation.config.HibernateSqlLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL格式化基准
+ * HibernateSqlLogger.formatSql 在SQL日志开启时对每条语句执行一次。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlFormatBenchmark {
+
+    @Param({"SELECT", "INSERT", "DDL"})
+    public String statement;
+
+    @Benchmark
+    public String formatSql() {
+        return HibernateSqlLogger.formatSql(sql());
+    }
+
+    private String sql() {
+        return switch (statement) {
+            case "SELECT" -> "select u1_0.id,u1_0.avatar,u1_0.created_by,u1_0.created_time,u1_0.deleted,u1_0.email,"
+                    + "u1_0.last_login_time,u1_0.password,u1_0.phone,u1_0.real_name,u1_0.role,u1_0.school_id,"
+                    + "u1_0.school_name,u1_0.status,u1_0.updated_by,u1_0.updated_time,u1_0.username "
+                    + "from sys_user u1_0 where u1_0.role=? and u1_0.status=? and u1_0.deleted=0 "
+                    + "order by u1_0.created_time desc limit ?,?";
+            case "INSERT" -> "insert into edu_student_record (class_id,content,created_by,created_time,deleted,"
+                    + "images,importance,is_public,notify_attempts,notify_next_time,parent_notified,category,"
+                    + "student_id,tags,teacher_id,term,title,type,updated_by,updated_time) "
+                    + "values (?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)";
+            default -> "create table sys_retention_checkpoint (id bigint not null auto_increment, "
+                    + "job_name varchar(64) not null, last_id bigint, lease_owner varchar(100), "
+                    + "lease_until datetime(6), updated_time datetime(6), primary key (id)) engine=InnoDB";
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.school.cooperation.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * 审计事件，对应 sys_log 的一行
+ * 参数与结果在请求线程上已完成脱敏和截断；user_id 由写入线程按用户名批量解析。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public record AuditEvent(String username, String operation, String method, String params, String result,
+                         String ip, String userAgent, long executeTime, boolean success, String errorMessage,
+                         LocalDateTime createdTime) {
+}
@@ -0,0 +1,228 @@
+package com.school.cooperation.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.school.cooperation.common.utils.ClientIpUtils;
+import com.school.cooperation.common.utils.Result;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 控制器操作审计
+ * 环绕 @RestController 的公开方法，记录操作名（取 @Operation 的 summary）、请求方法与路径、脱敏后的参数与结果、
+ * IP、耗时和执行状态，交给 {@link AuditLogWriter} 异步写入 sys_log；请求线程上不访问数据库。
+ * 默认只记录写操作，字段名包含 redact-keys 关键字的值替换为******，参数与结果序列化后按 max-field-length 截断。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "app.audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AuditLogAspect {
+
+    private static final String MASK = "******";
+
+    private final AuditLogWriter writer;
+    private final ObjectMapper objectMapper;
+    private final boolean includeReads;
+    private final boolean captureResult;
+    private final int maxFieldLength;
+    private final List<String> redactKeys;
+
+    public AuditLogAspect(AuditLogWriter writer,
+                          ObjectMapper objectMapper,
+                          @Value("${app.audit.include-reads:false}") boolean includeReads,
+                          @Value("${app.audit.capture-result:true}") boolean captureResult,
+                          @Value("${app.audit.max-field-length:2000}") int maxFieldLength,
+                          @Value("${app.audit.redact-keys:password,token,secret,credential,authorization}") List<String> redactKeys) {
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+        this.includeReads = includeReads;
+        this.captureResult = captureResult;
+        this.maxFieldLength = maxFieldLength;
+        this.redactKeys = redactKeys.stream().map(key -> key.trim().toLowerCase(Locale.ROOT)).toList();
+    }
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *) && execution(public * *(..))")
+    public Object audit(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)
+                || (!includeReads && "GET".equals(servletAttributes.getRequest().getMethod()))) {
+            return joinPoint.proceed();
+        }
+
+        long start = System.nanoTime();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            try {
+                writer.submit(buildEvent(joinPoint, servletAttributes.getRequest(), result, failure,
+                        (System.nanoTime() - start) / 1_000_000));
+            } catch (RuntimeException e) {
+                log.warn("审计事件构建失败: {}", joinPoint.getSignature().toShortString(), e);
+            }
+        }
+    }
+
+    private AuditEvent buildEvent(ProceedingJoinPoint joinPoint, HttpServletRequest request, Object result,
+                                  Throwable failure, long executeTime) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Operation operation = method.getAnnotation(Operation.class);
+        String operationName = operation != null && !operation.summary().isEmpty()
+                ? operation.summary() : method.getDeclaringClass().getSimpleName() + "." + method.getName();
+
+        ObjectNode params = captureParams(method, joinPoint.getArgs());
+        String username = currentUsername();
+        if (username == null && params.path("username").isTextual()) {
+            // 登录等匿名接口按提交的用户名归属
+            username = params.path("username").asText();
+        }
+
+        boolean success = failure == null;
+        String errorMessage = failure != null ? failure.getMessage() : null;
+        if (result instanceof Result<?> body && body.getCode() != null && body.getCode() != 0) {
+            success = false;
+            errorMessage = body.getMessage();
+        }
+
+        return new AuditEvent(
+                truncate(username, 50),
+                truncate(operationName, 100),
+                truncate(request.getMethod() + " " + request.getRequestURI(), 200),
+                truncate(params.isEmpty() ? null : params.toString(), maxFieldLength),
+                captureResult && result != null ? truncate(serialize(result), maxFieldLength) : null,
+                truncate(ClientIpUtils.getClientIp(request), 50),
+                truncate(request.getHeader("User-Agent"), 500),
+                executeTime,
+                success,
+                truncate(errorMessage, maxFieldLength),
+                LocalDateTime.now());
+    }
+
+    /**
+     * 参数按参数名组成JSON对象，@RequestBody 对象的字段直接展开
+     */
+    private ObjectNode captureParams(Method method, Object[] args) {
+        ObjectNode params = objectMapper.createObjectNode();
+        String[] names = Arrays.stream(method.getParameters()).map(Parameter::getName).toArray(String[]::new);
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg == null || arg instanceof ServletRequest || arg instanceof ServletResponse
+                    || arg instanceof BindingResult || arg instanceof Principal) {
+                continue;
+            }
+            if (arg instanceof MultipartFile file) {
+                params.put(names[i], file.getOriginalFilename());
+                continue;
+            }
+            JsonNode value = toTree(arg);
+            boolean requestBody = Arrays.stream(annotations[i]).anyMatch(a -> a instanceof RequestBody);
+            if (requestBody && value instanceof ObjectNode object) {
+                params.setAll(object);
+            } else {
+                params.set(names[i], value);
+            }
+        }
+        redact(params);
+        return params;
+    }
+
+    private String serialize(Object value) {
+        JsonNode tree = toTree(value);
+        redact(tree);
+        return tree.toString();
+    }
+
+    private JsonNode toTree(Object value) {
+        try {
+            return objectMapper.valueToTree(value);
+        } catch (IllegalArgumentException e) {
+            return objectMapper.getNodeFactory().textNode(value.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * 字段名包含敏感关键字的值替换为******
+     */
+    private void redact(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (isSensitive(field.getKey())) {
+                    field.setValue(objectMapper.getNodeFactory().textNode(MASK));
+                } else {
+                    redact(field.getValue());
+                }
+            }
+        } else if (node != null && node.isArray()) {
+            node.forEach(this::redact);
+        }
+    }
+
+    private boolean isSensitive(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        for (String key : redactKeys) {
+            if (!key.isEmpty() && lower.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, Math.max(0, maxLength - 3)) + "...";
+    }
+}
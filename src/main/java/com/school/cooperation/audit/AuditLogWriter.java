@@ -0,0 +1,196 @@
+package com.school.cooperation.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * sys_log 异步批量写入
+ * 请求线程只把事件放入 {@link AuditRingBuffer}，缓冲写满时丢弃并计数；单个后台线程攒满一批或等待超过
+ * flush-interval 后，先按用户名批量解析 user_id，再以 JDBC batch 写入。写入失败的批次记录日志后丢弃，
+ * 审计不影响业务请求；应用关闭时写完缓冲中剩余的事件。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AuditLogWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO sys_log (user_id, username, operation, method, params, result, "
+            + "ip, user_agent, execute_time, status, error_message, created_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String USER_ID_SQL = "SELECT id, username FROM sys_user WHERE username IN (:usernames) AND deleted = 0";
+
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final AuditRingBuffer buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    private final Counter enqueuedCounter;
+    private final Counter droppedCounter;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread worker;
+    private double reportedDropped;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.audit.buffer-size:8192}") int bufferSize,
+                          @Value("${app.audit.batch-size:500}") int batchSize,
+                          @Value("${app.audit.flush-interval:1000}") long flushIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.buffer = new AuditRingBuffer(bufferSize);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.enqueuedCounter = Counter.builder("audit.log.enqueued")
+                .description("进入审计缓冲的事件数")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.log.dropped")
+                .description("缓冲已满被丢弃的审计事件数")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("audit.log.written")
+                .description("写入 sys_log 的行数")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("audit.log.failed")
+                .description("写入失败被丢弃的审计事件数")
+                .register(meterRegistry);
+        meterRegistry.gauge("audit.log.pending", buffer, AuditRingBuffer::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("审计日志写入线程已启动: bufferSize={}, batchSize={}", buffer.capacity(), batchSize);
+    }
+
+    /**
+     * 提交审计事件（不阻塞，缓冲已满时丢弃）
+     */
+    public void submit(AuditEvent event) {
+        if (buffer.offer(event)) {
+            enqueuedCounter.increment();
+        } else {
+            droppedCounter.increment();
+        }
+    }
+
+    /**
+     * 停止写入线程，写完缓冲中剩余的事件
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private void run() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long deadline = 0;
+        while (true) {
+            boolean stopping = !running;
+            boolean wasEmpty = batch.isEmpty();
+            buffer.drainTo(batch, batchSize - batch.size());
+            if (wasEmpty && !batch.isEmpty()) {
+                deadline = System.nanoTime() + flushIntervalNanos;
+            }
+
+            if (batch.size() >= batchSize || (!batch.isEmpty() && (stopping || System.nanoTime() >= deadline))) {
+                write(batch);
+                batch.clear();
+                continue;
+            }
+            if (stopping) {
+                break;
+            }
+            LockSupport.parkNanos(POLL_NANOS);
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        reportDropped();
+        try {
+            Map<String, Long> userIds = resolveUserIds(batch);
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+                Long userId = event.username() != null ? userIds.get(event.username()) : null;
+                if (userId != null) {
+                    ps.setLong(1, userId);
+                } else {
+                    ps.setNull(1, Types.BIGINT);
+                }
+                ps.setString(2, event.username());
+                ps.setString(3, event.operation());
+                ps.setString(4, event.method());
+                ps.setString(5, event.params());
+                ps.setString(6, event.result());
+                ps.setString(7, event.ip());
+                ps.setString(8, event.userAgent());
+                ps.setLong(9, event.executeTime());
+                ps.setString(10, event.success() ? "SUCCESS" : "FAILURE");
+                ps.setString(11, event.errorMessage());
+                ps.setTimestamp(12, Timestamp.valueOf(event.createdTime()));
+            });
+            writtenCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            failedCounter.increment(batch.size());
+            log.error("审计日志批量写入失败，丢弃本批: count={}", batch.size(), e);
+        }
+    }
+
+    private Map<String, Long> resolveUserIds(List<AuditEvent> batch) {
+        Set<String> usernames = batch.stream()
+                .map(AuditEvent::username)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Long> userIds = new HashMap<>();
+        if (!usernames.isEmpty()) {
+            namedJdbcTemplate.query(USER_ID_SQL, Map.of("usernames", usernames),
+                    (RowCallbackHandler) rs -> userIds.put(rs.getString("username"), rs.getLong("id")));
+        }
+        return userIds;
+    }
+
+    /**
+     * 有新的丢弃事件时记录一次告警
+     */
+    private void reportDropped() {
+        double dropped = droppedCounter.count();
+        if (dropped > reportedDropped) {
+            log.warn("审计缓冲已满，丢弃 {} 条审计事件（累计 {}）", (long) (dropped - reportedDropped), (long) dropped);
+            reportedDropped = dropped;
+        }
+    }
+}
@@ -12,6 +12,16 @@ public interface ApiConstants {
      */
     String API_V1_PREFIX = "/api/v1";
 
+    /**
+     * 请求ID请求头（客户端未提供时由服务端生成并回写）
+     */
+    String REQUEST_ID_HEADER = "X-Request-Id";
+
+    /**
+     * 请求ID在日志MDC中的键
+     */
+    String REQUEST_ID_MDC_KEY = "requestId";
+
     /**
      * 认证相关路径
      */
@@ -0,0 +1,76 @@
+package com.school.cooperation.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按logger采样的日志过滤器
+ * 在 logback-spring.xml 中以 {@code <sample>logger前缀=N</sample>} 配置，匹配（最长前缀）的logger
+ * 在 INFO 及以下级别每N条只保留1条；WARN、ERROR 不采样。isXxxEnabled() 判断不计数，也不会被拒绝。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final Map<String, Integer> rules = new LinkedHashMap<>();
+
+    private final Map<String, Sampler> samplers = new ConcurrentHashMap<>();
+
+    /**
+     * 采样规则（每个logger保留1/N）
+     */
+    private record Sampler(int rate, AtomicLong counter) {
+    }
+
+    private static final Sampler NONE = new Sampler(1, new AtomicLong());
+
+    /**
+     * 添加采样规则，格式为 logger前缀=N
+     */
+    public void addSample(String rule) {
+        int separator = rule.lastIndexOf('=');
+        if (separator <= 0) {
+            addError("日志采样规则格式应为 logger=N: " + rule);
+            return;
+        }
+        try {
+            int rate = Integer.parseInt(rule.substring(separator + 1).trim());
+            rules.put(rule.substring(0, separator).trim(), Math.max(1, rate));
+        } catch (NumberFormatException e) {
+            addError("日志采样比例不是整数: " + rule);
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || level.isGreaterOrEqual(Level.WARN) || !isStarted()
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Sampler sampler = samplers.computeIfAbsent(logger.getName(), this::samplerFor);
+        if (sampler == NONE) {
+            return FilterReply.NEUTRAL;
+        }
+        return sampler.counter().getAndIncrement() % sampler.rate() == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Sampler samplerFor(String loggerName) {
+        String matched = null;
+        for (String prefix : rules.keySet()) {
+            boolean matches = loggerName.equals(prefix) || loggerName.startsWith(prefix + ".");
+            if (matches && (matched == null || prefix.length() > matched.length())) {
+                matched = prefix;
+            }
+        }
+        return matched == null || rules.get(matched) == 1 ? NONE : new Sampler(rules.get(matched), new AtomicLong());
+    }
+}
@@ -0,0 +1,32 @@
+package com.school.cooperation.common.utils;
+
+import java.time.LocalDateTime;
+
+/**
+ * 学期工具类
+ * 学期格式为"起始学年-结束学年-学期序号"，如 2025-2026-1；
+ * 9月至次年1月为第一学期，2月至8月为第二学期。
+ * 与 V10 迁移脚本及回填任务中的SQL表达式保持一致。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public final class AcademicTermUtils {
+
+    private AcademicTermUtils() {
+    }
+
+    /**
+     * 计算时间所属学期
+     */
+    public static String termOf(LocalDateTime time) {
+        if (time == null) {
+            return null;
+        }
+        int year = time.getYear();
+        int month = time.getMonthValue();
+        int startYear = month >= 9 ? year : year - 1;
+        int termNo = month >= 9 || month == 1 ? 1 : 2;
+        return startYear + "-" + (startYear + 1) + "-" + termNo;
+    }
+}
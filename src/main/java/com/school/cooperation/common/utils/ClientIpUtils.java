@@ -0,0 +1,33 @@
+package com.school.cooperation.common.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 客户端IP工具类
+ * 依次取 X-Forwarded-For 的第一个地址、X-Real-IP，均缺失时取连接的远端地址。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public final class ClientIpUtils {
+
+    private ClientIpUtils() {
+    }
+
+    /**
+     * 获取客户端IP地址
+     */
+    public static String getClientIp(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty() && !"unknown".equalsIgnoreCase(xForwardedFor)) {
+            return xForwardedFor.split(",")[0].trim();
+        }
+
+        String xRealIp = request.getHeader("X-Real-IP");
+        if (xRealIp != null && !xRealIp.isEmpty() && !"unknown".equalsIgnoreCase(xRealIp)) {
+            return xRealIp;
+        }
+
+        return request.getRemoteAddr();
+    }
+}
@@ -1,8 +1,10 @@
 package com.school.cooperation.common.utils;
 
+import com.school.cooperation.common.constant.ApiConstants;
 import com.school.cooperation.common.constant.ErrorCode;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
+import org.slf4j.MDC;
 
 import java.time.LocalDateTime;
 
@@ -32,6 +34,8 @@ public class Result<T> {
 
     public Result() {
         this.timestamp = LocalDateTime.now().toString();
+        // 与日志中的请求ID一致，便于按响应定位日志
+        this.requestId = MDC.get(ApiConstants.REQUEST_ID_MDC_KEY);
     }
 
     public Result(Integer code, String message) {
@@ -0,0 +1,70 @@
+package com.school.cooperation.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * 单请求数据库耗时归集配置
+ * 包装数据源以统计每个API请求的语句数、JDBC耗时、取回行数和取连接等待时间，
+ * 输出 Server-Timing 响应头与按接口打标签的指标，并采样慢请求供 /actuator/slowrequests 查看。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.db-profile", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DbProfileConfig {
+
+    @Value("${app.db-profile.slow-threshold-millis:500}")
+    private long slowThresholdMillis;
+
+    @Value("${app.db-profile.sample-capacity:100}")
+    private int sampleCapacity;
+
+    @Value("${app.db-profile.max-statements-per-sample:50}")
+    private int maxStatementsPerSample;
+
+    /**
+     * 包装所有数据源（未开启归集的线程直接透传）
+     */
+    @Bean
+    public static BeanPostProcessor dbTimingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DbTimingDataSource)) {
+                    return new DbTimingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SlowRequestSampler slowRequestSampler() {
+        return new SlowRequestSampler(sampleCapacity);
+    }
+
+    @Bean
+    public FilterRegistrationBean<DbProfileFilter> dbProfileFilter(MeterRegistry meterRegistry,
+                                                                   SlowRequestSampler slowRequestSampler) {
+        FilterRegistrationBean<DbProfileFilter> registration = new FilterRegistrationBean<>(
+                new DbProfileFilter(meterRegistry, slowRequestSampler, slowThresholdMillis, maxStatementsPerSample));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    @Bean
+    public SlowRequestEndpoint slowRequestEndpoint(SlowRequestSampler slowRequestSampler) {
+        return new SlowRequestEndpoint(slowRequestSampler);
+    }
+}
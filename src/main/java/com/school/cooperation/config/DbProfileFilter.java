@@ -0,0 +1,88 @@
+package com.school.cooperation.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单请求数据库耗时归集过滤器
+ * 排在安全过滤器之前，JWT认证阶段的用户查询也计入本请求；请求结束后写入
+ * http.server.requests.db（JDBC耗时）、http.server.requests.db.connection（取连接等待）与
+ * http.server.requests.db.rows（取回行数）指标（按 method/uri 打标签），超过慢请求阈值的请求连同语句明细交给
+ * {@link SlowRequestSampler}。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public class DbProfileFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final SlowRequestSampler sampler;
+    private final long slowThresholdNanos;
+    private final int maxStatementsPerSample;
+
+    public DbProfileFilter(MeterRegistry meterRegistry, SlowRequestSampler sampler,
+                           long slowThresholdMillis, int maxStatementsPerSample) {
+        this.meterRegistry = meterRegistry;
+        this.sampler = sampler;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.maxStatementsPerSample = maxStatementsPerSample;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestDbProfile profile = RequestDbProfile.begin(maxStatementsPerSample);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestDbProfile.end();
+            record(request, response, profile);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestDbProfile profile) {
+        long elapsedNanos = profile.getElapsedNanos();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        Timer.builder("http.server.requests.db")
+                .description("单请求JDBC语句执行耗时")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(profile.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("http.server.requests.db.connection")
+                .description("单请求获取数据库连接的等待耗时")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(profile.getConnectionWaitNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("http.server.requests.db.rows")
+                .description("单请求从结果集读取的行数")
+                .baseUnit("rows")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(profile.getRows());
+
+        if (elapsedNanos >= slowThresholdNanos) {
+            sampler.offer(new SlowRequestSampler.SlowRequest(Instant.now(), method, uri, request.getRequestURI(),
+                    response.getStatus(), elapsedNanos / 1_000_000.0, profile.getJdbcNanos() / 1_000_000.0,
+                    profile.getConnectionWaitNanos() / 1_000_000.0, profile.getConnections(),
+                    profile.getStatements(), profile.getRows(), profile.getStatementSamples(),
+                    profile.getDroppedStatements()));
+        }
+    }
+}
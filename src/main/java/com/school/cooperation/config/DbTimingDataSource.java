@@ -0,0 +1,131 @@
+package com.school.cooperation.config;
+
+import com.school.cooperation.config.RequestDbProfile.StatementTrace;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 计时数据源
+ * 当前线程存在 {@link RequestDbProfile} 时，记录取连接等待时间，并代理连接、语句与结果集，
+ * 累加语句执行耗时和读取的行数；否则直接返回连接池的原始连接，不产生额外开销。
+ * 继承 DelegatingDataSource，连接池指标等按 unwrap 访问底层连接池的功能不受影响。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public class DbTimingDataSource extends DelegatingDataSource {
+
+    public DbTimingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        RequestDbProfile profile = RequestDbProfile.current();
+        if (profile == null) {
+            return super.getConnection();
+        }
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        profile.connectionAcquired(System.nanoTime() - start);
+        return proxy(Connection.class, new ConnectionHandler(connection, profile));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        RequestDbProfile profile = RequestDbProfile.current();
+        if (profile == null) {
+            return super.getConnection(username, password);
+        }
+        long start = System.nanoTime();
+        Connection connection = super.getConnection(username, password);
+        profile.connectionAcquired(System.nanoTime() - start);
+        return proxy(Connection.class, new ConnectionHandler(connection, profile));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(DbTimingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private record ConnectionHandler(Connection target, RequestDbProfile profile) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = DbTimingDataSource.invoke(target, method, args);
+            String name = method.getName();
+            if (result instanceof CallableStatement statement && name.equals("prepareCall")) {
+                return proxy(CallableStatement.class, new StatementHandler(statement, (String) args[0], profile));
+            }
+            if (result instanceof PreparedStatement statement && name.equals("prepareStatement")) {
+                return proxy(PreparedStatement.class, new StatementHandler(statement, (String) args[0], profile));
+            }
+            if (result instanceof Statement statement && name.equals("createStatement")) {
+                return proxy(Statement.class, new StatementHandler(statement, null, profile));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final RequestDbProfile profile;
+        private StatementTrace lastTrace;
+
+        private StatementHandler(Statement target, String preparedSql, RequestDbProfile profile) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.profile = profile;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                long start = System.nanoTime();
+                try {
+                    Object result = DbTimingDataSource.invoke(target, method, args);
+                    lastTrace = profile.statementExecuted(sql, System.nanoTime() - start);
+                    return result instanceof ResultSet resultSet ? wrap(resultSet) : result;
+                } catch (Throwable e) {
+                    lastTrace = profile.statementExecuted(sql, System.nanoTime() - start);
+                    throw e;
+                }
+            }
+            Object result = DbTimingDataSource.invoke(target, method, args);
+            return result instanceof ResultSet resultSet && name.equals("getResultSet") ? wrap(resultSet) : result;
+        }
+
+        private ResultSet wrap(ResultSet resultSet) {
+            StatementTrace trace = lastTrace;
+            return proxy(ResultSet.class, (proxy, method, args) -> {
+                Object result = DbTimingDataSource.invoke(resultSet, method, args);
+                if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                    profile.rowFetched(trace);
+                }
+                return result;
+            });
+        }
+    }
+}
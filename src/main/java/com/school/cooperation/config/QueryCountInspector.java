@@ -0,0 +1,39 @@
+package com.school.cooperation.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 单请求SQL语句数阈值检查
+ * Hibernate 每预编译一条语句回调一次，语句数取自 {@link RequestDbProfile}（与 {@link DbProfileFilter} 的指标同源，
+ * 不另行计数）；未开启归集的线程（定时任务、异步线程，或 app.db-profile.enabled=false）不检查。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+public class QueryCountInspector implements StatementInspector {
+
+    private final int maxStatements;
+    private final boolean failOnExceed;
+
+    public QueryCountInspector(int maxStatements, boolean failOnExceed) {
+        this.maxStatements = maxStatements;
+        this.failOnExceed = failOnExceed;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        RequestDbProfile profile = RequestDbProfile.current();
+        // 归集在语句执行后计数，当前语句尚未计入
+        if (profile != null && failOnExceed && profile.getStatements() + 1 > maxStatements
+                && profile.markStatementLimitExceeded()) {
+            throw new IllegalStateException("单请求SQL语句数超过阈值" + maxStatements + "，疑似N+1查询: " + sql);
+        }
+        return sql;
+    }
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+}
@@ -0,0 +1,62 @@
+package com.school.cooperation.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 按接口统计SQL语句数
+ * 请求结束后将 {@link RequestDbProfile} 归集的语句数写入 http.server.requests.sql 指标（按 method/uri 打标签，
+ * 与 http.server.requests.db 系列指标同源），超过阈值时记录告警；语句数同时放入请求属性，便于测试读取。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+public class QueryCountInterceptor implements HandlerInterceptor {
+
+    /**
+     * 请求属性：本次请求执行的SQL语句数
+     */
+    public static final String STATEMENT_COUNT_ATTRIBUTE = QueryCountInterceptor.class.getName() + ".statements";
+
+    private static final String METRIC_NAME = "http.server.requests.sql";
+
+    private final QueryCountInspector inspector;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountInterceptor(QueryCountInspector inspector, MeterRegistry meterRegistry) {
+        this.inspector = inspector;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        // DbProfileFilter 包裹整个分发过程，此处归集仍绑定在当前线程
+        RequestDbProfile profile = RequestDbProfile.current();
+        if (profile == null) {
+            return;
+        }
+        int statements = profile.getStatements();
+        request.setAttribute(STATEMENT_COUNT_ATTRIBUTE, statements);
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder(METRIC_NAME)
+                .description("单请求执行的SQL语句数")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements);
+
+        if (statements > inspector.getMaxStatements()) {
+            log.warn("单请求SQL语句数超过阈值，疑似N+1查询: {} {}, statements={}, threshold={}",
+                    request.getMethod(), uri, statements, inspector.getMaxStatements());
+        }
+    }
+}
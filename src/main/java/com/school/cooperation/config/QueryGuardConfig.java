@@ -0,0 +1,52 @@
+package com.school.cooperation.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * N+1查询防护配置
+ * 按 {@link RequestDbProfile} 归集的每请求SQL语句数输出指标，超过阈值时告警（测试环境可直接失败）；
+ * 依赖 app.db-profile 归集，关闭归集时不计数。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.query-guard", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryGuardConfig implements WebMvcConfigurer {
+
+    @Value("${app.query-guard.max-statements-per-request:30}")
+    private int maxStatements;
+
+    @Value("${app.query-guard.fail-on-exceed:false}")
+    private boolean failOnExceed;
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryGuardConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public QueryCountInspector queryCountInspector() {
+        return new QueryCountInspector(maxStatements, failOnExceed);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer(QueryCountInspector queryCountInspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCountInspector);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryCountInterceptor(queryCountInspector(), meterRegistry))
+                .addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,162 @@
+package com.school.cooperation.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 单请求数据库耗时归集
+ * 由 {@link DbProfileFilter} 在请求开始时绑定到当前线程，{@link DbTimingDataSource} 在取连接、执行语句和
+ * 读取结果行时累加；不在请求线程上执行的语句（定时任务、异步线程）不计入。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public final class RequestDbProfile {
+
+    private static final ThreadLocal<RequestDbProfile> CURRENT = new ThreadLocal<>();
+
+    private static final int MAX_SQL_LENGTH = 500;
+
+    private final long startNanos = System.nanoTime();
+    private final int maxStatementSamples;
+    private final List<StatementTrace> traces = new ArrayList<>();
+    private int statements;
+    private long jdbcNanos;
+    private long rows;
+    private int connections;
+    private long connectionWaitNanos;
+    private int droppedStatements;
+    private boolean statementLimitExceeded;
+
+    /**
+     * 语句明细（耗时单位毫秒）
+     */
+    public record StatementSample(String sql, double millis, long rows) {
+    }
+
+    /**
+     * 执行中的语句，结果集读取时继续累加行数
+     */
+    static final class StatementTrace {
+        private final String sql;
+        private final long nanos;
+        private long rows;
+
+        private StatementTrace(String sql, long nanos) {
+            this.sql = sql;
+            this.nanos = nanos;
+        }
+    }
+
+    private RequestDbProfile(int maxStatementSamples) {
+        this.maxStatementSamples = maxStatementSamples;
+    }
+
+    /**
+     * 为当前线程开始归集
+     */
+    static RequestDbProfile begin(int maxStatementSamples) {
+        RequestDbProfile profile = new RequestDbProfile(maxStatementSamples);
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    /**
+     * 当前线程的归集，未开启时返回null
+     */
+    static RequestDbProfile current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    void connectionAcquired(long nanos) {
+        connections++;
+        connectionWaitNanos += nanos;
+    }
+
+    StatementTrace statementExecuted(String sql, long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+        StatementTrace trace = new StatementTrace(sql, nanos);
+        if (traces.size() < maxStatementSamples) {
+            traces.add(trace);
+        } else {
+            droppedStatements++;
+        }
+        return trace;
+    }
+
+    /**
+     * 标记已超出语句数阈值
+     *
+     * @return 首次标记时返回true（超限只报告一次，避免回滚等后续语句重复失败）
+     */
+    boolean markStatementLimitExceeded() {
+        if (statementLimitExceeded) {
+            return false;
+        }
+        statementLimitExceeded = true;
+        return true;
+    }
+
+    void rowFetched(StatementTrace trace) {
+        rows++;
+        if (trace != null) {
+            trace.rows++;
+        }
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public int getConnections() {
+        return connections;
+    }
+
+    public long getConnectionWaitNanos() {
+        return connectionWaitNanos;
+    }
+
+    public int getDroppedStatements() {
+        return droppedStatements;
+    }
+
+    /**
+     * 语句明细（超出上限的部分只计数不保留）
+     */
+    public List<StatementSample> getStatementSamples() {
+        List<StatementSample> samples = new ArrayList<>(traces.size());
+        for (StatementTrace trace : traces) {
+            String sql = trace.sql == null ? "" : trace.sql.length() > MAX_SQL_LENGTH
+                    ? trace.sql.substring(0, MAX_SQL_LENGTH) + "..." : trace.sql;
+            samples.add(new StatementSample(sql, trace.nanos / 1_000_000.0, trace.rows));
+        }
+        return samples;
+    }
+
+    /**
+     * Server-Timing 响应头：db 为JDBC执行耗时，conn 为取连接等待，app 为到写响应体为止的处理耗时
+     */
+    String serverTiming() {
+        return String.format(Locale.ROOT, "db;dur=%.1f;desc=\"%d statements, %d rows\", conn;dur=%.1f, app;dur=%.1f",
+                jdbcNanos / 1_000_000.0, statements, rows, connectionWaitNanos / 1_000_000.0,
+                getElapsedNanos() / 1_000_000.0);
+    }
+}
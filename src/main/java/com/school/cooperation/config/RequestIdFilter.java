@@ -0,0 +1,47 @@
+package com.school.cooperation.config;
+
+import com.school.cooperation.common.constant.ApiConstants;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * 请求ID过滤器
+ * 沿用客户端或网关传入的 X-Request-Id（格式不合法时重新生成），放入日志MDC并回写到响应头，
+ * {@link com.school.cooperation.common.utils.Result} 的 requestId 取自同一值。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestIdFilter extends OncePerRequestFilter {
+
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{8,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(ApiConstants.REQUEST_ID_HEADER);
+        if (requestId == null || !VALID_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString().replace("-", "");
+        }
+        MDC.put(ApiConstants.REQUEST_ID_MDC_KEY, requestId);
+        response.setHeader(ApiConstants.REQUEST_ID_HEADER, requestId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(ApiConstants.REQUEST_ID_MDC_KEY);
+        }
+    }
+}
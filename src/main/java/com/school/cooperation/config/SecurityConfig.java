@@ -1,5 +1,6 @@
 package com.school.cooperation.config;
 
+import com.school.cooperation.common.constant.RoleConstant;
 import com.school.cooperation.security.JwtAccessDeniedHandler;
 import com.school.cooperation.security.JwtAuthenticationEntryPoint;
 import com.school.cooperation.security.JwtAuthenticationFilter;
@@ -114,6 +115,9 @@ public class SecurityConfig {
                 // Actuator 端点
                 .requestMatchers("/actuator/health").permitAll()
                 .requestMatchers("/actuator/info").permitAll()
+                // 诊断端点（JFR录制、类直方图、堆转储、慢请求采样）仅管理员可用
+                .requestMatchers("/actuator/jfr/**", "/actuator/classhistogram", "/actuator/heapdump",
+                        "/actuator/threaddump", "/actuator/slowrequests").hasRole(RoleConstant.ADMIN)
 
                 // 健康检查端点
                 .requestMatchers("/health/**").permitAll()
@@ -0,0 +1,41 @@
+package com.school.cooperation.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 输出 Server-Timing 响应头
+ * 在写响应体之前（响应提交前）根据当前请求的 {@link RequestDbProfile} 添加响应头，
+ * 浏览器开发者工具可直接查看；app 不含响应体序列化耗时。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "app.db-profile", name = {"enabled", "server-timing"}, havingValue = "true", matchIfMissing = true)
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String HEADER = "Server-Timing";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestDbProfile profile = RequestDbProfile.current();
+        if (profile != null && !response.getHeaders().containsKey(HEADER)) {
+            response.getHeaders().add(HEADER, profile.serverTiming());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,34 @@
+package com.school.cooperation.config;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * 慢请求采样端点
+ * GET /actuator/slowrequests 查看最近的慢请求（最新在前），DELETE 清空缓冲。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Endpoint(id = "slowrequests")
+public class SlowRequestEndpoint {
+
+    private final SlowRequestSampler sampler;
+
+    public SlowRequestEndpoint(SlowRequestSampler sampler) {
+        this.sampler = sampler;
+    }
+
+    @ReadOperation
+    public List<SlowRequestSampler.SlowRequest> slowRequests() {
+        return sampler.snapshot();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        sampler.clear();
+    }
+}
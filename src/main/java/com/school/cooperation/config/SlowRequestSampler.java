@@ -0,0 +1,56 @@
+package com.school.cooperation.config;
+
+import com.school.cooperation.config.RequestDbProfile.StatementSample;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 慢请求采样
+ * 固定容量的环形缓冲，保留最近的慢请求及其语句明细，写满后淘汰最早的记录。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public class SlowRequestSampler {
+
+    private final int capacity;
+    private final Deque<SlowRequest> samples;
+
+    /**
+     * 慢请求记录（耗时单位毫秒）
+     */
+    public record SlowRequest(Instant time, String method, String uri, String path, int status,
+                              double totalMillis, double dbMillis, double connectionWaitMillis, int connections,
+                              int statementCount, long rows, List<StatementSample> statements,
+                              int droppedStatements) {
+    }
+
+    public SlowRequestSampler(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.samples = new ArrayDeque<>(this.capacity);
+    }
+
+    public synchronized void offer(SlowRequest request) {
+        if (samples.size() == capacity) {
+            samples.pollFirst();
+        }
+        samples.addLast(request);
+    }
+
+    /**
+     * 按时间倒序返回当前缓冲中的慢请求
+     */
+    public synchronized List<SlowRequest> snapshot() {
+        List<SlowRequest> result = new ArrayList<>(samples.size());
+        samples.descendingIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    public synchronized void clear() {
+        samples.clear();
+    }
+}
@@ -37,28 +37,21 @@ public class SqlPerformanceInterceptor {
         long endTime = System.currentTimeMillis();
         long executionTime = endTime - execution.getStartTime();
 
-        // 格式化SQL
-        String formattedSql = HibernateSqlLogger.formatSql(execution.getSql());
+        // 更新统计信息（按原始SQL归并）
+        updateStats(execution.getSql(), executionTime);
 
-        // 记录普通日志
-        if (log.isInfoEnabled()) {
-            String paramsStr = formatParametersForLog(parameters);
-            log.info("SQL Executed ({}ms): {}", executionTime, formattedSql);
-            if (!paramsStr.isEmpty()) {
-                log.info("Parameters: {}", paramsStr);
-            }
+        boolean slow = executionTime > SLOW_SQL_THRESHOLD;
+        if (!slow && !log.isDebugEnabled()) {
+            return;
         }
 
-        // 检查是否为慢SQL
-        if (executionTime > SLOW_SQL_THRESHOLD) {
-            log.warn("!!! SLOW SQL DETECTED ({}ms) !!!", executionTime);
-            log.warn("SQL: {}", formattedSql);
-            log.warn("Parameters: {}", formatParametersForLog(parameters));
-            log.warn("----------------------------------------");
+        // 格式化SQL（仅在需要输出时）
+        String formattedSql = HibernateSqlLogger.formatSql(execution.getSql());
+        if (slow) {
+            log.warn("慢SQL ({}ms): {}, parameters: {}", executionTime, formattedSql, formatParametersForLog(parameters));
+        } else {
+            log.debug("SQL Executed ({}ms): {}, parameters: {}", executionTime, formattedSql, formatParametersForLog(parameters));
         }
-
-        // 更新统计信息
-        updateStats(formattedSql, executionTime);
     }
 
     /**
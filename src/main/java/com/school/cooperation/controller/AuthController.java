@@ -1,6 +1,7 @@
 package com.school.cooperation.controller;
 
 import com.school.cooperation.common.constant.ApiConstants;
+import com.school.cooperation.common.utils.ClientIpUtils;
 import com.school.cooperation.common.utils.Result;
 import com.school.cooperation.dto.ChangePasswordRequest;
 import com.school.cooperation.dto.LoginRequest;
@@ -45,7 +46,7 @@ public class AuthController {
             HttpServletRequest request) {
         try {
             log.info("用户登录请求: username={}, ip={}",
-                    loginRequest.getUsername(), getClientIpAddress(request));
+                    loginRequest.getUsername(), ClientIpUtils.getClientIp(request));
 
             // 调用认证服务进行登录
             LoginResponse loginResponse = authService.login(loginRequest);
@@ -73,7 +74,7 @@ public class AuthController {
             HttpServletRequest request) {
         try {
             log.info("家长登录请求: username={}, ip={}",
-                    loginRequest.getUsername(), getClientIpAddress(request));
+                    loginRequest.getUsername(), ClientIpUtils.getClientIp(request));
 
             // 调用认证服务进行家长登录
             LoginResponse loginResponse = authService.parentLogin(loginRequest);
@@ -229,7 +230,7 @@ public class AuthController {
             HttpServletRequest request) {
         try {
             log.info("密码重置请求: username={}, ip={}",
-                    passwordResetRequest.getUsername(), getClientIpAddress(request));
+                    passwordResetRequest.getUsername(), ClientIpUtils.getClientIp(request));
 
             // 调用认证服务重置密码
             authService.resetPassword(passwordResetRequest);
@@ -265,21 +266,4 @@ public class AuthController {
             return Result.error("获取用户信息失败: " + e.getMessage());
         }
     }
-
-    /**
-     * 获取客户端IP地址
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty() && !"unknown".equalsIgnoreCase(xForwardedFor)) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty() && !"unknown".equalsIgnoreCase(xRealIp)) {
-            return xRealIp;
-        }
-
-        return request.getRemoteAddr();
-    }
 }
\ No newline at end of file
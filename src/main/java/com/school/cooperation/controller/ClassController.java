@@ -3,8 +3,9 @@ package com.school.cooperation.controller;
 import com.school.cooperation.common.utils.Result;
 import com.school.cooperation.dto.ClassCreateRequest;
 import com.school.cooperation.dto.ClassUpdateRequest;
+import com.school.cooperation.dto.ClassSummary;
+import com.school.cooperation.dto.StudentSummary;
 import com.school.cooperation.entity.EduClass;
-import com.school.cooperation.entity.Student;
 import com.school.cooperation.entity.User;
 import com.school.cooperation.entity.enums.ClassStatus;
 import com.school.cooperation.service.ClassService;
@@ -114,8 +115,8 @@ public class ClassController {
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @Operation(summary = "获取所有班级", description = "获取所有班级列表")
-    public Result<List<EduClass>> getAllClasses() {
-        List<EduClass> classes = classService.findAll();
+    public Result<List<ClassSummary>> getAllClasses() {
+        List<ClassSummary> classes = classService.findAll();
         return Result.success(classes);
     }
 
@@ -125,11 +126,11 @@ public class ClassController {
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @Operation(summary = "根据状态获取班级列表", description = "根据班级状态获取班级列表")
-    public Result<List<EduClass>> getClassesByStatus(
+    public Result<List<ClassSummary>> getClassesByStatus(
             @Parameter(description = "班级状态", required = true)
             @PathVariable ClassStatus status) {
 
-        List<EduClass> classes = classService.findByStatus(status);
+        List<ClassSummary> classes = classService.findByStatus(status);
         return Result.success(classes);
     }
 
@@ -139,11 +140,11 @@ public class ClassController {
     @GetMapping("/grade/{grade}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @Operation(summary = "根据年级获取班级列表", description = "根据年级获取班级列表")
-    public Result<List<EduClass>> getClassesByGrade(
+    public Result<List<ClassSummary>> getClassesByGrade(
             @Parameter(description = "年级", required = true)
             @PathVariable Integer grade) {
 
-        List<EduClass> classes = classService.findByGrade(grade);
+        List<ClassSummary> classes = classService.findByGrade(grade);
         return Result.success(classes);
     }
 
@@ -153,11 +154,11 @@ public class ClassController {
     @GetMapping("/teacher/{teacherId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @Operation(summary = "根据班主任获取班级列表", description = "根据班主任ID获取班级列表")
-    public Result<List<EduClass>> getClassesByTeacher(
+    public Result<List<ClassSummary>> getClassesByTeacher(
             @Parameter(description = "班主任ID", required = true)
             @PathVariable Long teacherId) {
 
-        List<EduClass> classes = classService.findByTeacherId(teacherId);
+        List<ClassSummary> classes = classService.findByTeacherId(teacherId);
         return Result.success(classes);
     }
 
@@ -196,11 +197,11 @@ public class ClassController {
     @GetMapping("/{id}/students")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @Operation(summary = "获取班级学生", description = "获取指定班级的所有学生")
-    public Result<List<Student>> getStudentsByClass(
+    public Result<List<StudentSummary>> getStudentsByClass(
             @Parameter(description = "班级ID", required = true)
             @PathVariable Long id) {
 
-        List<Student> students = classService.getStudentsByClass(id);
+        List<StudentSummary> students = classService.getStudentSummariesByClass(id);
         return Result.success(students);
     }
 
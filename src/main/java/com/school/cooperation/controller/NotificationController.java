@@ -0,0 +1,122 @@
+package com.school.cooperation.controller;
+
+import com.school.cooperation.common.exception.BusinessException;
+import com.school.cooperation.common.utils.Result;
+import com.school.cooperation.dto.BroadcastCreateRequest;
+import com.school.cooperation.dto.NotificationFeedItem;
+import com.school.cooperation.entity.Broadcast;
+import com.school.cooperation.entity.User;
+import com.school.cooperation.service.NotificationService;
+import com.school.cooperation.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 通知控制器
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "通知管理", description = "通知信息流与广播相关接口")
+public class NotificationController {
+
+    private final NotificationService notificationService;
+    private final UserService userService;
+
+    /**
+     * 获取当前用户的通知信息流
+     */
+    @GetMapping("/feed")
+    @Operation(summary = "获取通知信息流", description = "合并个人通知与全校/年级/班级广播，按(时间, 来源, ID)倒序游标分页")
+    public Result<List<NotificationFeedItem>> getFeed(
+            @Parameter(description = "游标时间（上一页最后一条的创建时间）")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @Parameter(description = "游标ID（上一页最后一条的ID）")
+            @RequestParam(required = false) Long beforeId,
+            @Parameter(description = "游标来源（上一页最后一条的来源）", example = "PERSONAL")
+            @RequestParam(required = false) String beforeSource,
+            @Parameter(description = "条目数量", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+
+        List<NotificationFeedItem> feed = notificationService.getFeed(currentUser().getId(), before, beforeId,
+                beforeSource, size);
+        return Result.success(feed);
+    }
+
+    /**
+     * 获取当前用户的未读数量
+     */
+    @GetMapping("/unread-count")
+    @Operation(summary = "获取未读数量", description = "统计个人通知与广播通知的未读总数")
+    public Result<Long> getUnreadCount() {
+        return Result.success(notificationService.countUnread(currentUser().getId()));
+    }
+
+    /**
+     * 标记个人通知为已读
+     */
+    @PutMapping("/read")
+    @Operation(summary = "标记通知已读", description = "批量标记当前用户的个人通知为已读")
+    public Result<Void> markAsRead(@RequestBody List<Long> notificationIds) {
+        notificationService.markAsRead(currentUser().getId(), notificationIds);
+        return Result.success();
+    }
+
+    /**
+     * 标记广播通知为已读
+     */
+    @PutMapping("/broadcasts/read")
+    @Operation(summary = "标记广播已读", description = "批量标记当前用户可见的广播通知为已读")
+    public Result<Void> markBroadcastsAsRead(@RequestBody List<Long> broadcastIds) {
+        notificationService.markBroadcastsAsRead(currentUser().getId(), broadcastIds);
+        return Result.success();
+    }
+
+    /**
+     * 全部标记为已读
+     */
+    @PutMapping("/read-all")
+    @Operation(summary = "全部标记已读", description = "标记当前用户全部个人通知与广播通知为已读")
+    public Result<Void> markAllAsRead() {
+        notificationService.markAllAsRead(currentUser().getId());
+        return Result.success();
+    }
+
+    /**
+     * 发布广播通知
+     */
+    @PostMapping("/broadcasts")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SCHOOL_ADMIN') or hasRole('TEACHER')")
+    @Operation(summary = "发布广播通知", description = "向全校/年级/班级发布通知，仅写入一条广播记录")
+    public Result<Broadcast> publishBroadcast(@Valid @RequestBody BroadcastCreateRequest request) {
+        Broadcast broadcast = notificationService.publishBroadcast(currentUser().getId(), request);
+        return Result.success(broadcast);
+    }
+
+    /**
+     * 获取当前登录用户
+     */
+    private User currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return userService.findByUsername(authentication.getName())
+                .orElseThrow(() -> new BusinessException(404, "用户不存在"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.school.cooperation.controller;
+
+import com.school.cooperation.common.exception.BusinessException;
+import com.school.cooperation.common.utils.Result;
+import com.school.cooperation.dto.RecordDetailResponse;
+import com.school.cooperation.dto.RecordTimeline;
+import com.school.cooperation.entity.User;
+import com.school.cooperation.service.RecordService;
+import com.school.cooperation.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 学生档案记录控制器
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/records")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "档案记录", description = "学生档案时间线与记录详情接口")
+public class RecordController {
+
+    private final RecordService recordService;
+    private final UserService userService;
+
+    /**
+     * 获取学生档案时间线
+     */
+    @GetMapping("/timeline")
+    @Operation(summary = "获取学生档案时间线", description = "按时间倒序游标分页返回记录摘要，家长只能看到公开记录")
+    public Result<RecordTimeline> getTimeline(
+            @Parameter(description = "学生ID", required = true)
+            @RequestParam Long studentId,
+            @Parameter(description = "游标时间（上一页返回的 nextBeforeTime）")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTime,
+            @Parameter(description = "游标记录ID（上一页返回的 nextBeforeId）")
+            @RequestParam(required = false) Long beforeId,
+            @Parameter(description = "归档游标时间（上一页返回的 nextArchiveBeforeTime）")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime archiveBeforeTime,
+            @Parameter(description = "归档游标记录ID（上一页返回的 nextArchiveBeforeId）")
+            @RequestParam(required = false) Long archiveBeforeId,
+            @Parameter(description = "条目数量", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        return Result.success(recordService.getTimeline(currentUser().getId(), studentId, beforeTime, beforeId,
+                archiveBeforeTime, archiveBeforeId, size));
+    }
+
+    /**
+     * 获取档案记录详情
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "获取档案记录详情", description = "按ID加载记录正文，可见性规则与时间线一致")
+    public Result<RecordDetailResponse> getRecordDetail(
+            @Parameter(description = "记录ID", required = true)
+            @PathVariable Long id) {
+        return Result.success(recordService.getRecordDetail(currentUser().getId(), id));
+    }
+
+    /**
+     * 获取当前登录用户
+     */
+    private User currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return userService.findByUsername(authentication.getName())
+                .orElseThrow(() -> new BusinessException(404, "用户不存在"));
+    }
+}
@@ -0,0 +1,188 @@
+package com.school.cooperation.controller;
+
+import com.school.cooperation.common.exception.BusinessException;
+import com.school.cooperation.common.utils.PageResult;
+import com.school.cooperation.common.utils.Result;
+import com.school.cooperation.dto.IndexSearchResult;
+import com.school.cooperation.dto.NameSuggestion;
+import com.school.cooperation.dto.RecordSearchHit;
+import com.school.cooperation.dto.RecordSearchRequest;
+import com.school.cooperation.dto.StudentSummary;
+import com.school.cooperation.dto.TagCount;
+import com.school.cooperation.dto.UserResponse;
+import com.school.cooperation.entity.User;
+import com.school.cooperation.search.SearchDocuments;
+import com.school.cooperation.service.SearchService;
+import com.school.cooperation.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 搜索控制器
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "搜索", description = "档案记录与学生全文检索接口")
+public class SearchController {
+
+    private final SearchService searchService;
+    private final UserService userService;
+
+    /**
+     * 检索档案记录
+     */
+    @GetMapping("/records")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SCHOOL_ADMIN') or hasRole('TEACHER')")
+    @Operation(summary = "检索档案记录", description = "全文检索标题和内容，支持分类/标签/班级/时间过滤，按相关度排序分页")
+    public Result<PageResult<RecordSearchHit>> searchRecords(@Valid RecordSearchRequest request) {
+        return Result.success(searchService.searchRecords(currentUser().getId(), request));
+    }
+
+    /**
+     * 班级标签分面
+     */
+    @GetMapping("/records/tags")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SCHOOL_ADMIN') or hasRole('TEACHER')")
+    @Operation(summary = "班级标签分面", description = "统计班级档案记录的标签及记录数，配合 tags 参数筛选记录")
+    public Result<List<TagCount>> getClassTagFacets(
+            @Parameter(description = "班级ID", required = true) @RequestParam Long classId,
+            @Parameter(description = "最大标签数", example = "30") @RequestParam(defaultValue = "30") int limit) {
+        return Result.success(searchService.getClassTagFacets(currentUser().getId(), classId, limit));
+    }
+
+    /**
+     * 按姓名检索学生
+     */
+    @GetMapping("/students")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SCHOOL_ADMIN') or hasRole('TEACHER')")
+    @Operation(summary = "按姓名检索学生", description = "基于姓名全文索引检索学生")
+    public Result<List<StudentSummary>> searchStudents(
+            @Parameter(description = "姓名关键词", required = true)
+            @RequestParam String keyword,
+            @Parameter(description = "最大条数", example = "20")
+            @RequestParam(defaultValue = "20") int limit) {
+        return Result.success(searchService.searchStudents(currentUser().getId(), keyword, limit));
+    }
+
+    /**
+     * 学生/家长姓名联想
+     */
+    @GetMapping("/suggest")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SCHOOL_ADMIN') or hasRole('TEACHER')")
+    @Operation(summary = "姓名联想", description = "按姓名、全拼或拼音首字母前缀联想学生与家长")
+    public Result<List<NameSuggestion>> suggestNames(
+            @Parameter(description = "输入前缀", required = true) @RequestParam String prefix,
+            @Parameter(description = "类型（STUDENT/PARENT）") @RequestParam(required = false) String type,
+            @Parameter(description = "最大条数", example = "10") @RequestParam(defaultValue = "10") int limit) {
+        return Result.success(searchService.suggestNames(currentUser().getId(), prefix, type, limit));
+    }
+
+    /**
+     * 通过索引检索档案记录
+     */
+    @GetMapping("/index/records")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SCHOOL_ADMIN') or hasRole('TEACHER')")
+    @Operation(summary = "索引检索档案记录", description = "支持模糊匹配、高亮片段与类型/重要程度/分类分面")
+    public Result<IndexSearchResult<RecordSearchHit>> searchRecordIndex(
+            @Parameter(description = "检索文本", required = true) @RequestParam String keyword,
+            @Parameter(description = "是否模糊匹配") @RequestParam(defaultValue = "false") boolean fuzzy,
+            @Parameter(description = "记录类型") @RequestParam(required = false) String type,
+            @Parameter(description = "重要程度") @RequestParam(required = false) String importance,
+            @Parameter(description = "记录分类") @RequestParam(required = false) String category,
+            @Parameter(description = "页码", example = "1") @RequestParam(defaultValue = "1") int page,
+            @Parameter(description = "每页大小", example = "20") @RequestParam(defaultValue = "20") int pageSize) {
+
+        Map<String, String> facetFilter = new LinkedHashMap<>();
+        putIfPresent(facetFilter, SearchDocuments.FACET_RECORD_TYPE, type);
+        putIfPresent(facetFilter, SearchDocuments.FACET_IMPORTANCE, importance);
+        putIfPresent(facetFilter, SearchDocuments.FACET_CATEGORY, category);
+        return Result.success(searchService.searchRecordIndex(
+                currentUser().getId(), keyword, fuzzy, facetFilter, page, pageSize));
+    }
+
+    /**
+     * 通过索引检索学生
+     */
+    @GetMapping("/index/students")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SCHOOL_ADMIN') or hasRole('TEACHER')")
+    @Operation(summary = "索引检索学生", description = "按姓名/学号检索学生，支持状态与性别分面")
+    public Result<IndexSearchResult<StudentSummary>> searchStudentIndex(
+            @Parameter(description = "检索文本", required = true) @RequestParam String keyword,
+            @Parameter(description = "是否模糊匹配") @RequestParam(defaultValue = "false") boolean fuzzy,
+            @Parameter(description = "学生状态") @RequestParam(required = false) String status,
+            @Parameter(description = "性别") @RequestParam(required = false) String gender,
+            @Parameter(description = "页码", example = "1") @RequestParam(defaultValue = "1") int page,
+            @Parameter(description = "每页大小", example = "20") @RequestParam(defaultValue = "20") int pageSize) {
+
+        Map<String, String> facetFilter = new LinkedHashMap<>();
+        putIfPresent(facetFilter, SearchDocuments.FACET_STATUS, status);
+        putIfPresent(facetFilter, SearchDocuments.FACET_GENDER, gender);
+        return Result.success(searchService.searchStudentIndex(
+                currentUser().getId(), keyword, fuzzy, facetFilter, page, pageSize));
+    }
+
+    /**
+     * 通过索引检索用户
+     */
+    @GetMapping("/index/users")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "索引检索用户", description = "按姓名/用户名检索用户，支持角色与状态分面")
+    public Result<IndexSearchResult<UserResponse>> searchUserIndex(
+            @Parameter(description = "检索文本", required = true) @RequestParam String keyword,
+            @Parameter(description = "是否模糊匹配") @RequestParam(defaultValue = "false") boolean fuzzy,
+            @Parameter(description = "用户角色") @RequestParam(required = false) String role,
+            @Parameter(description = "用户状态") @RequestParam(required = false) String status,
+            @Parameter(description = "页码", example = "1") @RequestParam(defaultValue = "1") int page,
+            @Parameter(description = "每页大小", example = "20") @RequestParam(defaultValue = "20") int pageSize) {
+
+        Map<String, String> facetFilter = new LinkedHashMap<>();
+        putIfPresent(facetFilter, SearchDocuments.FACET_ROLE, role);
+        putIfPresent(facetFilter, SearchDocuments.FACET_STATUS, status);
+        return Result.success(searchService.searchUserIndex(
+                currentUser().getId(), keyword, fuzzy, facetFilter, page, pageSize));
+    }
+
+    /**
+     * 重建搜索索引
+     */
+    @PostMapping("/index/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "重建搜索索引", description = "后台按主键游标并行全量重建 Lucene 索引")
+    public Result<Boolean> rebuildIndex() {
+        return Result.success(searchService.rebuildIndex());
+    }
+
+    private static void putIfPresent(Map<String, String> facetFilter, String dim, String value) {
+        if (value != null && !value.isBlank()) {
+            facetFilter.put(dim, value.trim());
+        }
+    }
+
+    /**
+     * 获取当前登录用户
+     */
+    private User currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return userService.findByUsername(authentication.getName())
+                .orElseThrow(() -> new BusinessException(404, "用户不存在"));
+    }
+}
@@ -4,14 +4,20 @@ import com.school.cooperation.common.constant.RoleConstant;
 import com.school.cooperation.common.utils.PageResult;
 import com.school.cooperation.common.utils.Result;
 import com.school.cooperation.dto.UserCreateRequest;
+import com.school.cooperation.dto.UserSummary;
 import com.school.cooperation.dto.UserUpdateRequest;
 import com.school.cooperation.entity.User;
 import com.school.cooperation.entity.enums.UserRole;
 import com.school.cooperation.entity.enums.UserStatus;
+import com.school.cooperation.repository.criteria.KeysetCursor;
+import com.school.cooperation.repository.criteria.KeysetPage;
+import com.school.cooperation.repository.criteria.UserCriteria;
 import com.school.cooperation.service.UserService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -50,7 +56,7 @@ public class UserController {
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "分页获取用户列表", description = "分页获取用户列表，支持关键词搜索和筛选")
-    public Result<Page<User>> getUsers(
+    public Result<Page<UserSummary>> getUsers(
             @Parameter(description = "页码", example = "1") @RequestParam(defaultValue = "1") int page,
             @Parameter(description = "每页大小", example = "20") @RequestParam(defaultValue = "20") int pageSize,
             @Parameter(description = "搜索关键词") @RequestParam(required = false) String keyword,
@@ -59,7 +65,7 @@ public class UserController {
 
         // 创建Pageable对象
         Pageable pageable = PageRequest.of(page - 1, pageSize); // Spring Data的页码从0开始
-        Page<User> result = userService.findUsersWithPagination(keyword, role, status, pageable);
+        Page<UserSummary> result = userService.findSummaryPage(keyword, role, status, pageable);
         return Result.success(result);
     }
 
@@ -170,11 +176,11 @@ public class UserController {
     @GetMapping("/role/{role}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "根据角色获取用户列表", description = "根据用户角色获取用户列表")
-    public Result<List<User>> getUsersByRole(
+    public Result<List<UserSummary>> getUsersByRole(
             @Parameter(description = "用户角色", required = true)
             @PathVariable UserRole role) {
 
-        List<User> users = userService.findByRole(role);
+        List<UserSummary> users = userService.findSummariesByRole(role);
         return Result.success(users);
     }
 
@@ -184,11 +190,11 @@ public class UserController {
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "根据状态获取用户列表", description = "根据用户状态获取用户列表")
-    public Result<List<User>> getUsersByStatus(
+    public Result<List<UserSummary>> getUsersByStatus(
             @Parameter(description = "用户状态", required = true)
             @PathVariable UserStatus status) {
 
-        List<User> users = userService.findByStatus(status);
+        List<UserSummary> users = userService.findSummariesByStatus(status);
         return Result.success(users);
     }
 
@@ -198,8 +204,8 @@ public class UserController {
     @GetMapping("/admins")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "获取管理员用户列表", description = "获取所有管理员用户")
-    public Result<List<User>> getAdminUsers() {
-        List<User> users = userService.findByRole(UserRole.ADMIN);
+    public Result<List<UserSummary>> getAdminUsers() {
+        List<UserSummary> users = userService.findSummariesByRole(UserRole.ADMIN);
         return Result.success(users);
     }
 
@@ -209,8 +215,8 @@ public class UserController {
     @GetMapping("/teachers")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "获取教师用户列表", description = "获取所有教师用户")
-    public Result<List<User>> getTeacherUsers() {
-        List<User> users = userService.findByRole(UserRole.TEACHER);
+    public Result<List<UserSummary>> getTeacherUsers() {
+        List<UserSummary> users = userService.findSummariesByRole(UserRole.TEACHER);
         return Result.success(users);
     }
 
@@ -220,8 +226,8 @@ public class UserController {
     @GetMapping("/parents")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "获取家长用户列表", description = "获取所有家长用户")
-    public Result<List<User>> getParentUsers() {
-        List<User> users = userService.findByRole(UserRole.PARENT);
+    public Result<List<UserSummary>> getParentUsers() {
+        List<UserSummary> users = userService.findSummariesByRole(UserRole.PARENT);
         return Result.success(users);
     }
 
@@ -274,28 +280,72 @@ public class UserController {
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "搜索用户", description = "根据条件搜索用户")
-    public Result<List<User>> searchUsers(
+    public Result<List<UserSummary>> searchUsers(
             @Parameter(description = "用户名") @RequestParam(required = false) String username,
             @Parameter(description = "真实姓名") @RequestParam(required = false) String realName,
             @Parameter(description = "手机号") @RequestParam(required = false) String phone,
             @Parameter(description = "用户角色") @RequestParam(required = false) UserRole role,
-            @Parameter(description = "用户状态") @RequestParam(required = false) UserStatus status) {
-
-        List<User> users = userService.findByConditions(username, realName, phone, role, status);
+            @Parameter(description = "用户状态") @RequestParam(required = false) UserStatus status,
+            @Parameter(description = "用户名、手机号按前缀匹配（默认包含匹配）") @RequestParam(defaultValue = "false") boolean prefixMatch,
+            @Parameter(description = "排序字段（id/createdTime/lastLoginTime/username）") @RequestParam(required = false) String sortBy,
+            @Parameter(description = "排序方向") @RequestParam(required = false) Sort.Direction direction) {
+
+        List<UserSummary> users = userService.findByCriteria(UserCriteria.builder()
+                .username(username)
+                .realName(realName)
+                .phone(phone)
+                .role(role)
+                .status(status)
+                .prefixMatch(prefixMatch)
+                .sortBy(sortBy)
+                .direction(direction)
+                .build());
         return Result.success(users);
     }
 
+    /**
+     * 键集分页搜索用户
+     */
+    @GetMapping("/search/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "键集分页搜索用户", description = "按创建时间游标翻页，不执行COUNT，翻页成本与页码无关")
+    public Result<KeysetPage<UserSummary>> searchUsersPage(
+            @Parameter(description = "用户名") @RequestParam(required = false) String username,
+            @Parameter(description = "真实姓名") @RequestParam(required = false) String realName,
+            @Parameter(description = "手机号") @RequestParam(required = false) String phone,
+            @Parameter(description = "用户角色") @RequestParam(required = false) UserRole role,
+            @Parameter(description = "用户状态") @RequestParam(required = false) UserStatus status,
+            @Parameter(description = "用户名、手机号按前缀匹配（默认包含匹配）") @RequestParam(defaultValue = "false") boolean prefixMatch,
+            @Parameter(description = "排序方向") @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            @Parameter(description = "游标创建时间（上一页 nextCursor.createdTime）")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorTime,
+            @Parameter(description = "游标ID（上一页 nextCursor.id）") @RequestParam(required = false) Long cursorId,
+            @Parameter(description = "每页大小", example = "20") @RequestParam(defaultValue = "20") int size) {
+
+        UserCriteria criteria = UserCriteria.builder()
+                .username(username)
+                .realName(realName)
+                .phone(phone)
+                .role(role)
+                .status(status)
+                .prefixMatch(prefixMatch)
+                .direction(direction)
+                .build();
+        KeysetCursor cursor = cursorTime != null || cursorId != null ? new KeysetCursor(cursorTime, cursorId) : null;
+        return Result.success(userService.findPageByCriteria(criteria, cursor, size));
+    }
+
     /**
      * 根据真实姓名搜索用户
      */
     @GetMapping("/search/by-name")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "根据真实姓名搜索用户", description = "根据真实姓名模糊搜索用户")
-    public Result<List<User>> searchUsersByName(
+    public Result<List<UserSummary>> searchUsersByName(
             @Parameter(description = "真实姓名", required = true)
             @RequestParam String realName) {
 
-        List<User> users = userService.findByRealNameContaining(realName);
+        List<UserSummary> users = userService.findSummariesByRealName(realName);
         return Result.success(users);
     }
 
@@ -343,12 +393,12 @@ public class UserController {
     @GetMapping("/inactive-users")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "获取长期未登录用户", description = "获取超过指定时间未登录的用户")
-    public Result<List<User>> getInactiveUsers(
+    public Result<List<UserSummary>> getInactiveUsers(
             @Parameter(description = "天数阈值", required = true)
             @RequestParam Integer days) {
 
         LocalDateTime threshold = LocalDateTime.now().minusDays(days);
-        List<User> users = userService.findInactiveUsers(threshold);
+        List<UserSummary> users = userService.findInactiveSummaries(threshold);
         return Result.success(users);
     }
 }
\ No newline at end of file
@@ -0,0 +1,495 @@
+package com.school.cooperation.datagen;
+
+import com.school.cooperation.common.utils.AcademicTermUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 合成数据生成器（datagen 环境）
+ * 按配置规模生成教师、家长、班级、学生、家长关联、档案记录和通知，用于压测和执行计划分析：
+ * <ul>
+ *     <li>班级活跃度服从Zipf分布，少数班级产生大部分档案记录和通知</li>
+ *     <li>记录与通知的创建时间随主键单调递增并向近期集中，与线上按主键区间清理/归档的假设一致</li>
+ *     <li>结果由种子唯一确定（锚定日期固定时），与线程数无关</li>
+ * </ul>
+ * 数据追加在现有最大ID之后；档案统计在装载期间跳过触发器，装载后按主键区间一次性聚合。
+ * 用法：java -jar app.jar --spring.profiles.active=dev,datagen --app.datagen.records=1000000
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final String MARKER_USERNAME = "gen_t0000001";
+
+    private static final String[] SURNAMES = {"王", "李", "张", "刘", "陈", "杨", "黄", "赵", "吴", "周",
+            "徐", "孙", "马", "朱", "胡", "郭", "何", "高", "林", "罗", "郑", "梁", "谢", "宋", "唐", "许", "韩", "冯", "邓", "曹"};
+
+    private static final String[] GIVEN_NAMES = {"伟", "芳", "娜", "敏", "静", "丽", "强", "磊", "军", "洋",
+            "勇", "艳", "杰", "娟", "涛", "明", "超", "秀", "霞", "平", "刚", "桂", "浩", "宇", "轩", "梓", "涵", "欣", "怡", "晨",
+            "子", "睿", "博", "思", "雨", "嘉", "一", "诺", "佳", "琪"};
+
+    private static final String[] CATEGORIES = {"学习", "纪律", "卫生", "体育", "文艺", "劳动", "品德", "安全"};
+
+    private static final String[] TAGS = {"阅读", "合作", "专注", "进步", "作业", "礼貌", "迟到", "课堂", "运动", "创新"};
+
+    private static final String[] PRAISE_TITLES = {"课堂表现积极", "作业完成优秀", "主动帮助同学", "考试进步明显", "劳动认真负责"};
+
+    private static final String[] CRITICISM_TITLES = {"上课注意力不集中", "作业未按时提交", "课间追逐打闹", "迟到", "忘带学习用品"};
+
+    private static final String[] NEUTRAL_TITLES = {"日常观察记录", "家校沟通记录", "阶段学习情况", "身体状况说明", "活动参与记录"};
+
+    private static final String[] PHRASES = {"今天在课堂上", "小组讨论时", "数学课上", "语文早读时", "体育活动中",
+            "能够认真听讲", "积极举手回答问题", "与同学合作完成任务", "书写工整", "需要加强时间管理",
+            "注意力有待提高", "表现出很强的责任心", "希望家长在家配合督促", "继续保持", "请家长关注孩子的作息"};
+
+    private static final List<String> USER_COLUMNS = List.of("id", "username", "password", "real_name", "phone", "email",
+            "role", "status", "last_login_time", "created_time", "updated_time", "deleted");
+
+    private static final List<String> CLASS_COLUMNS = List.of("id", "name", "grade", "teacher_id", "student_count",
+            "description", "status", "created_time", "updated_time", "deleted");
+
+    private static final List<String> STUDENT_COLUMNS = List.of("id", "student_id", "name", "gender", "birth_date",
+            "id_card", "class_id", "address", "emergency_contact_name", "emergency_contact_phone",
+            "emergency_contact_relation", "enrollment_date", "status", "created_time", "updated_time", "deleted");
+
+    private static final List<String> PARENT_STUDENT_COLUMNS = List.of("parent_id", "student_id", "relation",
+            "is_primary", "created_time");
+
+    private static final List<String> RECORD_COLUMNS = List.of("id", "student_id", "teacher_id", "class_id", "term",
+            "type", "category", "title", "content", "tags", "importance", "is_public", "parent_notified",
+            "notify_attempts", "created_time", "updated_time", "deleted");
+
+    private static final List<String> NOTIFICATION_COLUMNS = List.of("id", "user_id", "title", "content", "type",
+            "related_id", "is_read", "read_time", "created_time");
+
+    private static final String REBUILD_STATS_SQL =
+            "INSERT INTO edu_record_stats (stat_date, student_id, class_id, teacher_id, type, importance, " +
+            "record_count, public_count, notified_count, last_record_time) " +
+            "SELECT DATE(r.created_time), r.student_id, IFNULL(r.class_id, 0), r.teacher_id, r.type, " +
+            "IFNULL(r.importance, 'MEDIUM'), COUNT(*), SUM(IFNULL(r.is_public, 0)), " +
+            "SUM(IFNULL(r.parent_notified, 0)), MAX(r.created_time) " +
+            "FROM edu_student_record r WHERE r.id >= ? AND r.id < ? AND r.deleted = 0 " +
+            "GROUP BY DATE(r.created_time), r.student_id, IFNULL(r.class_id, 0), r.teacher_id, r.type, " +
+            "IFNULL(r.importance, 'MEDIUM') " +
+            "ON DUPLICATE KEY UPDATE record_count = record_count + VALUES(record_count), " +
+            "public_count = public_count + VALUES(public_count), " +
+            "notified_count = notified_count + VALUES(notified_count), " +
+            "last_record_time = GREATEST(IFNULL(last_record_time, VALUES(last_record_time)), VALUES(last_record_time))";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${app.datagen.seed:20240901}")
+    private long seed;
+
+    @Value("${app.datagen.schools:200}")
+    private int schools;
+
+    @Value("${app.datagen.classes:5000}")
+    private int classes;
+
+    @Value("${app.datagen.teachers:6000}")
+    private int teachers;
+
+    @Value("${app.datagen.students:200000}")
+    private int students;
+
+    @Value("${app.datagen.parents:400000}")
+    private int parents;
+
+    @Value("${app.datagen.records:20000000}")
+    private long records;
+
+    @Value("${app.datagen.notifications:50000000}")
+    private long notifications;
+
+    @Value("${app.datagen.activity-skew:1.1}")
+    private double activitySkew;
+
+    @Value("${app.datagen.record-days:730}")
+    private int recordDays;
+
+    @Value("${app.datagen.notification-days:180}")
+    private int notificationDays;
+
+    @Value("${app.datagen.anchor-date:}")
+    private String anchorDate;
+
+    @Value("${app.datagen.threads:8}")
+    private int threads;
+
+    @Value("${app.datagen.rows-per-statement:1000}")
+    private int rowsPerStatement;
+
+    @Value("${app.datagen.rows-per-chunk:20000}")
+    private int rowsPerChunk;
+
+    @Value("${app.datagen.stats-chunk-size:500000}")
+    private long statsChunkSize;
+
+    @Value("${app.datagen.exit-on-finish:true}")
+    private boolean exitOnFinish;
+
+    private LocalDateTime anchor;
+    private String passwordHash;
+    private ZipfSampler classActivity;
+    private int parentsPerStudent;
+
+    private long teacherBase;
+    private long parentBase;
+    private long classBase;
+    private long studentBase;
+    private long recordBase;
+    private long notificationBase;
+
+    public SyntheticDataGenerator(DataSource dataSource, JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder,
+                                  ConfigurableApplicationContext applicationContext) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(String... args) {
+        validate();
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sys_user WHERE username = ?", Integer.class, MARKER_USERNAME);
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("数据库中已存在合成数据（用户 " + MARKER_USERNAME + "），请在空库或恢复后的快照上运行");
+        }
+
+        anchor = StringUtils.hasText(anchorDate)
+                ? LocalDate.parse(anchorDate).atTime(LocalTime.of(18, 0)) : LocalDate.now().atTime(LocalTime.of(18, 0));
+        // 所有合成用户共用一个密码哈希（123456），BCrypt逐行计算会成为瓶颈
+        passwordHash = passwordEncoder.encode("123456");
+        classActivity = new ZipfSampler(classes, activitySkew, seed);
+        parentsPerStudent = Math.max(1, Math.min(4, parents / students));
+
+        teacherBase = nextId("sys_user");
+        parentBase = teacherBase + teachers;
+        classBase = nextId("edu_class");
+        studentBase = nextId("edu_student");
+        // 归档表沿用原记录ID，新记录ID需同时避开在线表与归档表
+        recordBase = Math.max(nextId("edu_student_record"), nextId("edu_student_record_archive"));
+        notificationBase = nextId("sys_notification");
+
+        log.info("开始生成合成数据: seed={}, anchor={}, schools={}, classes={}, teachers={}, students={}, parents={}, " +
+                        "records={}, notifications={}, threads={}", seed, anchor, schools, classes, teachers, students,
+                parents, records, notifications, threads);
+        long startNanos = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, newThreadFactory());
+        try {
+            BulkLoader loader = new BulkLoader(dataSource, executor, seed, rowsPerStatement, rowsPerChunk);
+            loader.load("sys_user", USER_COLUMNS, teachers, this::writeTeacher);
+            loader.load("sys_user", USER_COLUMNS, parents, this::writeParent);
+            loader.load("edu_class", CLASS_COLUMNS, classes, this::writeClass);
+            loader.load("edu_student", STUDENT_COLUMNS, students, this::writeStudent);
+            loader.load("edu_parent_student", PARENT_STUDENT_COLUMNS, (long) students * parentsPerStudent,
+                    this::writeParentStudent);
+            loader.load("edu_student_record", RECORD_COLUMNS, records, this::writeRecord);
+            rebuildRecordStats();
+            loader.load("sys_notification", NOTIFICATION_COLUMNS, notifications, this::writeNotification);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 大批量写入后刷新索引统计信息，避免执行计划基于过期的基数估算
+        for (String table : List.of("sys_user", "edu_class", "edu_student", "edu_parent_student",
+                "edu_student_record", "edu_record_stats", "sys_notification")) {
+            jdbcTemplate.execute("ANALYZE TABLE " + table);
+        }
+        log.info("合成数据生成完成: elapsedSeconds={}", (System.nanoTime() - startNanos) / 1_000_000_000L);
+
+        if (exitOnFinish) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private void validate() {
+        if (schools <= 0 || classes < schools || teachers <= 0 || students < classes || parents <= 0) {
+            throw new IllegalStateException("合成数据规模不合法：要求 0 < schools <= classes <= students，teachers、parents 大于0");
+        }
+        if (threads <= 0 || rowsPerStatement <= 0 || rowsPerChunk < rowsPerStatement || statsChunkSize <= 0) {
+            throw new IllegalStateException("合成数据装载参数不合法：要求 threads > 0、rows-per-chunk >= rows-per-statement > 0");
+        }
+    }
+
+    private void writeTeacher(long ordinal, SplittableRandom random, Object[] row) {
+        writeUser(ordinal, teachers, teacherBase, "gen_t", "166", "TEACHER", random, row);
+    }
+
+    private void writeParent(long ordinal, SplittableRandom random, Object[] row) {
+        writeUser(ordinal, parents, parentBase, "gen_p", "177", "PARENT", random, row);
+    }
+
+    private void writeUser(long ordinal, long count, long base, String usernamePrefix, String phonePrefix, String role,
+                           SplittableRandom random, Object[] row) {
+        LocalDateTime created = timeAt(ordinal, count, recordDays, 1.0, random);
+        double status = random.nextDouble();
+        row[0] = base + ordinal;
+        row[1] = usernamePrefix + String.format("%07d", ordinal + 1);
+        row[2] = passwordHash;
+        row[3] = randomName(random);
+        row[4] = phonePrefix + String.format("%08d", ordinal + 1);
+        row[5] = random.nextInt(4) == 0 ? null : usernamePrefix + (ordinal + 1) + "@homeschool.test";
+        row[6] = role;
+        row[7] = status < 0.95 ? "ACTIVE" : status < 0.99 ? "INACTIVE" : "SUSPENDED";
+        row[8] = random.nextInt(10) == 0 ? null : anchor.minusMinutes(random.nextLong(60L * 24 * 90));
+        row[9] = created;
+        row[10] = created;
+        row[11] = false;
+    }
+
+    private void writeClass(long ordinal, SplittableRandom random, Object[] row) {
+        int c = (int) ordinal;
+        int classesPerSchool = (classes + schools - 1) / schools;
+        int school = c / classesPerSchool;
+        int index = c % classesPerSchool;
+        int grade = index % 6 + 1;
+        LocalDateTime created = anchor.minusYears(grade).withMonth(9).withDayOfMonth(1).withHour(8);
+        row[0] = classBase + c;
+        row[1] = String.format("%03d校%d年级%d班", school + 1, grade, index / 6 + 1);
+        row[2] = String.valueOf(grade);
+        row[3] = homeroomTeacher(c);
+        row[4] = studentsInClass(c);
+        row[5] = random.nextInt(3) == 0 ? null : "第" + (school + 1) + "校" + grade + "年级";
+        row[6] = "ACTIVE";
+        row[7] = created;
+        row[8] = created;
+        row[9] = false;
+    }
+
+    private void writeStudent(long ordinal, SplittableRandom random, Object[] row) {
+        int c = classOf(ordinal);
+        int grade = c % ((classes + schools - 1) / schools) % 6 + 1;
+        LocalDate birth = LocalDate.of(anchor.getYear() - 6 - grade, 1, 1).plusDays(random.nextInt(365));
+        LocalDate enrollment = LocalDate.of(anchor.getYear() - grade + (anchor.getMonthValue() >= 9 ? 1 : 0), 9, 1);
+        double status = random.nextDouble();
+        String name = randomName(random);
+        long primaryParent = (ordinal * parentsPerStudent) % parents;
+        row[0] = studentBase + ordinal;
+        row[1] = "GS" + String.format("%08d", ordinal + 1);
+        row[2] = name;
+        row[3] = random.nextBoolean() ? "MALE" : "FEMALE";
+        row[4] = birth;
+        // 身份证号：前缀99 + 出生日期 + 序号，保证唯一
+        row[5] = "99" + birth.toString().replace("-", "") + String.format("%08d", ordinal + 1);
+        row[6] = classBase + c;
+        row[7] = random.nextInt(5) == 0 ? null : "第" + (random.nextInt(200) + 1) + "街道" + (random.nextInt(99) + 1) + "号";
+        row[8] = random.nextInt(10) == 0 ? null : SURNAMES[random.nextInt(SURNAMES.length)] + "家长";
+        row[9] = row[8] == null ? null : "177" + String.format("%08d", primaryParent + 1);
+        row[10] = row[8] == null ? null : "父亲";
+        row[11] = enrollment;
+        row[12] = status < 0.97 ? "ACTIVE" : status < 0.99 ? "TRANSFERRED" : "GRADUATED";
+        row[13] = enrollment.atTime(9, 0);
+        row[14] = enrollment.atTime(9, 0);
+        row[15] = false;
+    }
+
+    private void writeParentStudent(long ordinal, SplittableRandom random, Object[] row) {
+        long student = ordinal / parentsPerStudent;
+        int slot = (int) (ordinal % parentsPerStudent);
+        row[0] = parentBase + ordinal % parents;
+        row[1] = studentBase + student;
+        row[2] = switch (slot) {
+            case 0 -> "FATHER";
+            case 1 -> "MOTHER";
+            case 2 -> random.nextBoolean() ? "GRANDFATHER" : "GRANDMOTHER";
+            default -> "OTHER";
+        };
+        row[3] = slot == 0;
+        row[4] = anchor.minusDays(random.nextInt(Math.max(1, recordDays)));
+    }
+
+    private void writeRecord(long ordinal, SplittableRandom random, Object[] row) {
+        int c = classActivity.sample(random);
+        long student = randomStudentOf(c, random);
+        LocalDateTime created = timeAt(ordinal, records, recordDays, 1.5, random);
+        double typeRoll = random.nextDouble();
+        String type = typeRoll < 0.55 ? "PRAISE" : typeRoll < 0.8 ? "NEUTRAL" : "CRITICISM";
+        String[] titles = switch (type) {
+            case "PRAISE" -> PRAISE_TITLES;
+            case "CRITICISM" -> CRITICISM_TITLES;
+            default -> NEUTRAL_TITLES;
+        };
+        double importanceRoll = random.nextDouble();
+        boolean isPublic = random.nextInt(10) != 0;
+        // 一小时内的公开记录保留为待通知，其余视为已通知
+        boolean notified = isPublic && created.isBefore(anchor.minusHours(1));
+        row[0] = recordBase + ordinal;
+        row[1] = studentBase + student;
+        row[2] = random.nextInt(5) == 0 ? teacherBase + (c * 7L + random.nextInt(5)) % teachers : homeroomTeacher(c);
+        row[3] = classBase + c;
+        row[4] = AcademicTermUtils.termOf(created);
+        row[5] = type;
+        row[6] = CATEGORIES[random.nextInt(CATEGORIES.length)];
+        row[7] = titles[random.nextInt(titles.length)];
+        row[8] = randomContent(random);
+        row[9] = randomTags(random);
+        row[10] = importanceRoll < 0.15 ? "HIGH" : importanceRoll < 0.75 ? "MEDIUM" : "LOW";
+        row[11] = isPublic;
+        row[12] = notified;
+        row[13] = notified ? 1 : 0;
+        row[14] = created;
+        row[15] = created;
+        row[16] = random.nextInt(100) == 0;
+    }
+
+    private void writeNotification(long ordinal, SplittableRandom random, Object[] row) {
+        int c = classActivity.sample(random);
+        long student = randomStudentOf(c, random);
+        long parent = (student * parentsPerStudent + random.nextInt(parentsPerStudent)) % parents;
+        LocalDateTime created = timeAt(ordinal, notifications, notificationDays, 1.5, random);
+        long ageMinutes = Duration.between(created, anchor).toMinutes();
+        boolean read = random.nextDouble() < (ageMinutes > 7L * 24 * 60 ? 0.9 : 0.4);
+        double typeRoll = random.nextDouble();
+        row[0] = notificationBase + ordinal;
+        row[1] = parentBase + parent;
+        if (typeRoll < 0.85 && records > 0) {
+            row[2] = PRAISE_TITLES[random.nextInt(PRAISE_TITLES.length)];
+            row[3] = "您的孩子有一条新的成长记录：" + PHRASES[random.nextInt(PHRASES.length)];
+            row[4] = "RECORD";
+            row[5] = recordBase + recordOrdinalAt(created);
+        } else if (typeRoll < 0.95) {
+            row[2] = "班级通知";
+            row[3] = "班级" + PHRASES[random.nextInt(PHRASES.length)];
+            row[4] = "CLASS";
+            row[5] = classBase + c;
+        } else {
+            row[2] = "系统通知";
+            row[3] = "系统维护通知：" + PHRASES[random.nextInt(PHRASES.length)];
+            row[4] = "SYSTEM";
+            row[5] = null;
+        }
+        row[6] = read;
+        row[7] = read ? created.plusMinutes(random.nextLong(Math.max(1, Math.min(ageMinutes, 3L * 24 * 60)))) : null;
+        row[8] = created;
+    }
+
+    /**
+     * 装载期间跳过了统计触发器，按主键区间聚合新记录写入统计表
+     */
+    private void rebuildRecordStats() {
+        long startNanos = System.nanoTime();
+        long end = recordBase + records;
+        for (long from = recordBase; from < end; from += statsChunkSize) {
+            jdbcTemplate.update(REBUILD_STATS_SQL, from, Math.min(end, from + statsChunkSize));
+        }
+        log.info("档案统计聚合完成: recordIds=[{}, {}), elapsedMs={}",
+                recordBase, end, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * 第ordinal行的创建时间：随序号单调递增，shape越大越向锚定时间集中
+     */
+    private LocalDateTime timeAt(long ordinal, long count, int days, double shape, SplittableRandom random) {
+        double progress = (ordinal + random.nextDouble()) / count;
+        long ageSeconds = (long) (days * 86400L * Math.pow(1 - progress, shape));
+        return anchor.minusSeconds(ageSeconds);
+    }
+
+    /**
+     * 与 timeAt 互逆：创建时间不晚于 time 的最后一条记录的序号
+     */
+    private long recordOrdinalAt(LocalDateTime time) {
+        double ageSeconds = Math.max(0, Duration.between(time, anchor).getSeconds());
+        double progress = 1 - Math.pow(Math.min(1, ageSeconds / (recordDays * 86400.0)), 1 / 1.5);
+        return Math.max(0, Math.min(records - 1, (long) (progress * records) - 1));
+    }
+
+    private long homeroomTeacher(int c) {
+        return teacherBase + c % teachers;
+    }
+
+    /**
+     * 学生按序号连续分到各班
+     */
+    private int classOf(long student) {
+        return (int) (student * classes / students);
+    }
+
+    private int studentsInClass(int c) {
+        return (int) (firstStudentOf(c + 1) - firstStudentOf(c));
+    }
+
+    private long firstStudentOf(int c) {
+        return ((long) c * students + classes - 1) / classes;
+    }
+
+    private long randomStudentOf(int c, SplittableRandom random) {
+        return firstStudentOf(c) + random.nextInt(studentsInClass(c));
+    }
+
+    private static String randomName(SplittableRandom random) {
+        StringBuilder name = new StringBuilder(SURNAMES[random.nextInt(SURNAMES.length)]);
+        int length = random.nextInt(3) == 0 ? 1 : 2;
+        for (int i = 0; i < length; i++) {
+            name.append(GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)]);
+        }
+        return name.toString();
+    }
+
+    private static String randomContent(SplittableRandom random) {
+        int sentences = 2 + random.nextInt(5);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            content.append(PHRASES[random.nextInt(PHRASES.length)]).append(i == sentences - 1 ? "。" : "，");
+        }
+        return content.toString();
+    }
+
+    private static String randomTags(SplittableRandom random) {
+        int count = random.nextInt(3);
+        if (count == 0) {
+            return null;
+        }
+        String first = TAGS[random.nextInt(TAGS.length)];
+        if (count == 1) {
+            return "[\"" + first + "\"]";
+        }
+        String second = TAGS[random.nextInt(TAGS.length)];
+        return first.equals(second) ? "[\"" + first + "\"]" : "[\"" + first + "\", \"" + second + "\"]";
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT IFNULL(MAX(id), 0) FROM " + table, Long.class);
+        return (max != null ? max : 0L) + 1;
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "datagen-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.school.cooperation.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf分布抽样器
+ * 第k个元素被抽中的概率与 1/k^s 成正比；元素与名次的对应关系按种子打乱，
+ * 使活跃对象分散在主键区间内而不是集中在前部。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+final class ZipfSampler {
+
+    private final double[] cumulative;
+    private final int[] items;
+
+    ZipfSampler(int size, double exponent, long seed) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("抽样元素数必须大于0");
+        }
+        cumulative = new double[size];
+        double sum = 0;
+        for (int k = 0; k < size; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < size; k++) {
+            cumulative[k] /= sum;
+        }
+
+        items = new int[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = i;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = items[i];
+            items[i] = items[j];
+            items[j] = tmp;
+        }
+    }
+
+    /**
+     * 抽取一个元素下标（0 ~ size-1）
+     */
+    int sample(SplittableRandom random) {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        return items[Math.min(rank, items.length - 1)];
+    }
+}
@@ -0,0 +1,77 @@
+package com.school.cooperation.diagnostics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 类直方图端点（仅管理员）
+ * GET /actuator/classhistogram?top=30 返回按占用字节排序的前N个类及总计。
+ * 通过 DiagnosticCommand MBean 执行 GC.class_histogram：默认只统计存活对象，会先触发一次 Full GC；
+ * all=true 时统计全部对象且不触发GC。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Component
+@Endpoint(id = "classhistogram")
+@ConditionalOnProperty(prefix = "app.diagnostics.jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ClassHistogramEndpoint {
+
+    private static final int DEFAULT_TOP = 30;
+
+    private static final String DIAGNOSTIC_COMMAND = "com.sun.management:type=DiagnosticCommand";
+
+    /**
+     * 直方图汇总
+     */
+    public record Histogram(long totalInstances, long totalBytes, int classes, List<Entry> top) {
+    }
+
+    /**
+     * 单个类的实例数与占用字节
+     */
+    public record Entry(int rank, String className, long instances, long bytes) {
+    }
+
+    @ReadOperation
+    public Histogram histogram(@Nullable Integer top, @Nullable Boolean all) throws JMException {
+        String[] args = Boolean.TRUE.equals(all) ? new String[]{"-all"} : new String[0];
+        String output = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                new ObjectName(DIAGNOSTIC_COMMAND), "gcClassHistogram",
+                new Object[]{args}, new String[]{String[].class.getName()});
+        return parse(output, top != null && top > 0 ? top : DEFAULT_TOP);
+    }
+
+    /**
+     * 解析 "   1:   12345   678900  [B (java.base@17)" 格式的输出
+     */
+    static Histogram parse(String output, int top) {
+        List<Entry> entries = new ArrayList<>(top);
+        long totalInstances = 0;
+        long totalBytes = 0;
+        int classes = 0;
+        for (String line : output.split("\n")) {
+            String[] parts = line.trim().split("\\s+", 4);
+            if (parts.length >= 3 && parts[0].equals("Total")) {
+                totalInstances = Long.parseLong(parts[1]);
+                totalBytes = Long.parseLong(parts[2]);
+            } else if (parts.length == 4 && parts[0].endsWith(":") && Character.isDigit(parts[0].charAt(0))) {
+                classes++;
+                if (entries.size() < top) {
+                    entries.add(new Entry(Integer.parseInt(parts[0].substring(0, parts[0].length() - 1)),
+                            parts[3], Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+                }
+            }
+        }
+        return new Histogram(totalInstances, totalBytes, classes, entries);
+    }
+}
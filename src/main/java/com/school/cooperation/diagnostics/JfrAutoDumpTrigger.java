@@ -0,0 +1,99 @@
+package com.school.cooperation.diagnostics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * p99 延迟触发的JFR自动导出
+ * 定期检查 http.server.requests 各接口的 p99（依赖 management.metrics.distribution.percentiles 配置），
+ * 任一接口在本检查周期内请求数达到 min-requests 且 p99 超过阈值时，导出环形录制；两次导出之间至少间隔 cooldown。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${app.diagnostics.jfr.enabled:true} and ${app.diagnostics.jfr.auto-dump.enabled:true}")
+public class JfrAutoDumpTrigger {
+
+    private static final String METRIC_NAME = "http.server.requests";
+
+    private final JfrRecordingManager manager;
+    private final MeterRegistry meterRegistry;
+    private final long thresholdMillis;
+    private final long minRequests;
+    private final Duration cooldown;
+
+    // 上次检查时各接口的累计请求数
+    private final Map<Meter.Id, Long> lastCounts = new HashMap<>();
+    private Instant lastDump = Instant.EPOCH;
+
+    public JfrAutoDumpTrigger(JfrRecordingManager manager,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.diagnostics.jfr.auto-dump.p99-threshold-millis:2000}") long thresholdMillis,
+                              @Value("${app.diagnostics.jfr.auto-dump.min-requests:20}") long minRequests,
+                              @Value("${app.diagnostics.jfr.auto-dump.cooldown-minutes:15}") long cooldownMinutes) {
+        this.manager = manager;
+        this.meterRegistry = meterRegistry;
+        this.thresholdMillis = thresholdMillis;
+        this.minRequests = minRequests;
+        this.cooldown = Duration.ofMinutes(cooldownMinutes);
+    }
+
+    @Scheduled(fixedDelayString = "${app.diagnostics.jfr.auto-dump.check-interval:15000}")
+    public void check() {
+        String worstUri = null;
+        double worstP99 = 0;
+        for (Timer timer : meterRegistry.find(METRIC_NAME).timers()) {
+            String uri = timer.getId().getTag("uri");
+            long count = timer.count();
+            Long previous = lastCounts.put(timer.getId(), count);
+            if (uri == null || uri.startsWith("/actuator") || count - (previous != null ? previous : 0) < minRequests) {
+                continue;
+            }
+            double p99 = p99Millis(timer);
+            if (p99 > worstP99) {
+                worstP99 = p99;
+                worstUri = uri;
+            }
+        }
+
+        if (worstUri == null || worstP99 < thresholdMillis) {
+            return;
+        }
+        Instant now = Instant.now();
+        if (now.isBefore(lastDump.plus(cooldown))) {
+            return;
+        }
+        lastDump = now;
+        Optional<Path> file = manager.dumpContinuous("p99");
+        if (file.isPresent()) {
+            log.warn("接口p99延迟超过阈值，已导出JFR环形录制: uri={}, p99={}ms, threshold={}ms, file={}",
+                    worstUri, Math.round(worstP99), thresholdMillis, file.get());
+        }
+    }
+
+    private static double p99Millis(Timer timer) {
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            if (Math.abs(value.percentile() - 0.99) < 1e-6) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return 0;
+    }
+}
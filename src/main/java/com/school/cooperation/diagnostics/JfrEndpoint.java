@@ -0,0 +1,85 @@
+package com.school.cooperation.diagnostics;
+
+import com.school.cooperation.diagnostics.JfrRecordingManager.RecordingInfo;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JFR录制端点（仅管理员）
+ * <ul>
+ *     <li>GET /actuator/jfr：列出环形录制与按需录制</li>
+ *     <li>POST /actuator/jfr {"template":"profile","durationSeconds":120}：开始按需录制</li>
+ *     <li>GET /actuator/jfr/{id}：下载录制文件（运行中的录制返回当前快照），用 JDK Mission Control 打开</li>
+ *     <li>DELETE /actuator/jfr/{id}：提前停止录制</li>
+ * </ul>
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Component
+@Endpoint(id = "jfr")
+@ConditionalOnProperty(prefix = "app.diagnostics.jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JfrEndpoint {
+
+    private static final int DEFAULT_DURATION_SECONDS = 60;
+
+    private final JfrRecordingManager manager;
+
+    public JfrEndpoint(JfrRecordingManager manager) {
+        this.manager = manager;
+    }
+
+    @ReadOperation
+    public List<RecordingInfo> recordings() {
+        return manager.list();
+    }
+
+    @WriteOperation
+    public RecordingInfo start(@Nullable String template, @Nullable Integer durationSeconds)
+            throws IOException, ParseException {
+        String name = template != null ? template : "default";
+        if (!JfrRecordingManager.TEMPLATES.contains(name)) {
+            throw new InvalidEndpointRequestException("不支持的JFR模板: " + name, "template must be one of "
+                    + JfrRecordingManager.TEMPLATES);
+        }
+        Duration duration = Duration.ofSeconds(durationSeconds != null ? durationSeconds : DEFAULT_DURATION_SECONDS);
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(manager.getMaxDuration()) > 0) {
+            throw new InvalidEndpointRequestException("录制时长超出范围: " + duration, "durationSeconds must be between 1 and "
+                    + manager.getMaxDuration().toSeconds());
+        }
+        if (!manager.isAvailable()) {
+            throw new InvalidEndpointRequestException("JFR诊断功能不可用", "Java Flight Recorder is not available");
+        }
+        return manager.start(name, duration);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector long id) throws IOException {
+        Optional<Path> file = manager.file(id);
+        return file.<WebEndpointResponse<Resource>>map(path -> new WebEndpointResponse<>(new FileSystemResource(path)))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<RecordingInfo> stop(@Selector long id) {
+        return manager.stop(id).map(WebEndpointResponse::new)
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+}
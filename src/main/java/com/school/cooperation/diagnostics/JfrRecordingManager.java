@@ -0,0 +1,274 @@
+package com.school.cooperation.diagnostics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * JFR录制管理
+ * 启动时开启常驻的低开销环形录制（default 模板，只保留最近 max-age 的数据），p99 超阈值时由
+ * {@link JfrAutoDumpTrigger} 导出；另支持按需开启指定模板与时长的录制。所有 .jfr 文件写入同一目录，
+ * 超过 max-files 时删除最早的文件。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.diagnostics.jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JfrRecordingManager {
+
+    /**
+     * 可选的录制模板：default 开销约1%，profile 采样更密集，开销约2%
+     */
+    public static final List<String> TEMPLATES = List.of("default", "profile");
+
+    private static final String CONTINUOUS_NAME = "continuous";
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final Path directory;
+    private final int maxFiles;
+    private final Duration maxDuration;
+    private final boolean continuousEnabled;
+    private final Duration continuousMaxAge;
+    private final long continuousMaxSize;
+
+    private final Map<Long, Recording> recordings = new ConcurrentSkipListMap<>();
+    private volatile Recording continuous;
+    private volatile boolean available;
+
+    /**
+     * 录制状态
+     */
+    public record RecordingInfo(long id, String name, String state, Instant startTime, Duration duration,
+                                long size, String file) {
+    }
+
+    public JfrRecordingManager(@Value("${app.diagnostics.jfr.directory:${java.io.tmpdir}/home-school-jfr}") String directory,
+                               @Value("${app.diagnostics.jfr.max-files:20}") int maxFiles,
+                               @Value("${app.diagnostics.jfr.max-duration-minutes:30}") long maxDurationMinutes,
+                               @Value("${app.diagnostics.jfr.continuous.enabled:true}") boolean continuousEnabled,
+                               @Value("${app.diagnostics.jfr.continuous.max-age-minutes:10}") long continuousMaxAgeMinutes,
+                               @Value("${app.diagnostics.jfr.continuous.max-size-mb:100}") long continuousMaxSizeMb) {
+        this.directory = Path.of(directory);
+        this.maxFiles = Math.max(1, maxFiles);
+        this.maxDuration = Duration.ofMinutes(maxDurationMinutes);
+        this.continuousEnabled = continuousEnabled;
+        this.continuousMaxAge = Duration.ofMinutes(continuousMaxAgeMinutes);
+        this.continuousMaxSize = continuousMaxSizeMb * 1024 * 1024;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("当前JVM不支持Java Flight Recorder，JFR诊断功能不可用");
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            log.warn("无法创建JFR录制目录，JFR诊断功能不可用: {}", directory, e);
+            return;
+        }
+        available = true;
+        if (continuousEnabled) {
+            startContinuous();
+        }
+    }
+
+    private void startContinuous() {
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName(CONTINUOUS_NAME);
+            recording.setToDisk(true);
+            recording.setMaxAge(continuousMaxAge);
+            recording.setMaxSize(continuousMaxSize);
+            recording.start();
+            continuous = recording;
+            log.info("JFR环形录制已开启: maxAge={}, maxSize={}MB, directory={}",
+                    continuousMaxAge, continuousMaxSize / 1024 / 1024, directory);
+        } catch (IOException | ParseException e) {
+            log.warn("JFR环形录制开启失败", e);
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    /**
+     * 开始按需录制，到达时长后自动停止并写入文件
+     */
+    public RecordingInfo start(String template, Duration duration) throws IOException, ParseException {
+        checkAvailable();
+        Recording recording = new Recording(Configuration.getConfiguration(template));
+        recording.setName("on-demand-" + template);
+        recording.setToDisk(true);
+        recording.setDuration(duration);
+        recording.setDestination(directory.resolve("recording-" + timestamp() + ".jfr"));
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        pruneRecordings();
+        log.info("JFR按需录制已开始: id={}, template={}, duration={}", recording.getId(), template, duration);
+        pruneFiles();
+        return info(recording);
+    }
+
+    /**
+     * 提前停止录制（数据写入录制文件）
+     */
+    public Optional<RecordingInfo> stop(long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return Optional.empty();
+        }
+        if (recording.getState() == RecordingState.RUNNING || recording.getState() == RecordingState.DELAYED) {
+            recording.stop();
+            log.info("JFR按需录制已停止: id={}, file={}", id, recording.getDestination());
+        }
+        return Optional.of(info(recording));
+    }
+
+    /**
+     * 录制文件：运行中的录制导出一份当前快照，已结束的录制返回其文件
+     */
+    public Optional<Path> file(long id) throws IOException {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return Optional.empty();
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            Path snapshot = directory.resolve("snapshot-" + id + "-" + timestamp() + ".jfr");
+            recording.dump(snapshot);
+            pruneFiles();
+            return Optional.of(snapshot);
+        }
+        Path destination = recording.getDestination();
+        return destination != null && Files.exists(destination) ? Optional.of(destination) : Optional.empty();
+    }
+
+    /**
+     * 导出环形录制（最近 max-age 内的数据）
+     */
+    public Optional<Path> dumpContinuous(String reason) {
+        Recording recording = continuous;
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return Optional.empty();
+        }
+        Path file = directory.resolve("auto-" + reason + "-" + timestamp() + ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException e) {
+            log.warn("JFR环形录制导出失败: {}", file, e);
+            return Optional.empty();
+        }
+        pruneFiles();
+        return Optional.of(file);
+    }
+
+    public List<RecordingInfo> list() {
+        Stream<Recording> all = continuous != null
+                ? Stream.concat(Stream.of(continuous), recordings.values().stream())
+                : recordings.values().stream();
+        return all.map(this::info).toList();
+    }
+
+    @PreDestroy
+    public void close() {
+        recordings.values().forEach(Recording::close);
+        if (continuous != null) {
+            continuous.close();
+        }
+    }
+
+    private RecordingInfo info(Recording recording) {
+        Path destination = recording.getDestination();
+        return new RecordingInfo(recording.getId(), recording.getName(), recording.getState().name(),
+                recording.getStartTime(), recording.getDuration(), recording.getSize(),
+                destination != null ? destination.getFileName().toString() : null);
+    }
+
+    private void checkAvailable() {
+        if (!available) {
+            throw new IllegalStateException("JFR诊断功能不可用");
+        }
+    }
+
+    /**
+     * 只保留最近 max-files 个按需录制的状态，更早且已结束的录制释放资源
+     */
+    private void pruneRecordings() {
+        for (Map.Entry<Long, Recording> entry : recordings.entrySet()) {
+            if (recordings.size() <= maxFiles) {
+                break;
+            }
+            RecordingState state = entry.getValue().getState();
+            if (state != RecordingState.RUNNING && state != RecordingState.DELAYED) {
+                entry.getValue().close();
+                recordings.remove(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * 目录中的 .jfr 文件超过上限时删除最早的（不删除仍在录制的目标文件）
+     */
+    private void pruneFiles() {
+        List<Path> active = recordings.values().stream()
+                .filter(r -> r.getState() == RecordingState.RUNNING || r.getState() == RecordingState.DELAYED)
+                .map(Recording::getDestination)
+                .toList();
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> jfrFiles = files
+                    .filter(path -> path.getFileName().toString().endsWith(".jfr"))
+                    .filter(path -> !active.contains(path))
+                    .sorted(Comparator.comparing(JfrRecordingManager::lastModified).reversed())
+                    .toList();
+            for (Path path : jfrFiles.subList(Math.min(maxFiles, jfrFiles.size()), jfrFiles.size())) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("清理JFR录制文件失败: {}", directory, e);
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String timestamp() {
+        return LocalDateTime.now().format(FILE_TIME);
+    }
+}
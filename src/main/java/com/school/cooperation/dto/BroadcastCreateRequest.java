@@ -0,0 +1,54 @@
+package com.school.cooperation.dto;
+
+import com.school.cooperation.entity.enums.BroadcastAudience;
+import com.school.cooperation.entity.enums.NotificationType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * 广播通知发布请求DTO
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+public class BroadcastCreateRequest {
+
+    /**
+     * 标题
+     */
+    @NotBlank(message = "标题不能为空")
+    @Size(max = 100, message = "标题长度不能超过100个字符")
+    private String title;
+
+    /**
+     * 内容
+     */
+    @NotBlank(message = "内容不能为空")
+    private String content;
+
+    /**
+     * 通知类型（默认系统通知）
+     */
+    private NotificationType type;
+
+    /**
+     * 受众范围
+     */
+    @NotNull(message = "受众范围不能为空")
+    private BroadcastAudience audienceType;
+
+    /**
+     * 受众ID（学校ID/年级/班级ID），年级受众格式为“学校ID:年级”，学校管理员可只填年级
+     */
+    @NotBlank(message = "受众ID不能为空")
+    @Size(max = 50, message = "受众ID长度不能超过50个字符")
+    private String audienceId;
+
+    /**
+     * 关联ID
+     */
+    private Long relatedId;
+}
@@ -0,0 +1,54 @@
+package com.school.cooperation.dto;
+
+import com.school.cooperation.entity.enums.ClassStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 班级列表项DTO
+ * 列表查询通过构造器表达式只选取这些列，班主任只带ID与姓名，不加载手机号、邮箱等用户字段
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassSummary {
+
+    /**
+     * 班级ID
+     */
+    private Long id;
+
+    /**
+     * 班级名称
+     */
+    private String name;
+
+    /**
+     * 年级
+     */
+    private String grade;
+
+    /**
+     * 班主任ID
+     */
+    private Long teacherId;
+
+    /**
+     * 班主任姓名
+     */
+    private String teacherName;
+
+    /**
+     * 学生人数
+     */
+    private Integer studentCount;
+
+    /**
+     * 班级状态
+     */
+    private ClassStatus status;
+}
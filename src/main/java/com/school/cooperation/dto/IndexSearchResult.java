@@ -0,0 +1,51 @@
+package com.school.cooperation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 索引检索结果DTO
+ *
+ * @param <T> 结果类型
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexSearchResult<T> {
+
+    /**
+     * 命中总数
+     */
+    private Long total;
+
+    /**
+     * 当前页码
+     */
+    private Integer page;
+
+    /**
+     * 每页大小
+     */
+    private Integer pageSize;
+
+    /**
+     * 结果列表（按相关度排序）
+     */
+    private List<T> list;
+
+    /**
+     * 高亮片段（ID -> 片段）
+     */
+    private Map<Long, String> highlights;
+
+    /**
+     * 分面统计（维度 -> 取值 -> 数量）
+     */
+    private Map<String, Map<String, Long>> facets;
+}
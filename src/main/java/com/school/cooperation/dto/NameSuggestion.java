@@ -0,0 +1,42 @@
+package com.school.cooperation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 姓名联想建议DTO
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NameSuggestion {
+
+    /**
+     * 类型：学生
+     */
+    public static final String TYPE_STUDENT = "STUDENT";
+
+    /**
+     * 类型：家长
+     */
+    public static final String TYPE_PARENT = "PARENT";
+
+    /**
+     * 类型 (STUDENT/PARENT)
+     */
+    private String type;
+
+    /**
+     * 学生ID或家长用户ID
+     */
+    private Long id;
+
+    /**
+     * 姓名
+     */
+    private String name;
+}
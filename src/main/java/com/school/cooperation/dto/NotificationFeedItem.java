@@ -0,0 +1,108 @@
+package com.school.cooperation.dto;
+
+import com.school.cooperation.entity.Broadcast;
+import com.school.cooperation.entity.Notification;
+import com.school.cooperation.entity.enums.BroadcastAudience;
+import com.school.cooperation.entity.enums.NotificationType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 通知信息流条目DTO
+ * 合并个人通知与广播通知后的统一视图
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+public class NotificationFeedItem {
+
+    /**
+     * 来源：个人通知
+     */
+    public static final String SOURCE_PERSONAL = "PERSONAL";
+
+    /**
+     * 来源：广播通知
+     */
+    public static final String SOURCE_BROADCAST = "BROADCAST";
+
+    /**
+     * 通知ID（个人通知ID或广播ID，需结合来源区分）
+     */
+    private Long id;
+
+    /**
+     * 来源 (PERSONAL/BROADCAST)
+     */
+    private String source;
+
+    /**
+     * 标题
+     */
+    private String title;
+
+    /**
+     * 内容
+     */
+    private String content;
+
+    /**
+     * 通知类型
+     */
+    private NotificationType type;
+
+    /**
+     * 广播受众范围（仅广播通知）
+     */
+    private BroadcastAudience audienceType;
+
+    /**
+     * 关联ID
+     */
+    private Long relatedId;
+
+    /**
+     * 是否已读
+     */
+    private Boolean read;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdTime;
+
+    /**
+     * 由个人通知构建
+     */
+    public static NotificationFeedItem of(Notification notification) {
+        NotificationFeedItem item = new NotificationFeedItem();
+        item.setId(notification.getId());
+        item.setSource(SOURCE_PERSONAL);
+        item.setTitle(notification.getTitle());
+        item.setContent(notification.getContent());
+        item.setType(notification.getType());
+        item.setRelatedId(notification.getRelatedId());
+        item.setRead(Boolean.TRUE.equals(notification.getIsRead()));
+        item.setCreatedTime(notification.getCreatedTime());
+        return item;
+    }
+
+    /**
+     * 由广播通知构建
+     */
+    public static NotificationFeedItem of(Broadcast broadcast, boolean read) {
+        NotificationFeedItem item = new NotificationFeedItem();
+        item.setId(broadcast.getId());
+        item.setSource(SOURCE_BROADCAST);
+        item.setTitle(broadcast.getTitle());
+        item.setContent(broadcast.getContent());
+        item.setType(broadcast.getType());
+        item.setAudienceType(broadcast.getAudienceType());
+        item.setRelatedId(broadcast.getRelatedId());
+        item.setRead(read);
+        item.setCreatedTime(broadcast.getCreatedTime());
+        return item;
+    }
+}
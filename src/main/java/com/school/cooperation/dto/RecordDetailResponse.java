@@ -0,0 +1,130 @@
+package com.school.cooperation.dto;
+
+import com.school.cooperation.entity.StudentRecord;
+import com.school.cooperation.entity.enums.Importance;
+import com.school.cooperation.entity.enums.RecordType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 档案记录详情DTO
+ * 只包含详情页展示所需字段；学生与教师只返回姓名，不返回身份证、住址、联系方式等个人信息。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+public class RecordDetailResponse {
+
+    /**
+     * 记录ID
+     */
+    private Long id;
+
+    /**
+     * 学生ID
+     */
+    private Long studentId;
+
+    /**
+     * 学生姓名
+     */
+    private String studentName;
+
+    /**
+     * 班级名称
+     */
+    private String className;
+
+    /**
+     * 记录教师ID
+     */
+    private Long teacherId;
+
+    /**
+     * 记录教师姓名
+     */
+    private String teacherName;
+
+    /**
+     * 学期
+     */
+    private String term;
+
+    /**
+     * 记录类型
+     */
+    private RecordType type;
+
+    /**
+     * 分类
+     */
+    private String category;
+
+    /**
+     * 标题
+     */
+    private String title;
+
+    /**
+     * 正文
+     */
+    private String content;
+
+    /**
+     * 图片列表
+     */
+    private List<String> images;
+
+    /**
+     * 标签列表
+     */
+    private List<String> tags;
+
+    /**
+     * 重要程度
+     */
+    private Importance importance;
+
+    /**
+     * 是否公开给家长
+     */
+    private Boolean isPublic;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdTime;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updatedTime;
+
+    /**
+     * 由记录及关联名称构建
+     */
+    public static RecordDetailResponse of(StudentRecord record, String studentName, String className, String teacherName) {
+        RecordDetailResponse response = new RecordDetailResponse();
+        response.setId(record.getId());
+        response.setStudentId(record.getStudentId());
+        response.setStudentName(studentName);
+        response.setClassName(className);
+        response.setTeacherId(record.getTeacherId());
+        response.setTeacherName(teacherName);
+        response.setTerm(record.getTerm());
+        response.setType(record.getType());
+        response.setCategory(record.getCategory());
+        response.setTitle(record.getTitle());
+        response.setContent(record.getContent());
+        response.setImages(record.getImageList());
+        response.setTags(record.getTagList());
+        response.setImportance(record.getImportance());
+        response.setIsPublic(record.getIsPublic());
+        response.setCreatedTime(record.getCreatedTime());
+        response.setUpdatedTime(record.getUpdatedTime());
+        return response;
+    }
+}
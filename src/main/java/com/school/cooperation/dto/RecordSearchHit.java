@@ -0,0 +1,82 @@
+package com.school.cooperation.dto;
+
+import com.school.cooperation.entity.enums.Importance;
+import com.school.cooperation.entity.enums.RecordType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 档案记录搜索结果DTO
+ * 只返回摘要，完整内容按ID另行获取
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordSearchHit {
+
+    /**
+     * 记录ID
+     */
+    private Long id;
+
+    /**
+     * 学生ID
+     */
+    private Long studentId;
+
+    /**
+     * 学生姓名
+     */
+    private String studentName;
+
+    /**
+     * 班级ID
+     */
+    private Long classId;
+
+    /**
+     * 教师ID
+     */
+    private Long teacherId;
+
+    /**
+     * 记录类型
+     */
+    private RecordType type;
+
+    /**
+     * 记录分类
+     */
+    private String category;
+
+    /**
+     * 标题
+     */
+    private String title;
+
+    /**
+     * 内容摘要
+     */
+    private String summary;
+
+    /**
+     * 重要程度
+     */
+    private Importance importance;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdTime;
+
+    /**
+     * 相关度得分（未指定关键词时为0）
+     */
+    private Double score;
+}
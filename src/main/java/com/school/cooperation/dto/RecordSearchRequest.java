@@ -0,0 +1,90 @@
+package com.school.cooperation.dto;
+
+import com.school.cooperation.entity.enums.RecordType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 档案记录搜索请求DTO
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+public class RecordSearchRequest {
+
+    /**
+     * 关键词（全文检索标题和内容，按相关度排序）
+     */
+    @Size(max = 100, message = "关键词长度不能超过100个字符")
+    private String keyword;
+
+    /**
+     * 标题包含
+     */
+    @Size(max = 100, message = "标题长度不能超过100个字符")
+    private String title;
+
+    /**
+     * 记录分类
+     */
+    @Size(max = 50, message = "记录分类长度不能超过50个字符")
+    private String category;
+
+    /**
+     * 记录类型
+     */
+    private RecordType type;
+
+    /**
+     * 标签（需同时包含全部标签）
+     */
+    @Size(max = 10, message = "标签数量不能超过10个")
+    private List<String> tags;
+
+    /**
+     * 班级ID
+     */
+    private Long classId;
+
+    /**
+     * 学生ID
+     */
+    private Long studentId;
+
+    /**
+     * 开始时间
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime startDate;
+
+    /**
+     * 结束时间
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime endDate;
+
+    /**
+     * 是否同时检索归档记录（归档结果排在在线结果之后，受查询时间预算约束）
+     */
+    private Boolean includeArchived = true;
+
+    /**
+     * 页码（从1开始）
+     */
+    @Min(value = 1, message = "页码不能小于1")
+    private Integer page = 1;
+
+    /**
+     * 每页大小
+     */
+    @Min(value = 1, message = "每页大小不能小于1")
+    @Max(value = 100, message = "每页大小不能超过100")
+    private Integer pageSize = 20;
+}
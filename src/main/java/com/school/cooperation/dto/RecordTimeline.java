@@ -0,0 +1,55 @@
+package com.school.cooperation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 学生档案时间线分页结果DTO
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordTimeline {
+
+    /**
+     * 当页条目（按创建时间倒序）
+     */
+    private List<RecordTimelineItem> items;
+
+    /**
+     * 是否还有更早的记录
+     */
+    private boolean hasMore;
+
+    /**
+     * 下一页游标：创建时间
+     */
+    private LocalDateTime nextBeforeTime;
+
+    /**
+     * 下一页游标：记录ID
+     */
+    private Long nextBeforeId;
+
+    /**
+     * 下一页归档游标：创建时间（归档表独立分页，为空表示从最新开始）
+     */
+    private LocalDateTime nextArchiveBeforeTime;
+
+    /**
+     * 下一页归档游标：记录ID
+     */
+    private Long nextArchiveBeforeId;
+
+    /**
+     * 归档表查询超出预算被跳过，本页可能缺少较早的归档记录，按返回的游标重试即可补齐
+     */
+    private boolean degraded;
+}
@@ -0,0 +1,56 @@
+package com.school.cooperation.dto;
+
+import com.school.cooperation.entity.enums.Importance;
+import com.school.cooperation.entity.enums.RecordType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 学生档案时间线条目DTO（不含正文，正文按ID单独加载）
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordTimelineItem {
+
+    /**
+     * 记录ID
+     */
+    private Long id;
+
+    /**
+     * 记录类型
+     */
+    private RecordType type;
+
+    /**
+     * 记录标题
+     */
+    private String title;
+
+    /**
+     * 重要程度
+     */
+    private Importance importance;
+
+    /**
+     * 是否公开给家长
+     */
+    private Boolean isPublic;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdTime;
+
+    /**
+     * 正文摘要
+     */
+    private String snippet;
+}
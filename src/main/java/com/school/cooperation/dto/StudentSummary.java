@@ -0,0 +1,69 @@
+package com.school.cooperation.dto;
+
+import com.school.cooperation.entity.Student;
+import com.school.cooperation.entity.enums.Gender;
+import com.school.cooperation.entity.enums.StudentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 学生列表项DTO
+ * 列表查询通过构造器表达式只选取这些列，不加载身份证号、住址、紧急联系人等字段
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSummary {
+
+    /**
+     * 学生ID
+     */
+    private Long id;
+
+    /**
+     * 学号
+     */
+    private String studentId;
+
+    /**
+     * 姓名
+     */
+    private String name;
+
+    /**
+     * 性别
+     */
+    private Gender gender;
+
+    /**
+     * 班级ID
+     */
+    private Long classId;
+
+    /**
+     * 入学日期
+     */
+    private LocalDate enrollmentDate;
+
+    /**
+     * 学生状态
+     */
+    private StudentStatus status;
+
+    /**
+     * 从已加载的Student实体转换
+     */
+    public static StudentSummary from(Student student) {
+        if (student == null) {
+            return null;
+        }
+        return new StudentSummary(student.getId(), student.getStudentId(), student.getName(), student.getGender(),
+                student.getClassId(), student.getEnrollmentDate(), student.getStatus());
+    }
+}
@@ -0,0 +1,27 @@
+package com.school.cooperation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 标签计数DTO
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagCount {
+
+    /**
+     * 标签
+     */
+    private String tag;
+
+    /**
+     * 记录数
+     */
+    private Long count;
+}
@@ -0,0 +1,85 @@
+package com.school.cooperation.dto;
+
+import com.school.cooperation.entity.User;
+import com.school.cooperation.entity.enums.UserRole;
+import com.school.cooperation.entity.enums.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户列表项DTO
+ * 列表查询通过构造器表达式只选取这些列，不加载密码等字段
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+
+    /**
+     * 用户ID
+     */
+    private Long id;
+
+    /**
+     * 用户名
+     */
+    private String username;
+
+    /**
+     * 真实姓名
+     */
+    private String realName;
+
+    /**
+     * 手机号
+     */
+    private String phone;
+
+    /**
+     * 邮箱
+     */
+    private String email;
+
+    /**
+     * 头像URL
+     */
+    private String avatar;
+
+    /**
+     * 用户角色
+     */
+    private UserRole role;
+
+    /**
+     * 用户状态
+     */
+    private UserStatus status;
+
+    /**
+     * 最后登录时间
+     */
+    private LocalDateTime lastLoginTime;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdTime;
+
+    /**
+     * 从已加载的User实体转换
+     */
+    public static UserSummary from(User user) {
+        if (user == null) {
+            return null;
+        }
+        return new UserSummary(user.getId(), user.getUsername(), user.getRealName(), user.getPhone(),
+                user.getEmail(), user.getAvatar(), user.getRole(), user.getStatus(),
+                user.getLastLoginTime(), user.getCreatedTime());
+    }
+}
@@ -0,0 +1,175 @@
+package com.school.cooperation.entity;
+
+import com.school.cooperation.entity.enums.Importance;
+import com.school.cooperation.entity.enums.RecordType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 归档档案记录实体类
+ * 由归档任务从 edu_student_record 整行搬迁（沿用原记录ID），应用只读
+ *
+ * @author system
+ * @since 2025-11-15
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "edu_student_record_archive")
+public class ArchivedRecord {
+
+    /**
+     * 记录ID
+     */
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * 学生ID
+     */
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    /**
+     * 教师ID
+     */
+    @Column(name = "teacher_id", nullable = false)
+    private Long teacherId;
+
+    /**
+     * 班级ID
+     */
+    @Column(name = "class_id")
+    private Long classId;
+
+    /**
+     * 学期
+     */
+    @Column(name = "term", length = 20)
+    private String term;
+
+    /**
+     * 记录类型
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private RecordType type;
+
+    /**
+     * 记录分类
+     */
+    @Column(name = "category", nullable = false, length = 50)
+    private String category;
+
+    /**
+     * 标题
+     */
+    @Column(name = "title", nullable = false, length = 100)
+    private String title;
+
+    /**
+     * 内容
+     */
+    @Column(name = "content", nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    /**
+     * 图片URL列表 (JSON格式)
+     */
+    @Column(name = "images", columnDefinition = "JSON")
+    private String images;
+
+    /**
+     * 标签列表 (JSON格式)
+     */
+    @Column(name = "tags", columnDefinition = "JSON")
+    private String tags;
+
+    /**
+     * 重要程度
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "importance", length = 20)
+    private Importance importance;
+
+    /**
+     * 是否对家长公开
+     */
+    @Column(name = "is_public")
+    private Boolean isPublic;
+
+    /**
+     * 是否已通知家长
+     */
+    @Column(name = "parent_notified")
+    private Boolean parentNotified;
+
+    /**
+     * 创建时间
+     */
+    @Column(name = "created_time", nullable = false)
+    private LocalDateTime createdTime;
+
+    /**
+     * 更新时间
+     */
+    @Column(name = "updated_time")
+    private LocalDateTime updatedTime;
+
+    /**
+     * 创建人ID
+     */
+    @Column(name = "created_by")
+    private Long createdBy;
+
+    /**
+     * 更新人ID
+     */
+    @Column(name = "updated_by")
+    private Long updatedBy;
+
+    /**
+     * 逻辑删除标识
+     */
+    @Column(name = "deleted")
+    private Boolean deleted;
+
+    /**
+     * 归档时间
+     */
+    @Column(name = "archived_time", nullable = false)
+    private LocalDateTime archivedTime;
+
+    /**
+     * 转换为档案记录（游离对象，仅用于读取，不可保存）
+     */
+    public StudentRecord toRecord() {
+        StudentRecord record = new StudentRecord();
+        record.setId(id);
+        record.setStudentId(studentId);
+        record.setTeacherId(teacherId);
+        record.setClassId(classId);
+        record.setTerm(term);
+        record.setType(type);
+        record.setCategory(category);
+        record.setTitle(title);
+        record.setContent(content);
+        record.setImages(images);
+        record.setTags(tags);
+        record.setImportance(importance);
+        record.setIsPublic(isPublic);
+        record.setParentNotified(parentNotified);
+        record.setCreatedTime(createdTime);
+        record.setUpdatedTime(updatedTime);
+        record.setCreatedBy(createdBy);
+        record.setUpdatedBy(updatedBy);
+        record.setDeleted(deleted);
+        return record;
+    }
+}
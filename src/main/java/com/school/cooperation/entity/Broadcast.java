@@ -0,0 +1,96 @@
+package com.school.cooperation.entity;
+
+import com.school.cooperation.entity.enums.BroadcastAudience;
+import com.school.cooperation.entity.enums.NotificationType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * 广播通知实体类
+ * 面向全校/年级/班级的通知只存储一行，读取时按用户所属受众合并（fan-out-on-read）
+ *
+ * @author system
+ * @since 2025-11-15
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "sys_broadcast")
+public class Broadcast extends BaseEntity {
+
+    /**
+     * 标题
+     */
+    @NotBlank(message = "标题不能为空")
+    @Size(max = 100, message = "标题长度不能超过100个字符")
+    @Column(name = "title", nullable = false, length = 100)
+    private String title;
+
+    /**
+     * 内容
+     */
+    @NotBlank(message = "内容不能为空")
+    @Column(name = "content", nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    /**
+     * 通知类型
+     */
+    @NotNull(message = "通知类型不能为空")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private NotificationType type;
+
+    /**
+     * 受众范围
+     */
+    @NotNull(message = "受众范围不能为空")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "audience_type", nullable = false, length = 20)
+    private BroadcastAudience audienceType;
+
+    /**
+     * 受众ID (学校ID/学校ID:年级/班级ID)
+     */
+    @NotBlank(message = "受众ID不能为空")
+    @Size(max = 50, message = "受众ID长度不能超过50个字符")
+    @Column(name = "audience_id", nullable = false, length = 50)
+    private String audienceId;
+
+    /**
+     * 受众键 (受众类型:受众ID)，冗余存储以便单索引范围检索
+     */
+    @Column(name = "audience_key", nullable = false, length = 80)
+    private String audienceKey;
+
+    /**
+     * 关联ID (记录/班级/学生ID)
+     */
+    @Column(name = "related_id")
+    private Long relatedId;
+
+    /**
+     * 发布人ID
+     */
+    @NotNull(message = "发布人不能为空")
+    @Column(name = "publisher_id", nullable = false)
+    private Long publisherId;
+
+    /**
+     * JPA生命周期回调 - 创建前设置时间与受众键
+     */
+    @Override
+    @PrePersist
+    protected void onCreate() {
+        super.onCreate();
+        audienceKey = audienceType.keyOf(audienceId);
+    }
+}
@@ -0,0 +1,51 @@
+package com.school.cooperation.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户广播阅读游标实体类
+ * ID不大于游标的广播均视为已读，"全部已读"只需推进游标而无需逐条写入
+ *
+ * @author system
+ * @since 2025-11-15
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@Entity
+@Table(name = "sys_broadcast_cursor")
+public class BroadcastCursor {
+
+    /**
+     * 用户ID
+     */
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * 已读游标 (已读的最大广播ID)
+     */
+    @Column(name = "last_read_id", nullable = false)
+    private Long lastReadId = 0L;
+
+    /**
+     * 更新时间
+     */
+    @Column(name = "updated_time")
+    private LocalDateTime updatedTime;
+
+    /**
+     * JPA生命周期回调 - 保存前设置时间
+     */
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedTime = LocalDateTime.now();
+    }
+}
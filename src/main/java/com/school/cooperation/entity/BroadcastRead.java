@@ -0,0 +1,59 @@
+package com.school.cooperation.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * 广播通知已读记录实体类
+ * 仅保存阅读游标之后零散的已读广播，游标之前的广播全部视为已读
+ *
+ * @author system
+ * @since 2025-11-15
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@Entity
+@Table(name = "sys_broadcast_read",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "broadcast_id"}))
+public class BroadcastRead {
+
+    /**
+     * 主键ID
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 用户ID
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * 广播ID
+     */
+    @Column(name = "broadcast_id", nullable = false)
+    private Long broadcastId;
+
+    /**
+     * 阅读时间
+     */
+    @Column(name = "read_time", nullable = false)
+    private LocalDateTime readTime;
+
+    /**
+     * JPA生命周期回调 - 创建前设置时间
+     */
+    @PrePersist
+    protected void onCreate() {
+        if (readTime == null) {
+            readTime = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.school.cooperation.entity;
+
+import com.school.cooperation.entity.enums.Importance;
+import com.school.cooperation.entity.enums.RecordType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 档案记录日统计实体类
+ * 由数据库触发器在记录新增/修改/删除时增量维护，并由夜间对账任务校正，应用只读
+ *
+ * @author system
+ * @since 2025-11-15
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "edu_record_stats")
+public class RecordStat {
+
+    /**
+     * 统计ID
+     */
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * 统计日期（记录创建日期）
+     */
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    /**
+     * 学生ID
+     */
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    /**
+     * 班级ID（同档案记录 class_id，即学生当前班级；无班级为0）
+     */
+    @Column(name = "class_id", nullable = false)
+    private Long classId;
+
+    /**
+     * 教师ID
+     */
+    @Column(name = "teacher_id", nullable = false)
+    private Long teacherId;
+
+    /**
+     * 记录类型
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private RecordType type;
+
+    /**
+     * 重要程度
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "importance", nullable = false, length = 20)
+    private Importance importance;
+
+    /**
+     * 记录数
+     */
+    @Column(name = "record_count", nullable = false)
+    private Integer recordCount;
+
+    /**
+     * 对家长公开的记录数
+     */
+    @Column(name = "public_count", nullable = false)
+    private Integer publicCount;
+
+    /**
+     * 已通知家长的记录数
+     */
+    @Column(name = "notified_count", nullable = false)
+    private Integer notifiedCount;
+
+    /**
+     * 最后记录时间
+     */
+    @Column(name = "last_record_time")
+    private LocalDateTime lastRecordTime;
+
+    /**
+     * 更新时间
+     */
+    @Column(name = "updated_time")
+    private LocalDateTime updatedTime;
+}
@@ -0,0 +1,66 @@
+package com.school.cooperation.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * 数据保留清理进度实体类
+ * 记录分块清理任务的进度检查点，并通过租约保证多节点下同一时刻只有一个节点执行清理
+ *
+ * @author system
+ * @since 2025-11-15
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@Entity
+@Table(name = "sys_retention_checkpoint")
+public class RetentionCheckpoint {
+
+    /**
+     * 任务名称
+     */
+    @Id
+    @Column(name = "job_name", length = 50)
+    private String jobName;
+
+    /**
+     * 最后处理到的ID
+     */
+    @Column(name = "last_id", nullable = false)
+    private Long lastId = 0L;
+
+    /**
+     * 本轮清理截止时间
+     */
+    @Column(name = "cutoff_time")
+    private LocalDateTime cutoffTime;
+
+    /**
+     * 本轮已删除行数
+     */
+    @Column(name = "deleted_rows", nullable = false)
+    private Long deletedRows = 0L;
+
+    /**
+     * 租约持有者
+     */
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    /**
+     * 租约到期时间
+     */
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    /**
+     * 更新时间
+     */
+    @Column(name = "updated_time")
+    private LocalDateTime updatedTime;
+}
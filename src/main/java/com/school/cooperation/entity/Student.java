@@ -118,6 +118,40 @@ public class Student extends BaseEntity {
     @Column(name = "status", nullable = false, length = 20)
     private StudentStatus status = StudentStatus.ACTIVE;
 
+    /**
+     * 离校日期（毕业/转出），状态变为非在读时自动记录，恢复在读时清空
+     */
+    @Column(name = "leave_date")
+    private LocalDate leaveDate;
+
+    /**
+     * 创建前同步离校日期
+     */
+    @Override
+    @PrePersist
+    protected void onCreate() {
+        super.onCreate();
+        syncLeaveDate();
+    }
+
+    /**
+     * 更新前同步离校日期
+     */
+    @Override
+    @PreUpdate
+    protected void onUpdate() {
+        super.onUpdate();
+        syncLeaveDate();
+    }
+
+    private void syncLeaveDate() {
+        if (StudentStatus.ACTIVE.equals(status)) {
+            leaveDate = null;
+        } else if (leaveDate == null) {
+            leaveDate = LocalDate.now();
+        }
+    }
+
     /**
      * 关联的班级信息
      */
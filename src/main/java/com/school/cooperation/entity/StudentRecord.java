@@ -1,5 +1,7 @@
 package com.school.cooperation.entity;
 
+import cn.hutool.json.JSONUtil;
+import com.school.cooperation.common.utils.AcademicTermUtils;
 import com.school.cooperation.entity.enums.Importance;
 import com.school.cooperation.entity.enums.RecordType;
 import jakarta.persistence.*;
@@ -10,8 +12,12 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 学生档案记录实体类
@@ -27,6 +33,11 @@ import java.util.List;
 @Table(name = "edu_student_record")
 public class StudentRecord extends BaseEntity {
 
+    /**
+     * 单个标签最大长度，与 edu_student_record 上多值索引的 CAST(... AS CHAR(32) ARRAY) 一致
+     */
+    public static final int MAX_TAG_LENGTH = 32;
+
     /**
      * 学生ID
      */
@@ -41,6 +52,18 @@ public class StudentRecord extends BaseEntity {
     @Column(name = "teacher_id", nullable = false)
     private Long teacherId;
 
+    /**
+     * 班级ID（冗余学生当前班级，按班级查询记录时免去关联学生表）
+     */
+    @Column(name = "class_id")
+    private Long classId;
+
+    /**
+     * 学期（如 2025-2026-1）
+     */
+    @Column(name = "term", length = 20)
+    private String term;
+
     /**
      * 记录类型
      */
@@ -117,13 +140,24 @@ public class StudentRecord extends BaseEntity {
     @JoinColumn(name = "teacher_id", insertable = false, updatable = false)
     private User teacher;
 
+    /**
+     * 创建前根据创建时间设置学期；班级ID未指定时由数据库触发器按学生当前班级填充
+     */
+    @Override
+    @PrePersist
+    protected void onCreate() {
+        super.onCreate();
+        if (term == null) {
+            term = AcademicTermUtils.termOf(getCreatedTime());
+        }
+    }
+
     /**
      * 获取图片URL列表
      */
     @Transient
     public List<String> getImageList() {
-        // TODO: 实现JSON解析逻辑
-        return null;
+        return StringUtils.hasText(images) ? JSONUtil.toList(images, String.class) : new ArrayList<>();
     }
 
     /**
@@ -131,7 +165,7 @@ public class StudentRecord extends BaseEntity {
      */
     @Transient
     public void setImageList(List<String> imageList) {
-        // TODO: 实现JSON序列化逻辑
+        images = imageList == null || imageList.isEmpty() ? null : JSONUtil.toJsonStr(imageList);
     }
 
     /**
@@ -139,16 +173,30 @@ public class StudentRecord extends BaseEntity {
      */
     @Transient
     public List<String> getTagList() {
-        // TODO: 实现JSON解析逻辑
-        return null;
+        return StringUtils.hasText(tags) ? JSONUtil.toList(tags, String.class) : new ArrayList<>();
     }
 
     /**
-     * 设置标签列表
+     * 设置标签列表（去除空白与重复，标签长度受多值索引 CHAR(32) 限制）
      */
     @Transient
     public void setTagList(List<String> tagList) {
-        // TODO: 实现JSON序列化逻辑
+        if (tagList == null) {
+            tags = null;
+            return;
+        }
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String tag : tagList) {
+            if (!StringUtils.hasText(tag)) {
+                continue;
+            }
+            String value = tag.trim();
+            if (value.length() > MAX_TAG_LENGTH) {
+                throw new IllegalArgumentException("标签长度不能超过" + MAX_TAG_LENGTH + "个字符: " + value);
+            }
+            normalized.add(value);
+        }
+        tags = normalized.isEmpty() ? null : JSONUtil.toJsonStr(normalized);
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.school.cooperation.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.school.cooperation.entity.enums.UserRole;
 import com.school.cooperation.entity.enums.UserStatus;
 import jakarta.persistence.*;
@@ -41,6 +42,7 @@ public class User extends BaseEntity {
     @NotBlank(message = "密码不能为空")
     @Size(min = 6, max = 100, message = "密码长度必须在6-100个字符之间")
     @Column(name = "password", nullable = false, length = 100)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
 
     /**
@@ -0,0 +1,66 @@
+package com.school.cooperation.entity.enums;
+
+/**
+ * 广播通知受众范围枚举
+ *
+ * @author system
+ * @since 2025-11-15
+ */
+public enum BroadcastAudience {
+    /**
+     * 全校
+     */
+    SCHOOL("SCHOOL", "全校"),
+
+    /**
+     * 年级
+     */
+    GRADE("GRADE", "年级"),
+
+    /**
+     * 班级
+     */
+    CLASS("CLASS", "班级");
+
+    private final String code;
+    private final String description;
+
+    BroadcastAudience(String code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * 生成受众键（受众类型:受众ID），用于按受众集合检索广播
+     */
+    public String keyOf(String audienceId) {
+        return code + ":" + audienceId;
+    }
+
+    /**
+     * 生成年级受众ID（学校ID:年级）：年级名称在各校之间重复，必须带学校范围
+     */
+    public static String gradeAudienceId(String schoolId, String grade) {
+        return schoolId + ":" + grade;
+    }
+
+    /**
+     * 根据代码获取枚举
+     */
+    public static BroadcastAudience fromCode(String code) {
+        for (BroadcastAudience audience : values()) {
+            if (audience.getCode().equals(code)) {
+                return audience;
+            }
+        }
+        throw new IllegalArgumentException("Unknown broadcast audience code: " + code);
+    }
+}
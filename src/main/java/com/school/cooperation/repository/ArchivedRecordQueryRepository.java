@@ -0,0 +1,165 @@
+package com.school.cooperation.repository;
+
+import com.school.cooperation.dto.RecordSearchHit;
+import com.school.cooperation.dto.RecordSearchRequest;
+import com.school.cooperation.dto.RecordTimelineItem;
+import com.school.cooperation.entity.enums.Importance;
+import com.school.cooperation.entity.enums.RecordType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 归档档案记录查询数据访问
+ * 归档表采用压缩行格式且通常不在缓冲池中，所有范围查询带 MAX_EXECUTION_TIME 执行时间预算；
+ * 超出预算或查询失败时记录指标并返回空结果，调用方只返回在线表数据，不影响接口可用性。
+ * 使用 JDBC 执行，失败不会将外层 JPA 事务标记为回滚。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Repository
+public class ArchivedRecordQueryRepository {
+
+    private static final String FROM_CLAUSE =
+            StudentRecordSearchRepositoryImpl.fromClause(StudentRecordSearchRepositoryImpl.ARCHIVE_TABLE);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Timer queryTimer;
+    private final Counter budgetExceededCounter;
+
+    @Value("${app.record-archive.query-budget-millis:500}")
+    private long queryBudgetMillis;
+
+    public ArchivedRecordQueryRepository(NamedParameterJdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queryTimer = Timer.builder("record.archive.query")
+                .description("归档表查询耗时")
+                .register(meterRegistry);
+        this.budgetExceededCounter = Counter.builder("record.archive.query.degraded")
+                .description("归档表查询超出预算或失败而降级的次数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 全文检索归档记录，条件与在线表检索一致
+     */
+    public List<RecordSearchHit> searchRecords(RecordSearchRequest request, String booleanQuery,
+                                               Collection<Long> classIds, int offset, int limit) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        String where = StudentRecordSearchRepositoryImpl.buildWhere(request, booleanQuery, classIds, params);
+        boolean ranked = StringUtils.hasText(booleanQuery);
+
+        String sql = StudentRecordSearchRepositoryImpl.SELECT_COLUMNS +
+                (ranked ? StudentRecordSearchRepositoryImpl.MATCH_EXPRESSION : "0") + " AS score " + FROM_CLAUSE +
+                where +
+                (ranked ? " ORDER BY score DESC, r.id DESC" : " ORDER BY r.created_time DESC, r.id DESC") +
+                " LIMIT :limit OFFSET :offset";
+        params.put("limit", limit);
+        params.put("offset", offset);
+
+        return withinBudget("search", List.of(), () -> StudentRecordSearchRepositoryImpl.toHits(
+                jdbcTemplate.query(withBudget(sql), params, ArchivedRecordQueryRepository::toRow)));
+    }
+
+    /**
+     * 统计归档记录检索结果数
+     */
+    public long countSearchRecords(RecordSearchRequest request, String booleanQuery, Collection<Long> classIds) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        String sql = "SELECT COUNT(*) " + FROM_CLAUSE +
+                StudentRecordSearchRepositoryImpl.buildWhere(request, booleanQuery, classIds, params);
+
+        Long count = withinBudget("count", 0L, () -> jdbcTemplate.queryForObject(withBudget(sql), params, Long.class));
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * 按ID批量查询归档记录检索结果（用于索引命中回表）
+     */
+    public List<RecordSearchHit> findHitsByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        String sql = StudentRecordSearchRepositoryImpl.SELECT_COLUMNS + "0 AS score " + FROM_CLAUSE +
+                "WHERE r.id IN (:ids) AND r.deleted = 0";
+
+        return withinBudget("hits", List.of(), () -> StudentRecordSearchRepositoryImpl.toHits(
+                jdbcTemplate.query(withBudget(sql), Map.of("ids", ids), ArchivedRecordQueryRepository::toRow)));
+    }
+
+    /**
+     * 学生归档记录时间线（按 (创建时间, ID) 游标倒序）
+     *
+     * @return 归档记录，超出查询预算时返回null（与"没有更多归档记录"区分）
+     */
+    public List<RecordTimelineItem> findTimelineByStudent(Long studentId, boolean publicOnly,
+                                                          LocalDateTime beforeTime, Long beforeId,
+                                                          int snippetLength, int limit) {
+        String sql = "SELECT r.id, r.type, r.title, r.importance, r.is_public, r.created_time, " +
+                "LEFT(r.content, :snippetLength) AS snippet FROM " + StudentRecordSearchRepositoryImpl.ARCHIVE_TABLE +
+                " r WHERE r.student_id = :studentId AND r.deleted = 0" +
+                (publicOnly ? " AND r.is_public = 1" : "") +
+                " AND (r.created_time < :beforeTime OR (r.created_time = :beforeTime AND r.id < :beforeId))" +
+                " ORDER BY r.created_time DESC, r.id DESC LIMIT :limit";
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("studentId", studentId);
+        params.put("beforeTime", beforeTime);
+        params.put("beforeId", beforeId);
+        params.put("snippetLength", snippetLength);
+        params.put("limit", limit);
+
+        return withinBudget("timeline", null, () -> jdbcTemplate.query(withBudget(sql), params,
+                (rs, rowNum) -> new RecordTimelineItem(
+                        rs.getLong("id"),
+                        RecordType.valueOf(rs.getString("type")),
+                        rs.getString("title"),
+                        rs.getString("importance") != null ? Importance.valueOf(rs.getString("importance")) : null,
+                        rs.getBoolean("is_public"),
+                        rs.getObject("created_time", LocalDateTime.class),
+                        rs.getString("snippet"))));
+    }
+
+    private String withBudget(String sql) {
+        return "SELECT /*+ MAX_EXECUTION_TIME(" + queryBudgetMillis + ") */" + sql.substring("SELECT".length());
+    }
+
+    private <T> T withinBudget(String operation, T fallback, Supplier<T> query) {
+        Timer.Sample sample = Timer.start();
+        try {
+            return query.get();
+        } catch (DataAccessException e) {
+            budgetExceededCounter.increment();
+            log.warn("归档表查询超出预算或失败，降级为仅在线数据: operation={}, budgetMillis={}, error={}",
+                    operation, queryBudgetMillis, e.getMessage());
+            return fallback;
+        } finally {
+            sample.stop(queryTimer);
+        }
+    }
+
+    private static Object[] toRow(ResultSet rs, int rowNum) throws SQLException {
+        int columns = rs.getMetaData().getColumnCount();
+        Object[] row = new Object[columns];
+        for (int i = 0; i < columns; i++) {
+            row[i] = rs.getObject(i + 1);
+        }
+        return row;
+    }
+}
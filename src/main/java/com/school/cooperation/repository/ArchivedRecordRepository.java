@@ -0,0 +1,27 @@
+package com.school.cooperation.repository;
+
+import com.school.cooperation.entity.ArchivedRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 归档档案记录Repository接口
+ * 按主键读取；检索与时间线等范围查询见 {@link ArchivedRecordQueryRepository}（带执行时间预算）
+ *
+ * @author system
+ * @since 2025-11-15
+ */
+@Repository
+public interface ArchivedRecordRepository extends JpaRepository<ArchivedRecord, Long> {
+
+    /**
+     * 按主键游标分批查询归档记录（用于索引重建）
+     */
+    @Query("SELECT ar FROM ArchivedRecord ar WHERE ar.id > :lastId AND ar.deleted = false ORDER BY ar.id")
+    List<ArchivedRecord> findBatchAfterId(@Param("lastId") Long lastId, Pageable pageable);
+}
\ No newline at end of file
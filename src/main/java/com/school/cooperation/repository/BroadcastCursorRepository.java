@@ -0,0 +1,15 @@
+package com.school.cooperation.repository;
+
+import com.school.cooperation.entity.BroadcastCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 广播阅读游标Repository接口
+ *
+ * @author system
+ * @since 2025-11-15
+ */
+@Repository
+public interface BroadcastCursorRepository extends JpaRepository<BroadcastCursor, Long> {
+}
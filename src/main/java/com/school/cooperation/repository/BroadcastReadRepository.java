@@ -0,0 +1,35 @@
+package com.school.cooperation.repository;
+
+import com.school.cooperation.entity.BroadcastRead;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 广播已读记录Repository接口
+ *
+ * @author system
+ * @since 2025-11-15
+ */
+@Repository
+public interface BroadcastReadRepository extends JpaRepository<BroadcastRead, Long> {
+
+    /**
+     * 查询用户在给定广播中已读的广播ID
+     */
+    @Query("SELECT r.broadcastId FROM BroadcastRead r WHERE r.userId = :userId AND r.broadcastId IN :broadcastIds")
+    List<Long> findReadBroadcastIds(@Param("userId") Long userId,
+                                    @Param("broadcastIds") Collection<Long> broadcastIds);
+
+    /**
+     * 删除游标之前的已读记录（已被游标覆盖）
+     */
+    @Modifying
+    @Query("DELETE FROM BroadcastRead r WHERE r.userId = :userId AND r.broadcastId <= :cursor")
+    void deleteCoveredByCursor(@Param("userId") Long userId, @Param("cursor") Long cursor);
+}
@@ -0,0 +1,67 @@
+package com.school.cooperation.repository;
+
+import com.school.cooperation.entity.Broadcast;
+import com.school.cooperation.entity.enums.BroadcastAudience;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 广播通知Repository接口
+ *
+ * @author system
+ * @since 2025-11-15
+ */
+@Repository
+public interface BroadcastRepository extends JpaRepository<Broadcast, Long> {
+
+    /**
+     * 查询指定受众集合在游标(before, beforeId)之前的广播（按时间、ID倒序分页）
+     */
+    @Query("SELECT b FROM Broadcast b WHERE b.audienceKey IN :audienceKeys " +
+           "AND (b.createdTime < :before OR (b.createdTime = :before AND b.id < :beforeId)) " +
+           "AND b.deleted = false ORDER BY b.createdTime DESC, b.id DESC")
+    List<Broadcast> findFeed(@Param("audienceKeys") Collection<String> audienceKeys,
+                             @Param("before") LocalDateTime before,
+                             @Param("beforeId") Long beforeId,
+                             Pageable pageable);
+
+    /**
+     * 统计指定受众集合中游标之后且未单独标记已读的广播数量
+     */
+    @Query("SELECT COUNT(b) FROM Broadcast b WHERE b.audienceKey IN :audienceKeys AND b.id > :cursor " +
+           "AND b.deleted = false AND NOT EXISTS " +
+           "(SELECT r.id FROM BroadcastRead r WHERE r.userId = :userId AND r.broadcastId = b.id)")
+    Long countUnread(@Param("audienceKeys") Collection<String> audienceKeys,
+                     @Param("cursor") Long cursor,
+                     @Param("userId") Long userId);
+
+    /**
+     * 查询指定受众集合中最大的广播ID
+     */
+    @Query("SELECT MAX(b.id) FROM Broadcast b WHERE b.audienceKey IN :audienceKeys AND b.deleted = false")
+    Long findMaxIdByAudienceKeys(@Param("audienceKeys") Collection<String> audienceKeys);
+
+    /**
+     * 查询给定ID中属于指定受众集合的广播ID（用于校验用户是否有权标记已读）
+     */
+    @Query("SELECT b.id FROM Broadcast b WHERE b.id IN :ids AND b.audienceKey IN :audienceKeys AND b.deleted = false")
+    List<Long> findIdsVisibleTo(@Param("ids") Collection<Long> ids,
+                                @Param("audienceKeys") Collection<String> audienceKeys);
+
+    /**
+     * 根据受众类型查询广播
+     */
+    List<Broadcast> findByAudienceTypeAndDeletedFalseOrderByCreatedTimeDesc(BroadcastAudience audienceType);
+
+    /**
+     * 根据发布人查询广播
+     */
+    List<Broadcast> findByPublisherIdAndDeletedFalseOrderByCreatedTimeDesc(Long publisherId);
+}
@@ -1,7 +1,9 @@
 package com.school.cooperation.repository;
 
+import com.school.cooperation.dto.ClassSummary;
 import com.school.cooperation.entity.EduClass;
 import com.school.cooperation.entity.enums.ClassStatus;
+import com.school.cooperation.repository.criteria.ClassCriteria;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -20,6 +22,36 @@ import java.util.Optional;
 @Repository
 public interface EduClassRepository extends JpaRepository<EduClass, Long>, JpaSpecificationExecutor<EduClass> {
 
+    /**
+     * 班级列表投影查询的选取列（班主任只取姓名）
+     */
+    String SUMMARY_SELECT = "SELECT new com.school.cooperation.dto.ClassSummary(c.id, c.name, c.grade, c.teacherId, " +
+            "t.realName, c.studentCount, c.status) FROM EduClass c LEFT JOIN c.teacher t ";
+
+    /**
+     * 查询全部班级列表投影
+     */
+    @Query(SUMMARY_SELECT + "ORDER BY c.id")
+    List<ClassSummary> findAllSummaries();
+
+    /**
+     * 根据状态查询班级列表投影
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.status = :status ORDER BY c.id")
+    List<ClassSummary> findSummariesByStatus(@Param("status") ClassStatus status);
+
+    /**
+     * 根据班主任查询班级列表投影
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.teacherId = :teacherId ORDER BY c.id")
+    List<ClassSummary> findSummariesByTeacherId(@Param("teacherId") Long teacherId);
+
+    /**
+     * 根据年级查询班级列表投影
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.grade = :grade ORDER BY c.id")
+    List<ClassSummary> findSummariesByGrade(@Param("grade") String grade);
+
     /**
      * 根据班级名称查询班级
      */
@@ -88,18 +120,17 @@ public interface EduClassRepository extends JpaRepository<EduClass, Long>, JpaSp
     List<EduClass> findByNameContaining(@Param("className") String className);
 
     /**
-     * 根据多个条件查询班级
+     * 根据多个条件查询班级（只拼接已指定的条件）
      */
-    @Query("SELECT c FROM EduClass c WHERE " +
-           "(:name IS NULL OR c.name LIKE %:name%) AND " +
-           "(:grade IS NULL OR c.grade = :grade) AND " +
-           "(:teacherId IS NULL OR c.teacherId = :teacherId) AND " +
-           "(:status IS NULL OR c.status = :status) AND " +
-           "c.deleted = false")
-    List<EduClass> findByConditions(@Param("name") String name,
-                                   @Param("grade") String grade,
-                                   @Param("teacherId") Long teacherId,
-                                   @Param("status") ClassStatus status);
+    default List<EduClass> findByConditions(String name, String grade, Long teacherId, ClassStatus status) {
+        return findAll(ClassCriteria.builder()
+                .name(name)
+                .grade(grade)
+                .teacherId(teacherId)
+                .status(status)
+                .build()
+                .toSpecification());
+    }
 
     /**
      * 统计各年级班级数量
@@ -155,6 +186,28 @@ public interface EduClassRepository extends JpaRepository<EduClass, Long>, JpaSp
     @Query("SELECT DISTINCT c.grade FROM EduClass c WHERE c.status = 'ACTIVE' AND c.deleted = false ORDER BY c.grade")
     List<String> findAllGrades();
 
+    /**
+     * 班级所属学校与年级
+     */
+    interface SchoolGrade {
+        String getSchoolId();
+
+        String getGrade();
+    }
+
+    /**
+     * 批量查询班级所属的学校与年级（学校取班主任所在学校，未分配班主任时为空）
+     */
+    @Query("SELECT DISTINCT t.schoolId AS schoolId, c.grade AS grade FROM EduClass c LEFT JOIN c.teacher t " +
+           "WHERE c.id IN :classIds AND c.deleted = false")
+    List<SchoolGrade> findSchoolGradesByClassIds(@Param("classIds") List<Long> classIds);
+
+    /**
+     * 查询学校的全部班级ID（学校取班主任所在学校，未分配班主任的班级不属于任何学校）
+     */
+    @Query("SELECT c.id FROM EduClass c JOIN c.teacher t WHERE t.schoolId = :schoolId AND c.deleted = false")
+    List<Long> findClassIdsBySchoolId(@Param("schoolId") String schoolId);
+
     /**
      * 查询没有班主任的班级
      */
@@ -2,13 +2,17 @@ package com.school.cooperation.repository;
 
 import com.school.cooperation.entity.Notification;
 import com.school.cooperation.entity.enums.NotificationType;
+import com.school.cooperation.repository.criteria.NotificationCriteria;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,13 +22,24 @@ import java.util.List;
  * @since 2025-11-15
  */
 @Repository
-public interface NotificationRepository extends JpaRepository<Notification, Long> {
+public interface NotificationRepository extends JpaRepository<Notification, Long>, JpaSpecificationExecutor<Notification> {
 
     /**
      * 根据用户ID查询通知列表
      */
     List<Notification> findByUserIdOrderByCreatedTimeDesc(Long userId);
 
+    /**
+     * 查询用户在游标(before, beforeId)之前的通知（按时间、ID倒序分页，用于合并信息流）
+     */
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId " +
+           "AND (n.createdTime < :before OR (n.createdTime = :before AND n.id < :beforeId)) " +
+           "ORDER BY n.createdTime DESC, n.id DESC")
+    List<Notification> findFeedForUser(@Param("userId") Long userId,
+                                       @Param("before") LocalDateTime before,
+                                       @Param("beforeId") Long beforeId,
+                                       Pageable pageable);
+
     /**
      * 根据用户ID查询未读通知
      */
@@ -46,6 +61,13 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.userId = :userId AND n.isRead = false")
     Long countUnreadNotifications(@Param("userId") Long userId);
 
+    /**
+     * 统计用户的未读通知数量（排除已读写回缓冲中的通知）
+     */
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.userId = :userId AND n.isRead = false AND n.id NOT IN :excludedIds")
+    Long countUnreadNotificationsExcluding(@Param("userId") Long userId,
+                                           @Param("excludedIds") Collection<Long> excludedIds);
+
     /**
      * 统计各类型通知数量
      */
@@ -83,6 +105,16 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("UPDATE Notification n SET n.isRead = true, n.readTime = :readTime WHERE n.id IN :notificationIds")
     void markAsRead(@Param("notificationIds") List<Long> notificationIds, @Param("readTime") LocalDateTime readTime);
 
+    /**
+     * 批量标记指定用户的通知为已读（仅更新属于该用户的未读通知）
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readTime = :readTime " +
+           "WHERE n.userId = :userId AND n.id IN :notificationIds AND n.isRead = false")
+    int markAsReadForUser(@Param("userId") Long userId,
+                          @Param("notificationIds") List<Long> notificationIds,
+                          @Param("readTime") LocalDateTime readTime);
+
     /**
      * 标记用户所有通知为已读
      */
@@ -91,31 +123,63 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     void markAllAsReadForUser(@Param("userId") Long userId, @Param("readTime") LocalDateTime readTime);
 
     /**
-     * 根据多个条件查询通知
+     * 根据多个条件查询通知（只拼接已指定的条件）
      */
-    @Query("SELECT n FROM Notification n WHERE " +
-           "(:userId IS NULL OR n.userId = :userId) AND " +
-           "(:type IS NULL OR n.type = :type) AND " +
-           "(:isRead IS NULL OR n.isRead = :isRead) AND " +
-           "(:relatedId IS NULL OR n.relatedId = :relatedId) AND " +
-           "(:startDate IS NULL OR n.createdTime >= :startDate) AND " +
-           "(:endDate IS NULL OR n.createdTime <= :endDate) AND " +
-           "(:title IS NULL OR n.title LIKE %:title%)")
-    List<Notification> findByConditions(@Param("userId") Long userId,
-                                       @Param("type") NotificationType type,
-                                       @Param("isRead") Boolean isRead,
-                                       @Param("relatedId") Long relatedId,
-                                       @Param("startDate") LocalDateTime startDate,
-                                       @Param("endDate") LocalDateTime endDate,
-                                       @Param("title") String title);
+    default List<Notification> findByConditions(Long userId, NotificationType type, Boolean isRead, Long relatedId,
+                                                LocalDateTime startDate, LocalDateTime endDate, String title) {
+        return findAll(NotificationCriteria.builder()
+                .userId(userId)
+                .type(type)
+                .isRead(isRead)
+                .relatedId(relatedId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .title(title)
+                .build()
+                .toSpecification());
+    }
 
     /**
      * 删除指定时间之前的通知
+     *
+     * @deprecated 单条DELETE在大表上会长时间锁表并产生大量undo，请使用NotificationRetentionPurger分块清理
      */
+    @Deprecated
     @Modifying
     @Query("DELETE FROM Notification n WHERE n.createdTime < :beforeTime")
     void deleteNotificationsBefore(@Param("beforeTime") LocalDateTime beforeTime);
 
+    /**
+     * 查询最小通知ID
+     */
+    @Query("SELECT MIN(n.id) FROM Notification n")
+    Long findMinId();
+
+    /**
+     * 查询最大通知ID
+     */
+    @Query("SELECT MAX(n.id) FROM Notification n")
+    Long findMaxId();
+
+    /**
+     * 查询创建时间不早于指定时间的第一条通知ID（作为清理的ID上界）
+     */
+    @Query(value = "SELECT id FROM sys_notification WHERE created_time >= :cutoff ORDER BY created_time, id LIMIT 1",
+           nativeQuery = true)
+    Long findFirstIdCreatedAtOrAfter(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * 按主键区间分块删除过期通知
+     *
+     * @return 删除行数
+     */
+    @Modifying
+    @Query(value = "DELETE FROM sys_notification WHERE id >= :startId AND id < :endId AND created_time < :cutoff",
+           nativeQuery = true)
+    int deleteExpiredInIdRange(@Param("startId") Long startId,
+                               @Param("endId") Long endId,
+                               @Param("cutoff") LocalDateTime cutoff);
+
     /**
      * 查询系统通知
      */
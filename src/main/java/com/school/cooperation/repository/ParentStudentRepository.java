@@ -150,4 +150,10 @@ public interface ParentStudentRepository extends JpaRepository<ParentStudent, Lo
     @Modifying
     @Query("DELETE FROM ParentStudent ps WHERE ps.parentId = :parentId")
     void deleteByParentId(@Param("parentId") Long parentId);
+
+    /**
+     * 查询全部家长-学生ID对（用于构建姓名联想索引）
+     */
+    @Query("SELECT ps.parentId, ps.studentId FROM ParentStudent ps")
+    List<Object[]> findAllParentStudentPairs();
 }
\ No newline at end of file
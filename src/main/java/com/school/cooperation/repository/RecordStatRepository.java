@@ -0,0 +1,93 @@
+package com.school.cooperation.repository;
+
+import com.school.cooperation.entity.RecordStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 档案记录日统计Repository接口
+ * 仪表盘统计读取预聚合行，替代对 edu_student_record 全表 GROUP BY
+ *
+ * @author system
+ * @since 2025-11-15
+ */
+@Repository
+public interface RecordStatRepository extends JpaRepository<RecordStat, Long> {
+
+    /**
+     * 统计各类型记录数量
+     */
+    @Query("SELECT rs.type, SUM(rs.recordCount) FROM RecordStat rs GROUP BY rs.type")
+    List<Object[]> countRecordsByType();
+
+    /**
+     * 统计各重要程度记录数量
+     */
+    @Query("SELECT rs.importance, SUM(rs.recordCount) FROM RecordStat rs GROUP BY rs.importance")
+    List<Object[]> countRecordsByImportance();
+
+    /**
+     * 统计指定学生的各类型记录数量
+     */
+    @Query("SELECT rs.type, SUM(rs.recordCount) FROM RecordStat rs WHERE rs.studentId = :studentId GROUP BY rs.type")
+    List<Object[]> countRecordsByTypeForStudent(@Param("studentId") Long studentId);
+
+    /**
+     * 批量查询学生的记录数量
+     */
+    @Query("SELECT rs.studentId, SUM(rs.recordCount) FROM RecordStat rs WHERE rs.studentId IN :studentIds GROUP BY rs.studentId")
+    List<Object[]> countRecordsByStudentIds(@Param("studentIds") List<Long> studentIds);
+
+    /**
+     * 统计指定教师的记录数量
+     */
+    @Query("SELECT COALESCE(SUM(rs.recordCount), 0) FROM RecordStat rs WHERE rs.teacherId = :teacherId")
+    Long countRecordsByTeacher(@Param("teacherId") Long teacherId);
+
+    /**
+     * 统计指定班级在日期范围内的各类型记录数量
+     */
+    @Query("SELECT rs.type, SUM(rs.recordCount) FROM RecordStat rs " +
+           "WHERE rs.classId = :classId AND rs.statDate BETWEEN :startDate AND :endDate GROUP BY rs.type")
+    List<Object[]> countRecordsByTypeForClass(@Param("classId") Long classId,
+                                              @Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate);
+
+    /**
+     * 查询指定班级在日期范围内的每日各类型记录数量（趋势图）
+     */
+    @Query("SELECT rs.statDate, rs.type, SUM(rs.recordCount) FROM RecordStat rs " +
+           "WHERE rs.classId = :classId AND rs.statDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY rs.statDate, rs.type ORDER BY rs.statDate")
+    List<Object[]> findDailyCountsForClass(@Param("classId") Long classId,
+                                           @Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate);
+
+    /**
+     * 统计指定教师在日期范围内的各类型记录数量
+     */
+    @Query("SELECT rs.type, SUM(rs.recordCount) FROM RecordStat rs " +
+           "WHERE rs.teacherId = :teacherId AND rs.statDate BETWEEN :startDate AND :endDate GROUP BY rs.type")
+    List<Object[]> countRecordsByTypeForTeacher(@Param("teacherId") Long teacherId,
+                                                @Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate);
+
+    /**
+     * 学生调班后同步统计行的班级ID（统计实体只读，使用原生SQL）
+     */
+    @Modifying
+    @Query(value = "UPDATE edu_record_stats SET class_id = :classId WHERE student_id = :studentId", nativeQuery = true)
+    int updateClassIdByStudentId(@Param("studentId") Long studentId, @Param("classId") Long classId);
+
+    /**
+     * 查询最早的统计日期
+     */
+    @Query("SELECT MIN(rs.statDate) FROM RecordStat rs")
+    LocalDate findMinStatDate();
+}
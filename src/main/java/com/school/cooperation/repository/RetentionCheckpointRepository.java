@@ -0,0 +1,66 @@
+package com.school.cooperation.repository;
+
+import com.school.cooperation.entity.RetentionCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 数据保留清理进度Repository接口
+ *
+ * @author system
+ * @since 2025-11-15
+ */
+@Repository
+public interface RetentionCheckpointRepository extends JpaRepository<RetentionCheckpoint, String> {
+
+    /**
+     * 获取或续期任务租约（租约空闲、已过期或本节点持有时成功）
+     *
+     * @return 1表示获取成功，0表示其他节点持有租约
+     */
+    @Modifying
+    @Query("UPDATE RetentionCheckpoint c SET c.leaseOwner = :owner, c.leaseUntil = :leaseUntil, c.updatedTime = :now " +
+           "WHERE c.jobName = :jobName AND (c.leaseUntil IS NULL OR c.leaseUntil < :now OR c.leaseOwner = :owner)")
+    int acquireLease(@Param("jobName") String jobName,
+                     @Param("owner") String owner,
+                     @Param("now") LocalDateTime now,
+                     @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * 释放任务租约
+     */
+    @Modifying
+    @Query("UPDATE RetentionCheckpoint c SET c.leaseOwner = NULL, c.leaseUntil = NULL " +
+           "WHERE c.jobName = :jobName AND c.leaseOwner = :owner")
+    int releaseLease(@Param("jobName") String jobName, @Param("owner") String owner);
+
+    /**
+     * 开始新一轮清理，重置进度
+     */
+    @Modifying
+    @Query("UPDATE RetentionCheckpoint c SET c.cutoffTime = :cutoff, c.lastId = :lastId, c.deletedRows = 0, " +
+           "c.updatedTime = :now WHERE c.jobName = :jobName AND c.leaseOwner = :owner")
+    int startRun(@Param("jobName") String jobName,
+                 @Param("owner") String owner,
+                 @Param("cutoff") LocalDateTime cutoff,
+                 @Param("lastId") Long lastId,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * 记录清理进度检查点并续期租约
+     */
+    @Modifying
+    @Query("UPDATE RetentionCheckpoint c SET c.lastId = :lastId, c.deletedRows = c.deletedRows + :deleted, " +
+           "c.leaseUntil = :leaseUntil, c.updatedTime = :now WHERE c.jobName = :jobName AND c.leaseOwner = :owner")
+    int saveProgress(@Param("jobName") String jobName,
+                     @Param("owner") String owner,
+                     @Param("lastId") Long lastId,
+                     @Param("deleted") long deleted,
+                     @Param("now") LocalDateTime now,
+                     @Param("leaseUntil") LocalDateTime leaseUntil);
+}
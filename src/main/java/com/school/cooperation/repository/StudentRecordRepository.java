@@ -1,16 +1,22 @@
 package com.school.cooperation.repository;
 
+import com.school.cooperation.dto.RecordTimelineItem;
 import com.school.cooperation.entity.StudentRecord;
 import com.school.cooperation.entity.enums.Importance;
 import com.school.cooperation.entity.enums.RecordType;
+import com.school.cooperation.repository.criteria.RecordCriteria;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 学生档案记录Repository接口
@@ -19,7 +25,28 @@ import java.util.List;
  * @since 2025-11-15
  */
 @Repository
-public interface StudentRecordRepository extends JpaRepository<StudentRecord, Long>, JpaSpecificationExecutor<StudentRecord> {
+public interface StudentRecordRepository extends JpaRepository<StudentRecord, Long>, JpaSpecificationExecutor<StudentRecord>,
+        StudentRecordSearchRepository {
+
+    /**
+     * 记录详情展示用的关联名称
+     */
+    interface DetailNames {
+
+        String getStudentName();
+
+        String getClassName();
+
+        String getTeacherName();
+    }
+
+    /**
+     * 查询记录详情所需的学生、班级与教师名称（只取名称列，不加载关联实体）
+     */
+    @Query("SELECT s.name AS studentName, c.name AS className, t.realName AS teacherName " +
+           "FROM Student s LEFT JOIN s.eduClass c LEFT JOIN User t ON t.id = :teacherId " +
+           "WHERE s.id = :studentId")
+    Optional<DetailNames> findDetailNames(@Param("studentId") Long studentId, @Param("teacherId") Long teacherId);
 
     /**
      * 根据学生ID查询记录列表
@@ -67,44 +94,49 @@ public interface StudentRecordRepository extends JpaRepository<StudentRecord, Lo
     List<StudentRecord> findByIsPublicTrueAndParentNotifiedFalseAndDeletedFalse();
 
     /**
-     * 根据多个条件查询记录
-     */
-    @Query("SELECT sr FROM StudentRecord sr WHERE " +
-           "(:studentId IS NULL OR sr.studentId = :studentId) AND " +
-           "(:teacherId IS NULL OR sr.teacherId = :teacherId) AND " +
-           "(:type IS NULL OR sr.type = :type) AND " +
-           "(:category IS NULL OR sr.category LIKE %:category%) AND " +
-           "(:title IS NULL OR sr.title LIKE %:title%) AND " +
-           "(:importance IS NULL OR sr.importance = :importance) AND " +
-           "(:isPublic IS NULL OR sr.isPublic = :isPublic) AND " +
-           "(:startDate IS NULL OR sr.createdTime >= :startDate) AND " +
-           "(:endDate IS NULL OR sr.createdTime <= :endDate) AND " +
-           "sr.deleted = false")
-    List<StudentRecord> findByConditions(@Param("studentId") Long studentId,
-                                        @Param("teacherId") Long teacherId,
-                                        @Param("type") RecordType type,
-                                        @Param("category") String category,
-                                        @Param("title") String title,
-                                        @Param("importance") Importance importance,
-                                        @Param("isPublic") Boolean isPublic,
-                                        @Param("startDate") LocalDateTime startDate,
-                                        @Param("endDate") LocalDateTime endDate);
+     * 根据多个条件查询档案记录（只拼接已指定的条件，分类按前缀匹配）
+     */
+    default List<StudentRecord> findByConditions(Long studentId, Long teacherId, RecordType type, String category,
+                                                 String title, Importance importance, Boolean isPublic,
+                                                 LocalDateTime startDate, LocalDateTime endDate) {
+        return findAll(RecordCriteria.builder()
+                .studentId(studentId)
+                .teacherId(teacherId)
+                .type(type)
+                .category(category)
+                .title(title)
+                .importance(importance)
+                .isPublic(isPublic)
+                .startDate(startDate)
+                .endDate(endDate)
+                .build()
+                .toSpecification());
+    }
 
     /**
      * 统计各类型记录数量
+     *
+     * @deprecated 全表聚合，请使用 {@link RecordStatRepository#countRecordsByType()}
      */
+    @Deprecated
     @Query("SELECT sr.type, COUNT(sr) FROM StudentRecord sr WHERE sr.deleted = false GROUP BY sr.type")
     List<Object[]> countRecordsByType();
 
     /**
      * 统计各重要程度记录数量
+     *
+     * @deprecated 全表聚合，请使用 {@link RecordStatRepository#countRecordsByImportance()}
      */
+    @Deprecated
     @Query("SELECT sr.importance, COUNT(sr) FROM StudentRecord sr WHERE sr.deleted = false GROUP BY sr.importance")
     List<Object[]> countRecordsByImportance();
 
     /**
      * 统计指定学生的各类型记录数量
+     *
+     * @deprecated 请使用 {@link RecordStatRepository#countRecordsByTypeForStudent(Long)}
      */
+    @Deprecated
     @Query("SELECT sr.type, COUNT(sr) FROM StudentRecord sr WHERE sr.studentId = :studentId AND sr.deleted = false GROUP BY sr.type")
     List<Object[]> countRecordsByTypeForStudent(@Param("studentId") Long studentId);
 
@@ -122,14 +154,65 @@ public interface StudentRecordRepository extends JpaRepository<StudentRecord, Lo
     List<StudentRecord> findHighImportanceUnnotifiedRecords();
 
     /**
-     * 根据班级查询学生记录（需要关联学生表）
+     * 根据班级查询学生记录
+     * 冗余班级ID回填完成前，class_id 为空的记录按学生当前班级归属（class_id = ? OR class_id IS NULL 可走 ref_or_null）
      */
-    @Query("SELECT sr FROM StudentRecord sr JOIN Student s ON sr.studentId = s.id WHERE s.classId = :classId AND sr.deleted = false AND s.deleted = false")
+    @Query("SELECT sr FROM StudentRecord sr WHERE (sr.classId = :classId OR (sr.classId IS NULL AND sr.studentId IN " +
+           "(SELECT s.id FROM Student s WHERE s.classId = :classId))) AND sr.deleted = false")
     List<StudentRecord> findByClassId(@Param("classId") Long classId);
 
+    /**
+     * 统计班级记录的标签分布（按数量倒序，class_id 尚未回填的记录按学生当前班级归属）
+     */
+    @Query(value = "SELECT jt.tag, COUNT(*) AS cnt FROM edu_student_record r, " +
+                   "JSON_TABLE(r.tags, '$[*]' COLUMNS (tag VARCHAR(32) PATH '$')) jt " +
+                   "WHERE (r.class_id = :classId OR (r.class_id IS NULL AND r.student_id IN " +
+                   "(SELECT s.id FROM edu_student s WHERE s.class_id = :classId))) " +
+                   "AND r.deleted = 0 AND jt.tag IS NOT NULL " +
+                   "GROUP BY jt.tag ORDER BY cnt DESC, jt.tag LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> countTagsByClassId(@Param("classId") Long classId, @Param("limit") int limit);
+
+    /**
+     * 学生调班后同步其档案记录的冗余班级ID
+     */
+    @Modifying
+    @Query("UPDATE StudentRecord sr SET sr.classId = :classId WHERE sr.studentId = :studentId")
+    int updateClassIdByStudentId(@Param("studentId") Long studentId, @Param("classId") Long classId);
+
+    /**
+     * 按主键区间回填冗余班级ID与学期（已有值的行不覆盖）
+     */
+    @Modifying
+    @Query(value = "UPDATE edu_student_record r JOIN edu_student s ON s.id = r.student_id " +
+                   "SET r.class_id = IFNULL(r.class_id, s.class_id), " +
+                   "r.term = IFNULL(r.term, CONCAT(" +
+                   "IF(MONTH(r.created_time) >= 9, YEAR(r.created_time), YEAR(r.created_time) - 1), '-', " +
+                   "IF(MONTH(r.created_time) >= 9, YEAR(r.created_time) + 1, YEAR(r.created_time)), '-', " +
+                   "IF(MONTH(r.created_time) >= 9 OR MONTH(r.created_time) = 1, 1, 2))) " +
+                   "WHERE r.id >= :startId AND r.id < :endId AND (r.class_id IS NULL OR r.term IS NULL)",
+           nativeQuery = true)
+    int backfillClassAndTermInIdRange(@Param("startId") long startId, @Param("endId") long endId);
+
+    /**
+     * 查询主键区间内待回填冗余班级ID或学期的记录ID
+     */
+    @Query(value = "SELECT id FROM edu_student_record " +
+                   "WHERE id >= :startId AND id < :endId AND (class_id IS NULL OR term IS NULL)", nativeQuery = true)
+    List<Long> findIdsToBackfillInIdRange(@Param("startId") long startId, @Param("endId") long endId);
+
+    /**
+     * 查询最大记录ID
+     */
+    @Query("SELECT MAX(sr.id) FROM StudentRecord sr")
+    Long findMaxId();
+
     /**
      * 查询指定教师的记录统计
+     *
+     * @deprecated 请使用 {@link RecordStatRepository#countRecordsByTeacher(Long)}
      */
+    @Deprecated
     @Query("SELECT sr.teacherId, COUNT(sr) FROM StudentRecord sr WHERE sr.teacherId = :teacherId AND sr.deleted = false GROUP BY sr.teacherId")
     Long countRecordsByTeacher(@Param("teacherId") Long teacherId);
 
@@ -141,10 +224,29 @@ public interface StudentRecordRepository extends JpaRepository<StudentRecord, Lo
 
     /**
      * 查询指定学生最近的记录
+     *
+     * @deprecated 会加载学生全部记录及正文，请使用 {@link #findTimelineByStudent}
      */
+    @Deprecated
     @Query("SELECT sr FROM StudentRecord sr WHERE sr.studentId = :studentId AND sr.deleted = false ORDER BY sr.createdTime DESC")
     List<StudentRecord> findRecentRecordsByStudent(@Param("studentId") Long studentId);
 
+    /**
+     * 学生档案时间线（按 (创建时间, ID) 游标倒序分页，只取摘要字段）
+     */
+    @Query("SELECT new com.school.cooperation.dto.RecordTimelineItem(sr.id, sr.type, sr.title, sr.importance, " +
+           "sr.isPublic, sr.createdTime, SUBSTRING(sr.content, 1, :snippetLength)) " +
+           "FROM StudentRecord sr WHERE sr.studentId = :studentId AND sr.deleted = false " +
+           "AND (:publicOnly = false OR sr.isPublic = true) " +
+           "AND (sr.createdTime < :beforeTime OR (sr.createdTime = :beforeTime AND sr.id < :beforeId)) " +
+           "ORDER BY sr.createdTime DESC, sr.id DESC")
+    List<RecordTimelineItem> findTimelineByStudent(@Param("studentId") Long studentId,
+                                                   @Param("publicOnly") boolean publicOnly,
+                                                   @Param("beforeTime") LocalDateTime beforeTime,
+                                                   @Param("beforeId") Long beforeId,
+                                                   @Param("snippetLength") int snippetLength,
+                                                   Pageable pageable);
+
     /**
      * 查询表扬记录
      */
@@ -159,7 +261,10 @@ public interface StudentRecordRepository extends JpaRepository<StudentRecord, Lo
 
     /**
      * 批量查询学生的记录数量
+     *
+     * @deprecated 请使用 {@link RecordStatRepository#countRecordsByStudentIds(List)}
      */
+    @Deprecated
     @Query("SELECT sr.studentId, COUNT(sr) FROM StudentRecord sr WHERE sr.studentId IN :studentIds AND sr.deleted = false GROUP BY sr.studentId")
     List<Object[]> countRecordsByStudentIds(@Param("studentIds") List<Long> studentIds);
 
@@ -172,12 +277,82 @@ public interface StudentRecordRepository extends JpaRepository<StudentRecord, Lo
     /**
      * 更新记录通知状态
      */
+    @Modifying
     @Query("UPDATE StudentRecord sr SET sr.parentNotified = true WHERE sr.id IN :recordIds")
     void updateNotificationStatus(@Param("recordIds") List<Long> recordIds);
 
+    /**
+     * 认领待通知的高重要程度记录（FOR UPDATE SKIP LOCKED，多节点并发认领互不阻塞）
+     */
+    @Query(value = "SELECT id FROM edu_student_record WHERE parent_notified = 0 AND is_public = 1 AND deleted = 0 " +
+                   "AND importance = 'HIGH' AND notify_attempts < :maxAttempts " +
+                   "AND (notify_next_time IS NULL OR notify_next_time <= NOW()) " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> claimHighImportancePendingNotification(@Param("maxAttempts") int maxAttempts,
+                                                      @Param("limit") int limit);
+
+    /**
+     * 认领待通知的记录（FOR UPDATE SKIP LOCKED，多节点并发认领互不阻塞）
+     */
+    @Query(value = "SELECT id FROM edu_student_record WHERE parent_notified = 0 AND is_public = 1 AND deleted = 0 " +
+                   "AND notify_attempts < :maxAttempts " +
+                   "AND (notify_next_time IS NULL OR notify_next_time <= NOW()) " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> claimPendingNotification(@Param("maxAttempts") int maxAttempts,
+                                        @Param("limit") int limit);
+
+    /**
+     * 按ID重新锁定仍待通知的记录（整批失败后逐条处理时使用，已被其他节点锁定的行跳过）
+     */
+    @Query(value = "SELECT id FROM edu_student_record WHERE id IN :recordIds " +
+                   "AND parent_notified = 0 AND is_public = 1 AND deleted = 0 AND notify_attempts < :maxAttempts " +
+                   "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockPendingNotification(@Param("recordIds") List<Long> recordIds,
+                                       @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * 记录通知失败并按指数退避设置下次尝试时间
+     */
+    @Modifying
+    @Query(value = "UPDATE edu_student_record SET " +
+                   "notify_next_time = DATE_ADD(NOW(), INTERVAL LEAST(:maxBackoffSeconds, " +
+                   ":baseBackoffSeconds * POW(2, notify_attempts)) SECOND), " +
+                   "notify_attempts = notify_attempts + 1 " +
+                   "WHERE id IN :recordIds", nativeQuery = true)
+    int scheduleNotificationRetry(@Param("recordIds") List<Long> recordIds,
+                                  @Param("baseBackoffSeconds") long baseBackoffSeconds,
+                                  @Param("maxBackoffSeconds") long maxBackoffSeconds);
+
+    /**
+     * 查询最早的可认领待通知记录创建时间（用于计算通知积压延迟，条件与认领查询一致，不含死信与退避中的记录）
+     */
+    @Query(value = "SELECT MIN(created_time) FROM edu_student_record WHERE parent_notified = 0 AND is_public = 1 " +
+                   "AND deleted = 0 AND notify_attempts < :maxAttempts " +
+                   "AND (notify_next_time IS NULL OR notify_next_time <= NOW())", nativeQuery = true)
+    LocalDateTime findOldestPendingNotificationTime(@Param("maxAttempts") int maxAttempts);
+
+    /**
+     * 统计达到最大重试次数、不再认领的待通知记录数（死信）
+     */
+    @Query(value = "SELECT COUNT(*) FROM edu_student_record WHERE parent_notified = 0 AND is_public = 1 " +
+                   "AND deleted = 0 AND notify_attempts >= :maxAttempts", nativeQuery = true)
+    long countDeadLetterNotifications(@Param("maxAttempts") int maxAttempts);
+
     /**
      * 查询所有不重复的记录分类
      */
     @Query("SELECT DISTINCT sr.category FROM StudentRecord sr WHERE sr.deleted = false ORDER BY sr.category")
     List<String> findAllCategories();
+
+    /**
+     * 按主键游标分批查询档案记录（用于索引重建）
+     */
+    @Query("SELECT sr FROM StudentRecord sr WHERE sr.id > :lastId AND sr.deleted = false ORDER BY sr.id")
+    List<StudentRecord> findBatchAfterId(@Param("lastId") Long lastId, Pageable pageable);
+
+    /**
+     * 查询多个学生的档案记录ID
+     */
+    @Query("SELECT sr.id FROM StudentRecord sr WHERE sr.studentId IN :studentIds AND sr.deleted = false")
+    List<Long> findIdsByStudentIds(@Param("studentIds") Collection<Long> studentIds);
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.school.cooperation.repository;
+
+import com.school.cooperation.dto.RecordSearchHit;
+import com.school.cooperation.dto.RecordSearchRequest;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 学生档案记录全文检索数据访问接口
+ * 基于 edu_student_record(title, content) 的 ngram 全文索引，按条件动态拼接原生SQL
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public interface StudentRecordSearchRepository {
+
+    /**
+     * 检索档案记录（有关键词时按相关度排序，否则按时间倒序）
+     *
+     * @param request      搜索条件
+     * @param booleanQuery 已转换的 BOOLEAN MODE 检索表达式，为空时不做全文匹配
+     * @param classIds     允许访问的班级范围，为null时不限制
+     * @param offset       偏移量
+     * @param limit        条数
+     */
+    List<RecordSearchHit> searchRecords(RecordSearchRequest request, String booleanQuery,
+                                        Collection<Long> classIds, int offset, int limit);
+
+    /**
+     * 统计检索结果数量
+     */
+    long countSearchRecords(RecordSearchRequest request, String booleanQuery, Collection<Long> classIds);
+
+    /**
+     * 按ID批量获取检索结果摘要（单次IN查询，结果顺序与ID顺序无关）
+     */
+    List<RecordSearchHit> findHitsByIds(Collection<Long> ids);
+}
@@ -0,0 +1,187 @@
+package com.school.cooperation.repository;
+
+import com.school.cooperation.dto.RecordSearchHit;
+import com.school.cooperation.dto.RecordSearchRequest;
+import com.school.cooperation.entity.enums.Importance;
+import com.school.cooperation.entity.enums.RecordType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.util.StringUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 学生档案记录全文检索数据访问实现
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public class StudentRecordSearchRepositoryImpl implements StudentRecordSearchRepository {
+
+    /**
+     * 结果摘要长度，避免返回完整TEXT内容
+     */
+    private static final int SUMMARY_LENGTH = 120;
+
+    static final String SELECT_COLUMNS = "SELECT r.id, r.student_id, s.name, r.class_id, r.teacher_id, " +
+            "r.type, r.category, r.title, LEFT(r.content, " + SUMMARY_LENGTH + "), r.importance, r.created_time, ";
+
+    static final String RECORD_TABLE = "edu_student_record";
+
+    static final String ARCHIVE_TABLE = "edu_student_record_archive";
+
+    private static final String FROM_CLAUSE = fromClause(RECORD_TABLE);
+
+    static final String MATCH_EXPRESSION = "MATCH(r.title, r.content) AGAINST (:query IN BOOLEAN MODE)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<RecordSearchHit> findHitsByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        Query query = entityManager.createNativeQuery(SELECT_COLUMNS + "0 AS score " + FROM_CLAUSE +
+                "WHERE r.id IN (:ids) AND r.deleted = 0");
+        query.setParameter("ids", ids);
+        return toHits(query.getResultList());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<RecordSearchHit> searchRecords(RecordSearchRequest request, String booleanQuery,
+                                               Collection<Long> classIds, int offset, int limit) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        String where = buildWhere(request, booleanQuery, classIds, params);
+        boolean ranked = StringUtils.hasText(booleanQuery);
+
+        String sql = SELECT_COLUMNS + (ranked ? MATCH_EXPRESSION : "0") + " AS score " + FROM_CLAUSE +
+                where +
+                (ranked ? " ORDER BY score DESC, r.id DESC" : " ORDER BY r.created_time DESC, r.id DESC") +
+                " LIMIT :limit OFFSET :offset";
+
+        Query query = entityManager.createNativeQuery(sql);
+        params.forEach(query::setParameter);
+        query.setParameter("limit", limit);
+        query.setParameter("offset", offset);
+
+        return toHits(query.getResultList());
+    }
+
+    @Override
+    public long countSearchRecords(RecordSearchRequest request, String booleanQuery, Collection<Long> classIds) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        String sql = "SELECT COUNT(*) " + FROM_CLAUSE + buildWhere(request, booleanQuery, classIds, params);
+
+        Query query = entityManager.createNativeQuery(sql);
+        params.forEach(query::setParameter);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    static String fromClause(String table) {
+        return "FROM " + table + " r JOIN edu_student s ON s.id = r.student_id ";
+    }
+
+    static List<RecordSearchHit> toHits(List<Object[]> rows) {
+        List<RecordSearchHit> hits = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            hits.add(new RecordSearchHit(
+                    toLong(row[0]),
+                    toLong(row[1]),
+                    (String) row[2],
+                    toLong(row[3]),
+                    toLong(row[4]),
+                    row[5] != null ? RecordType.valueOf((String) row[5]) : null,
+                    (String) row[6],
+                    (String) row[7],
+                    (String) row[8],
+                    row[9] != null ? Importance.valueOf((String) row[9]) : null,
+                    toLocalDateTime(row[10]),
+                    row[11] != null ? ((Number) row[11]).doubleValue() : 0D));
+        }
+        return hits;
+    }
+
+    /**
+     * 拼接查询条件，只包含实际指定的条件以便优化器选择合适的索引
+     */
+    static String buildWhere(RecordSearchRequest request, String booleanQuery,
+                              Collection<Long> classIds, Map<String, Object> params) {
+        StringBuilder where = new StringBuilder("WHERE r.deleted = 0 AND s.deleted = 0");
+
+        if (StringUtils.hasText(booleanQuery)) {
+            where.append(" AND ").append(MATCH_EXPRESSION);
+            params.put("query", booleanQuery);
+        }
+        // class_id 尚未回填的记录按学生当前班级归属
+        if (classIds != null) {
+            where.append(" AND (r.class_id IN (:classIds) OR (r.class_id IS NULL AND s.class_id IN (:classIds)))");
+            params.put("classIds", classIds);
+        }
+        if (request.getClassId() != null) {
+            where.append(" AND (r.class_id = :classId OR (r.class_id IS NULL AND s.class_id = :classId))");
+            params.put("classId", request.getClassId());
+        }
+        if (request.getStudentId() != null) {
+            where.append(" AND r.student_id = :studentId");
+            params.put("studentId", request.getStudentId());
+        }
+        if (request.getType() != null) {
+            where.append(" AND r.type = :type");
+            params.put("type", request.getType().name());
+        }
+        if (StringUtils.hasText(request.getCategory())) {
+            where.append(" AND r.category = :category");
+            params.put("category", request.getCategory().trim());
+        }
+        if (StringUtils.hasText(request.getTitle())) {
+            where.append(" AND r.title LIKE :title");
+            params.put("title", "%" + escapeLike(request.getTitle().trim()) + "%");
+        }
+        if (request.getTags() != null) {
+            int index = 0;
+            for (String tag : request.getTags()) {
+                if (!StringUtils.hasText(tag)) {
+                    continue;
+                }
+                String name = "tag" + index++;
+                // 与多值索引 idx_edu_record_tags 的表达式一致才能走索引
+                where.append(" AND :").append(name).append(" MEMBER OF (r.tags->'$')");
+                params.put(name, tag.trim());
+            }
+        }
+        if (request.getStartDate() != null) {
+            where.append(" AND r.created_time >= :startDate");
+            params.put("startDate", request.getStartDate());
+        }
+        if (request.getEndDate() != null) {
+            where.append(" AND r.created_time <= :endDate");
+            params.put("endDate", request.getEndDate());
+        }
+        return where.toString();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static Long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
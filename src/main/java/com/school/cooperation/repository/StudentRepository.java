@@ -1,8 +1,11 @@
 package com.school.cooperation.repository;
 
+import com.school.cooperation.dto.StudentSummary;
 import com.school.cooperation.entity.Student;
 import com.school.cooperation.entity.enums.Gender;
 import com.school.cooperation.entity.enums.StudentStatus;
+import com.school.cooperation.repository.criteria.StudentCriteria;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -10,6 +13,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +26,12 @@ import java.util.Optional;
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student> {
 
+    /**
+     * 学生列表投影查询的选取列
+     */
+    String SUMMARY_SELECT = "SELECT new com.school.cooperation.dto.StudentSummary(s.id, s.studentId, s.name, " +
+            "s.gender, s.classId, s.enrollmentDate, s.status) FROM Student s ";
+
     /**
      * 根据学号查询学生
      */
@@ -57,6 +67,12 @@ public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpec
      */
     List<Student> findByClassId(Long classId);
 
+    /**
+     * 批量查询学生所在的班级ID
+     */
+    @Query("SELECT DISTINCT s.classId FROM Student s WHERE s.id IN :studentIds AND s.deleted = false")
+    List<Long> findClassIdsByStudentIds(@Param("studentIds") List<Long> studentIds);
+
     /**
      * 根据状态查询学生列表
      */
@@ -78,6 +94,35 @@ public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpec
     @Query("SELECT s FROM Student s WHERE s.name LIKE %:name% AND s.deleted = false")
     List<Student> findByNameContaining(@Param("name") String name);
 
+    /**
+     * 查询班级学生列表投影
+     */
+    @Query(SUMMARY_SELECT + "WHERE s.classId = :classId AND s.deleted = false ORDER BY s.studentId")
+    List<StudentSummary> findSummariesByClassId(@Param("classId") Long classId);
+
+    /**
+     * 按ID批量查询学生列表投影
+     */
+    @Query(SUMMARY_SELECT + "WHERE s.id IN :ids AND s.deleted = false")
+    List<StudentSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 按姓名全文检索学生ID（ngram索引，query为BOOLEAN MODE表达式，按相关度排序，回表见 {@link #findSummariesByIds}）
+     */
+    @Query(value = "SELECT id FROM edu_student WHERE MATCH(name) AGAINST (:query IN BOOLEAN MODE) AND deleted = 0 " +
+                   "ORDER BY MATCH(name) AGAINST (:query IN BOOLEAN MODE) DESC, id LIMIT :limit", nativeQuery = true)
+    List<Long> searchIdsByName(@Param("query") String query, @Param("limit") int limit);
+
+    /**
+     * 在指定班级范围内按姓名全文检索学生ID（班级条件在SQL中过滤，LIMIT作用于范围内的结果）
+     */
+    @Query(value = "SELECT id FROM edu_student WHERE MATCH(name) AGAINST (:query IN BOOLEAN MODE) AND deleted = 0 " +
+                   "AND class_id IN (:classIds) " +
+                   "ORDER BY MATCH(name) AGAINST (:query IN BOOLEAN MODE) DESC, id LIMIT :limit", nativeQuery = true)
+    List<Long> searchIdsByNameInClasses(@Param("query") String query,
+                                        @Param("classIds") Collection<Long> classIds,
+                                        @Param("limit") int limit);
+
     /**
      * 查询在读学生列表
      */
@@ -85,22 +130,45 @@ public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpec
     List<Student> findActiveStudents();
 
     /**
-     * 根据多个条件查询学生
+     * 姓名联想所需的学生字段
      */
-    @Query("SELECT s FROM Student s WHERE " +
-           "(:studentId IS NULL OR s.studentId LIKE %:studentId%) AND " +
-           "(:name IS NULL OR s.name LIKE %:name%) AND " +
-           "(:idCard IS NULL OR s.idCard LIKE %:idCard%) AND " +
-           "(:classId IS NULL OR s.classId = :classId) AND " +
-           "(:gender IS NULL OR s.gender = :gender) AND " +
-           "(:status IS NULL OR s.status = :status) AND " +
-           "s.deleted = false")
-    List<Student> findByConditions(@Param("studentId") String studentId,
-                                 @Param("name") String name,
-                                 @Param("idCard") String idCard,
-                                 @Param("classId") Long classId,
-                                 @Param("gender") Gender gender,
-                                 @Param("status") StudentStatus status);
+    interface SuggestStudent {
+        Long getId();
+
+        String getName();
+
+        Long getClassId();
+    }
+
+    /**
+     * 查询在读学生的姓名联想字段（只取ID、姓名、班级）
+     */
+    @Query("SELECT s.id AS id, s.name AS name, s.classId AS classId FROM Student s " +
+           "WHERE s.status = 'ACTIVE' AND s.deleted = false")
+    List<SuggestStudent> findActiveSuggestStudents();
+
+    /**
+     * 按ID批量查询在读学生的姓名联想字段
+     */
+    @Query("SELECT s.id AS id, s.name AS name, s.classId AS classId FROM Student s " +
+           "WHERE s.id IN :ids AND s.status = 'ACTIVE' AND s.deleted = false")
+    List<SuggestStudent> findActiveSuggestStudentsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 根据多个条件查询学生（只拼接已指定的条件，学号、身份证号按前缀匹配，姓名按包含匹配）
+     */
+    default List<Student> findByConditions(String studentId, String name, String idCard,
+                                           Long classId, Gender gender, StudentStatus status) {
+        return findAll(StudentCriteria.builder()
+                .studentId(studentId)
+                .name(name)
+                .idCard(idCard)
+                .classId(classId)
+                .gender(gender)
+                .status(status)
+                .build()
+                .toSpecification());
+    }
 
     /**
      * 统计各班级学生数量
@@ -187,4 +255,10 @@ public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpec
      */
     @Query("SELECT s FROM Student s WHERE s.status = 'TRANSFERRED' AND s.deleted = false ORDER BY s.updatedTime DESC")
     List<Student> findTransferredStudents();
+
+    /**
+     * 按主键游标分批查询学生（用于索引重建）
+     */
+    @Query("SELECT s FROM Student s WHERE s.id > :lastId AND s.deleted = false ORDER BY s.id")
+    List<Student> findBatchAfterId(@Param("lastId") Long lastId, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.school.cooperation.repository;
+
+import com.school.cooperation.dto.StudentSummary;
+import com.school.cooperation.dto.UserSummary;
+import com.school.cooperation.entity.Student;
+import com.school.cooperation.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 按动态条件查询列表投影
+ * 通过 Criteria API 构造器表达式只选取列表所需的列，与 Specification 条件配合使用
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Repository
+public class SummaryQueryRepository {
+
+    private static final String[] USER_SUMMARY_COLUMNS = {"id", "username", "realName", "phone", "email", "avatar",
+            "role", "status", "lastLoginTime", "createdTime"};
+
+    private static final String[] STUDENT_SUMMARY_COLUMNS = {"id", "studentId", "name", "gender", "classId",
+            "enrollmentDate", "status"};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 查询用户列表投影
+     *
+     * @param limit 最大条数，小于等于0表示不限制
+     */
+    public List<UserSummary> findUserSummaries(Specification<User> specification, Sort sort, int limit) {
+        return select(User.class, UserSummary.class, USER_SUMMARY_COLUMNS, specification, sort, limit);
+    }
+
+    /**
+     * 分页查询用户列表投影，未排序的分页参数按数据库返回顺序
+     */
+    public Page<UserSummary> findUserSummaryPage(Specification<User> specification, Pageable pageable) {
+        TypedQuery<UserSummary> query = createQuery(User.class, UserSummary.class, USER_SUMMARY_COLUMNS,
+                specification, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(User.class, specification));
+    }
+
+    /**
+     * 查询学生列表投影
+     *
+     * @param limit 最大条数，小于等于0表示不限制
+     */
+    public List<StudentSummary> findStudentSummaries(Specification<Student> specification, Sort sort, int limit) {
+        return select(Student.class, StudentSummary.class, STUDENT_SUMMARY_COLUMNS, specification, sort, limit);
+    }
+
+    private <T, R> List<R> select(Class<T> entityType, Class<R> resultType, String[] columns,
+                                  Specification<T> specification, Sort sort, int limit) {
+        TypedQuery<R> typedQuery = createQuery(entityType, resultType, columns, specification, sort);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    private <T, R> TypedQuery<R> createQuery(Class<T> entityType, Class<R> resultType, String[] columns,
+                                             Specification<T> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(resultType);
+        Root<T> root = query.from(entityType);
+        query.select(cb.construct(resultType, Arrays.stream(columns)
+                .map(root::get)
+                .toArray(Selection[]::new)));
+
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort != null && sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private <T> long count(Class<T> entityType, Specification<T> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(entityType);
+        query.select(cb.count(root));
+
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -1,8 +1,10 @@
 package com.school.cooperation.repository;
 
+import com.school.cooperation.dto.UserSummary;
 import com.school.cooperation.entity.User;
 import com.school.cooperation.entity.enums.UserRole;
 import com.school.cooperation.entity.enums.UserStatus;
+import com.school.cooperation.repository.criteria.UserCriteria;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -24,6 +26,12 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
 
+    /**
+     * 用户列表投影查询的选取列
+     */
+    String SUMMARY_SELECT = "SELECT new com.school.cooperation.dto.UserSummary(u.id, u.username, u.realName, " +
+            "u.phone, u.email, u.avatar, u.role, u.status, u.lastLoginTime, u.createdTime) FROM User u ";
+
     /**
      * 根据用户名查询用户
      */
@@ -111,6 +119,29 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     @Query("SELECT u FROM User u WHERE u.role = 'PARENT' AND u.status = 'ACTIVE' AND u.deleted = false")
     List<User> findActiveParents();
 
+    /**
+     * 姓名联想所需的家长字段
+     */
+    interface SuggestParent {
+        Long getId();
+
+        String getRealName();
+    }
+
+    /**
+     * 查询家长的姓名联想字段（只取ID、姓名）
+     */
+    @Query("SELECT u.id AS id, u.realName AS realName FROM User u " +
+           "WHERE u.role = 'PARENT' AND u.status = 'ACTIVE' AND u.deleted = false")
+    List<SuggestParent> findActiveSuggestParents();
+
+    /**
+     * 按ID批量查询家长的姓名联想字段
+     */
+    @Query("SELECT u.id AS id, u.realName AS realName FROM User u " +
+           "WHERE u.id IN :ids AND u.role = 'PARENT' AND u.status = 'ACTIVE' AND u.deleted = false")
+    List<SuggestParent> findActiveSuggestParentsByIds(@Param("ids") List<Long> ids);
+
     /**
      * 根据真实姓名模糊查询用户
      */
@@ -118,20 +149,19 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     List<User> findByRealNameContaining(@Param("realName") String realName);
 
     /**
-     * 根据多个条件查询用户
+     * 根据多个条件查询用户（只拼接已指定的条件，用户名、真实姓名、手机号按包含匹配）
      */
-    @Query("SELECT u FROM User u WHERE " +
-           "(:username IS NULL OR u.username LIKE %:username%) AND " +
-           "(:realName IS NULL OR u.realName LIKE %:realName%) AND " +
-           "(:phone IS NULL OR u.phone LIKE %:phone%) AND " +
-           "(:role IS NULL OR u.role = :role) AND " +
-           "(:status IS NULL OR u.status = :status) AND " +
-           "u.deleted = false")
-    List<User> findByConditions(@Param("username") String username,
-                                @Param("realName") String realName,
-                                @Param("phone") String phone,
-                                @Param("role") UserRole role,
-                                @Param("status") UserStatus status);
+    default List<User> findByConditions(String username, String realName, String phone,
+                                        UserRole role, UserStatus status) {
+        return findAll(UserCriteria.builder()
+                .username(username)
+                .realName(realName)
+                .phone(phone)
+                .role(role)
+                .status(status)
+                .build()
+                .toSpecification());
+    }
 
     /**
      * 更新用户最后登录时间
@@ -175,4 +205,35 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
                                      @Param("role") UserRole role,
                                      @Param("status") UserStatus status,
                                      Pageable pageable);
+
+    /**
+     * 根据角色查询用户列表投影
+     */
+    @Query(SUMMARY_SELECT + "WHERE u.role = :role AND u.deleted = false ORDER BY u.id")
+    List<UserSummary> findSummariesByRole(@Param("role") UserRole role);
+
+    /**
+     * 根据状态查询用户列表投影
+     */
+    @Query(SUMMARY_SELECT + "WHERE u.status = :status AND u.deleted = false ORDER BY u.id")
+    List<UserSummary> findSummariesByStatus(@Param("status") UserStatus status);
+
+    /**
+     * 根据真实姓名模糊查询用户列表投影
+     */
+    @Query(SUMMARY_SELECT + "WHERE u.realName LIKE %:realName% AND u.deleted = false ORDER BY u.id")
+    List<UserSummary> findSummariesByRealNameContaining(@Param("realName") String realName);
+
+    /**
+     * 查询长期未登录的用户列表投影
+     */
+    @Query(SUMMARY_SELECT + "WHERE (u.lastLoginTime IS NULL OR u.lastLoginTime < :lastLoginThreshold) " +
+           "AND u.status = 'ACTIVE' AND u.deleted = false ORDER BY u.id")
+    List<UserSummary> findInactiveSummaries(@Param("lastLoginThreshold") LocalDateTime lastLoginThreshold);
+
+    /**
+     * 按主键游标分批查询用户（用于索引重建）
+     */
+    @Query("SELECT u FROM User u WHERE u.id > :lastId AND u.deleted = false ORDER BY u.id")
+    List<User> findBatchAfterId(@Param("lastId") Long lastId, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.school.cooperation.repository.criteria;
+
+import com.school.cooperation.entity.EduClass;
+import com.school.cooperation.entity.enums.ClassStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Set;
+
+/**
+ * 班级查询条件
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassCriteria {
+
+    /**
+     * 允许排序的字段（均有对应索引）
+     */
+    private static final Set<String> SORTABLE = Set.of("id", "createdTime", "grade", "studentCount");
+
+    /**
+     * 班级名称（包含匹配）
+     */
+    private String name;
+
+    /**
+     * 年级
+     */
+    private String grade;
+
+    /**
+     * 班主任ID
+     */
+    private Long teacherId;
+
+    /**
+     * 班级状态
+     */
+    private ClassStatus status;
+
+    /**
+     * 排序字段，为空时不排序
+     */
+    private String sortBy;
+
+    /**
+     * 排序方向，默认倒序
+     */
+    private Sort.Direction direction;
+
+    /**
+     * 只包含已指定条件的查询规格
+     */
+    public Specification<EduClass> toSpecification() {
+        return SpecificationBuilder.<EduClass>create()
+                .contains("name", name)
+                .equal("grade", grade)
+                .equal("teacherId", teacherId)
+                .equal("status", status)
+                .notDeleted()
+                .build();
+    }
+
+    /**
+     * 排序规则，ID作为次要排序保证顺序稳定
+     */
+    public Sort toSort() {
+        if (sortBy == null || sortBy.isBlank()) {
+            return Sort.unsorted();
+        }
+        if (!SORTABLE.contains(sortBy)) {
+            throw new IllegalArgumentException("不支持的排序字段: " + sortBy);
+        }
+        Sort.Direction dir = direction != null ? direction : Sort.Direction.DESC;
+        return "id".equals(sortBy) ? Sort.by(dir, "id") : Sort.by(dir, sortBy).and(Sort.by(dir, "id"));
+    }
+}
@@ -0,0 +1,29 @@
+package com.school.cooperation.repository.criteria;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 键集分页游标：上一页最后一条的创建时间与ID
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetCursor {
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdTime;
+
+    /**
+     * ID（创建时间相同时的次序）
+     */
+    private Long id;
+}
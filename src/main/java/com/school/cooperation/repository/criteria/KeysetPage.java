@@ -0,0 +1,35 @@
+package com.school.cooperation.repository.criteria;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 键集分页结果
+ *
+ * @param <T> 数据类型
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    /**
+     * 当页数据
+     */
+    private List<T> items;
+
+    /**
+     * 是否还有下一页
+     */
+    private boolean hasMore;
+
+    /**
+     * 下一页游标，无下一页时为null
+     */
+    private KeysetCursor nextCursor;
+}
@@ -0,0 +1,93 @@
+package com.school.cooperation.repository.criteria;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 按 (createdTime, id) 的键集分页
+ * 以上一页最后一条为游标追加范围条件，不使用OFFSET也不执行COUNT，翻页成本与页码无关。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public final class KeysetPager {
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private KeysetPager() {
+    }
+
+    /**
+     * 按条件查询一批已排序的数据（实体或投影）
+     *
+     * @param <T> 实体类型
+     * @param <R> 结果类型
+     */
+    @FunctionalInterface
+    public interface Fetcher<T, R> {
+
+        List<R> fetch(Specification<T> specification, Sort sort, int limit);
+    }
+
+    /**
+     * 查询一页实体
+     *
+     * @param repository 支持Specification的Repository
+     * @param specification 过滤条件
+     * @param cursor 上一页返回的游标，首页为null
+     * @param direction 按创建时间排序方向
+     * @param size 每页大小
+     * @param createdTime 创建时间取值函数
+     * @param id ID取值函数
+     */
+    public static <T> KeysetPage<T> fetch(JpaSpecificationExecutor<T> repository, Specification<T> specification,
+                                          KeysetCursor cursor, Sort.Direction direction, int size,
+                                          Function<T, LocalDateTime> createdTime, Function<T, Long> id) {
+        return fetchProjected((spec, sort, limit) -> repository.findBy(spec, query -> query.sortBy(sort).limit(limit).all()),
+                specification, cursor, direction, size, createdTime, id);
+    }
+
+    /**
+     * 查询一页投影结果，由 fetcher 决定选取的列
+     */
+    public static <T, R> KeysetPage<R> fetchProjected(Fetcher<T, R> fetcher, Specification<T> specification,
+                                                      KeysetCursor cursor, Sort.Direction direction, int size,
+                                                      Function<R, LocalDateTime> createdTime, Function<R, Long> id) {
+        if (cursor != null && (cursor.getCreatedTime() == null || cursor.getId() == null)) {
+            throw new IllegalArgumentException("游标参数不完整");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Specification<T> spec = cursor != null ? specification.and(after(cursor, direction)) : specification;
+        Sort sort = Sort.by(direction, "createdTime").and(Sort.by(direction, "id"));
+
+        // 多取一条用于判断是否还有下一页
+        List<R> rows = fetcher.fetch(spec, sort, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<R> items = hasMore ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        KeysetCursor next = null;
+        if (hasMore) {
+            R last = items.get(items.size() - 1);
+            next = new KeysetCursor(createdTime.apply(last), id.apply(last));
+        }
+        return new KeysetPage<>(items, hasMore, next);
+    }
+
+    private static <T> Specification<T> after(KeysetCursor cursor, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            LocalDateTime time = cursor.getCreatedTime();
+            Long id = cursor.getId();
+            if (direction.isDescending()) {
+                return cb.or(cb.lessThan(root.get("createdTime"), time),
+                        cb.and(cb.equal(root.get("createdTime"), time), cb.lessThan(root.get("id"), id)));
+            }
+            return cb.or(cb.greaterThan(root.get("createdTime"), time),
+                    cb.and(cb.equal(root.get("createdTime"), time), cb.greaterThan(root.get("id"), id)));
+        };
+    }
+}
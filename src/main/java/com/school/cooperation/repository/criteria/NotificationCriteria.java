@@ -0,0 +1,105 @@
+package com.school.cooperation.repository.criteria;
+
+import com.school.cooperation.entity.Notification;
+import com.school.cooperation.entity.enums.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * 通知查询条件
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationCriteria {
+
+    /**
+     * 允许排序的字段（均有对应索引）
+     */
+    private static final Set<String> SORTABLE = Set.of("id", "createdTime");
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 通知类型
+     */
+    private NotificationType type;
+
+    /**
+     * 是否已读
+     */
+    private Boolean isRead;
+
+    /**
+     * 关联业务ID
+     */
+    private Long relatedId;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startDate;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime endDate;
+
+    /**
+     * 标题（包含匹配）
+     */
+    private String title;
+
+    /**
+     * 排序字段，为空时不排序
+     */
+    private String sortBy;
+
+    /**
+     * 排序方向，默认倒序
+     */
+    private Sort.Direction direction;
+
+    /**
+     * 只包含已指定条件的查询规格
+     */
+    public Specification<Notification> toSpecification() {
+        return SpecificationBuilder.<Notification>create()
+                .equal("userId", userId)
+                .equal("type", type)
+                .equal("isRead", isRead)
+                .equal("relatedId", relatedId)
+                .greaterThanOrEqual("createdTime", startDate)
+                .lessThanOrEqual("createdTime", endDate)
+                .contains("title", title)
+                .build();
+    }
+
+    /**
+     * 排序规则，ID作为次要排序保证顺序稳定
+     */
+    public Sort toSort() {
+        if (sortBy == null || sortBy.isBlank()) {
+            return Sort.unsorted();
+        }
+        if (!SORTABLE.contains(sortBy)) {
+            throw new IllegalArgumentException("不支持的排序字段: " + sortBy);
+        }
+        Sort.Direction dir = direction != null ? direction : Sort.Direction.DESC;
+        return "id".equals(sortBy) ? Sort.by(dir, "id") : Sort.by(dir, sortBy).and(Sort.by(dir, "id"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.school.cooperation.repository.criteria;
+
+import com.school.cooperation.entity.StudentRecord;
+import com.school.cooperation.entity.enums.Importance;
+import com.school.cooperation.entity.enums.RecordType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * 档案记录查询条件
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordCriteria {
+
+    /**
+     * 允许排序的字段（均有对应索引）
+     */
+    private static final Set<String> SORTABLE = Set.of("id", "createdTime");
+
+    /**
+     * 学生ID
+     */
+    private Long studentId;
+
+    /**
+     * 教师ID
+     */
+    private Long teacherId;
+
+    /**
+     * 班级ID
+     */
+    private Long classId;
+
+    /**
+     * 记录类型
+     */
+    private RecordType type;
+
+    /**
+     * 记录分类前缀
+     */
+    private String category;
+
+    /**
+     * 标题（包含匹配）
+     */
+    private String title;
+
+    /**
+     * 重要程度
+     */
+    private Importance importance;
+
+    /**
+     * 是否公开
+     */
+    private Boolean isPublic;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startDate;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime endDate;
+
+    /**
+     * 排序字段，为空时不排序
+     */
+    private String sortBy;
+
+    /**
+     * 排序方向，默认倒序
+     */
+    private Sort.Direction direction;
+
+    /**
+     * 只包含已指定条件的查询规格
+     */
+    public Specification<StudentRecord> toSpecification() {
+        return SpecificationBuilder.<StudentRecord>create()
+                .equal("studentId", studentId)
+                .equal("teacherId", teacherId)
+                .equal("classId", classId)
+                .equal("type", type)
+                .startsWith("category", category)
+                .contains("title", title)
+                .equal("importance", importance)
+                .equal("isPublic", isPublic)
+                .greaterThanOrEqual("createdTime", startDate)
+                .lessThanOrEqual("createdTime", endDate)
+                .notDeleted()
+                .build();
+    }
+
+    /**
+     * 排序规则，ID作为次要排序保证顺序稳定
+     */
+    public Sort toSort() {
+        if (sortBy == null || sortBy.isBlank()) {
+            return Sort.unsorted();
+        }
+        if (!SORTABLE.contains(sortBy)) {
+            throw new IllegalArgumentException("不支持的排序字段: " + sortBy);
+        }
+        Sort.Direction dir = direction != null ? direction : Sort.Direction.DESC;
+        return "id".equals(sortBy) ? Sort.by(dir, "id") : Sort.by(dir, sortBy).and(Sort.by(dir, "id"));
+    }
+}
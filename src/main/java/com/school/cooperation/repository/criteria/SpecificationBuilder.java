@@ -0,0 +1,146 @@
+package com.school.cooperation.repository.criteria;
+
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 动态查询条件构建器
+ * 只为实际传入的条件生成谓词，未指定的条件不出现在SQL中，
+ * 避免 "(:p IS NULL OR col = :p)" 形式导致优化器只能生成无法使用组合索引的通用执行计划。
+ *
+ * @param <T> 实体类型
+ * @author homeschool
+ * @since 1.0.0
+ */
+public final class SpecificationBuilder<T> {
+
+    private final List<Specification<T>> predicates = new ArrayList<>();
+
+    private SpecificationBuilder() {
+    }
+
+    public static <T> SpecificationBuilder<T> create() {
+        return new SpecificationBuilder<>();
+    }
+
+    /**
+     * 等值条件，值为null或空白字符串时忽略
+     */
+    public SpecificationBuilder<T> equal(String attribute, Object value) {
+        if (isPresent(value)) {
+            predicates.add((root, query, cb) -> cb.equal(root.get(attribute), value));
+        }
+        return this;
+    }
+
+    /**
+     * IN条件，集合为null时忽略；空集合表示无匹配
+     */
+    public SpecificationBuilder<T> in(String attribute, Collection<?> values) {
+        if (values != null) {
+            predicates.add((root, query, cb) -> values.isEmpty() ? cb.disjunction() : root.get(attribute).in(values));
+        }
+        return this;
+    }
+
+    /**
+     * 前缀匹配（LIKE 'value%'），可以使用该列上的索引
+     */
+    public SpecificationBuilder<T> startsWith(String attribute, String value) {
+        if (StringUtils.hasText(value)) {
+            String pattern = escapeLike(value.trim()) + "%";
+            predicates.add((root, query, cb) -> cb.like(root.get(attribute), pattern, '\\'));
+        }
+        return this;
+    }
+
+    /**
+     * 包含匹配（LIKE '%value%'），无法使用索引，应与其他可走索引的条件组合使用
+     */
+    public SpecificationBuilder<T> contains(String attribute, String value) {
+        if (StringUtils.hasText(value)) {
+            String pattern = "%" + escapeLike(value.trim()) + "%";
+            predicates.add((root, query, cb) -> cb.like(root.get(attribute), pattern, '\\'));
+        }
+        return this;
+    }
+
+    /**
+     * 按调用方的选择使用前缀匹配或包含匹配
+     */
+    public SpecificationBuilder<T> like(String attribute, String value, boolean prefix) {
+        return prefix ? startsWith(attribute, value) : contains(attribute, value);
+    }
+
+    /**
+     * 任一字段包含匹配（attr1 LIKE '%value%' OR attr2 LIKE '%value%' ...），用于关键词搜索，无法使用索引
+     */
+    public SpecificationBuilder<T> containsAny(String value, String... attributes) {
+        if (StringUtils.hasText(value)) {
+            String pattern = "%" + escapeLike(value.trim()) + "%";
+            predicates.add((root, query, cb) -> cb.or(Arrays.stream(attributes)
+                    .map(attribute -> cb.like(root.get(attribute), pattern, '\\'))
+                    .toArray(Predicate[]::new)));
+        }
+        return this;
+    }
+
+    /**
+     * 大于等于
+     */
+    public <V extends Comparable<? super V>> SpecificationBuilder<T> greaterThanOrEqual(String attribute, V value) {
+        if (value != null) {
+            predicates.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get(attribute), value));
+        }
+        return this;
+    }
+
+    /**
+     * 小于等于
+     */
+    public <V extends Comparable<? super V>> SpecificationBuilder<T> lessThanOrEqual(String attribute, V value) {
+        if (value != null) {
+            predicates.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get(attribute), value));
+        }
+        return this;
+    }
+
+    /**
+     * 排除逻辑删除的数据
+     */
+    public SpecificationBuilder<T> notDeleted() {
+        predicates.add((root, query, cb) -> cb.isFalse(root.get("deleted")));
+        return this;
+    }
+
+    /**
+     * 追加自定义条件
+     */
+    public SpecificationBuilder<T> and(Specification<T> specification) {
+        if (specification != null) {
+            predicates.add(specification);
+        }
+        return this;
+    }
+
+    public Specification<T> build() {
+        return Specification.allOf(predicates);
+    }
+
+    private static boolean isPresent(Object value) {
+        if (value instanceof String text) {
+            return StringUtils.hasText(text);
+        }
+        return value != null;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
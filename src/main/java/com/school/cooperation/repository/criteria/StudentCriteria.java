@@ -0,0 +1,112 @@
+package com.school.cooperation.repository.criteria;
+
+import com.school.cooperation.entity.Student;
+import com.school.cooperation.entity.enums.Gender;
+import com.school.cooperation.entity.enums.StudentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 学生查询条件
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentCriteria {
+
+    /**
+     * 允许排序的字段（均有对应索引）
+     */
+    private static final Set<String> SORTABLE = Set.of("id", "createdTime", "studentId", "name", "enrollmentDate");
+
+    /**
+     * 学号前缀
+     */
+    private String studentId;
+
+    /**
+     * 姓名（默认包含匹配）
+     */
+    private String name;
+
+    /**
+     * 姓名改为前缀匹配，可以使用索引
+     */
+    private boolean prefixMatch;
+
+    /**
+     * 身份证号前缀
+     */
+    private String idCard;
+
+    /**
+     * 班级ID
+     */
+    private Long classId;
+
+    /**
+     * 班级ID范围（如教师任教的班级）
+     */
+    private Collection<Long> classIds;
+
+    /**
+     * 性别
+     */
+    private Gender gender;
+
+    /**
+     * 学生状态
+     */
+    private StudentStatus status;
+
+    /**
+     * 排序字段，为空时不排序
+     */
+    private String sortBy;
+
+    /**
+     * 排序方向，默认倒序
+     */
+    private Sort.Direction direction;
+
+    /**
+     * 只包含已指定条件的查询规格
+     */
+    public Specification<Student> toSpecification() {
+        return SpecificationBuilder.<Student>create()
+                .startsWith("studentId", studentId)
+                .like("name", name, prefixMatch)
+                .startsWith("idCard", idCard)
+                .equal("classId", classId)
+                .in("classId", classIds)
+                .equal("gender", gender)
+                .equal("status", status)
+                .notDeleted()
+                .build();
+    }
+
+    /**
+     * 排序规则，ID作为次要排序保证顺序稳定
+     */
+    public Sort toSort() {
+        if (sortBy == null || sortBy.isBlank()) {
+            return Sort.unsorted();
+        }
+        if (!SORTABLE.contains(sortBy)) {
+            throw new IllegalArgumentException("不支持的排序字段: " + sortBy);
+        }
+        Sort.Direction dir = direction != null ? direction : Sort.Direction.DESC;
+        return "id".equals(sortBy) ? Sort.by(dir, "id") : Sort.by(dir, sortBy).and(Sort.by(dir, "id"));
+    }
+}
@@ -0,0 +1,118 @@
+package com.school.cooperation.repository.criteria;
+
+import com.school.cooperation.entity.User;
+import com.school.cooperation.entity.enums.UserRole;
+import com.school.cooperation.entity.enums.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * 用户查询条件
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCriteria {
+
+    /**
+     * 允许排序的字段（均有对应索引）
+     */
+    private static final Set<String> SORTABLE = Set.of("id", "createdTime", "lastLoginTime", "username");
+
+    /**
+     * 关键词（用户名、真实姓名、手机号任一包含即匹配）
+     */
+    private String keyword;
+
+    /**
+     * 用户名（默认包含匹配）
+     */
+    private String username;
+
+    /**
+     * 真实姓名（包含匹配）
+     */
+    private String realName;
+
+    /**
+     * 手机号（默认包含匹配）
+     */
+    private String phone;
+
+    /**
+     * 用户名、手机号改为前缀匹配，可以使用索引
+     */
+    private boolean prefixMatch;
+
+    /**
+     * 用户角色
+     */
+    private UserRole role;
+
+    /**
+     * 用户状态
+     */
+    private UserStatus status;
+
+    /**
+     * 创建时间起
+     */
+    private LocalDateTime createdFrom;
+
+    /**
+     * 创建时间止
+     */
+    private LocalDateTime createdTo;
+
+    /**
+     * 排序字段，为空时不排序
+     */
+    private String sortBy;
+
+    /**
+     * 排序方向，默认倒序
+     */
+    private Sort.Direction direction;
+
+    /**
+     * 只包含已指定条件的查询规格
+     */
+    public Specification<User> toSpecification() {
+        return SpecificationBuilder.<User>create()
+                .containsAny(keyword, "username", "realName", "phone")
+                .like("username", username, prefixMatch)
+                .contains("realName", realName)
+                .like("phone", phone, prefixMatch)
+                .equal("role", role)
+                .equal("status", status)
+                .greaterThanOrEqual("createdTime", createdFrom)
+                .lessThanOrEqual("createdTime", createdTo)
+                .notDeleted()
+                .build();
+    }
+
+    /**
+     * 排序规则，ID作为次要排序保证顺序稳定
+     */
+    public Sort toSort() {
+        if (sortBy == null || sortBy.isBlank()) {
+            return Sort.unsorted();
+        }
+        if (!SORTABLE.contains(sortBy)) {
+            throw new IllegalArgumentException("不支持的排序字段: " + sortBy);
+        }
+        Sort.Direction dir = direction != null ? direction : Sort.Direction.DESC;
+        return "id".equals(sortBy) ? Sort.by(dir, "id") : Sort.by(dir, sortBy).and(Sort.by(dir, "id"));
+    }
+}
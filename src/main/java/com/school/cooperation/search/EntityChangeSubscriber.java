@@ -0,0 +1,19 @@
+package com.school.cooperation.search;
+
+/**
+ * 实体变更订阅者，由 {@link SearchIndexEventListener} 在事务提交后回调
+ * 回调在提交线程中执行，实现方只应登记ID，回表与索引更新放到后台完成
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public interface EntityChangeSubscriber {
+
+    /**
+     * 实体已新增、修改或删除
+     *
+     * @param type 实体类型
+     * @param id   实体ID
+     */
+    void onEntityChanged(IndexedType type, Long id);
+}
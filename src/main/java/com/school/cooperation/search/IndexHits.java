@@ -0,0 +1,44 @@
+package com.school.cooperation.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 索引检索结果：只包含按相关度排序的实体ID，由调用方一次 IN 查询回表
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexHits {
+
+    /**
+     * 命中总数
+     */
+    private long total;
+
+    /**
+     * 当前页实体ID（按相关度排序）
+     */
+    private List<Long> ids;
+
+    /**
+     * 高亮片段（实体ID -> 片段）
+     */
+    private Map<Long, String> highlights;
+
+    /**
+     * 分面统计（维度 -> 取值 -> 数量）
+     */
+    private Map<String, Map<String, Long>> facets;
+
+    public static IndexHits empty() {
+        return new IndexHits(0L, List.of(), Map.of(), Map.of());
+    }
+}
@@ -0,0 +1,58 @@
+package com.school.cooperation.search;
+
+import com.school.cooperation.entity.Student;
+import com.school.cooperation.entity.StudentRecord;
+import com.school.cooperation.entity.User;
+
+/**
+ * 全文索引覆盖的实体类型
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public enum IndexedType {
+
+    /**
+     * 学生档案记录
+     */
+    RECORD(StudentRecord.class),
+
+    /**
+     * 学生
+     */
+    STUDENT(Student.class),
+
+    /**
+     * 用户（教师/家长/管理员）
+     */
+    USER(User.class);
+
+    private final Class<?> entityClass;
+
+    IndexedType(Class<?> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * 文档唯一键
+     */
+    public String uid(Long id) {
+        return name() + ":" + id;
+    }
+
+    /**
+     * 根据实体类获取索引类型，未被索引的实体返回null
+     */
+    public static IndexedType of(Class<?> entityClass) {
+        for (IndexedType type : values()) {
+            if (type.entityClass.equals(entityClass)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,308 @@
+package com.school.cooperation.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.cjk.CJKAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.facet.DrillDownQuery;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 嵌入式 Lucene 索引管理器
+ * 索引存放于本地磁盘（MMapDirectory），写入由单个 IndexWriter 完成，
+ * 查询通过 SearcherManager 定期刷新近实时（NRT）读视图，提交按固定间隔执行。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.search.index", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LuceneIndexManager {
+
+    public static final String FIELD_UID = "uid";
+    public static final String FIELD_TYPE = "type";
+    public static final String FIELD_ID = "entityId";
+    public static final String FIELD_GENERATION = "generation";
+    public static final String FIELD_CLASS_ID = "classId";
+    public static final String FIELD_TITLE = "title";
+    public static final String FIELD_CONTENT = "content";
+    public static final String FIELD_TAGS = "tags";
+    public static final String FIELD_NAME = "name";
+    public static final String FIELD_CODE = "code";
+
+    private static final int MAX_FACET_VALUES = 20;
+
+    @Value("${app.search.index.path:./data/search-index}")
+    private String indexPath;
+
+    @Value("${app.search.index.ram-buffer-mb:64}")
+    private double ramBufferMb;
+
+    private final Analyzer analyzer = new CJKAnalyzer();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+    private final AtomicReference<SortedSetDocValuesReaderState> facetsState = new AtomicReference<>();
+
+    private MMapDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    @PostConstruct
+    public void open() throws IOException {
+        Path path = Paths.get(indexPath).toAbsolutePath();
+        Files.createDirectories(path);
+
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                .setRAMBufferSizeMB(ramBufferMb);
+        directory = new MMapDirectory(path);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, new SearcherFactory());
+        log.info("搜索索引已打开: path={}, docs={}", path, writer.getDocStats().numDocs);
+    }
+
+    /**
+     * 新增或替换文档
+     */
+    public void update(String uid, Document document) throws IOException {
+        writer.updateDocument(new Term(FIELD_UID, uid), facetsConfig.build(document));
+    }
+
+    /**
+     * 删除文档
+     */
+    public void delete(String uid) throws IOException {
+        writer.deleteDocuments(new Term(FIELD_UID, uid));
+    }
+
+    /**
+     * 删除重建之前写入的文档（代数小于指定值），用于清理数据库中已不存在的实体
+     */
+    public void deleteOlderThan(IndexedType type, long generation) throws IOException {
+        Query stale = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(FIELD_TYPE, type.name())), BooleanClause.Occur.FILTER)
+                .add(LongPoint.newRangeQuery(FIELD_GENERATION, Long.MIN_VALUE, generation - 1), BooleanClause.Occur.FILTER)
+                .build();
+        writer.deleteDocuments(stale);
+    }
+
+    /**
+     * 索引是否为空
+     */
+    public boolean isEmpty() {
+        return writer.getDocStats().numDocs == 0;
+    }
+
+    /**
+     * 刷新近实时读视图
+     */
+    @Scheduled(fixedDelayString = "${app.search.index.refresh-interval:1000}")
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("搜索索引刷新失败", e);
+        }
+    }
+
+    /**
+     * 定期提交，保证重启后索引不丢失
+     */
+    @Scheduled(fixedDelayString = "${app.search.index.commit-interval:60000}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            log.error("搜索索引提交失败", e);
+        }
+    }
+
+    /**
+     * 检索
+     *
+     * @param type        实体类型
+     * @param text        检索文本（支持 SimpleQueryParser 语法）
+     * @param fuzzy       是否对字母数字词启用模糊匹配
+     * @param facetFilter 分面过滤（维度 -> 取值）
+     * @param classScope  班级范围，为null时不限制
+     * @param offset      偏移量
+     * @param limit       条数
+     */
+    public IndexHits search(IndexedType type, String text, boolean fuzzy, Map<String, String> facetFilter,
+                            Collection<Long> classScope, int offset, int limit) throws IOException {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, fieldWeights(type));
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query textQuery = parser.parse(fuzzy ? withFuzziness(text) : text);
+        if (textQuery == null) {
+            return IndexHits.empty();
+        }
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder()
+                .add(textQuery, BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(FIELD_TYPE, type.name())), BooleanClause.Occur.FILTER);
+        if (classScope != null) {
+            List<BytesRef> terms = classScope.stream().map(id -> new BytesRef(String.valueOf(id))).toList();
+            builder.add(new TermInSetQuery(FIELD_CLASS_ID, terms), BooleanClause.Occur.FILTER);
+        }
+        DrillDownQuery query = new DrillDownQuery(facetsConfig, builder.build());
+        if (facetFilter != null) {
+            facetFilter.forEach(query::add);
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            FacetsCollector facetsCollector = new FacetsCollector();
+            TopDocs topDocs = FacetsCollector.search(searcher, query, offset + limit, facetsCollector);
+            if (topDocs.totalHits.value == 0) {
+                return IndexHits.empty();
+            }
+
+            ScoreDoc[] pageDocs = topDocs.scoreDocs.length > offset
+                    ? Arrays.copyOfRange(topDocs.scoreDocs, offset, topDocs.scoreDocs.length)
+                    : new ScoreDoc[0];
+            List<Long> ids = new ArrayList<>(pageDocs.length);
+            StoredFields storedFields = searcher.storedFields();
+            for (ScoreDoc scoreDoc : pageDocs) {
+                ids.add(storedFields.document(scoreDoc.doc).getField(FIELD_ID).numericValue().longValue());
+            }
+
+            return new IndexHits(topDocs.totalHits.value, ids,
+                    highlight(searcher, type, textQuery, new TopDocs(topDocs.totalHits, pageDocs), ids),
+                    facets(searcher.getIndexReader(), type, facetsCollector));
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            searcherManager.close();
+            writer.commit();
+            writer.close();
+            directory.close();
+        } catch (IOException e) {
+            log.error("搜索索引关闭失败", e);
+        }
+    }
+
+    /**
+     * 高亮命中片段
+     */
+    private Map<Long, String> highlight(IndexSearcher searcher, IndexedType type, Query query,
+                                        TopDocs pageDocs, List<Long> ids) throws IOException {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        String field = IndexedType.RECORD.equals(type) ? FIELD_CONTENT : FIELD_NAME;
+        UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer).build();
+        String[] fragments = highlighter.highlight(field, query, pageDocs);
+
+        Map<Long, String> highlights = new HashMap<>();
+        for (int i = 0; i < fragments.length; i++) {
+            if (fragments[i] != null) {
+                highlights.put(ids.get(i), fragments[i]);
+            }
+        }
+        return highlights;
+    }
+
+    /**
+     * 统计分面
+     */
+    private Map<String, Map<String, Long>> facets(IndexReader reader, IndexedType type,
+                                                  FacetsCollector facetsCollector) throws IOException {
+        SortedSetDocValuesReaderState state = facetsState.get();
+        if (state == null || state.getReader() != reader) {
+            state = new DefaultSortedSetDocValuesReaderState(reader, facetsConfig);
+            facetsState.set(state);
+        }
+        Facets facets = new SortedSetDocValuesFacetCounts(state, facetsCollector);
+
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        for (String dim : SearchDocuments.facetDimensions(type)) {
+            FacetResult facetResult = facets.getTopChildren(MAX_FACET_VALUES, dim);
+            if (facetResult == null) {
+                continue;
+            }
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (LabelAndValue labelAndValue : facetResult.labelValues) {
+                counts.put(labelAndValue.label, labelAndValue.value.longValue());
+            }
+            result.put(dim, counts);
+        }
+        return result;
+    }
+
+    /**
+     * 对长度不少于3的字母数字词追加 ~1 编辑距离
+     */
+    private static String withFuzziness(String text) {
+        StringBuilder builder = new StringBuilder();
+        for (String term : text.trim().split("\\s+")) {
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            builder.append(term);
+            if (term.length() >= 3 && term.matches("[A-Za-z0-9]+")) {
+                builder.append("~1");
+            }
+        }
+        return builder.toString();
+    }
+
+    private static Map<String, Float> fieldWeights(IndexedType type) {
+        return switch (type) {
+            case RECORD -> Map.of(FIELD_TITLE, 2.0f, FIELD_CONTENT, 1.0f, FIELD_TAGS, 1.5f);
+            case STUDENT, USER -> Map.of(FIELD_NAME, 2.0f, FIELD_CODE, 1.0f);
+        };
+    }
+}
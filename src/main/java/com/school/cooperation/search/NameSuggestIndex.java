@@ -0,0 +1,332 @@
+package com.school.cooperation.search;
+
+import cn.hutool.extra.pinyin.PinyinUtil;
+import com.school.cooperation.dto.NameSuggestion;
+import com.school.cooperation.repository.ParentStudentRepository;
+import com.school.cooperation.repository.StudentRepository;
+import com.school.cooperation.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 学生/家长姓名联想索引
+ * 每个姓名登记三个有序键：原文、全拼、拼音首字母，按前缀范围扫描返回前K条建议。
+ * 除全局键表外按班级各维护一份键表，限定班级范围的查询只扫描范围内班级的键表。
+ * 启动时全量构建，实体变更后增量更新，家长-学生关联变化由定期全量重建兜底；
+ * 只加载ID、姓名与班级，不含手机号等联系方式。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.search.suggest", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class NameSuggestIndex implements EntityChangeSubscriber {
+
+    /**
+     * 键与条目标识之间的分隔符，保证同一前缀的不同条目键唯一
+     */
+    private static final char KEY_SEPARATOR = '\u0001';
+
+    /**
+     * 单个键表单次查询最多扫描的键数量，类型过滤严格时限制最坏耗时
+     */
+    private static final int MAX_SCAN = 2000;
+
+    private final StudentRepository studentRepository;
+    private final UserRepository userRepository;
+    private final ParentStudentRepository parentStudentRepository;
+
+    private volatile Snapshot snapshot = new Snapshot();
+
+    private final Set<Long> dirtyStudents = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyUsers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 前缀联想
+     *
+     * @param prefix     输入前缀（姓名、全拼或拼音首字母）
+     * @param type       限定类型（STUDENT/PARENT），为空时不限制
+     * @param classScope 班级范围（教师为任教班级，学校管理员为本校班级），为null时不限制
+     * @param limit      最大条数
+     */
+    public List<NameSuggestion> suggest(String prefix, String type, Set<Long> classScope, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        // 各键表分别取前limit条，按键合并后再截取即为范围内的前limit条
+        Snapshot current = snapshot;
+        TreeMap<String, Entry> matchedKeys = new TreeMap<>();
+        if (classScope == null) {
+            scan(current.keys, key, type, limit, matchedKeys);
+        } else {
+            for (Long classId : classScope) {
+                ConcurrentSkipListMap<String, Entry> classKeys = current.classKeys.get(classId);
+                if (classKeys != null) {
+                    scan(classKeys, key, type, limit, matchedKeys);
+                }
+            }
+        }
+
+        Map<String, Entry> matched = new LinkedHashMap<>();
+        for (Entry entry : matchedKeys.values()) {
+            matched.putIfAbsent(entry.uid, entry);
+            if (matched.size() >= limit) {
+                break;
+            }
+        }
+
+        List<NameSuggestion> suggestions = new ArrayList<>(matched.size());
+        for (Entry entry : matched.values()) {
+            suggestions.add(new NameSuggestion(entry.type, entry.id, entry.name));
+        }
+        return suggestions;
+    }
+
+    /**
+     * 在一个有序键表中按前缀扫描，收集前limit个不同条目的首个命中键
+     */
+    private static void scan(ConcurrentSkipListMap<String, Entry> keys, String prefix, String type, int limit,
+                             Map<String, Entry> matchedKeys) {
+        Set<String> uids = new HashSet<>();
+        int scanned = 0;
+        for (Map.Entry<String, Entry> hit : keys.subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+            if (++scanned > MAX_SCAN) {
+                break;
+            }
+            Entry entry = hit.getValue();
+            if (type != null && !type.equals(entry.type)) {
+                continue;
+            }
+            if (uids.add(entry.uid)) {
+                matchedKeys.put(hit.getKey(), entry);
+                if (uids.size() >= limit) {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onEntityChanged(IndexedType type, Long id) {
+        if (IndexedType.STUDENT.equals(type)) {
+            dirtyStudents.add(id);
+        } else if (IndexedType.USER.equals(type)) {
+            dirtyUsers.add(id);
+        }
+    }
+
+    /**
+     * 全量构建（启动时及定期执行）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.search.suggest.rebuild-interval:600000}",
+            fixedDelayString = "${app.search.suggest.rebuild-interval:600000}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        List<StudentRepository.SuggestStudent> students = studentRepository.findActiveSuggestStudents();
+        Map<Long, Long> studentClasses = new HashMap<>();
+        for (StudentRepository.SuggestStudent student : students) {
+            studentClasses.put(student.getId(), student.getClassId());
+        }
+
+        Map<Long, Set<Long>> parentClasses = new HashMap<>();
+        for (Object[] pair : parentStudentRepository.findAllParentStudentPairs()) {
+            Long classId = studentClasses.get((Long) pair[1]);
+            if (classId != null) {
+                parentClasses.computeIfAbsent((Long) pair[0], key -> new HashSet<>()).add(classId);
+            }
+        }
+
+        Snapshot rebuilt = new Snapshot();
+        for (StudentRepository.SuggestStudent student : students) {
+            rebuilt.put(studentEntry(student));
+        }
+        for (UserRepository.SuggestParent parent : userRepository.findActiveSuggestParents()) {
+            rebuilt.put(parentEntry(parent, parentClasses.getOrDefault(parent.getId(), Set.of())));
+        }
+        snapshot = rebuilt;
+        log.info("姓名联想索引构建完成: entries={}, keys={}, 耗时{}ms",
+                rebuilt.entries.size(), rebuilt.keys.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 增量应用已登记的变更
+     */
+    @Scheduled(fixedDelayString = "${app.search.suggest.refresh-interval:1000}")
+    public synchronized void drain() {
+        if (!dirtyStudents.isEmpty()) {
+            List<Long> ids = new ArrayList<>(dirtyStudents);
+            ids.forEach(dirtyStudents::remove);
+            Snapshot current = snapshot;
+            ids.forEach(id -> current.remove(NameSuggestion.TYPE_STUDENT + ":" + id));
+            for (StudentRepository.SuggestStudent student : studentRepository.findActiveSuggestStudentsByIds(ids)) {
+                current.put(studentEntry(student));
+            }
+            // 学生调班后其家长的班级范围随之变化
+            parentStudentRepository.findByStudentIdIn(ids).forEach(link -> dirtyUsers.add(link.getParentId()));
+        }
+
+        if (!dirtyUsers.isEmpty()) {
+            List<Long> ids = new ArrayList<>(dirtyUsers);
+            ids.forEach(dirtyUsers::remove);
+            Snapshot current = snapshot;
+            ids.forEach(id -> current.remove(NameSuggestion.TYPE_PARENT + ":" + id));
+
+            List<UserRepository.SuggestParent> parents = userRepository.findActiveSuggestParentsByIds(ids);
+            if (!parents.isEmpty()) {
+                Map<Long, Set<Long>> parentClasses = resolveParentClasses(
+                        parents.stream().map(UserRepository.SuggestParent::getId).toList());
+                for (UserRepository.SuggestParent parent : parents) {
+                    current.put(parentEntry(parent, parentClasses.getOrDefault(parent.getId(), Set.of())));
+                }
+            }
+        }
+    }
+
+    private Map<Long, Set<Long>> resolveParentClasses(List<Long> parentIds) {
+        Map<Long, List<Long>> parentStudents = new HashMap<>();
+        Set<Long> studentIds = new HashSet<>();
+        parentStudentRepository.findByParentIdIn(parentIds).forEach(link -> {
+            parentStudents.computeIfAbsent(link.getParentId(), key -> new ArrayList<>()).add(link.getStudentId());
+            studentIds.add(link.getStudentId());
+        });
+
+        Map<Long, Long> studentClasses = new HashMap<>();
+        if (!studentIds.isEmpty()) {
+            for (StudentRepository.SuggestStudent student : studentRepository.findActiveSuggestStudentsByIds(studentIds)) {
+                if (student.getClassId() != null) {
+                    studentClasses.put(student.getId(), student.getClassId());
+                }
+            }
+        }
+
+        Map<Long, Set<Long>> result = new HashMap<>();
+        parentStudents.forEach((parentId, children) -> {
+            Set<Long> classIds = new HashSet<>();
+            children.forEach(studentId -> {
+                Long classId = studentClasses.get(studentId);
+                if (classId != null) {
+                    classIds.add(classId);
+                }
+            });
+            result.put(parentId, classIds);
+        });
+        return result;
+    }
+
+    private static Entry studentEntry(StudentRepository.SuggestStudent student) {
+        Set<Long> classIds = student.getClassId() != null ? Set.of(student.getClassId()) : Set.of();
+        return new Entry(NameSuggestion.TYPE_STUDENT, student.getId(), student.getName(), classIds);
+    }
+
+    private static Entry parentEntry(UserRepository.SuggestParent parent, Set<Long> classIds) {
+        return new Entry(NameSuggestion.TYPE_PARENT, parent.getId(), parent.getRealName(), Set.copyOf(classIds));
+    }
+
+    /**
+     * 统一为小写并去除空白
+     */
+    static String normalize(String text) {
+        if (!StringUtils.hasText(text)) {
+            return "";
+        }
+        return StringUtils.trimAllWhitespace(text).toLowerCase();
+    }
+
+    /**
+     * 生成检索键：原文、全拼、拼音首字母
+     */
+    static Collection<String> keysOf(String name) {
+        Set<String> keys = new LinkedHashSet<>();
+        String normalized = normalize(name);
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        keys.add(normalized);
+        keys.add(normalize(PinyinUtil.getPinyin(normalized, "")));
+        keys.add(normalize(PinyinUtil.getFirstLetter(normalized, "")));
+        keys.remove("");
+        return keys;
+    }
+
+    /**
+     * 索引条目
+     */
+    private static final class Entry {
+
+        private final String type;
+        private final Long id;
+        private final String uid;
+        private final String name;
+        private final Set<Long> classIds;
+        private final List<String> keys = new ArrayList<>();
+
+        private Entry(String type, Long id, String name, Set<Long> classIds) {
+            this.type = type;
+            this.id = id;
+            this.uid = type + ":" + id;
+            this.name = name;
+            this.classIds = classIds;
+            for (String key : keysOf(name)) {
+                keys.add(key + KEY_SEPARATOR + uid);
+            }
+        }
+    }
+
+    /**
+     * 有序键表（全局及按班级）与条目表，全量重建时整体替换
+     */
+    private static final class Snapshot {
+
+        private final ConcurrentSkipListMap<String, Entry> keys = new ConcurrentSkipListMap<>();
+        private final ConcurrentHashMap<Long, ConcurrentSkipListMap<String, Entry>> classKeys = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+        private void put(Entry entry) {
+            remove(entry.uid);
+            entries.put(entry.uid, entry);
+            entry.keys.forEach(key -> keys.put(key, entry));
+            for (Long classId : entry.classIds) {
+                ConcurrentSkipListMap<String, Entry> target =
+                        classKeys.computeIfAbsent(classId, id -> new ConcurrentSkipListMap<>());
+                entry.keys.forEach(key -> target.put(key, entry));
+            }
+        }
+
+        private void remove(String uid) {
+            Entry existing = entries.remove(uid);
+            if (existing != null) {
+                existing.keys.forEach(keys::remove);
+                for (Long classId : existing.classIds) {
+                    ConcurrentSkipListMap<String, Entry> target = classKeys.get(classId);
+                    if (target != null) {
+                        existing.keys.forEach(target::remove);
+                    }
+                }
+            }
+        }
+    }
+}
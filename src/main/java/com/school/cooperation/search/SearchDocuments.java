@@ -0,0 +1,117 @@
+package com.school.cooperation.search;
+
+import com.school.cooperation.entity.Student;
+import com.school.cooperation.entity.StudentRecord;
+import com.school.cooperation.entity.User;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+import static com.school.cooperation.search.LuceneIndexManager.*;
+
+/**
+ * 实体到 Lucene 文档的映射
+ * 只索引检索、高亮与分面所需字段，不包含密码、身份证号等敏感信息
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public final class SearchDocuments {
+
+    public static final String FACET_RECORD_TYPE = "recordType";
+    public static final String FACET_IMPORTANCE = "importance";
+    public static final String FACET_CATEGORY = "category";
+    public static final String FACET_STATUS = "status";
+    public static final String FACET_GENDER = "gender";
+    public static final String FACET_ROLE = "role";
+
+    private SearchDocuments() {
+    }
+
+    /**
+     * 各类型支持的分面维度
+     */
+    public static List<String> facetDimensions(IndexedType type) {
+        return switch (type) {
+            case RECORD -> List.of(FACET_RECORD_TYPE, FACET_IMPORTANCE, FACET_CATEGORY);
+            case STUDENT -> List.of(FACET_STATUS, FACET_GENDER);
+            case USER -> List.of(FACET_ROLE, FACET_STATUS);
+        };
+    }
+
+    /**
+     * 档案记录文档
+     *
+     * @param classId 记录所属学生的班级ID
+     */
+    public static Document record(StudentRecord record, Long classId, long generation) {
+        Document document = base(IndexedType.RECORD, record.getId(), generation);
+        addClassId(document, classId);
+        addText(document, FIELD_TITLE, record.getTitle());
+        addText(document, FIELD_CONTENT, record.getContent());
+        addText(document, FIELD_TAGS, record.getTags());
+        addFacet(document, FACET_RECORD_TYPE, record.getType() != null ? record.getType().name() : null);
+        addFacet(document, FACET_IMPORTANCE, record.getImportance() != null ? record.getImportance().name() : null);
+        addFacet(document, FACET_CATEGORY, record.getCategory());
+        return document;
+    }
+
+    /**
+     * 学生文档
+     */
+    public static Document student(Student student, long generation) {
+        Document document = base(IndexedType.STUDENT, student.getId(), generation);
+        addClassId(document, student.getClassId());
+        addText(document, FIELD_NAME, student.getName());
+        addText(document, FIELD_CODE, student.getStudentId());
+        addFacet(document, FACET_STATUS, student.getStatus() != null ? student.getStatus().name() : null);
+        addFacet(document, FACET_GENDER, student.getGender() != null ? student.getGender().name() : null);
+        return document;
+    }
+
+    /**
+     * 用户文档
+     */
+    public static Document user(User user, long generation) {
+        Document document = base(IndexedType.USER, user.getId(), generation);
+        addText(document, FIELD_NAME, user.getRealName());
+        addText(document, FIELD_CODE, user.getUsername());
+        addFacet(document, FACET_ROLE, user.getRole() != null ? user.getRole().name() : null);
+        addFacet(document, FACET_STATUS, user.getStatus() != null ? user.getStatus().name() : null);
+        return document;
+    }
+
+    private static Document base(IndexedType type, Long id, long generation) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_UID, type.uid(id), Field.Store.NO));
+        document.add(new StringField(FIELD_TYPE, type.name(), Field.Store.NO));
+        document.add(new StoredField(FIELD_ID, id));
+        document.add(new LongPoint(FIELD_GENERATION, generation));
+        return document;
+    }
+
+    private static void addClassId(Document document, Long classId) {
+        if (classId != null) {
+            document.add(new StringField(FIELD_CLASS_ID, String.valueOf(classId), Field.Store.NO));
+        }
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (StringUtils.hasText(value)) {
+            document.add(new TextField(field, value, Field.Store.YES));
+        }
+    }
+
+    private static void addFacet(Document document, String dim, String value) {
+        if (StringUtils.hasText(value)) {
+            document.add(new SortedSetDocValuesFacetField(dim, value));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.school.cooperation.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 实体变更事件监听
+ * 注册为 Hibernate 提交后事件，只有事务成功提交的变更才会分发给各个 {@link EntityChangeSubscriber}；
+ * 批量 JPQL/原生 UPDATE、DELETE 不触发实体事件，执行批量写入的调用方须通过
+ * {@link #publishAfterCommit} 显式登记受影响的ID（调班同步班级、班级回填、冷归档）。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexEventListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final List<EntityChangeSubscriber> subscribers;
+
+    @PostConstruct
+    public void register() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /**
+     * 登记批量写入影响的实体：存在事务时在提交后分发，事务回滚则不分发
+     */
+    public void publishAfterCommit(IndexedType type, Collection<Long> ids) {
+        if (ids.isEmpty() || subscribers.isEmpty()) {
+            return;
+        }
+        List<Long> changed = List.copyOf(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(type, changed);
+                }
+            });
+        } else {
+            dispatch(type, changed);
+        }
+    }
+
+    private void dispatch(IndexedType type, List<Long> ids) {
+        for (EntityChangeSubscriber subscriber : subscribers) {
+            ids.forEach(id -> subscriber.onEntityChanged(type, id));
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        enqueue(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        enqueue(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        enqueue(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return IndexedType.of(persister.getMappedClass()) != null;
+    }
+
+    private void enqueue(Object entity, Object id) {
+        IndexedType type = IndexedType.of(entity.getClass());
+        if (type != null && id instanceof Long entityId) {
+            for (EntityChangeSubscriber subscriber : subscribers) {
+                subscriber.onEntityChanged(type, entityId);
+            }
+        }
+    }
+}
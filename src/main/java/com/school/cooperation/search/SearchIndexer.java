@@ -0,0 +1,311 @@
+package com.school.cooperation.search;
+
+import com.school.cooperation.entity.ArchivedRecord;
+import com.school.cooperation.entity.BaseEntity;
+import com.school.cooperation.entity.Student;
+import com.school.cooperation.entity.StudentRecord;
+import com.school.cooperation.entity.User;
+import com.school.cooperation.repository.ArchivedRecordRepository;
+import com.school.cooperation.repository.StudentRecordRepository;
+import com.school.cooperation.repository.StudentRepository;
+import com.school.cooperation.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 搜索索引维护任务
+ * 实体提交后由 {@link SearchIndexEventListener} 登记变更ID，定时批量回表后增量写入索引；
+ * 全量重建按实体类型并行，每种类型按主键游标分批扫描，完成后删除旧代数的文档。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.search.index", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SearchIndexer implements EntityChangeSubscriber {
+
+    private final LuceneIndexManager indexManager;
+    private final StudentRecordRepository studentRecordRepository;
+    private final ArchivedRecordRepository archivedRecordRepository;
+    private final StudentRepository studentRepository;
+    private final UserRepository userRepository;
+
+    @Value("${app.search.index.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    @Value("${app.search.index.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    // 待增量索引的实体ID
+    private final Map<IndexedType, Set<Long>> dirty = new EnumMap<>(IndexedType.class);
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private final ExecutorService rebuildExecutor = Executors.newFixedThreadPool(IndexedType.values().length, runnable -> {
+        Thread thread = new Thread(runnable, "search-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SearchIndexer(LuceneIndexManager indexManager,
+                         StudentRecordRepository studentRecordRepository,
+                         ArchivedRecordRepository archivedRecordRepository,
+                         StudentRepository studentRepository,
+                         UserRepository userRepository) {
+        this.indexManager = indexManager;
+        this.studentRecordRepository = studentRecordRepository;
+        this.archivedRecordRepository = archivedRecordRepository;
+        this.studentRepository = studentRepository;
+        this.userRepository = userRepository;
+        for (IndexedType type : IndexedType.values()) {
+            dirty.put(type, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    @Override
+    public void onEntityChanged(IndexedType type, Long id) {
+        enqueue(type, id);
+    }
+
+    /**
+     * 登记实体变更
+     */
+    public void enqueue(IndexedType type, Long id) {
+        if (id != null) {
+            dirty.get(type).add(id);
+        }
+    }
+
+    /**
+     * 索引为空时在启动后后台重建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (rebuildOnStartup && indexManager.isEmpty()) {
+            CompletableFuture.runAsync(this::rebuild);
+        }
+    }
+
+    /**
+     * 批量处理已登记的变更
+     */
+    @Scheduled(fixedDelayString = "${app.search.index.refresh-interval:1000}")
+    public void drain() {
+        for (IndexedType type : IndexedType.values()) {
+            Set<Long> ids = dirty.get(type);
+            if (ids.isEmpty()) {
+                continue;
+            }
+            List<Long> batch = new ArrayList<>(ids);
+            batch.forEach(ids::remove);
+            try {
+                reindex(type, batch, System.currentTimeMillis());
+            } catch (RuntimeException | IOException e) {
+                log.error("增量索引失败，下个周期重试: type={}, count={}", type, batch.size(), e);
+                ids.addAll(batch);
+            }
+        }
+    }
+
+    /**
+     * 全量重建索引
+     *
+     * @return 是否已启动（已有重建在进行时返回false）
+     */
+    public boolean rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        long generation = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (IndexedType type : IndexedType.values()) {
+                futures.add(CompletableFuture.runAsync(() -> rebuildType(type, generation), rebuildExecutor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            indexManager.commit();
+            indexManager.refresh();
+            log.info("搜索索引重建完成，耗时{}ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("搜索索引重建失败", e);
+        } finally {
+            rebuilding.set(false);
+        }
+        return true;
+    }
+
+    /**
+     * 是否正在重建
+     */
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * 按主键游标扫描单个类型并写入索引
+     */
+    private void rebuildType(IndexedType type, long generation) {
+        long lastId = 0L;
+        long total = 0L;
+        PageRequest page = PageRequest.of(0, rebuildBatchSize);
+        try {
+            while (true) {
+                List<Long> ids = switch (type) {
+                    case RECORD -> indexRecords(studentRecordRepository.findBatchAfterId(lastId, page), generation);
+                    case STUDENT -> indexStudents(studentRepository.findBatchAfterId(lastId, page), generation);
+                    case USER -> indexUsers(userRepository.findBatchAfterId(lastId, page), generation);
+                };
+                if (ids.isEmpty()) {
+                    break;
+                }
+                lastId = ids.get(ids.size() - 1);
+                total += ids.size();
+                if (ids.size() < rebuildBatchSize) {
+                    break;
+                }
+            }
+            if (IndexedType.RECORD.equals(type)) {
+                total += rebuildArchivedRecords(page, generation);
+            }
+            indexManager.deleteOlderThan(type, generation);
+            log.info("搜索索引重建: type={}, docs={}", type, total);
+        } catch (IOException e) {
+            throw new IllegalStateException("重建" + type + "索引失败", e);
+        }
+    }
+
+    /**
+     * 归档记录同样写入索引，命中后由检索服务回表归档表；增量回表时在线表中缺失的ID也会查归档表
+     */
+    private long rebuildArchivedRecords(PageRequest page, long generation) throws IOException {
+        long lastId = 0L;
+        long total = 0L;
+        while (true) {
+            List<StudentRecord> records = archivedRecordRepository.findBatchAfterId(lastId, page).stream()
+                    .map(ArchivedRecord::toRecord)
+                    .toList();
+            List<Long> ids = indexRecords(records, generation);
+            if (ids.isEmpty()) {
+                return total;
+            }
+            lastId = ids.get(ids.size() - 1);
+            total += ids.size();
+            if (ids.size() < page.getPageSize()) {
+                return total;
+            }
+        }
+    }
+
+    /**
+     * 回表后增量写入，数据库中已不存在或已删除的实体从索引移除
+     */
+    private void reindex(IndexedType type, List<Long> ids, long generation) throws IOException {
+        Set<Long> indexed = new HashSet<>(switch (type) {
+            case RECORD -> indexRecords(activeOnly(findRecords(ids)), generation);
+            case STUDENT -> indexStudents(activeOnly(studentRepository.findAllById(ids)), generation);
+            case USER -> indexUsers(activeOnly(userRepository.findAllById(ids)), generation);
+        });
+        for (Long id : ids) {
+            if (!indexed.contains(id)) {
+                indexManager.delete(type.uid(id));
+            }
+        }
+        // 学生调班后其档案记录的班级范围随之变化
+        if (IndexedType.STUDENT.equals(type)) {
+            studentRecordRepository.findIdsByStudentIds(ids).forEach(id -> enqueue(IndexedType.RECORD, id));
+        }
+    }
+
+    /**
+     * 回表档案记录：在线表中不存在的ID再查归档表，已归档的记录保留在索引中
+     */
+    private List<StudentRecord> findRecords(List<Long> ids) {
+        List<StudentRecord> records = new ArrayList<>(studentRecordRepository.findAllById(ids));
+        if (records.size() < ids.size()) {
+            Set<Long> found = records.stream().map(StudentRecord::getId).collect(Collectors.toSet());
+            List<Long> missing = ids.stream().filter(id -> !found.contains(id)).toList();
+            archivedRecordRepository.findAllById(missing).forEach(archived -> records.add(archived.toRecord()));
+        }
+        return records;
+    }
+
+    private List<Long> indexRecords(List<StudentRecord> records, long generation) throws IOException {
+        // 冗余班级ID尚未回填的记录按学生当前班级补齐
+        Set<Long> studentIds = new HashSet<>();
+        records.stream()
+                .filter(record -> record.getClassId() == null)
+                .forEach(record -> studentIds.add(record.getStudentId()));
+        Map<Long, Long> classIds = new HashMap<>();
+        if (!studentIds.isEmpty()) {
+            for (Student student : studentRepository.findAllById(studentIds)) {
+                if (student.getClassId() != null) {
+                    classIds.put(student.getId(), student.getClassId());
+                }
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(records.size());
+        for (StudentRecord record : records) {
+            Long classId = record.getClassId() != null ? record.getClassId() : classIds.get(record.getStudentId());
+            indexManager.update(IndexedType.RECORD.uid(record.getId()),
+                    SearchDocuments.record(record, classId, generation));
+            ids.add(record.getId());
+        }
+        return ids;
+    }
+
+    private List<Long> indexStudents(List<Student> students, long generation) throws IOException {
+        List<Long> ids = new ArrayList<>(students.size());
+        for (Student student : students) {
+            indexManager.update(IndexedType.STUDENT.uid(student.getId()), SearchDocuments.student(student, generation));
+            ids.add(student.getId());
+        }
+        return ids;
+    }
+
+    private List<Long> indexUsers(List<User> users, long generation) throws IOException {
+        List<Long> ids = new ArrayList<>(users.size());
+        for (User user : users) {
+            indexManager.update(IndexedType.USER.uid(user.getId()), SearchDocuments.user(user, generation));
+            ids.add(user.getId());
+        }
+        return ids;
+    }
+
+    private static <T extends BaseEntity> List<T> activeOnly(Iterable<T> entities) {
+        List<T> result = new ArrayList<>();
+        for (T entity : entities) {
+            if (!entity.isDeleted()) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+}
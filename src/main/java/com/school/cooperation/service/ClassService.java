@@ -1,5 +1,7 @@
 package com.school.cooperation.service;
 
+import com.school.cooperation.dto.ClassSummary;
+import com.school.cooperation.dto.StudentSummary;
 import com.school.cooperation.entity.EduClass;
 import com.school.cooperation.entity.Student;
 import com.school.cooperation.entity.User;
@@ -48,32 +50,32 @@ public interface ClassService {
      * 根据状态获取班级列表
      *
      * @param status 状态
-     * @return 班级列表
+     * @return 班级列表（只含列表所需的列）
      */
-    List<EduClass> findByStatus(ClassStatus status);
+    List<ClassSummary> findByStatus(ClassStatus status);
 
     /**
      * 根据班主任获取班级列表
      *
      * @param teacherId 班主任ID
-     * @return 班级列表
+     * @return 班级列表（只含列表所需的列）
      */
-    List<EduClass> findByTeacherId(Long teacherId);
+    List<ClassSummary> findByTeacherId(Long teacherId);
 
     /**
      * 根据年级获取班级列表
      *
      * @param grade 年级
-     * @return 班级列表
+     * @return 班级列表（只含列表所需的列）
      */
-    List<EduClass> findByGrade(Integer grade);
+    List<ClassSummary> findByGrade(Integer grade);
 
     /**
      * 获取所有班级
      *
-     * @return 班级列表
+     * @return 班级列表（只含列表所需的列）
      */
-    List<EduClass> findAll();
+    List<ClassSummary> findAll();
 
     /**
      * 检查班级名称是否存在
@@ -122,6 +124,14 @@ public interface ClassService {
      */
     List<Student> getStudentsByClass(Long classId);
 
+    /**
+     * 获取班级学生列表（只选取列表所需的列）
+     *
+     * @param classId 班级ID
+     * @return 学生列表
+     */
+    List<StudentSummary> getStudentSummariesByClass(Long classId);
+
     /**
      * 获取班级的班主任信息
      *
@@ -0,0 +1,69 @@
+package com.school.cooperation.service;
+
+import com.school.cooperation.dto.BroadcastCreateRequest;
+import com.school.cooperation.dto.NotificationFeedItem;
+import com.school.cooperation.entity.Broadcast;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 通知服务接口
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public interface NotificationService {
+
+    /**
+     * 发布广播通知（全校/年级/班级只写入一行）
+     *
+     * @param publisherId 发布人ID
+     * @param request 广播信息
+     * @return 发布后的广播
+     */
+    Broadcast publishBroadcast(Long publisherId, BroadcastCreateRequest request);
+
+    /**
+     * 获取用户的合并信息流（个人通知 + 适用的广播通知）
+     *
+     * @param userId 用户ID
+     * @param before 游标时间（上一页最后一条的创建时间）；为空表示从最新开始
+     * @param beforeId 游标ID（上一页最后一条的ID），为空时仅按时间严格早于游标
+     * @param beforeSource 游标来源（上一页最后一条的来源 PERSONAL/BROADCAST）
+     * @param size 条目数量
+     * @return 按时间、来源、ID倒序的信息流
+     */
+    List<NotificationFeedItem> getFeed(Long userId, LocalDateTime before, Long beforeId, String beforeSource, int size);
+
+    /**
+     * 统计用户未读数量（个人通知 + 广播通知）
+     *
+     * @param userId 用户ID
+     * @return 未读数量
+     */
+    long countUnread(Long userId);
+
+    /**
+     * 标记个人通知为已读
+     *
+     * @param userId 用户ID
+     * @param notificationIds 通知ID列表
+     */
+    void markAsRead(Long userId, List<Long> notificationIds);
+
+    /**
+     * 标记广播通知为已读
+     *
+     * @param userId 用户ID
+     * @param broadcastIds 广播ID列表
+     */
+    void markBroadcastsAsRead(Long userId, List<Long> broadcastIds);
+
+    /**
+     * 标记用户全部通知为已读（个人通知批量更新，广播推进阅读游标）
+     *
+     * @param userId 用户ID
+     */
+    void markAllAsRead(Long userId);
+}
@@ -0,0 +1,39 @@
+package com.school.cooperation.service;
+
+import com.school.cooperation.dto.RecordDetailResponse;
+import com.school.cooperation.dto.RecordTimeline;
+
+import java.time.LocalDateTime;
+
+/**
+ * 学生档案记录服务接口
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public interface RecordService {
+
+    /**
+     * 获取学生档案时间线（游标分页，仅返回摘要）
+     *
+     * @param userId 当前用户ID，家长只能查看自己孩子的公开记录，教师只能查看任教班级的学生
+     * @param studentId 学生ID
+     * @param beforeTime 在线记录游标时间（上一页返回的 nextBeforeTime），为空时从最新开始
+     * @param beforeId 在线记录游标ID（上一页返回的 nextBeforeId）
+     * @param archiveBeforeTime 归档记录游标时间（上一页返回的 nextArchiveBeforeTime），为空时从最新开始
+     * @param archiveBeforeId 归档记录游标ID（上一页返回的 nextArchiveBeforeId）
+     * @param size 条目数量
+     * @return 时间线分页结果
+     */
+    RecordTimeline getTimeline(Long userId, Long studentId, LocalDateTime beforeTime, Long beforeId,
+                               LocalDateTime archiveBeforeTime, Long archiveBeforeId, int size);
+
+    /**
+     * 获取档案记录详情（含正文）
+     *
+     * @param userId 当前用户ID，可见性规则同时间线
+     * @param recordId 记录ID
+     * @return 档案记录详情（学生与教师只含姓名）
+     */
+    RecordDetailResponse getRecordDetail(Long userId, Long recordId);
+}
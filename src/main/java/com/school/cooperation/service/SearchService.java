@@ -0,0 +1,95 @@
+package com.school.cooperation.service;
+
+import com.school.cooperation.common.utils.PageResult;
+import com.school.cooperation.dto.IndexSearchResult;
+import com.school.cooperation.dto.NameSuggestion;
+import com.school.cooperation.dto.RecordSearchHit;
+import com.school.cooperation.dto.RecordSearchRequest;
+import com.school.cooperation.dto.StudentSummary;
+import com.school.cooperation.dto.TagCount;
+import com.school.cooperation.dto.UserResponse;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 搜索服务接口
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public interface SearchService {
+
+    /**
+     * 检索档案记录（全文检索标题和内容，支持分类/标签/班级/时间过滤）
+     *
+     * @param userId 当前用户ID，教师仅能检索自己任教的班级
+     * @param request 搜索条件
+     * @return 分页结果
+     */
+    PageResult<RecordSearchHit> searchRecords(Long userId, RecordSearchRequest request);
+
+    /**
+     * 统计班级档案记录的标签分布（用于标签筛选分面）
+     *
+     * @param userId 当前用户ID，教师仅能查看自己任教的班级
+     * @param classId 班级ID
+     * @param limit 最大标签数
+     * @return 标签及记录数，按记录数倒序
+     */
+    List<TagCount> getClassTagFacets(Long userId, Long classId, int limit);
+
+    /**
+     * 按姓名检索学生
+     *
+     * @param userId 当前用户ID，教师仅能检索自己任教的班级
+     * @param keyword 姓名关键词
+     * @param limit 最大条数
+     * @return 学生列表
+     */
+    List<StudentSummary> searchStudents(Long userId, String keyword, int limit);
+
+    /**
+     * 通过 Lucene 索引检索档案记录（支持模糊匹配、高亮与分面）
+     *
+     * @param userId 当前用户ID
+     * @param keyword 检索文本
+     * @param fuzzy 是否模糊匹配
+     * @param facetFilter 分面过滤（维度 -> 取值）
+     * @param page 页码（从1开始）
+     * @param pageSize 每页大小
+     * @return 检索结果
+     */
+    IndexSearchResult<RecordSearchHit> searchRecordIndex(Long userId, String keyword, boolean fuzzy,
+                                                         Map<String, String> facetFilter, int page, int pageSize);
+
+    /**
+     * 通过 Lucene 索引检索学生
+     */
+    IndexSearchResult<StudentSummary> searchStudentIndex(Long userId, String keyword, boolean fuzzy,
+                                                         Map<String, String> facetFilter, int page, int pageSize);
+
+    /**
+     * 通过 Lucene 索引检索用户（仅管理员）
+     */
+    IndexSearchResult<UserResponse> searchUserIndex(Long userId, String keyword, boolean fuzzy,
+                                                    Map<String, String> facetFilter, int page, int pageSize);
+
+    /**
+     * 全量重建 Lucene 索引（后台执行）
+     *
+     * @return 是否已启动，已有重建在进行时返回false
+     */
+    boolean rebuildIndex();
+
+    /**
+     * 学生/家长姓名联想（支持姓名、全拼、拼音首字母前缀）
+     *
+     * @param userId 当前用户ID，教师仅返回任教班级、学校管理员仅返回本校班级的学生及其家长
+     * @param prefix 输入前缀
+     * @param type 限定类型（STUDENT/PARENT），为空时不限制
+     * @param limit 最大条数
+     * @return 联想建议
+     */
+    List<NameSuggestion> suggestNames(Long userId, String prefix, String type, int limit);
+}
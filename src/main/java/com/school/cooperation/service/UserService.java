@@ -1,9 +1,13 @@
 package com.school.cooperation.service;
 
+import com.school.cooperation.dto.UserSummary;
 import com.school.cooperation.common.utils.PageResult;
 import com.school.cooperation.entity.User;
 import com.school.cooperation.entity.enums.UserRole;
 import com.school.cooperation.entity.enums.UserStatus;
+import com.school.cooperation.repository.criteria.KeysetCursor;
+import com.school.cooperation.repository.criteria.KeysetPage;
+import com.school.cooperation.repository.criteria.UserCriteria;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -156,15 +160,33 @@ public interface UserService {
     /**
      * 根据条件查询用户列表
      *
-     * @param username 用户名（模糊查询）
+     * @param username 用户名（包含匹配）
      * @param realName 真实姓名（模糊查询）
-     * @param phone 手机号（模糊查询）
+     * @param phone 手机号（包含匹配）
      * @param role 角色
      * @param status 状态
      * @return 用户列表
      */
     List<User> findByConditions(String username, String realName, String phone, UserRole role, UserStatus status);
 
+    /**
+     * 按条件查询用户列表（支持排序）
+     *
+     * @param criteria 查询条件，只拼接已指定的条件
+     * @return 用户列表
+     */
+    List<UserSummary> findByCriteria(UserCriteria criteria);
+
+    /**
+     * 按条件键集分页查询用户（按创建时间排序）
+     *
+     * @param criteria 查询条件
+     * @param cursor 上一页返回的游标，首页为null
+     * @param size 每页大小
+     * @return 分页结果
+     */
+    KeysetPage<UserSummary> findPageByCriteria(UserCriteria criteria, KeysetCursor cursor, int size);
+
     /**
      * 获取教师用户列表
      *
@@ -236,6 +258,49 @@ public interface UserService {
      */
     Page<User> findUsersWithPagination(String keyword, UserRole role, UserStatus status, Pageable pageable);
 
+    /**
+     * 根据角色获取用户列表（只选取列表所需的列）
+     *
+     * @param role 角色
+     * @return 用户列表
+     */
+    List<UserSummary> findSummariesByRole(UserRole role);
+
+    /**
+     * 根据状态获取用户列表（只选取列表所需的列）
+     *
+     * @param status 状态
+     * @return 用户列表
+     */
+    List<UserSummary> findSummariesByStatus(UserStatus status);
+
+    /**
+     * 根据真实姓名模糊查询用户列表（只选取列表所需的列）
+     *
+     * @param realName 真实姓名
+     * @return 用户列表
+     */
+    List<UserSummary> findSummariesByRealName(String realName);
+
+    /**
+     * 查询长期未登录的用户列表（只选取列表所需的列）
+     *
+     * @param threshold 时间阈值
+     * @return 长期未登录用户列表
+     */
+    List<UserSummary> findInactiveSummaries(LocalDateTime threshold);
+
+    /**
+     * 分页查询用户列表（只选取列表所需的列）
+     *
+     * @param keyword  搜索关键词
+     * @param role     用户角色
+     * @param status   用户状态
+     * @param pageable 分页参数
+     * @return 分页结果
+     */
+    Page<UserSummary> findSummaryPage(String keyword, UserRole role, UserStatus status, Pageable pageable);
+
     /**
      * 批量删除用户
      *
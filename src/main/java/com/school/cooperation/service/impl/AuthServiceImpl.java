@@ -99,7 +99,7 @@ public class AuthServiceImpl implements AuthService {
         // TODO: 验证学生信息（如果需要）
         if (loginRequest.getStudentName() != null || loginRequest.getStudentClass() != null) {
             // 这里可以添加学生信息验证逻辑
-            log.info("家长登录验证学生信息: studentName={}, studentClass={}",
+            log.debug("家长登录验证学生信息: studentName={}, studentClass={}",
                     loginRequest.getStudentName(), loginRequest.getStudentClass());
         }
 
@@ -1,14 +1,20 @@
 package com.school.cooperation.service.impl;
 
 import com.school.cooperation.common.exception.BusinessException;
+import com.school.cooperation.dto.ClassSummary;
+import com.school.cooperation.dto.StudentSummary;
 import com.school.cooperation.entity.EduClass;
 import com.school.cooperation.entity.Student;
 import com.school.cooperation.entity.User;
 import com.school.cooperation.entity.enums.ClassStatus;
 import com.school.cooperation.entity.enums.UserRole;
 import com.school.cooperation.repository.EduClassRepository;
+import com.school.cooperation.repository.RecordStatRepository;
+import com.school.cooperation.repository.StudentRecordRepository;
 import com.school.cooperation.repository.StudentRepository;
 import com.school.cooperation.repository.UserRepository;
+import com.school.cooperation.search.IndexedType;
+import com.school.cooperation.search.SearchIndexEventListener;
 import com.school.cooperation.service.ClassService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +41,9 @@ public class ClassServiceImpl implements ClassService {
     private final EduClassRepository classRepository;
     private final UserRepository userRepository;
     private final StudentRepository studentRepository;
+    private final StudentRecordRepository studentRecordRepository;
+    private final RecordStatRepository recordStatRepository;
+    private final SearchIndexEventListener searchIndexEventListener;
 
 
 
@@ -104,23 +113,23 @@ public class ClassServiceImpl implements ClassService {
     }
 
     @Override
-    public List<EduClass> findByStatus(ClassStatus status) {
-        return classRepository.findByStatus(status);
+    public List<ClassSummary> findByStatus(ClassStatus status) {
+        return classRepository.findSummariesByStatus(status);
     }
 
     @Override
-    public List<EduClass> findByTeacherId(Long teacherId) {
-        return classRepository.findByTeacherId(teacherId);
+    public List<ClassSummary> findByTeacherId(Long teacherId) {
+        return classRepository.findSummariesByTeacherId(teacherId);
     }
 
     @Override
-    public List<EduClass> findByGrade(Integer grade) {
-        return classRepository.findByGrade(grade.toString());
+    public List<ClassSummary> findByGrade(Integer grade) {
+        return classRepository.findSummariesByGrade(grade.toString());
     }
 
     @Override
-    public List<EduClass> findAll() {
-        return classRepository.findAll();
+    public List<ClassSummary> findAll() {
+        return classRepository.findAllSummaries();
     }
 
     @Override
@@ -181,6 +190,7 @@ public class ClassServiceImpl implements ClassService {
         student.setClassId(classId);
         // updatedTime会通过JPA生命周期回调自动设置
         studentRepository.save(student);
+        syncRecordClass(studentId, classId);
     }
 
     @Override
@@ -200,6 +210,18 @@ public class ClassServiceImpl implements ClassService {
         student.setClassId(null);
         // updatedTime会通过JPA生命周期回调自动设置
         studentRepository.save(student);
+        syncRecordClass(studentId, null);
+    }
+
+    /**
+     * 在同一事务内同步学生档案记录及统计行上冗余的班级ID，批量更新不触发实体事件，提交后显式重建记录索引
+     */
+    private void syncRecordClass(Long studentId, Long classId) {
+        int records = studentRecordRepository.updateClassIdByStudentId(studentId, classId);
+        searchIndexEventListener.publishAfterCommit(IndexedType.RECORD,
+                studentRecordRepository.findIdsByStudentIds(List.of(studentId)));
+        recordStatRepository.updateClassIdByStudentId(studentId, classId != null ? classId : 0L);
+        log.debug("同步学生档案记录班级: studentId={}, classId={}, records={}", studentId, classId, records);
     }
 
     @Override
@@ -207,6 +229,11 @@ public class ClassServiceImpl implements ClassService {
         return studentRepository.findByClassId(classId);
     }
 
+    @Override
+    public List<StudentSummary> getStudentSummariesByClass(Long classId) {
+        return studentRepository.findSummariesByClassId(classId);
+    }
+
     @Override
     public Optional<User> getTeacherByClass(Long classId) {
         EduClass eduClass = classRepository.findById(classId)
@@ -0,0 +1,342 @@
+package com.school.cooperation.service.impl;
+
+import com.school.cooperation.common.exception.BusinessException;
+import com.school.cooperation.dto.BroadcastCreateRequest;
+import com.school.cooperation.dto.NotificationFeedItem;
+import com.school.cooperation.entity.Broadcast;
+import com.school.cooperation.entity.BroadcastCursor;
+import com.school.cooperation.entity.BroadcastRead;
+import com.school.cooperation.entity.EduClass;
+import com.school.cooperation.entity.Notification;
+import com.school.cooperation.entity.User;
+import com.school.cooperation.entity.enums.BroadcastAudience;
+import com.school.cooperation.entity.enums.NotificationType;
+import com.school.cooperation.entity.enums.UserRole;
+import com.school.cooperation.repository.BroadcastCursorRepository;
+import com.school.cooperation.repository.BroadcastReadRepository;
+import com.school.cooperation.repository.BroadcastRepository;
+import com.school.cooperation.repository.EduClassRepository;
+import com.school.cooperation.repository.NotificationRepository;
+import com.school.cooperation.repository.ParentStudentRepository;
+import com.school.cooperation.repository.StudentRepository;
+import com.school.cooperation.repository.UserRepository;
+import com.school.cooperation.service.NotificationService;
+import com.school.cooperation.task.NotificationReadBuffer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 通知服务实现类
+ * 个人通知按行存储于sys_notification；全校/年级/班级广播仅存一行于sys_broadcast，
+ * 读取时按用户所属受众合并，已读状态由阅读游标和游标之后的已读集合共同决定
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationServiceImpl implements NotificationService {
+
+    /**
+     * 信息流单次最大条目数
+     */
+    private static final int MAX_FEED_SIZE = 100;
+
+    private final NotificationRepository notificationRepository;
+    private final BroadcastRepository broadcastRepository;
+    private final BroadcastReadRepository broadcastReadRepository;
+    private final BroadcastCursorRepository broadcastCursorRepository;
+    private final UserRepository userRepository;
+    private final ParentStudentRepository parentStudentRepository;
+    private final StudentRepository studentRepository;
+    private final EduClassRepository classRepository;
+    private final NotificationReadBuffer readBuffer;
+
+    @Override
+    @Transactional
+    public Broadcast publishBroadcast(Long publisherId, BroadcastCreateRequest request) {
+        User publisher = getUser(publisherId);
+        String audienceId = checkPublishPermission(publisher, request.getAudienceType(), request.getAudienceId());
+
+        Broadcast broadcast = new Broadcast();
+        broadcast.setTitle(request.getTitle());
+        broadcast.setContent(request.getContent());
+        broadcast.setType(request.getType() != null ? request.getType() : NotificationType.SYSTEM);
+        broadcast.setAudienceType(request.getAudienceType());
+        broadcast.setAudienceId(audienceId);
+        broadcast.setRelatedId(request.getRelatedId());
+        broadcast.setPublisherId(publisherId);
+        broadcast.setCreatedBy(publisherId);
+        // createdTime和audienceKey会通过JPA生命周期回调自动设置
+
+        Broadcast saved = broadcastRepository.save(broadcast);
+        log.info("广播通知发布成功: broadcastId={}, audience={}", saved.getId(), saved.getAudienceKey());
+        return saved;
+    }
+
+    @Override
+    public List<NotificationFeedItem> getFeed(Long userId, LocalDateTime before, Long beforeId, String beforeSource,
+                                              int size) {
+        User user = getUser(userId);
+        int limit = Math.max(1, Math.min(size, MAX_FEED_SIZE));
+        LocalDateTime until = before != null ? before : LocalDateTime.now().plusSeconds(1);
+        PageRequest page = PageRequest.of(0, limit);
+
+        // 合并顺序为(时间, 来源, ID)倒序，同一时间内个人通知排在广播之前：
+        // 游标落在个人通知上时，同一时间的广播尚未返回；落在广播上时，同一时间的个人通知已全部返回。
+        // 未带游标ID时按时间严格早于游标处理
+        long personalBeforeId = 0L;
+        long broadcastBeforeId = 0L;
+        if (before == null) {
+            personalBeforeId = Long.MAX_VALUE;
+            broadcastBeforeId = Long.MAX_VALUE;
+        } else if (beforeId != null) {
+            if (NotificationFeedItem.SOURCE_BROADCAST.equals(beforeSource)) {
+                broadcastBeforeId = beforeId;
+            } else {
+                personalBeforeId = beforeId;
+                broadcastBeforeId = Long.MAX_VALUE;
+            }
+        }
+
+        // 叠加尚未写回数据库的已读状态
+        Set<Long> pendingRead = readBuffer.getPending(userId);
+        List<NotificationFeedItem> items = new ArrayList<>();
+        for (Notification notification : notificationRepository.findFeedForUser(userId, until, personalBeforeId, page)) {
+            NotificationFeedItem item = NotificationFeedItem.of(notification);
+            if (pendingRead.contains(notification.getId())) {
+                item.setRead(true);
+            }
+            items.add(item);
+        }
+
+        Set<String> audienceKeys = resolveAudienceKeys(user);
+        if (!audienceKeys.isEmpty()) {
+            List<Broadcast> broadcasts = broadcastRepository.findFeed(audienceKeys, until, broadcastBeforeId, page);
+            long cursor = getReadCursor(userId);
+            List<Long> candidateIds = broadcasts.stream()
+                    .map(Broadcast::getId)
+                    .filter(id -> id > cursor)
+                    .toList();
+            Set<Long> readIds = candidateIds.isEmpty()
+                    ? Set.of()
+                    : new HashSet<>(broadcastReadRepository.findReadBroadcastIds(userId, candidateIds));
+
+            for (Broadcast broadcast : broadcasts) {
+                boolean read = broadcast.getId() <= cursor || readIds.contains(broadcast.getId());
+                items.add(NotificationFeedItem.of(broadcast, read));
+            }
+        }
+
+        // 两路均已按游标之后的顺序取前limit条，合并后再截取即为全局前limit条
+        items.sort(Comparator.comparing(NotificationFeedItem::getCreatedTime).reversed()
+                .thenComparing(item -> NotificationFeedItem.SOURCE_BROADCAST.equals(item.getSource()))
+                .thenComparing(NotificationFeedItem::getId, Comparator.reverseOrder()));
+        return items.size() > limit ? new ArrayList<>(items.subList(0, limit)) : items;
+    }
+
+    @Override
+    public long countUnread(Long userId) {
+        User user = getUser(userId);
+        Set<Long> pendingRead = readBuffer.getPending(userId);
+        Long personal = pendingRead.isEmpty()
+                ? notificationRepository.countUnreadNotifications(userId)
+                : notificationRepository.countUnreadNotificationsExcluding(userId, pendingRead);
+        long unread = personal != null ? personal : 0L;
+
+        Set<String> audienceKeys = resolveAudienceKeys(user);
+        if (!audienceKeys.isEmpty()) {
+            Long broadcasts = broadcastRepository.countUnread(audienceKeys, getReadCursor(userId), userId);
+            unread += broadcasts != null ? broadcasts : 0L;
+        }
+        return unread;
+    }
+
+    @Override
+    @Transactional
+    public void markAsRead(Long userId, List<Long> notificationIds) {
+        // 进入写回缓冲，由定时任务按用户合并为一条UPDATE
+        readBuffer.markAsRead(userId, notificationIds);
+    }
+
+    @Override
+    @Transactional
+    public void markBroadcastsAsRead(Long userId, List<Long> broadcastIds) {
+        if (broadcastIds == null || broadcastIds.isEmpty()) {
+            return;
+        }
+        Set<String> audienceKeys = resolveAudienceKeys(getUser(userId));
+        if (audienceKeys.isEmpty()) {
+            return;
+        }
+
+        long cursor = getReadCursor(userId);
+        List<Long> visibleIds = broadcastRepository.findIdsVisibleTo(broadcastIds, audienceKeys).stream()
+                .filter(id -> id > cursor)
+                .toList();
+        if (visibleIds.isEmpty()) {
+            return;
+        }
+
+        Set<Long> alreadyRead = new HashSet<>(broadcastReadRepository.findReadBroadcastIds(userId, visibleIds));
+        LocalDateTime now = LocalDateTime.now();
+        List<BroadcastRead> reads = new ArrayList<>();
+        for (Long broadcastId : visibleIds) {
+            if (!alreadyRead.contains(broadcastId)) {
+                BroadcastRead read = new BroadcastRead();
+                read.setUserId(userId);
+                read.setBroadcastId(broadcastId);
+                read.setReadTime(now);
+                reads.add(read);
+            }
+        }
+        broadcastReadRepository.saveAll(reads);
+    }
+
+    @Override
+    @Transactional
+    public void markAllAsRead(Long userId) {
+        User user = getUser(userId);
+        readBuffer.discard(userId);
+        notificationRepository.markAllAsReadForUser(userId, LocalDateTime.now());
+
+        Set<String> audienceKeys = resolveAudienceKeys(user);
+        if (audienceKeys.isEmpty()) {
+            return;
+        }
+        Long maxId = broadcastRepository.findMaxIdByAudienceKeys(audienceKeys);
+        if (maxId == null) {
+            return;
+        }
+
+        BroadcastCursor cursor = broadcastCursorRepository.findById(userId).orElseGet(() -> {
+            BroadcastCursor created = new BroadcastCursor();
+            created.setUserId(userId);
+            created.setLastReadId(0L);
+            return created;
+        });
+        if (maxId > cursor.getLastReadId()) {
+            cursor.setLastReadId(maxId);
+            broadcastCursorRepository.save(cursor);
+            broadcastReadRepository.deleteCoveredByCursor(userId, maxId);
+        }
+    }
+
+    /**
+     * 解析用户所属的广播受众键集合（学校、所在/任教班级及其所在学校的年级）
+     */
+    private Set<String> resolveAudienceKeys(User user) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (StringUtils.hasText(user.getSchoolId())) {
+            keys.add(BroadcastAudience.SCHOOL.keyOf(user.getSchoolId()));
+        }
+
+        List<Long> classIds;
+        if (UserRole.PARENT.equals(user.getRole())) {
+            List<Long> studentIds = parentStudentRepository.findStudentIdsByParent(user.getId());
+            classIds = studentIds.isEmpty() ? List.of() : studentRepository.findClassIdsByStudentIds(studentIds);
+        } else if (UserRole.TEACHER.equals(user.getRole())) {
+            classIds = classRepository.findTeacherActiveClasses(user.getId()).stream()
+                    .map(EduClass::getId)
+                    .toList();
+        } else {
+            classIds = List.of();
+        }
+
+        if (!classIds.isEmpty()) {
+            for (Long classId : classIds) {
+                keys.add(BroadcastAudience.CLASS.keyOf(String.valueOf(classId)));
+            }
+            for (EduClassRepository.SchoolGrade schoolGrade : classRepository.findSchoolGradesByClassIds(classIds)) {
+                // 班级未分配班主任时按用户本人所在学校
+                String schoolId = StringUtils.hasText(schoolGrade.getSchoolId())
+                        ? schoolGrade.getSchoolId() : user.getSchoolId();
+                if (StringUtils.hasText(schoolId) && StringUtils.hasText(schoolGrade.getGrade())) {
+                    keys.add(BroadcastAudience.GRADE.keyOf(
+                            BroadcastAudience.gradeAudienceId(schoolId, schoolGrade.getGrade())));
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 校验发布权限并返回规范化的受众ID：教师只能向自己任教的班级发布，
+     * 学校管理员只能向本校及本校的年级、班级发布（班级所属学校取班主任所在学校）
+     */
+    private String checkPublishPermission(User publisher, BroadcastAudience audienceType, String audienceId) {
+        if (BroadcastAudience.CLASS.equals(audienceType)) {
+            Long classId;
+            try {
+                classId = Long.valueOf(audienceId);
+            } catch (NumberFormatException e) {
+                throw new BusinessException(400, "班级ID格式不正确");
+            }
+            EduClass eduClass = classRepository.findById(classId)
+                    .filter(c -> !c.isDeleted())
+                    .orElseThrow(() -> new BusinessException(404, "班级不存在"));
+            if (UserRole.TEACHER.equals(publisher.getRole()) && !publisher.getId().equals(eduClass.getTeacherId())) {
+                throw new BusinessException(403, "只能向自己任教的班级发布通知");
+            }
+            if (UserRole.SCHOOL_ADMIN.equals(publisher.getRole())) {
+                String classSchoolId = eduClass.getTeacher() != null ? eduClass.getTeacher().getSchoolId() : null;
+                if (classSchoolId == null || !classSchoolId.equals(publisher.getSchoolId())) {
+                    throw new BusinessException(403, "只能向本校的班级发布通知");
+                }
+            }
+            return audienceId;
+        }
+
+        if (UserRole.TEACHER.equals(publisher.getRole()) || UserRole.PARENT.equals(publisher.getRole())) {
+            throw new BusinessException(403, "无权发布" + audienceType.getDescription() + "通知");
+        }
+        boolean schoolAdmin = UserRole.SCHOOL_ADMIN.equals(publisher.getRole());
+        if (BroadcastAudience.SCHOOL.equals(audienceType)) {
+            if (schoolAdmin && !audienceId.equals(publisher.getSchoolId())) {
+                throw new BusinessException(403, "只能向本校发布通知");
+            }
+            return audienceId;
+        }
+
+        // 年级受众：学校ID:年级，学校管理员可省略学校ID
+        int separator = audienceId.indexOf(':');
+        String schoolId = separator >= 0 ? audienceId.substring(0, separator)
+                : schoolAdmin ? publisher.getSchoolId() : null;
+        String grade = separator >= 0 ? audienceId.substring(separator + 1) : audienceId;
+        if (!StringUtils.hasText(schoolId) || !StringUtils.hasText(grade)) {
+            throw new BusinessException(400, "年级受众ID格式应为“学校ID:年级”");
+        }
+        if (schoolAdmin && !schoolId.equals(publisher.getSchoolId())) {
+            throw new BusinessException(403, "只能向本校的年级发布通知");
+        }
+        return BroadcastAudience.gradeAudienceId(schoolId, grade);
+    }
+
+    /**
+     * 获取用户阅读游标
+     */
+    private long getReadCursor(Long userId) {
+        return broadcastCursorRepository.findById(userId)
+                .map(BroadcastCursor::getLastReadId)
+                .orElse(0L);
+    }
+
+    private User getUser(Long userId) {
+        return userRepository.findById(userId)
+                .filter(u -> !u.isDeleted())
+                .orElseThrow(() -> new BusinessException(404, "用户不存在"));
+    }
+}
@@ -0,0 +1,166 @@
+package com.school.cooperation.service.impl;
+
+import com.school.cooperation.common.exception.BusinessException;
+import com.school.cooperation.dto.RecordDetailResponse;
+import com.school.cooperation.dto.RecordTimeline;
+import com.school.cooperation.dto.RecordTimelineItem;
+import com.school.cooperation.entity.ArchivedRecord;
+import com.school.cooperation.entity.EduClass;
+import com.school.cooperation.entity.Student;
+import com.school.cooperation.entity.StudentRecord;
+import com.school.cooperation.entity.User;
+import com.school.cooperation.entity.enums.UserRole;
+import com.school.cooperation.repository.ArchivedRecordQueryRepository;
+import com.school.cooperation.repository.ArchivedRecordRepository;
+import com.school.cooperation.repository.EduClassRepository;
+import com.school.cooperation.repository.ParentStudentRepository;
+import com.school.cooperation.repository.StudentRecordRepository;
+import com.school.cooperation.repository.StudentRepository;
+import com.school.cooperation.repository.UserRepository;
+import com.school.cooperation.service.RecordService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 学生档案记录服务实现
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RecordServiceImpl implements RecordService {
+
+    private static final int MAX_TIMELINE_SIZE = 50;
+
+    private static final int SNIPPET_LENGTH = 100;
+
+    /**
+     * 首页游标：晚于任何记录的时间
+     */
+    private static final LocalDateTime TIMELINE_START = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final StudentRecordRepository studentRecordRepository;
+    private final ArchivedRecordRepository archivedRecordRepository;
+    private final ArchivedRecordQueryRepository archivedRecordQueryRepository;
+    private final StudentRepository studentRepository;
+    private final ParentStudentRepository parentStudentRepository;
+    private final EduClassRepository classRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    public RecordTimeline getTimeline(Long userId, Long studentId, LocalDateTime beforeTime, Long beforeId,
+                                      LocalDateTime archiveBeforeTime, Long archiveBeforeId, int size) {
+        if ((beforeTime != null && beforeId == null) || (archiveBeforeTime != null && archiveBeforeId == null)) {
+            throw new BusinessException(400, "游标参数不完整");
+        }
+        boolean publicOnly = checkStudentAccess(getUser(userId), studentId);
+        int limit = Math.max(1, Math.min(size, MAX_TIMELINE_SIZE));
+
+        // 在线表与归档表的时间范围会交叉（待通知记录不归档、离校学生的记录整体归档），
+        // 两路按各自的 (创建时间, ID) 游标各取 limit+1 条，归并后取前limit条
+        List<RecordTimelineItem> live = studentRecordRepository.findTimelineByStudent(studentId, publicOnly,
+                beforeTime != null ? beforeTime : TIMELINE_START, beforeId != null ? beforeId : Long.MAX_VALUE,
+                SNIPPET_LENGTH, PageRequest.of(0, limit + 1));
+        List<RecordTimelineItem> archived = archivedRecordQueryRepository.findTimelineByStudent(studentId, publicOnly,
+                archiveBeforeTime != null ? archiveBeforeTime : TIMELINE_START,
+                archiveBeforeId != null ? archiveBeforeId : Long.MAX_VALUE,
+                SNIPPET_LENGTH, limit + 1);
+        // 归档查询超出预算：本页只含在线记录，归档游标保持不变，下一页重试
+        boolean degraded = archived == null;
+        if (degraded) {
+            archived = List.of();
+        }
+
+        List<RecordTimelineItem> items = new ArrayList<>(limit);
+        int liveTaken = 0;
+        int archivedTaken = 0;
+        while (items.size() < limit && (liveTaken < live.size() || archivedTaken < archived.size())) {
+            boolean takeLive = archivedTaken >= archived.size()
+                    || (liveTaken < live.size() && isNewer(live.get(liveTaken), archived.get(archivedTaken)));
+            items.add(takeLive ? live.get(liveTaken++) : archived.get(archivedTaken++));
+        }
+
+        boolean hasMore = degraded || live.size() > liveTaken || archived.size() > archivedTaken;
+        if (!hasMore) {
+            return new RecordTimeline(items, false, null, null, null, null, false);
+        }
+        // 本页未取到某一路的记录时，该路游标原样返回
+        RecordTimelineItem lastLive = liveTaken > 0 ? live.get(liveTaken - 1) : null;
+        RecordTimelineItem lastArchived = archivedTaken > 0 ? archived.get(archivedTaken - 1) : null;
+        return new RecordTimeline(items, true,
+                lastLive != null ? lastLive.getCreatedTime() : beforeTime,
+                lastLive != null ? lastLive.getId() : beforeId,
+                lastArchived != null ? lastArchived.getCreatedTime() : archiveBeforeTime,
+                lastArchived != null ? lastArchived.getId() : archiveBeforeId,
+                degraded);
+    }
+
+    /**
+     * 按 (创建时间, ID) 比较，a 排在 b 之前时返回true
+     */
+    private static boolean isNewer(RecordTimelineItem a, RecordTimelineItem b) {
+        int byTime = a.getCreatedTime().compareTo(b.getCreatedTime());
+        return byTime > 0 || (byTime == 0 && a.getId() > b.getId());
+    }
+
+    @Override
+    public RecordDetailResponse getRecordDetail(Long userId, Long recordId) {
+        StudentRecord record = studentRecordRepository.findById(recordId)
+                .or(() -> archivedRecordRepository.findById(recordId).map(ArchivedRecord::toRecord))
+                .filter(r -> !r.isDeleted())
+                .orElseThrow(() -> new BusinessException(404, "档案记录不存在"));
+
+        boolean publicOnly = checkStudentAccess(getUser(userId), record.getStudentId());
+        if (publicOnly && !Boolean.TRUE.equals(record.getIsPublic())) {
+            // 对家长隐藏未公开记录的存在
+            throw new BusinessException(404, "档案记录不存在");
+        }
+        return studentRecordRepository.findDetailNames(record.getStudentId(), record.getTeacherId())
+                .map(names -> RecordDetailResponse.of(record, names.getStudentName(), names.getClassName(),
+                        names.getTeacherName()))
+                .orElseGet(() -> RecordDetailResponse.of(record, null, null, null));
+    }
+
+    /**
+     * 校验用户能否查看学生档案
+     *
+     * @return 是否只能查看公开记录（家长为true）
+     */
+    private boolean checkStudentAccess(User user, Long studentId) {
+        if (UserRole.PARENT.equals(user.getRole())) {
+            if (!parentStudentRepository.existsByParentIdAndStudentId(user.getId(), studentId)) {
+                throw new BusinessException(403, "只能查看自己孩子的档案");
+            }
+            return true;
+        }
+        if (UserRole.TEACHER.equals(user.getRole())) {
+            Student student = studentRepository.findById(studentId)
+                    .filter(s -> !s.isDeleted())
+                    .orElseThrow(() -> new BusinessException(404, "学生不存在"));
+            boolean teaches = student.getClassId() != null
+                    && classRepository.findTeacherActiveClasses(user.getId()).stream()
+                    .map(EduClass::getId)
+                    .anyMatch(student.getClassId()::equals);
+            if (!teaches) {
+                throw new BusinessException(403, "只能查看自己任教班级学生的档案");
+            }
+        }
+        return false;
+    }
+
+    private User getUser(Long userId) {
+        return userRepository.findById(userId)
+                .filter(u -> !u.isDeleted())
+                .orElseThrow(() -> new BusinessException(404, "用户不存在"));
+    }
+}
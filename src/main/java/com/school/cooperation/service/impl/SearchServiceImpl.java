@@ -0,0 +1,315 @@
+package com.school.cooperation.service.impl;
+
+import com.school.cooperation.common.exception.BusinessException;
+import com.school.cooperation.common.utils.PageResult;
+import com.school.cooperation.dto.IndexSearchResult;
+import com.school.cooperation.dto.NameSuggestion;
+import com.school.cooperation.dto.RecordSearchHit;
+import com.school.cooperation.dto.RecordSearchRequest;
+import com.school.cooperation.dto.StudentSummary;
+import com.school.cooperation.dto.TagCount;
+import com.school.cooperation.dto.UserResponse;
+import com.school.cooperation.entity.EduClass;
+import com.school.cooperation.entity.User;
+import com.school.cooperation.entity.enums.UserRole;
+import com.school.cooperation.repository.ArchivedRecordQueryRepository;
+import com.school.cooperation.repository.EduClassRepository;
+import com.school.cooperation.repository.StudentRecordRepository;
+import com.school.cooperation.repository.StudentRepository;
+import com.school.cooperation.repository.UserRepository;
+import com.school.cooperation.search.IndexHits;
+import com.school.cooperation.search.IndexedType;
+import com.school.cooperation.search.LuceneIndexManager;
+import com.school.cooperation.search.NameSuggestIndex;
+import com.school.cooperation.search.SearchIndexer;
+import com.school.cooperation.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 搜索服务实现类
+ * 使用 MySQL ngram 全文索引（MATCH ... AGAINST ... IN BOOLEAN MODE）代替前置通配符 LIKE 扫描；
+ * 模糊匹配、高亮与分面由嵌入式 Lucene 索引提供，索引只返回ID，再一次 IN 查询回表
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SearchServiceImpl implements SearchService {
+
+    /**
+     * 与 MySQL ngram_token_size 默认值一致，短于该长度的词只能做前缀匹配
+     */
+    private static final int NGRAM_TOKEN_SIZE = 2;
+
+    private static final int MAX_STUDENT_RESULTS = 50;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int MAX_SUGGESTIONS = 20;
+
+    private static final int MAX_TAG_FACETS = 100;
+
+    private final StudentRecordRepository studentRecordRepository;
+    private final ArchivedRecordQueryRepository archivedRecordQueryRepository;
+    private final StudentRepository studentRepository;
+    private final EduClassRepository classRepository;
+    private final UserRepository userRepository;
+    private final Optional<LuceneIndexManager> indexManager;
+    private final Optional<SearchIndexer> searchIndexer;
+    private final Optional<NameSuggestIndex> nameSuggestIndex;
+
+    @Override
+    public PageResult<RecordSearchHit> searchRecords(Long userId, RecordSearchRequest request) {
+        if (request.getStartDate() != null && request.getEndDate() != null
+                && request.getStartDate().isAfter(request.getEndDate())) {
+            throw new BusinessException(400, "开始时间不能晚于结束时间");
+        }
+
+        int page = request.getPage() != null ? request.getPage() : 1;
+        int pageSize = request.getPageSize() != null ? request.getPageSize() : 20;
+
+        Set<Long> classScope = resolveClassScope(getUser(userId));
+        if (classScope != null) {
+            if (request.getClassId() != null && !classScope.contains(request.getClassId())) {
+                throw new BusinessException(403, "只能检索本人可见班级的记录");
+            }
+            if (classScope.isEmpty()) {
+                return PageResult.empty(page, pageSize);
+            }
+        }
+
+        String booleanQuery = toBooleanQuery(request.getKeyword());
+        if (StringUtils.hasText(request.getKeyword()) && booleanQuery == null) {
+            return PageResult.empty(page, pageSize);
+        }
+
+        long liveTotal = studentRecordRepository.countSearchRecords(request, booleanQuery, classScope);
+        boolean includeArchived = !Boolean.FALSE.equals(request.getIncludeArchived());
+        long archivedTotal = includeArchived
+                ? archivedRecordQueryRepository.countSearchRecords(request, booleanQuery, classScope)
+                : 0L;
+        if (liveTotal + archivedTotal == 0) {
+            return PageResult.empty(page, pageSize);
+        }
+
+        // 在线结果在前、归档结果在后拼接分页，两段各自走自己的索引
+        int offset = (page - 1) * pageSize;
+        List<RecordSearchHit> hits = new ArrayList<>(pageSize);
+        if (offset < liveTotal) {
+            hits.addAll(studentRecordRepository.searchRecords(request, booleanQuery, classScope, offset, pageSize));
+        }
+        if (hits.size() < pageSize && archivedTotal > 0) {
+            int archivedOffset = (int) Math.max(0, offset - liveTotal);
+            hits.addAll(archivedRecordQueryRepository.searchRecords(
+                    request, booleanQuery, classScope, archivedOffset, pageSize - hits.size()));
+        }
+        return new PageResult<>(hits, liveTotal + archivedTotal, page, pageSize);
+    }
+
+    @Override
+    public List<TagCount> getClassTagFacets(Long userId, Long classId, int limit) {
+        Set<Long> classScope = resolveClassScope(getUser(userId));
+        if (classScope != null && !classScope.contains(classId)) {
+            throw new BusinessException(403, "只能查看本人可见班级的标签");
+        }
+        int size = Math.min(Math.max(limit, 1), MAX_TAG_FACETS);
+        return studentRecordRepository.countTagsByClassId(classId, size).stream()
+                .map(row -> new TagCount((String) row[0], ((Number) row[1]).longValue()))
+                .toList();
+    }
+
+    @Override
+    public List<StudentSummary> searchStudents(Long userId, String keyword, int limit) {
+        String booleanQuery = toBooleanQuery(keyword);
+        if (booleanQuery == null) {
+            return List.of();
+        }
+
+        int size = Math.min(Math.max(limit, 1), MAX_STUDENT_RESULTS);
+        Set<Long> classScope = resolveClassScope(getUser(userId));
+        if (classScope != null && classScope.isEmpty()) {
+            return List.of();
+        }
+        // 教师、学校管理员的班级范围作为检索条件下推到SQL
+        List<Long> ids = classScope == null
+                ? studentRepository.searchIdsByName(booleanQuery, size)
+                : studentRepository.searchIdsByNameInClasses(booleanQuery, classScope, size);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return inRankOrder(ids, studentRepository.findSummariesByIds(ids), StudentSummary::getId);
+    }
+
+    @Override
+    public IndexSearchResult<RecordSearchHit> searchRecordIndex(Long userId, String keyword, boolean fuzzy,
+                                                                Map<String, String> facetFilter, int page, int pageSize) {
+        Set<Long> classScope = resolveClassScope(getUser(userId));
+        IndexHits hits = searchIndex(IndexedType.RECORD, keyword, fuzzy, facetFilter, classScope, page, pageSize);
+        List<RecordSearchHit> found = new ArrayList<>(studentRecordRepository.findHitsByIds(hits.getIds()));
+        if (found.size() < hits.getIds().size()) {
+            // 索引中的记录可能已搬迁到归档表
+            Set<Long> liveIds = found.stream().map(RecordSearchHit::getId).collect(Collectors.toSet());
+            List<Long> missing = hits.getIds().stream().filter(id -> !liveIds.contains(id)).toList();
+            found.addAll(archivedRecordQueryRepository.findHitsByIds(missing));
+        }
+        List<RecordSearchHit> records = inRankOrder(hits.getIds(), found, RecordSearchHit::getId);
+        return toResult(hits, records, page, pageSize);
+    }
+
+    @Override
+    public IndexSearchResult<StudentSummary> searchStudentIndex(Long userId, String keyword, boolean fuzzy,
+                                                                Map<String, String> facetFilter, int page, int pageSize) {
+        Set<Long> classScope = resolveClassScope(getUser(userId));
+        IndexHits hits = searchIndex(IndexedType.STUDENT, keyword, fuzzy, facetFilter, classScope, page, pageSize);
+        List<StudentSummary> students = hits.getIds().isEmpty() ? List.of() : inRankOrder(hits.getIds(),
+                studentRepository.findSummariesByIds(hits.getIds()), StudentSummary::getId);
+        return toResult(hits, students, page, pageSize);
+    }
+
+    @Override
+    public IndexSearchResult<UserResponse> searchUserIndex(Long userId, String keyword, boolean fuzzy,
+                                                           Map<String, String> facetFilter, int page, int pageSize) {
+        // 用户索引不区分学校，与用户列表接口一致只对系统管理员开放
+        if (!UserRole.ADMIN.equals(getUser(userId).getRole())) {
+            throw new BusinessException(403, "无权检索用户");
+        }
+        IndexHits hits = searchIndex(IndexedType.USER, keyword, fuzzy, facetFilter, null, page, pageSize);
+        List<UserResponse> users = inRankOrder(hits.getIds(),
+                userRepository.findAllById(hits.getIds()), User::getId).stream()
+                .map(UserResponse::from)
+                .toList();
+        return toResult(hits, users, page, pageSize);
+    }
+
+    @Override
+    public boolean rebuildIndex() {
+        SearchIndexer indexer = searchIndexer.orElseThrow(() -> new BusinessException(503, "全文索引未启用"));
+        if (indexer.isRebuilding()) {
+            return false;
+        }
+        CompletableFuture.runAsync(indexer::rebuild);
+        return true;
+    }
+
+    @Override
+    public List<NameSuggestion> suggestNames(Long userId, String prefix, String type, int limit) {
+        NameSuggestIndex index = nameSuggestIndex.orElseThrow(() -> new BusinessException(503, "姓名联想未启用"));
+        if (type != null && !NameSuggestion.TYPE_STUDENT.equals(type) && !NameSuggestion.TYPE_PARENT.equals(type)) {
+            throw new BusinessException(400, "联想类型不正确");
+        }
+        // 与检索使用同一班级范围：学校管理员只扫描本校班级的键表
+        Set<Long> classScope = resolveClassScope(getUser(userId));
+        if (classScope != null && classScope.isEmpty()) {
+            return List.of();
+        }
+        return index.suggest(prefix, type, classScope, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
+    }
+
+    /**
+     * 执行索引检索，教师、学校管理员额外按可见班级过滤
+     */
+    private IndexHits searchIndex(IndexedType type, String keyword, boolean fuzzy, Map<String, String> facetFilter,
+                                  Set<Long> classScope, int page, int pageSize) {
+        LuceneIndexManager manager = indexManager.orElseThrow(() -> new BusinessException(503, "全文索引未启用"));
+        if (!StringUtils.hasText(keyword)) {
+            throw new BusinessException(400, "检索关键词不能为空");
+        }
+        if (page < 1 || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BusinessException(400, "分页参数不正确");
+        }
+        if (classScope != null && classScope.isEmpty()) {
+            return IndexHits.empty();
+        }
+
+        try {
+            return manager.search(type, keyword.trim(), fuzzy, facetFilter, classScope,
+                    (page - 1) * pageSize, pageSize);
+        } catch (IOException e) {
+            log.error("索引检索失败: type={}, keyword={}", type, keyword, e);
+            throw new BusinessException(500, "检索失败");
+        }
+    }
+
+    /**
+     * 按索引返回的相关度顺序排列回表结果
+     */
+    private static <T> List<T> inRankOrder(List<Long> ids, Iterable<T> entities, Function<T, Long> idGetter) {
+        Map<Long, T> byId = new HashMap<>();
+        entities.forEach(entity -> byId.put(idGetter.apply(entity), entity));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private static <T> IndexSearchResult<T> toResult(IndexHits hits, List<T> list, int page, int pageSize) {
+        return new IndexSearchResult<>(hits.getTotal(), page, pageSize, list, hits.getHighlights(), hits.getFacets());
+    }
+
+    /**
+     * 解析可检索的班级范围：教师为任教的班级，学校管理员为本校的班级（班主任所在学校），
+     * 系统管理员不限制（返回null），家长无权检索
+     */
+    private Set<Long> resolveClassScope(User user) {
+        if (UserRole.TEACHER.equals(user.getRole())) {
+            return classRepository.findTeacherActiveClasses(user.getId()).stream()
+                    .map(EduClass::getId)
+                    .collect(Collectors.toSet());
+        }
+        if (UserRole.SCHOOL_ADMIN.equals(user.getRole())) {
+            return StringUtils.hasText(user.getSchoolId())
+                    ? Set.copyOf(classRepository.findClassIdsBySchoolId(user.getSchoolId()))
+                    : Set.of();
+        }
+        if (UserRole.PARENT.equals(user.getRole())) {
+            throw new BusinessException(403, "无权使用检索功能");
+        }
+        return null;
+    }
+
+    /**
+     * 将用户输入转换为 BOOLEAN MODE 表达式：去除运算符，每个词都必须出现；
+     * 达到 ngram 长度的词按短语匹配，单字按前缀匹配
+     */
+    static String toBooleanQuery(String keyword) {
+        if (!StringUtils.hasText(keyword)) {
+            return null;
+        }
+        String cleaned = keyword.replaceAll("[+\\-<>()~*\"@]", " ").trim();
+        if (cleaned.isEmpty()) {
+            return null;
+        }
+
+        List<String> terms = new ArrayList<>();
+        for (String term : cleaned.split("\\s+")) {
+            if (term.codePointCount(0, term.length()) >= NGRAM_TOKEN_SIZE) {
+                terms.add("+\"" + term + "\"");
+            } else {
+                terms.add("+" + term + "*");
+            }
+        }
+        return String.join(" ", terms);
+    }
+
+    private User getUser(Long userId) {
+        return userRepository.findById(userId)
+                .filter(u -> !u.isDeleted())
+                .orElseThrow(() -> new BusinessException(404, "用户不存在"));
+    }
+}
@@ -2,13 +2,21 @@ package com.school.cooperation.service.impl;
 
 import com.school.cooperation.common.exception.BusinessException;
 import com.school.cooperation.common.utils.PageResult;
+import com.school.cooperation.dto.UserSummary;
 import com.school.cooperation.entity.User;
 import com.school.cooperation.entity.enums.UserRole;
 import com.school.cooperation.entity.enums.UserStatus;
+import com.school.cooperation.repository.SummaryQueryRepository;
 import com.school.cooperation.repository.UserRepository;
+import com.school.cooperation.repository.criteria.KeysetCursor;
+import com.school.cooperation.repository.criteria.KeysetPage;
+import com.school.cooperation.repository.criteria.KeysetPager;
+import com.school.cooperation.repository.criteria.UserCriteria;
 import com.school.cooperation.service.UserService;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -31,6 +39,7 @@ import java.util.Optional;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final SummaryQueryRepository summaryQueryRepository;
     private final PasswordEncoder passwordEncoder;
 
     @Override
@@ -208,6 +217,18 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByConditions(username, realName, phone, role, status);
     }
 
+    @Override
+    public List<UserSummary> findByCriteria(UserCriteria criteria) {
+        return summaryQueryRepository.findUserSummaries(criteria.toSpecification(), criteria.toSort(), 0);
+    }
+
+    @Override
+    public KeysetPage<UserSummary> findPageByCriteria(UserCriteria criteria, KeysetCursor cursor, int size) {
+        Sort.Direction direction = criteria.getDirection() != null ? criteria.getDirection() : Sort.Direction.DESC;
+        return KeysetPager.fetchProjected(summaryQueryRepository::findUserSummaries, criteria.toSpecification(),
+                cursor, direction, size, UserSummary::getCreatedTime, UserSummary::getId);
+    }
+
     @Override
     public List<User> getActiveTeachers() {
         return userRepository.findActiveTeachers();
@@ -263,17 +284,57 @@ public class UserServiceImpl implements UserService {
         return userRepository.findUsersWithPagination(keyword, role, status, pageable);
     }
 
+    @Override
+    public List<UserSummary> findSummariesByRole(UserRole role) {
+        return userRepository.findSummariesByRole(role);
+    }
+
+    @Override
+    public List<UserSummary> findSummariesByStatus(UserStatus status) {
+        return userRepository.findSummariesByStatus(status);
+    }
+
+    @Override
+    public List<UserSummary> findSummariesByRealName(String realName) {
+        return userRepository.findSummariesByRealNameContaining(realName);
+    }
+
+    @Override
+    public List<UserSummary> findInactiveSummaries(LocalDateTime threshold) {
+        return userRepository.findInactiveSummaries(threshold);
+    }
+
+    @Override
+    public Page<UserSummary> findSummaryPage(String keyword, UserRole role, UserStatus status, Pageable pageable) {
+        UserCriteria criteria = UserCriteria.builder()
+                .keyword(keyword)
+                .role(role)
+                .status(status)
+                .sortBy("createdTime")
+                .direction(Sort.Direction.DESC)
+                .build();
+        Pageable sorted = pageable.isPaged() && pageable.getSort().isUnsorted()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), criteria.toSort())
+                : pageable;
+        return summaryQueryRepository.findUserSummaryPage(criteria.toSpecification(), sorted);
+    }
+
     @Override
     @Transactional
     public void batchDeleteUsers(List<Long> userIds) {
         List<User> users = userRepository.findAllById(userIds);
 
-        // 记录删除日志
-        for (User user : users) {
-            log.info("删除用户: userId={}, username={}, role={}", user.getId(), user.getUsername(), user.getRole());
+        // 逐条明细只在DEBUG级别输出，INFO只记录一条汇总
+        if (log.isDebugEnabled()) {
+            for (User user : users) {
+                log.debug("删除用户: userId={}, username={}, role={}", user.getId(), user.getUsername(), user.getRole());
+            }
         }
 
         userRepository.deleteAllById(userIds);
-        log.info("批量删除用户成功: userIds={}", userIds);
+        log.atInfo().setMessage("批量删除用户成功")
+                .addKeyValue("count", users.size())
+                .addKeyValue("userIds", userIds)
+                .log();
     }
 }
\ No newline at end of file
@@ -0,0 +1,575 @@
+package com.school.cooperation.task;
+
+import com.school.cooperation.entity.Notification;
+import com.school.cooperation.entity.enums.NotificationType;
+import com.school.cooperation.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 通知合并投递组件
+ * 位于通知写入sys_notification之前：按接收人暂存一个合并窗口内的通知，窗口到期后
+ * 将同一分组（如同一学生的多条RECORD通知）合并为一条摘要通知，并限制每人每小时的通知条数，
+ * 超出配额的通知继续留在缓冲区内等待下一小时合并投递。
+ * 缓冲的通知先在提交方事务内写入sys_notification_pending（与档案记录的 parent_notified 标记同时提交），
+ * 投递时在同一事务内写入sys_notification并删除对应的待投递行；投递失败的通知退回缓冲区重试，
+ * 应用崩溃或节点下线遗留的待投递行由启动加载与定时回收重新接管。窗口设为0即关闭合并，直接写入。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class NotificationCoalescer {
+
+    private static final long HOUR_MILLIS = 3600_000L;
+
+    /**
+     * 摘要内容中列出的最多条目数
+     */
+    private static final int MAX_DIGEST_LINES = 10;
+
+    /**
+     * 单次回收的最大待投递行数
+     */
+    private static final int RECOVER_BATCH_SIZE = 10000;
+
+    /**
+     * 按ID删除待投递行时单条语句的最大ID数
+     */
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    private static final String INSERT_PENDING_SQL = "INSERT INTO sys_notification_pending "
+            + "(user_id, type, group_id, related_id, title, content) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final NotificationRepository notificationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.notification.coalesce.window-millis:60000}")
+    private long windowMillis;
+
+    @Value("${app.notification.coalesce.max-per-user-per-hour:10}")
+    private int maxPerUserPerHour;
+
+    @Value("${app.notification.coalesce.recover-after-minutes:70}")
+    private int recoverAfterMinutes;
+
+    // 按接收人暂存的待投递通知
+    private final ConcurrentHashMap<Long, RecipientBuffer> buffers = new ConcurrentHashMap<>();
+
+    // 本节点缓冲中（含投递中）的待投递行ID，回收时跳过
+    private final Set<Long> held = ConcurrentHashMap.newKeySet();
+
+    // 按接收人统计的当前小时已投递条数
+    private final ConcurrentHashMap<Long, HourlyQuota> quotas = new ConcurrentHashMap<>();
+
+    private final Counter submittedCounter;
+    private final Counter deliveredCounter;
+    private final Counter failedCounter;
+    private final Counter recoveredCounter;
+
+    public NotificationCoalescer(NotificationRepository notificationRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.submittedCounter = Counter.builder("notification.coalesce.submitted")
+                .description("提交到合并缓冲区的通知数")
+                .register(meterRegistry);
+        this.deliveredCounter = Counter.builder("notification.coalesce.delivered")
+                .description("合并后实际写入的通知数")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("notification.coalesce.failed")
+                .description("投递失败后退回缓冲区的批次数")
+                .register(meterRegistry);
+        this.recoveredCounter = Counter.builder("notification.coalesce.recovered")
+                .description("从待投递表回收接管的通知数")
+                .register(meterRegistry);
+        meterRegistry.gauge("notification.coalesce.pending.users", buffers, Map::size);
+    }
+
+    /**
+     * 提交待投递通知
+     * 开启合并时先写入待投递表：存在事务时加入当前事务，与调用方的状态标记一同提交或回滚
+     */
+    public void submit(List<PendingNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        submittedCounter.increment(notifications.size());
+        if (windowMillis <= 0) {
+            // 未开启合并：直接写入（存在事务时加入当前事务）
+            deliver(notifications.stream().map(PendingNotification::toNotification).toList());
+            return;
+        }
+
+        persist(notifications);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 事务提交后才进入缓冲区，避免回滚重试时重复投递
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    buffer(notifications, System.currentTimeMillis());
+                }
+            });
+        } else {
+            buffer(notifications, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 批量写入待投递表并回填生成的ID
+     */
+    private void persist(List<PendingNotification> notifications) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_PENDING_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (PendingNotification notification : notifications) {
+                    ps.setLong(1, notification.getUserId());
+                    ps.setString(2, notification.getType().name());
+                    ps.setObject(3, notification.getGroupId());
+                    ps.setObject(4, notification.getRelatedId());
+                    ps.setString(5, notification.getTitle());
+                    ps.setString(6, notification.getContent());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (PendingNotification notification : notifications) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("待投递通知未返回生成的ID");
+                        }
+                        notification.pendingId = keys.getLong(1);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private void buffer(List<PendingNotification> notifications, long firstAt) {
+        for (PendingNotification notification : notifications) {
+            held.add(notification.pendingId);
+            buffers.compute(notification.getUserId(), (userId, buffer) -> {
+                RecipientBuffer target = buffer != null ? buffer : new RecipientBuffer(firstAt);
+                target.items.add(notification);
+                return target;
+            });
+        }
+    }
+
+    /**
+     * 定时检查窗口到期的接收人并合并投递
+     */
+    @Scheduled(fixedDelayString = "${app.notification.coalesce.flush-interval:1000}")
+    public void flush() {
+        flush(false);
+    }
+
+    /**
+     * 应用关闭前投递全部缓冲通知（不受窗口与配额限制），失败的部分留在待投递表中由下次启动接管
+     */
+    @PreDestroy
+    public void flushAll() {
+        flush(true);
+    }
+
+    private void flush(boolean force) {
+        if (buffers.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<Notification> ready = new ArrayList<>();
+        Map<Long, RecipientBuffer> taken = new HashMap<>();
+        Map<Long, Integer> consumed = new HashMap<>();
+
+        for (Long userId : buffers.keySet()) {
+            buffers.computeIfPresent(userId, (key, buffer) -> {
+                if (!force && now - buffer.firstAt < windowMillis) {
+                    return buffer;
+                }
+                List<Notification> merged = merge(buffer.items);
+                if (!force) {
+                    int remaining = quotaRemaining(userId, now);
+                    if (remaining <= 0) {
+                        // 本小时配额已用完，保留到下一小时继续合并
+                        return buffer;
+                    }
+                    if (merged.size() > remaining) {
+                        merged = List.of(digestAll(buffer.items));
+                    }
+                    consumeQuota(userId, now, merged.size());
+                    consumed.put(userId, merged.size());
+                }
+                ready.addAll(merged);
+                taken.put(userId, buffer);
+                return null;
+            });
+        }
+        if (ready.isEmpty()) {
+            return;
+        }
+
+        List<Long> pendingIds = taken.values().stream()
+                .flatMap(buffer -> buffer.items.stream())
+                .map(item -> item.pendingId)
+                .toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // 先删除待投递行：删除持有行锁，多个节点同时接管同一批时只有一方能删到并写入
+                int deleted = deletePending(pendingIds);
+                if (deleted != pendingIds.size()) {
+                    throw new IllegalStateException("部分待投递通知已被其他节点投递: expected="
+                            + pendingIds.size() + ", deleted=" + deleted);
+                }
+                deliver(ready);
+            });
+            pendingIds.forEach(held::remove);
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            log.error("合并通知写入失败，退回缓冲区等待重试: count={}", ready.size(), e);
+            consumed.forEach((userId, count) -> refundQuota(userId, now, count));
+            restore(taken, pendingIds);
+        }
+    }
+
+    /**
+     * 投递失败后将取出的通知退回缓冲区，已被其他节点投递（待投递行已不存在）的部分丢弃
+     */
+    private void restore(Map<Long, RecipientBuffer> taken, List<Long> pendingIds) {
+        Set<Long> remaining;
+        try {
+            remaining = existingPending(pendingIds);
+        } catch (RuntimeException e) {
+            // 数据库不可用时无法判断，全部退回，恢复后由删除校验兜底
+            remaining = new HashSet<>(pendingIds);
+        }
+
+        for (Map.Entry<Long, RecipientBuffer> entry : taken.entrySet()) {
+            RecipientBuffer source = entry.getValue();
+            RecipientBuffer restored = new RecipientBuffer(source.firstAt);
+            for (PendingNotification item : source.items) {
+                if (remaining.contains(item.pendingId)) {
+                    restored.items.add(item);
+                } else {
+                    held.remove(item.pendingId);
+                }
+            }
+            if (restored.items.isEmpty()) {
+                continue;
+            }
+            buffers.merge(entry.getKey(), restored, (current, back) -> {
+                RecipientBuffer merged = new RecipientBuffer(Math.min(current.firstAt, back.firstAt));
+                merged.items.addAll(back.items);
+                merged.items.addAll(current.items);
+                return merged;
+            });
+        }
+    }
+
+    /**
+     * 启动时接管待投递表中的遗留通知（上次运行未投递或关闭时投递失败的部分）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        recover(0);
+    }
+
+    /**
+     * 定时回收长时间未投递的待投递行（提交节点崩溃或下线后遗留）
+     * 回收时间需大于合并窗口与配额等待之和，避免接管仍在其他节点缓冲中的通知；
+     * 即使重复接管，投递时的删除校验也保证每条只写入一次
+     */
+    @Scheduled(fixedDelayString = "${app.notification.coalesce.recover-interval:300000}",
+               initialDelayString = "${app.notification.coalesce.recover-interval:300000}")
+    public void recoverOrphans() {
+        recover(recoverAfterMinutes);
+    }
+
+    private void recover(int olderThanMinutes) {
+        List<PendingNotification> orphans;
+        List<Long> firstAts = new ArrayList<>();
+        try {
+            orphans = jdbcTemplate.query(
+                    "SELECT id, user_id, type, group_id, related_id, title, content, created_time "
+                            + "FROM sys_notification_pending "
+                            + "WHERE created_time < DATE_SUB(NOW(), INTERVAL ? MINUTE) ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> {
+                        PendingNotification notification = new PendingNotification(
+                                rs.getLong("user_id"),
+                                NotificationType.valueOf(rs.getString("type")),
+                                rs.getObject("group_id", Long.class),
+                                rs.getObject("related_id", Long.class),
+                                rs.getString("title"),
+                                rs.getString("content"));
+                        notification.pendingId = rs.getLong("id");
+                        firstAts.add(rs.getTimestamp("created_time").getTime());
+                        return notification;
+                    },
+                    olderThanMinutes, RECOVER_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            log.error("回收待投递通知失败", e);
+            return;
+        }
+
+        int adopted = 0;
+        for (int i = 0; i < orphans.size(); i++) {
+            PendingNotification orphan = orphans.get(i);
+            if (!held.contains(orphan.pendingId)) {
+                // 按原提交时间计算窗口，到期的在下一次刷新时投递
+                buffer(List.of(orphan), firstAts.get(i));
+                adopted++;
+            }
+        }
+        if (adopted > 0) {
+            recoveredCounter.increment(adopted);
+            log.info("接管待投递通知: count={}", adopted);
+        }
+    }
+
+    private int deletePending(List<Long> ids) {
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size()));
+            deleted += jdbcTemplate.update("DELETE FROM sys_notification_pending WHERE id IN ("
+                    + placeholders(chunk.size()) + ")", chunk.toArray());
+        }
+        return deleted;
+    }
+
+    private Set<Long> existingPending(List<Long> ids) {
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size()));
+            existing.addAll(jdbcTemplate.queryForList("SELECT id FROM sys_notification_pending WHERE id IN ("
+                    + placeholders(chunk.size()) + ")", Long.class, chunk.toArray()));
+        }
+        return existing;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * 按（类型, 分组）合并同类通知，单条分组保持原样
+     */
+    private List<Notification> merge(List<PendingNotification> items) {
+        Map<String, List<PendingNotification>> groups = new LinkedHashMap<>();
+        for (PendingNotification item : items) {
+            groups.computeIfAbsent(item.getType() + ":" + item.getGroupId(), k -> new ArrayList<>()).add(item);
+        }
+
+        List<Notification> merged = new ArrayList<>(groups.size());
+        for (List<PendingNotification> group : groups.values()) {
+            if (group.size() == 1) {
+                merged.add(group.get(0).toNotification());
+            } else {
+                PendingNotification first = group.get(0);
+                String title = NotificationType.RECORD.equals(first.getType())
+                        ? "您的孩子有" + group.size() + "条新的档案记录"
+                        : "您有" + group.size() + "条新的" + first.getType().getDescription();
+                // 同一学生的记录摘要关联到学生本身
+                NotificationType type = NotificationType.RECORD.equals(first.getType())
+                        ? NotificationType.STUDENT : first.getType();
+                merged.add(buildDigest(first.getUserId(), type, first.getGroupId(), title, group));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 配额不足时将全部缓冲通知合并为一条
+     */
+    private Notification digestAll(List<PendingNotification> items) {
+        PendingNotification first = items.get(0);
+        return buildDigest(first.getUserId(), NotificationType.SYSTEM, null,
+                "您有" + items.size() + "条新通知", items);
+    }
+
+    private Notification buildDigest(Long userId, NotificationType type, Long relatedId, String title,
+                                     List<PendingNotification> items) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < items.size() && i < MAX_DIGEST_LINES; i++) {
+            if (i > 0) {
+                content.append('\n');
+            }
+            content.append(i + 1).append(". ").append(items.get(i).getTitle());
+        }
+        if (items.size() > MAX_DIGEST_LINES) {
+            content.append("\n……等共").append(items.size()).append("条");
+        }
+
+        Notification digest = new Notification();
+        digest.setUserId(userId);
+        digest.setTitle(title);
+        digest.setContent(content.toString());
+        digest.setType(type);
+        digest.setRelatedId(relatedId);
+        digest.setIsRead(false);
+        return digest;
+    }
+
+    private int quotaRemaining(Long userId, long now) {
+        HourlyQuota quota = quotas.get(userId);
+        if (quota == null || quota.hour != now / HOUR_MILLIS) {
+            return maxPerUserPerHour;
+        }
+        return maxPerUserPerHour - quota.sent;
+    }
+
+    private void consumeQuota(Long userId, long now, int count) {
+        long hour = now / HOUR_MILLIS;
+        quotas.compute(userId, (key, quota) -> {
+            HourlyQuota target = quota != null && quota.hour == hour ? quota : new HourlyQuota(hour);
+            target.sent += count;
+            return target;
+        });
+    }
+
+    /**
+     * 退还投递失败批次占用的配额（跨小时后配额已重置，无需退还）
+     */
+    private void refundQuota(Long userId, long now, int count) {
+        long hour = now / HOUR_MILLIS;
+        quotas.computeIfPresent(userId, (key, quota) -> {
+            if (quota.hour == hour) {
+                quota.sent = Math.max(0, quota.sent - count);
+            }
+            return quota;
+        });
+    }
+
+    /**
+     * 清理过期的小时配额，避免长期累积
+     */
+    @Scheduled(fixedDelay = HOUR_MILLIS)
+    public void evictExpiredQuotas() {
+        long hour = System.currentTimeMillis() / HOUR_MILLIS;
+        quotas.values().removeIf(quota -> quota.hour < hour);
+    }
+
+    private void deliver(List<Notification> notifications) {
+        notificationRepository.saveAll(notifications);
+        deliveredCounter.increment(notifications.size());
+    }
+
+    /**
+     * 接收人缓冲区
+     */
+    private static class RecipientBuffer {
+        private final long firstAt;
+        private final List<PendingNotification> items = new ArrayList<>();
+
+        RecipientBuffer(long firstAt) {
+            this.firstAt = firstAt;
+        }
+    }
+
+    /**
+     * 接收人小时配额
+     */
+    private static class HourlyQuota {
+        private final long hour;
+        private int sent;
+
+        HourlyQuota(long hour) {
+            this.hour = hour;
+        }
+    }
+
+    /**
+     * 待投递通知
+     */
+    public static class PendingNotification {
+        private final Long userId;
+        private final NotificationType type;
+        private final Long groupId;
+        private final Long relatedId;
+        private final String title;
+        private final String content;
+        // 待投递表中的行ID，写入后回填
+        private Long pendingId;
+
+        /**
+         * @param userId 接收人ID
+         * @param type 通知类型
+         * @param groupId 合并分组ID（如RECORD通知的学生ID）
+         * @param relatedId 关联ID
+         * @param title 标题
+         * @param content 内容
+         */
+        public PendingNotification(Long userId, NotificationType type, Long groupId, Long relatedId,
+                                   String title, String content) {
+            this.userId = userId;
+            this.type = type;
+            this.groupId = groupId;
+            this.relatedId = relatedId;
+            this.title = title;
+            this.content = content;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public NotificationType getType() {
+            return type;
+        }
+
+        public Long getGroupId() {
+            return groupId;
+        }
+
+        public Long getRelatedId() {
+            return relatedId;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        Notification toNotification() {
+            Notification notification = new Notification();
+            notification.setUserId(userId);
+            notification.setTitle(title);
+            notification.setContent(content);
+            notification.setType(type);
+            notification.setRelatedId(relatedId);
+            notification.setIsRead(false);
+            return notification;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.school.cooperation.task;
+
+import com.school.cooperation.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 通知已读写回缓冲（write-behind）
+ * 家长打开通知时只把ID记入按用户聚合的内存缓冲区，由定时任务合并后以
+ * UPDATE ... WHERE user_id = ? AND id IN (...) 每用户每周期一次写回数据库。
+ * 读取未读数与信息流时叠加缓冲区状态，保证用户不会看到过期的未读角标；
+ * 多节点部署时其他节点的角标延迟不超过一个刷新周期。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class NotificationReadBuffer {
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.notification.read-buffer.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.notification.read-buffer.max-pending-per-user:200}")
+    private int maxPendingPerUser;
+
+    // 按用户聚合的待写回已读通知ID
+    private final ConcurrentHashMap<Long, Set<Long>> pending = new ConcurrentHashMap<>();
+
+    // 已从缓冲区取出、正在写回的已读通知ID（提交前读取仍需叠加）
+    private final ConcurrentHashMap<Long, Set<Long>> flushing = new ConcurrentHashMap<>();
+
+    private final Counter bufferedCounter;
+    private final Counter flushedCounter;
+
+    public NotificationReadBuffer(NotificationRepository notificationRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bufferedCounter = Counter.builder("notification.read.buffered")
+                .description("进入已读缓冲区的通知数")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("notification.read.flushed")
+                .description("写回数据库的已读UPDATE语句数")
+                .register(meterRegistry);
+        meterRegistry.gauge("notification.read.pending.users", pending, ConcurrentHashMap::size);
+    }
+
+    /**
+     * 记录已读事件（关闭缓冲时在当前事务中直接更新）
+     */
+    public void markAsRead(Long userId, Collection<Long> notificationIds) {
+        if (notificationIds == null || notificationIds.isEmpty()) {
+            return;
+        }
+        if (!enabled) {
+            notificationRepository.markAsReadForUser(userId, new ArrayList<>(notificationIds), LocalDateTime.now());
+            return;
+        }
+
+        // 在compute内追加，避免写入写回任务刚取走的集合而丢失
+        Set<Long> ids = pending.compute(userId, (key, current) -> {
+            Set<Long> target = current != null ? current : ConcurrentHashMap.newKeySet();
+            target.addAll(notificationIds);
+            return target;
+        });
+        bufferedCounter.increment(notificationIds.size());
+        if (ids.size() >= maxPendingPerUser) {
+            flushUser(userId);
+        }
+    }
+
+    /**
+     * 获取用户尚未写回的已读通知ID
+     */
+    public Set<Long> getPending(Long userId) {
+        // 先读缓冲区再读写回中集合：取走操作先登记写回中再移出缓冲区，两次读取之间不会漏掉
+        Set<Long> ids = pending.get(userId);
+        Set<Long> inFlight = flushing.get(userId);
+        if (ids == null && inFlight == null) {
+            return Set.of();
+        }
+        Set<Long> result = new HashSet<>();
+        if (ids != null) {
+            result.addAll(ids);
+        }
+        if (inFlight != null) {
+            result.addAll(inFlight);
+        }
+        return result;
+    }
+
+    /**
+     * 丢弃用户的缓冲（如已执行"全部已读"）
+     */
+    public void discard(Long userId) {
+        pending.remove(userId);
+    }
+
+    /**
+     * 定时写回所有用户的已读状态
+     */
+    @Scheduled(fixedDelayString = "${app.notification.read-buffer.flush-interval:2000}")
+    public void flush() {
+        for (Long userId : pending.keySet()) {
+            flushUser(userId);
+        }
+    }
+
+    /**
+     * 应用关闭前写回全部缓冲
+     */
+    @PreDestroy
+    public void flushAll() {
+        flush();
+    }
+
+    /**
+     * 写回单个用户的缓冲：原子取走整个集合（之后的已读事件进入新集合），
+     * 写回期间登记在写回中集合里供读取叠加；失败时并回缓冲区等待下个周期重试
+     */
+    private void flushUser(Long userId) {
+        List<Long> snapshot = new ArrayList<>();
+        pending.computeIfPresent(userId, (key, current) -> {
+            snapshot.addAll(current);
+            if (!snapshot.isEmpty()) {
+                flushing.compute(userId, (k, inFlight) -> {
+                    Set<Long> target = inFlight != null ? inFlight : ConcurrentHashMap.newKeySet();
+                    target.addAll(snapshot);
+                    return target;
+                });
+            }
+            return null;
+        });
+        if (snapshot.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    notificationRepository.markAsReadForUser(userId, snapshot, LocalDateTime.now()));
+            flushedCounter.increment();
+        } catch (RuntimeException e) {
+            log.error("通知已读状态写回失败，下个周期重试: userId={}, count={}", userId, snapshot.size(), e);
+            pending.compute(userId, (key, current) -> {
+                Set<Long> target = current != null ? current : ConcurrentHashMap.newKeySet();
+                target.addAll(snapshot);
+                return target;
+            });
+        }
+
+        flushing.computeIfPresent(userId, (key, inFlight) -> {
+            snapshot.forEach(inFlight::remove);
+            return inFlight.isEmpty() ? null : inFlight;
+        });
+    }
+}
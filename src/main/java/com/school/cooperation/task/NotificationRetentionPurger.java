@@ -0,0 +1,249 @@
+package com.school.cooperation.task;
+
+import com.school.cooperation.repository.NotificationRepository;
+import com.school.cooperation.repository.RetentionCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 通知数据保留清理任务
+ * 按主键区间分块删除过期通知，每块独立事务并在块间休眠限流，每块完成后写入进度检查点；
+ * 通过检查点表上的租约保证多节点下同一时刻只有一个节点执行。
+ * 若sys_notification已按月分区（db/optional中的分区脚本），则先整块DROP过期分区、预建后续月份分区，
+ * 再对跨越截止时间的剩余月份做分块删除。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.notification.retention", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationRetentionPurger {
+
+    private static final String JOB_NAME = "sys_notification_retention";
+
+    private static final String TABLE_NAME = "sys_notification";
+
+    private static final DateTimeFormatter PARTITION_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final DateTimeFormatter PARTITION_BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final NotificationRepository notificationRepository;
+    private final RetentionCheckpointRepository checkpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+
+    @Value("${app.notification.retention.days:180}")
+    private int retentionDays;
+
+    @Value("${app.notification.retention.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${app.notification.retention.sleep-millis:200}")
+    private long sleepMillis;
+
+    @Value("${app.notification.retention.max-chunks-per-run:2000}")
+    private int maxChunksPerRun;
+
+    @Value("${app.notification.retention.lease-minutes:10}")
+    private int leaseMinutes;
+
+    @Value("${app.notification.retention.premake-months:3}")
+    private int premakeMonths;
+
+    public NotificationRetentionPurger(NotificationRepository notificationRepository,
+                                       RetentionCheckpointRepository checkpointRepository,
+                                       JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager) {
+        this.notificationRepository = notificationRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.owner = resolveHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * 定时执行通知清理
+     */
+    @Scheduled(cron = "${app.notification.retention.cron:0 30 3 * * ?}")
+    public void purge() {
+        if (!acquireLease()) {
+            log.debug("通知清理租约由其他节点持有，本节点跳过");
+            return;
+        }
+        try {
+            LocalDateTime cutoff = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+            List<Map<String, Object>> partitions = loadPartitions();
+            if (!partitions.isEmpty()) {
+                dropExpiredPartitions(partitions, cutoff);
+                premakePartitions(partitions);
+            }
+            purgeInChunks(cutoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("通知清理被中断");
+        } catch (RuntimeException e) {
+            log.error("通知清理失败", e);
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> checkpointRepository.releaseLease(JOB_NAME, owner));
+        }
+    }
+
+    /**
+     * 按主键区间分块删除创建时间早于截止时间的通知
+     */
+    private void purgeInChunks(LocalDateTime cutoff) throws InterruptedException {
+        Long minId = notificationRepository.findMinId();
+        if (minId == null) {
+            return;
+        }
+        // ID上界：第一条未过期通知的ID；全部过期时取最大ID+1
+        Long boundary = notificationRepository.findFirstIdCreatedAtOrAfter(cutoff);
+        if (boundary == null) {
+            boundary = notificationRepository.findMaxId() + 1;
+        }
+        if (minId >= boundary) {
+            return;
+        }
+
+        final long upper = boundary;
+        Integer started = transactionTemplate.execute(status ->
+                checkpointRepository.startRun(JOB_NAME, owner, cutoff, minId - 1, LocalDateTime.now()));
+        if (started == null || started == 0) {
+            log.warn("通知清理租约已被其他节点接管，本节点放弃本轮清理");
+            return;
+        }
+        log.info("开始分块清理过期通知: cutoff={}, idRange=[{}, {})", cutoff, minId, upper);
+
+        long start = minId;
+        long total = 0;
+        int chunks = 0;
+        while (start < upper && chunks < maxChunksPerRun) {
+            final long chunkStart = start;
+            final long chunkEnd = Math.min(start + chunkSize, upper);
+            Integer deleted = transactionTemplate.execute(status -> {
+                int rows = notificationRepository.deleteExpiredInIdRange(chunkStart, chunkEnd, cutoff);
+                LocalDateTime now = LocalDateTime.now();
+                if (checkpointRepository.saveProgress(JOB_NAME, owner, chunkEnd - 1, rows, now,
+                        now.plusMinutes(leaseMinutes)) == 0) {
+                    // 租约已过期并被其他节点接管：回滚本块，不覆盖对方的检查点
+                    status.setRollbackOnly();
+                    return null;
+                }
+                return rows;
+            });
+            if (deleted == null) {
+                log.warn("通知清理租约已被其他节点接管，停止本次清理: chunk=[{}, {})", chunkStart, chunkEnd);
+                break;
+            }
+            total += deleted;
+            chunks++;
+            start = chunkEnd;
+            if (sleepMillis > 0 && start < upper) {
+                Thread.sleep(sleepMillis);
+            }
+        }
+        log.info("过期通知分块清理完成: deleted={}, chunks={}, lastId={}, finished={}",
+                total, chunks, start - 1, start >= upper);
+    }
+
+    /**
+     * 查询sys_notification的分区信息（未分区时为空）
+     */
+    private List<Map<String, Object>> loadPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+                "ORDER BY PARTITION_ORDINAL_POSITION", TABLE_NAME);
+    }
+
+    /**
+     * 删除上界不晚于截止时间的分区（分区内数据全部过期，DROP为O(1)操作）
+     */
+    private void dropExpiredPartitions(List<Map<String, Object>> partitions, LocalDateTime cutoff) {
+        for (Map<String, Object> partition : partitions) {
+            LocalDateTime bound = parseBound(partition.get("PARTITION_DESCRIPTION"));
+            if (bound != null && !bound.isAfter(cutoff)) {
+                String name = (String) partition.get("PARTITION_NAME");
+                jdbcTemplate.execute("ALTER TABLE " + TABLE_NAME + " DROP PARTITION " + name);
+                log.info("已删除过期通知分区: partition={}, bound={}", name, bound);
+            }
+        }
+    }
+
+    /**
+     * 从MAXVALUE分区中拆分出未来若干个月的分区
+     */
+    private void premakePartitions(List<Map<String, Object>> partitions) {
+        LocalDateTime lastBound = null;
+        String maxPartition = null;
+        for (Map<String, Object> partition : partitions) {
+            LocalDateTime bound = parseBound(partition.get("PARTITION_DESCRIPTION"));
+            if (bound == null) {
+                maxPartition = (String) partition.get("PARTITION_NAME");
+            } else if (lastBound == null || bound.isAfter(lastBound)) {
+                lastBound = bound;
+            }
+        }
+        if (maxPartition == null || lastBound == null) {
+            return;
+        }
+
+        LocalDate target = LocalDate.now().withDayOfMonth(1).plusMonths(premakeMonths + 1L);
+        StringBuilder definitions = new StringBuilder();
+        for (LocalDate bound = lastBound.toLocalDate().plusMonths(1); !bound.isAfter(target); bound = bound.plusMonths(1)) {
+            definitions.append("PARTITION p").append(bound.minusMonths(1).format(PARTITION_NAME_FORMAT))
+                    .append(" VALUES LESS THAN ('").append(bound.format(PARTITION_BOUND_FORMAT)).append("'), ");
+        }
+        if (definitions.length() == 0) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE " + TABLE_NAME + " REORGANIZE PARTITION " + maxPartition + " INTO (" +
+                definitions + "PARTITION " + maxPartition + " VALUES LESS THAN (MAXVALUE))");
+        log.info("已预建通知分区至: {}", target);
+    }
+
+    /**
+     * 解析RANGE COLUMNS分区上界，MAXVALUE返回null
+     */
+    private LocalDateTime parseBound(Object description) {
+        if (description == null) {
+            return null;
+        }
+        String value = description.toString().replace("'", "").trim();
+        if (value.isEmpty() || "MAXVALUE".equalsIgnoreCase(value)) {
+            return null;
+        }
+        return LocalDate.parse(value.substring(0, 10), PARTITION_BOUND_FORMAT).atStartOfDay();
+    }
+
+    private boolean acquireLease() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer acquired = transactionTemplate.execute(status ->
+                checkpointRepository.acquireLease(JOB_NAME, owner, now, now.plusMinutes(leaseMinutes)));
+        return acquired != null && acquired > 0;
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.school.cooperation.task;
+
+import com.school.cooperation.repository.RetentionCheckpointRepository;
+import com.school.cooperation.repository.StudentRecordRepository;
+import com.school.cooperation.search.IndexedType;
+import com.school.cooperation.search.SearchIndexEventListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 档案记录冷归档任务
+ * 将创建时间早于 age-days 的记录，以及离校日期（毕业/转出）早于 graduated-grace-days 天前的学生的全部记录，
+ * 从 edu_student_record 整行搬迁到压缩的 edu_student_record_archive（沿用原ID）。
+ * 按主键区间分块，每块在同一事务内 INSERT ... SELECT 后删除原记录，块间休眠限流并写入检查点；
+ * 每次运行从检查点继续，扫过最大ID后下一次运行再从最小ID开始新一轮；
+ * 删除时设置会话变量 @edu_record_archiving，统计触发器据此保留预聚合统计。
+ * 待通知家长的记录（Outbox）不归档。多节点通过检查点表上的租约互斥。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.record-archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RecordArchiveJob {
+
+    private static final String JOB_NAME = "edu_record_archive";
+
+    private static final String ARCHIVE_COLUMNS = "id, student_id, teacher_id, class_id, term, type, category, title, " +
+            "content, images, tags, importance, is_public, parent_notified, created_time, updated_time, " +
+            "created_by, updated_by, deleted";
+
+    private static final String COPY_CHUNK_SQL =
+            "INSERT INTO edu_student_record_archive (" + ARCHIVE_COLUMNS + ") " +
+            "SELECT r.id, r.student_id, r.teacher_id, r.class_id, r.term, r.type, r.category, r.title, " +
+            "r.content, r.images, r.tags, r.importance, r.is_public, r.parent_notified, r.created_time, " +
+            "r.updated_time, r.created_by, r.updated_by, r.deleted " +
+            "FROM edu_student_record r LEFT JOIN edu_student s ON s.id = r.student_id " +
+            "WHERE r.id >= ? AND r.id < ? " +
+            "AND NOT (r.deleted = 0 AND r.is_public = 1 AND r.parent_notified = 0) " +
+            "AND (r.created_time < ? OR (s.status IN ('GRADUATED', 'TRANSFERRED') AND s.leave_date < ?))";
+
+    private static final String MOVED_IDS_SQL =
+            "SELECT r.id FROM edu_student_record r JOIN edu_student_record_archive a ON a.id = r.id " +
+            "WHERE r.id >= ? AND r.id < ?";
+
+    private static final String DELETE_CHUNK_SQL =
+            "DELETE r FROM edu_student_record r JOIN edu_student_record_archive a ON a.id = r.id " +
+            "WHERE r.id >= ? AND r.id < ?";
+
+    private final StudentRecordRepository studentRecordRepository;
+    private final RetentionCheckpointRepository checkpointRepository;
+    private final SearchIndexEventListener searchIndexEventListener;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archivedCounter;
+    private final String owner;
+
+    @Value("${app.record-archive.age-days:730}")
+    private int ageDays;
+
+    @Value("${app.record-archive.graduated-grace-days:90}")
+    private int graduatedGraceDays;
+
+    @Value("${app.record-archive.chunk-size:2000}")
+    private int chunkSize;
+
+    @Value("${app.record-archive.sleep-millis:200}")
+    private long sleepMillis;
+
+    @Value("${app.record-archive.max-chunks-per-run:1000}")
+    private int maxChunksPerRun;
+
+    @Value("${app.record-archive.lease-minutes:10}")
+    private int leaseMinutes;
+
+    public RecordArchiveJob(StudentRecordRepository studentRecordRepository,
+                            RetentionCheckpointRepository checkpointRepository,
+                            SearchIndexEventListener searchIndexEventListener,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
+        this.studentRecordRepository = studentRecordRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.searchIndexEventListener = searchIndexEventListener;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archivedCounter = Counter.builder("record.archive.moved")
+                .description("已搬迁到归档表的档案记录数")
+                .register(meterRegistry);
+        this.owner = resolveHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * 定时归档，每次最多处理 max-chunks-per-run 块
+     */
+    @Scheduled(cron = "${app.record-archive.cron:0 30 4 * * ?}")
+    public void archive() {
+        if (!acquireLease()) {
+            log.debug("档案归档租约由其他节点持有，本节点跳过");
+            return;
+        }
+        try {
+            archiveInChunks();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("档案归档被中断");
+        } catch (RuntimeException e) {
+            log.error("档案归档失败", e);
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> checkpointRepository.releaseLease(JOB_NAME, owner));
+        }
+    }
+
+    private void archiveInChunks() throws InterruptedException {
+        Long minId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM edu_student_record", Long.class);
+        Long maxId = studentRecordRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDate.now().minusDays(ageDays).atStartOfDay();
+        Timestamp ageCutoff = Timestamp.valueOf(cutoff);
+        Date graduatedCutoff = Date.valueOf(LocalDate.now().minusDays(graduatedGraceDays));
+
+        // 从上次的检查点继续；上一轮已扫过最大ID（或检查点落在当前ID范围之外）时才从最小ID开始新一轮
+        long lastId = checkpointRepository.findById(JOB_NAME)
+                .map(checkpoint -> checkpoint.getLastId() != null ? checkpoint.getLastId() : 0L)
+                .orElse(0L);
+        long start;
+        if (lastId < minId || lastId >= maxId) {
+            start = minId;
+            Integer started = transactionTemplate.execute(status ->
+                    checkpointRepository.startRun(JOB_NAME, owner, cutoff, minId - 1, LocalDateTime.now()));
+            if (started == null || started == 0) {
+                log.warn("档案归档租约已被其他节点接管，本节点放弃本轮归档");
+                return;
+            }
+            log.info("开始新一轮档案归档: cutoff={}, idRange=[{}, {}]", cutoff, minId, maxId);
+        } else {
+            start = lastId + 1;
+            log.info("继续档案归档: cutoff={}, idRange=[{}, {}]", cutoff, start, maxId);
+        }
+
+        long total = 0;
+        int chunks = 0;
+        while (start <= maxId && chunks < maxChunksPerRun) {
+            final long chunkStart = start;
+            final long chunkEnd = Math.min(start + chunkSize, maxId + 1);
+            Integer moved = transactionTemplate.execute(status -> {
+                int rows = jdbcTemplate.update(COPY_CHUNK_SQL, chunkStart, chunkEnd, ageCutoff, graduatedCutoff);
+                if (rows > 0) {
+                    // 原生DELETE不触发实体事件，提交后显式按归档表重建这些记录的索引
+                    searchIndexEventListener.publishAfterCommit(IndexedType.RECORD,
+                            jdbcTemplate.queryForList(MOVED_IDS_SQL, Long.class, chunkStart, chunkEnd));
+                    jdbcTemplate.execute("SET @edu_record_archiving = 1");
+                    try {
+                        jdbcTemplate.update(DELETE_CHUNK_SQL, chunkStart, chunkEnd);
+                    } finally {
+                        jdbcTemplate.execute("SET @edu_record_archiving = NULL");
+                    }
+                }
+                LocalDateTime now = LocalDateTime.now();
+                if (checkpointRepository.saveProgress(JOB_NAME, owner, chunkEnd - 1, rows, now,
+                        now.plusMinutes(leaseMinutes)) == 0) {
+                    // 租约已过期并被其他节点接管：回滚本块（含复制与删除），不覆盖对方的检查点
+                    status.setRollbackOnly();
+                    return null;
+                }
+                return rows;
+            });
+            if (moved == null) {
+                log.warn("档案归档租约已被其他节点接管，停止本次归档: chunk=[{}, {})", chunkStart, chunkEnd);
+                break;
+            }
+            int rows = moved;
+            archivedCounter.increment(rows);
+            total += rows;
+            chunks++;
+            start = chunkEnd;
+            if (sleepMillis > 0 && rows > 0 && start <= maxId) {
+                Thread.sleep(sleepMillis);
+            }
+        }
+        log.info("档案归档完成: archived={}, chunks={}, lastId={}, finished={}",
+                total, chunks, start - 1, start > maxId);
+    }
+
+    private boolean acquireLease() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer acquired = transactionTemplate.execute(status ->
+                checkpointRepository.acquireLease(JOB_NAME, owner, now, now.plusMinutes(leaseMinutes)));
+        return acquired != null && acquired > 0;
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.school.cooperation.task;
+
+import com.school.cooperation.repository.RetentionCheckpointRepository;
+import com.school.cooperation.repository.StudentRecordRepository;
+import com.school.cooperation.search.IndexedType;
+import com.school.cooperation.search.SearchIndexEventListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 档案记录冗余班级ID/学期回填任务
+ * V10 新增的 class_id、term 列对新记录由触发器填充，本任务按主键区间分块回填存量记录：
+ * 每块独立事务、块间休眠限流、每块完成后写入检查点，中断后从检查点继续；
+ * 通过检查点表上的租约保证多节点下只有一个节点执行。追上当前最大ID后不再产生写入。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.record-class-backfill", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RecordClassBackfillJob {
+
+    private static final String JOB_NAME = "edu_record_class_backfill";
+
+    private final StudentRecordRepository studentRecordRepository;
+    private final RetentionCheckpointRepository checkpointRepository;
+    private final SearchIndexEventListener searchIndexEventListener;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+
+    @Value("${app.record-class-backfill.chunk-size:2000}")
+    private int chunkSize;
+
+    @Value("${app.record-class-backfill.sleep-millis:200}")
+    private long sleepMillis;
+
+    @Value("${app.record-class-backfill.max-chunks-per-run:500}")
+    private int maxChunksPerRun;
+
+    @Value("${app.record-class-backfill.lease-minutes:10}")
+    private int leaseMinutes;
+
+    public RecordClassBackfillJob(StudentRecordRepository studentRecordRepository,
+                                  RetentionCheckpointRepository checkpointRepository,
+                                  SearchIndexEventListener searchIndexEventListener,
+                                  PlatformTransactionManager transactionManager) {
+        this.studentRecordRepository = studentRecordRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.searchIndexEventListener = searchIndexEventListener;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.owner = resolveHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * 定时回填，每次最多处理 max-chunks-per-run 块
+     */
+    @Scheduled(initialDelayString = "${app.record-class-backfill.initial-delay:60000}",
+            fixedDelayString = "${app.record-class-backfill.fixed-delay:300000}")
+    public void backfill() {
+        Long maxId = studentRecordRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+        long lastId = checkpointRepository.findById(JOB_NAME)
+                .map(checkpoint -> checkpoint.getLastId() != null ? checkpoint.getLastId() : 0L)
+                .orElse(0L);
+        if (lastId >= maxId) {
+            return;
+        }
+        if (!acquireLease()) {
+            log.debug("记录班级回填租约由其他节点持有，本节点跳过");
+            return;
+        }
+
+        long total = 0;
+        try {
+            // 获取租约后重新读取检查点，避免使用其他节点推进前的旧值
+            long start = checkpointRepository.findById(JOB_NAME)
+                    .map(checkpoint -> checkpoint.getLastId() != null ? checkpoint.getLastId() : 0L)
+                    .orElse(0L) + 1;
+            int chunks = 0;
+            while (start <= maxId && chunks < maxChunksPerRun) {
+                final long chunkStart = start;
+                final long chunkEnd = Math.min(start + chunkSize, maxId + 1);
+                Integer updated = transactionTemplate.execute(status -> {
+                    // 批量UPDATE不触发实体事件，提交后显式重建这些记录的索引
+                    searchIndexEventListener.publishAfterCommit(IndexedType.RECORD,
+                            studentRecordRepository.findIdsToBackfillInIdRange(chunkStart, chunkEnd));
+                    int rows = studentRecordRepository.backfillClassAndTermInIdRange(chunkStart, chunkEnd);
+                    LocalDateTime now = LocalDateTime.now();
+                    if (checkpointRepository.saveProgress(JOB_NAME, owner, chunkEnd - 1, rows, now,
+                            now.plusMinutes(leaseMinutes)) == 0) {
+                        // 租约已过期并被其他节点接管：回滚本块，不覆盖对方的检查点
+                        status.setRollbackOnly();
+                        return null;
+                    }
+                    return rows;
+                });
+                if (updated == null) {
+                    log.warn("记录班级回填租约已被其他节点接管，停止本次回填: chunk=[{}, {})", chunkStart, chunkEnd);
+                    break;
+                }
+                total += updated;
+                start = chunkEnd;
+                chunks++;
+                Thread.sleep(sleepMillis);
+            }
+            log.info("档案记录班级回填进度: lastId={}, maxId={}, updatedThisRun={}", start - 1, maxId, total);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("档案记录班级回填被中断");
+        } catch (RuntimeException e) {
+            log.error("档案记录班级回填失败", e);
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> checkpointRepository.releaseLease(JOB_NAME, owner));
+        }
+    }
+
+    private boolean acquireLease() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer acquired = transactionTemplate.execute(status ->
+                checkpointRepository.acquireLease(JOB_NAME, owner, now, now.plusMinutes(leaseMinutes)));
+        return acquired != null && acquired > 0;
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.school.cooperation.task;
+
+import com.school.cooperation.entity.ParentStudent;
+import com.school.cooperation.entity.StudentRecord;
+import com.school.cooperation.entity.enums.NotificationType;
+import com.school.cooperation.repository.ParentStudentRepository;
+import com.school.cooperation.repository.StudentRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 档案记录家长通知分发任务（Outbox模式）
+ * edu_student_record中is_public=1且parent_notified=0的记录即为待分发消息：任务认领一批记录，为学生的每位家长生成通知
+ * 交由{@link NotificationCoalescer}写入待投递表、合并后投递，并在同一事务内批量标记parent_notified；
+ * 多节点同时运行时各自认领不同的行。
+ * 整批失败时逐条重新处理，只有失败的记录按指数退避延后重试，超过最大次数后不再认领（死信）。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.notification.dispatcher", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RecordNotificationDispatcher {
+
+    private final StudentRecordRepository recordRepository;
+    private final ParentStudentRepository parentStudentRepository;
+    private final NotificationCoalescer notificationCoalescer;
+    private final TransactionTemplate claimTransaction;
+    private final TransactionTemplate retryTransaction;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.notification.dispatcher.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.notification.dispatcher.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.notification.dispatcher.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.notification.dispatcher.base-backoff-seconds:30}")
+    private long baseBackoffSeconds;
+
+    @Value("${app.notification.dispatcher.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    // 分发指标
+    private final Counter dispatchedRecords;
+    private final Counter createdNotifications;
+    private final Counter failedRecords;
+    private final Timer batchTimer;
+    private final AtomicLong lagSeconds = new AtomicLong(0);
+    private final AtomicLong deadLetters = new AtomicLong(0);
+
+    public RecordNotificationDispatcher(StudentRecordRepository recordRepository,
+                                        ParentStudentRepository parentStudentRepository,
+                                        NotificationCoalescer notificationCoalescer,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry) {
+        this.recordRepository = recordRepository;
+        this.parentStudentRepository = parentStudentRepository;
+        this.notificationCoalescer = notificationCoalescer;
+        this.meterRegistry = meterRegistry;
+
+        // 认领事务使用READ COMMITTED：不满足条件的扫描行会立即释放行锁，避免与其他节点互相阻塞
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        this.claimTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.retryTransaction = new TransactionTemplate(transactionManager);
+        this.retryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.dispatchedRecords = Counter.builder("record.notification.dispatched")
+                .description("已完成家长通知的档案记录数")
+                .register(meterRegistry);
+        this.createdNotifications = Counter.builder("record.notification.created")
+                .description("生成的家长通知数")
+                .register(meterRegistry);
+        this.failedRecords = Counter.builder("record.notification.failed")
+                .description("通知失败并进入重试的档案记录数")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("record.notification.batch")
+                .description("单批通知分发耗时")
+                .register(meterRegistry);
+        Gauge.builder("record.notification.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("最早可认领的待通知记录距今的秒数")
+                .register(meterRegistry);
+        Gauge.builder("record.notification.dead.letter", deadLetters, AtomicLong::get)
+                .description("达到最大重试次数、不再认领的待通知记录数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 定时分发：连续处理多批直到积压清空或达到单次运行上限
+     */
+    @Scheduled(fixedDelayString = "${app.notification.dispatcher.fixed-delay:5000}")
+    public void dispatch() {
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int processed = dispatchBatch();
+            total += processed;
+            if (processed < batchSize) {
+                break;
+            }
+        }
+        refreshLag();
+        if (total > 0) {
+            log.debug("档案记录家长通知分发完成: records={}", total);
+        }
+    }
+
+    /**
+     * 认领并处理一批记录
+     *
+     * @return 本批认领的记录数
+     */
+    int dispatchBatch() {
+        List<Long> claimed = new ArrayList<>();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Integer processed = claimTransaction.execute(status -> {
+                List<Long> ids = claim();
+                claimed.addAll(ids);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                int created = notifyParents(recordRepository.findAllById(ids));
+                recordRepository.updateNotificationStatus(ids);
+                dispatchedRecords.increment(ids.size());
+                createdNotifications.increment(created);
+                return ids.size();
+            });
+            return processed != null ? processed : 0;
+        } catch (RuntimeException e) {
+            log.warn("档案记录家长通知整批分发失败，逐条重新处理: recordIds={}", claimed, e);
+            return dispatchEach(claimed);
+        } finally {
+            sample.stop(batchTimer);
+        }
+    }
+
+    /**
+     * 整批失败后逐条在独立事务中处理，只对失败的记录计入重试次数
+     *
+     * @return 处理成功的记录数
+     */
+    private int dispatchEach(List<Long> recordIds) {
+        List<Long> failed = new ArrayList<>();
+        int succeeded = 0;
+        for (Long recordId : recordIds) {
+            try {
+                Boolean done = claimTransaction.execute(status -> {
+                    // 重新加锁并确认仍待通知，其他节点可能已在整批回滚后认领
+                    List<Long> ids = recordRepository.lockPendingNotification(List.of(recordId), maxAttempts);
+                    if (ids.isEmpty()) {
+                        return false;
+                    }
+                    int created = notifyParents(recordRepository.findAllById(ids));
+                    recordRepository.updateNotificationStatus(ids);
+                    createdNotifications.increment(created);
+                    return true;
+                });
+                if (Boolean.TRUE.equals(done)) {
+                    dispatchedRecords.increment();
+                    succeeded++;
+                }
+            } catch (RuntimeException e) {
+                log.error("档案记录家长通知分发失败，稍后重试: recordId={}", recordId, e);
+                failed.add(recordId);
+            }
+        }
+        scheduleRetry(failed);
+        return succeeded;
+    }
+
+    /**
+     * 优先认领高重要程度记录，不足一批时再补充普通记录
+     */
+    private List<Long> claim() {
+        List<Long> ids = new ArrayList<>(recordRepository.claimHighImportancePendingNotification(maxAttempts, batchSize));
+        if (ids.size() < batchSize) {
+            for (Long id : recordRepository.claimPendingNotification(maxAttempts, batchSize)) {
+                if (ids.size() >= batchSize) {
+                    break;
+                }
+                if (!ids.contains(id)) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 为记录所属学生的每位家长生成通知，交由合并组件投递
+     *
+     * @return 生成的通知数量
+     */
+    private int notifyParents(List<StudentRecord> records) {
+        List<Long> studentIds = records.stream()
+                .map(StudentRecord::getStudentId)
+                .distinct()
+                .toList();
+        Map<Long, List<Long>> parentsByStudent = parentStudentRepository.findByStudentIdIn(studentIds).stream()
+                .collect(Collectors.groupingBy(ParentStudent::getStudentId,
+                        Collectors.mapping(ParentStudent::getParentId, Collectors.toList())));
+
+        List<NotificationCoalescer.PendingNotification> notifications = new ArrayList<>();
+        for (StudentRecord record : records) {
+            for (Long parentId : parentsByStudent.getOrDefault(record.getStudentId(), List.of())) {
+                notifications.add(new NotificationCoalescer.PendingNotification(parentId, NotificationType.RECORD,
+                        record.getStudentId(), record.getId(), record.getTitle(), record.getContent()));
+            }
+        }
+        notificationCoalescer.submit(notifications);
+        return notifications.size();
+    }
+
+    /**
+     * 在独立事务中记录失败次数并设置退避时间
+     */
+    private void scheduleRetry(List<Long> recordIds) {
+        if (recordIds.isEmpty()) {
+            return;
+        }
+        failedRecords.increment(recordIds.size());
+        try {
+            retryTransaction.executeWithoutResult(status ->
+                    recordRepository.scheduleNotificationRetry(recordIds, baseBackoffSeconds, maxBackoffSeconds));
+        } catch (RuntimeException e) {
+            log.error("更新档案记录通知重试状态失败: recordIds={}", recordIds, e);
+        }
+    }
+
+    /**
+     * 刷新积压延迟与死信指标
+     */
+    private void refreshLag() {
+        LocalDateTime oldest = recordRepository.findOldestPendingNotificationTime(maxAttempts);
+        lagSeconds.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).getSeconds()));
+        deadLetters.set(recordRepository.countDeadLetterNotifications(maxAttempts));
+    }
+}
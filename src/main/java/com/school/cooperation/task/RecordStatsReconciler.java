@@ -0,0 +1,181 @@
+package com.school.cooperation.task;
+
+import com.school.cooperation.repository.RetentionCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 档案记录统计对账任务
+ * edu_record_stats 由触发器增量维护，本任务每晚按天重算最近若干天的统计行以校正计数漂移。
+ * 统计行的班级取档案记录的 class_id（学生当前班级，调班时由应用同步改写记录与统计行），
+ * 尚未回填 class_id 的存量记录回退到学生当前班级。每天一个事务，使用可重复读隔离级别，
+ * INSERT ... SELECT 对源记录加共享锁，与并发的触发器更新串行化，避免重复计数。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.record-stats.reconcile", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RecordStatsReconciler {
+
+    private static final String JOB_NAME = "edu_record_stats_reconcile";
+
+    private static final String SUM_FOR_DAY_SQL =
+            "SELECT IFNULL(SUM(record_count), 0) FROM edu_record_stats WHERE stat_date = ?";
+
+    private static final String DELETE_DAY_SQL = "DELETE FROM edu_record_stats WHERE stat_date = ?";
+
+    private static final String REBUILD_DAY_SQL =
+            "INSERT INTO edu_record_stats (stat_date, student_id, class_id, teacher_id, type, importance, " +
+            "record_count, public_count, notified_count, last_record_time) " +
+            "SELECT DATE(r.created_time), r.student_id, MAX(COALESCE(r.class_id, s.class_id, 0)), r.teacher_id, r.type, " +
+            "IFNULL(r.importance, 'MEDIUM'), COUNT(*), SUM(IFNULL(r.is_public, 0)), " +
+            "SUM(IFNULL(r.parent_notified, 0)), MAX(r.created_time) " +
+            "FROM (" + dayRecords("edu_student_record") + " UNION ALL " + dayRecords("edu_student_record_archive") +
+            ") r LEFT JOIN edu_student s ON s.id = r.student_id " +
+            "GROUP BY DATE(r.created_time), r.student_id, r.teacher_id, r.type, " +
+            "IFNULL(r.importance, 'MEDIUM')";
+
+    private final RetentionCheckpointRepository checkpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate reconcileTemplate;
+    private final Counter driftCounter;
+    private final String owner;
+
+    @Value("${app.record-stats.reconcile.days:30}")
+    private int reconcileDays;
+
+    @Value("${app.record-stats.reconcile.sleep-millis:100}")
+    private long sleepMillis;
+
+    @Value("${app.record-stats.reconcile.lease-minutes:10}")
+    private int leaseMinutes;
+
+    public RecordStatsReconciler(RetentionCheckpointRepository checkpointRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.checkpointRepository = checkpointRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconcileTemplate = new TransactionTemplate(transactionManager);
+        this.reconcileTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.driftCounter = Counter.builder("record.stats.reconcile.drift")
+                .description("对账时发现统计不一致的天数")
+                .register(meterRegistry);
+        this.owner = resolveHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * 定时对账（不含当天，当天由触发器实时维护）
+     */
+    @Scheduled(cron = "${app.record-stats.reconcile.cron:0 0 2 * * ?}")
+    public void reconcile() {
+        if (!acquireLease()) {
+            log.debug("统计对账租约由其他节点持有，本节点跳过");
+            return;
+        }
+        try {
+            LocalDate end = LocalDate.now().minusDays(1);
+            LocalDate start = reconcileDays > 0 ? end.minusDays(reconcileDays - 1L) : findFirstRecordDate();
+            if (start == null) {
+                return;
+            }
+
+            int drifted = 0;
+            for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+                if (reconcileDay(day)) {
+                    drifted++;
+                }
+                if (!acquireLease()) {
+                    log.warn("统计对账租约已被其他节点接管，停止本次对账: date={}", day);
+                    break;
+                }
+                Thread.sleep(sleepMillis);
+            }
+            log.info("档案统计对账完成: range=[{}, {}], driftedDays={}", start, end, drifted);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("档案统计对账被中断");
+        } catch (RuntimeException e) {
+            log.error("档案统计对账失败", e);
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> checkpointRepository.releaseLease(JOB_NAME, owner));
+        }
+    }
+
+    /**
+     * 重算单日统计
+     *
+     * @return 重算前后记录总数是否不一致
+     */
+    private boolean reconcileDay(LocalDate day) {
+        Timestamp from = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+        Boolean drifted = reconcileTemplate.execute(status -> {
+            Long before = jdbcTemplate.queryForObject(SUM_FOR_DAY_SQL, Long.class, day);
+            jdbcTemplate.update(DELETE_DAY_SQL, day);
+            jdbcTemplate.update(REBUILD_DAY_SQL, from, to, from, to);
+            Long after = jdbcTemplate.queryForObject(SUM_FOR_DAY_SQL, Long.class, day);
+            if (before != null && !before.equals(after)) {
+                log.warn("档案统计漂移已校正: date={}, before={}, after={}", day, before, after);
+                return true;
+            }
+            return false;
+        });
+        if (Boolean.TRUE.equals(drifted)) {
+            driftCounter.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 单日记录（在线表与归档表结构一致，归档记录仍计入统计；班级不属于统计粒度，同一粒度取最大班级ID）
+     */
+    private static String dayRecords(String table) {
+        return "SELECT created_time, student_id, class_id, teacher_id, type, importance, is_public, parent_notified FROM " +
+                table + " WHERE created_time >= ? AND created_time < ? AND deleted = 0";
+    }
+
+    private LocalDate findFirstRecordDate() {
+        // 归档记录仍计入统计
+        Timestamp first = jdbcTemplate.queryForObject(
+                "SELECT MIN(t) FROM (SELECT MIN(created_time) AS t FROM edu_student_record WHERE deleted = 0 " +
+                "UNION ALL SELECT MIN(created_time) FROM edu_student_record_archive WHERE deleted = 0) m",
+                Timestamp.class);
+        return first != null ? first.toLocalDateTime().toLocalDate() : null;
+    }
+
+    private boolean acquireLease() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer acquired = transactionTemplate.execute(status ->
+                checkpointRepository.acquireLease(JOB_NAME, owner, now, now.plusMinutes(leaseMinutes)));
+        return acquired != null && acquired > 0;
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
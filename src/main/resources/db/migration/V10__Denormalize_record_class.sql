@@ -0,0 +1,98 @@
+-- 档案记录班级冗余脚本
+-- V10__Denormalize_record_class.sql
+
+USE home_school;
+
+-- 冗余班级ID与学期（仅追加列，MySQL 8 可即时完成，不重建表）
+ALTER TABLE edu_student_record
+    ADD COLUMN class_id BIGINT NULL COMMENT '班级ID（冗余学生当前班级）',
+    ADD COLUMN term VARCHAR(20) NULL COMMENT '学期（如 2025-2026-1）',
+    ALGORITHM=INSTANT;
+
+-- 按班级查看记录
+CREATE INDEX idx_edu_record_class_time ON edu_student_record(class_id, created_time DESC)
+    ALGORITHM=INPLACE LOCK=NONE;
+
+-- 写入时填充：应用未指定班级时取学生当前班级，未指定学期时按创建时间计算
+-- 学期规则与 AcademicTermUtils 一致：9月至次年1月为第一学期，2月至8月为第二学期
+
+DELIMITER $$
+
+CREATE TRIGGER trg_edu_record_fill_class BEFORE INSERT ON edu_student_record
+FOR EACH ROW
+BEGIN
+    IF NEW.class_id IS NULL THEN
+        SET NEW.class_id = (SELECT class_id FROM edu_student WHERE id = NEW.student_id);
+    END IF;
+    IF NEW.term IS NULL THEN
+        SET NEW.term = CONCAT(
+            IF(MONTH(IFNULL(NEW.created_time, NOW())) >= 9, YEAR(IFNULL(NEW.created_time, NOW())), YEAR(IFNULL(NEW.created_time, NOW())) - 1),
+            '-',
+            IF(MONTH(IFNULL(NEW.created_time, NOW())) >= 9, YEAR(IFNULL(NEW.created_time, NOW())) + 1, YEAR(IFNULL(NEW.created_time, NOW()))),
+            '-',
+            IF(MONTH(IFNULL(NEW.created_time, NOW())) >= 9 OR MONTH(IFNULL(NEW.created_time, NOW())) = 1, 1, 2));
+    END IF;
+END$$
+
+DELIMITER ;
+
+-- 统计行班级改取记录自身的 class_id（BEFORE INSERT 已填充），使统计与档案记录的班级一致
+DROP TRIGGER IF EXISTS trg_edu_record_stats_insert;
+DROP TRIGGER IF EXISTS trg_edu_record_stats_update;
+
+DELIMITER $$
+
+CREATE TRIGGER trg_edu_record_stats_insert AFTER INSERT ON edu_student_record
+FOR EACH ROW
+BEGIN
+    IF NEW.deleted = 0 THEN
+        INSERT INTO edu_record_stats (stat_date, student_id, class_id, teacher_id, type, importance,
+                                      record_count, public_count, notified_count, last_record_time)
+        VALUES (DATE(IFNULL(NEW.created_time, NOW())), NEW.student_id, IFNULL(NEW.class_id, 0),
+                NEW.teacher_id, NEW.type, IFNULL(NEW.importance, 'MEDIUM'),
+                1, IFNULL(NEW.is_public, 0), IFNULL(NEW.parent_notified, 0), IFNULL(NEW.created_time, NOW()))
+        ON DUPLICATE KEY UPDATE
+            class_id = IFNULL(NEW.class_id, 0),
+            record_count = record_count + 1,
+            public_count = public_count + IFNULL(NEW.is_public, 0),
+            notified_count = notified_count + IFNULL(NEW.parent_notified, 0),
+            last_record_time = GREATEST(IFNULL(last_record_time, NEW.created_time), IFNULL(NEW.created_time, NOW()));
+    END IF;
+END$$
+
+-- 调班时记录与统计行的 class_id 由应用同步改写，仅 class_id 变化不调整计数
+CREATE TRIGGER trg_edu_record_stats_update AFTER UPDATE ON edu_student_record
+FOR EACH ROW
+BEGIN
+    IF NOT (OLD.deleted <=> NEW.deleted AND OLD.student_id <=> NEW.student_id AND OLD.teacher_id <=> NEW.teacher_id
+            AND OLD.type <=> NEW.type AND OLD.importance <=> NEW.importance AND OLD.created_time <=> NEW.created_time
+            AND OLD.is_public <=> NEW.is_public AND OLD.parent_notified <=> NEW.parent_notified) THEN
+        IF OLD.deleted = 0 THEN
+            UPDATE edu_record_stats
+            SET record_count = record_count - 1,
+                public_count = public_count - IFNULL(OLD.is_public, 0),
+                notified_count = notified_count - IFNULL(OLD.parent_notified, 0)
+            WHERE stat_date = DATE(IFNULL(OLD.created_time, NOW())) AND student_id = OLD.student_id
+              AND teacher_id = OLD.teacher_id AND type = OLD.type AND importance = IFNULL(OLD.importance, 'MEDIUM');
+        END IF;
+        IF NEW.deleted = 0 THEN
+            INSERT INTO edu_record_stats (stat_date, student_id, class_id, teacher_id, type, importance,
+                                          record_count, public_count, notified_count, last_record_time)
+            VALUES (DATE(IFNULL(NEW.created_time, NOW())), NEW.student_id, IFNULL(NEW.class_id, 0),
+                    NEW.teacher_id, NEW.type, IFNULL(NEW.importance, 'MEDIUM'),
+                    1, IFNULL(NEW.is_public, 0), IFNULL(NEW.parent_notified, 0), IFNULL(NEW.created_time, NOW()))
+            ON DUPLICATE KEY UPDATE
+                class_id = IFNULL(NEW.class_id, 0),
+                record_count = record_count + 1,
+                public_count = public_count + IFNULL(NEW.is_public, 0),
+                notified_count = notified_count + IFNULL(NEW.parent_notified, 0),
+                last_record_time = GREATEST(IFNULL(last_record_time, NEW.created_time), IFNULL(NEW.created_time, NOW()));
+        END IF;
+    END IF;
+END$$
+
+DELIMITER ;
+
+-- 存量数据由 RecordClassBackfillJob 在线分块回填
+INSERT INTO sys_retention_checkpoint (job_name) VALUES ('edu_record_class_backfill')
+ON DUPLICATE KEY UPDATE job_name = job_name;
@@ -0,0 +1,23 @@
+-- 档案记录标签索引脚本
+-- V11__Add_record_tag_index.sql
+
+USE home_school;
+
+-- 规范历史数据：多值索引要求 tags 为字符串数组且单个标签不超过32个字符
+UPDATE edu_student_record SET tags = NULL
+WHERE tags IS NOT NULL AND JSON_TYPE(tags) <> 'ARRAY';
+
+UPDATE edu_student_record
+SET tags = (
+    SELECT JSON_ARRAYAGG(LEFT(jt.tag, 32))
+    FROM JSON_TABLE(edu_student_record.tags, '$[*]' COLUMNS (tag VARCHAR(255) PATH '$')) jt
+    WHERE jt.tag IS NOT NULL
+)
+WHERE tags IS NOT NULL
+  AND EXISTS (
+    SELECT 1 FROM JSON_TABLE(edu_student_record.tags, '$[*]' COLUMNS (tag VARCHAR(255) PATH '$')) jt
+    WHERE CHAR_LENGTH(jt.tag) > 32
+);
+
+-- 标签多值索引：查询需使用 MEMBER OF(tags->'$') / JSON_CONTAINS(tags->'$', ...) / JSON_OVERLAPS(tags->'$', ...)
+CREATE INDEX idx_edu_record_tags ON edu_student_record((CAST(tags->'$' AS CHAR(32) ARRAY)));
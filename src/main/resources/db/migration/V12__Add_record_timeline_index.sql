@@ -0,0 +1,10 @@
+-- 学生档案时间线索引脚本
+-- V12__Add_record_timeline_index.sql
+
+USE home_school;
+
+-- 时间线游标分页：按 (created_time, id) 倒序扫描，deleted/is_public 在索引内过滤，
+-- 每页只回表读取当页记录
+CREATE INDEX idx_edu_record_student_timeline
+    ON edu_student_record(student_id, deleted, created_time DESC, id DESC, is_public)
+    ALGORITHM=INPLACE LOCK=NONE;
@@ -0,0 +1,58 @@
+-- 档案记录冷归档脚本
+-- V13__Create_record_archive.sql
+
+USE home_school;
+
+-- 1. 归档表：结构与 edu_student_record 一致（不含通知重试列），压缩行格式，
+--    只保留时间线、班级和全文检索所需的索引
+CREATE TABLE IF NOT EXISTS edu_student_record_archive (
+    id BIGINT PRIMARY KEY COMMENT '记录ID（沿用原记录ID）',
+    student_id BIGINT NOT NULL COMMENT '学生ID',
+    teacher_id BIGINT NOT NULL COMMENT '教师ID',
+    class_id BIGINT NULL COMMENT '班级ID',
+    term VARCHAR(20) NULL COMMENT '学期',
+    type ENUM('PRAISE', 'CRITICISM', 'NEUTRAL') NOT NULL COMMENT '记录类型',
+    category VARCHAR(50) NOT NULL COMMENT '记录分类',
+    title VARCHAR(100) NOT NULL COMMENT '标题',
+    content TEXT NOT NULL COMMENT '内容',
+    images JSON COMMENT '图片URL列表',
+    tags JSON COMMENT '标签列表',
+    importance ENUM('HIGH', 'MEDIUM', 'LOW') DEFAULT 'MEDIUM' COMMENT '重要程度',
+    is_public BOOLEAN DEFAULT TRUE COMMENT '是否对家长公开',
+    parent_notified BOOLEAN DEFAULT FALSE COMMENT '是否已通知家长',
+    created_time DATETIME NOT NULL COMMENT '创建时间',
+    updated_time DATETIME COMMENT '更新时间',
+    created_by BIGINT COMMENT '创建人ID',
+    updated_by BIGINT COMMENT '更新人ID',
+    deleted TINYINT(1) DEFAULT 0 COMMENT '逻辑删除标识',
+    archived_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '归档时间',
+
+    INDEX idx_archive_student_timeline (student_id, deleted, created_time DESC, id DESC, is_public),
+    INDEX idx_archive_class_time (class_id, created_time DESC),
+    FULLTEXT INDEX idx_archive_content_fulltext (title, content) WITH PARSER ngram
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8 COMMENT='学生档案记录归档表';
+
+-- 2. 归档搬迁时保留统计：归档任务在会话变量 @edu_record_archiving = 1 时删除原记录，
+--    此时不扣减预聚合统计（对账任务同时统计在线表与归档表）
+DROP TRIGGER IF EXISTS trg_edu_record_stats_delete;
+
+DELIMITER $$
+
+CREATE TRIGGER trg_edu_record_stats_delete AFTER DELETE ON edu_student_record
+FOR EACH ROW
+BEGIN
+    IF OLD.deleted = 0 AND IFNULL(@edu_record_archiving, 0) = 0 THEN
+        UPDATE edu_record_stats
+        SET record_count = record_count - 1,
+            public_count = public_count - IFNULL(OLD.is_public, 0),
+            notified_count = notified_count - IFNULL(OLD.parent_notified, 0)
+        WHERE stat_date = DATE(IFNULL(OLD.created_time, NOW())) AND student_id = OLD.student_id
+          AND teacher_id = OLD.teacher_id AND type = OLD.type AND importance = IFNULL(OLD.importance, 'MEDIUM');
+    END IF;
+END$$
+
+DELIMITER ;
+
+-- 3. 归档任务检查点
+INSERT INTO sys_retention_checkpoint (job_name) VALUES ('edu_record_archive')
+ON DUPLICATE KEY UPDATE job_name = job_name;
@@ -0,0 +1,31 @@
+-- 档案记录批量装载脚本
+-- V14__Allow_record_bulk_load.sql
+
+USE home_school;
+
+-- 批量装载（合成数据生成等）时逐行维护预聚合统计代价过高：装载会话设置 @edu_record_bulk_loading = 1
+-- 跳过新增触发器，装载完成后按主键区间一次性聚合写入 edu_record_stats
+DROP TRIGGER IF EXISTS trg_edu_record_stats_insert;
+
+DELIMITER $$
+
+CREATE TRIGGER trg_edu_record_stats_insert AFTER INSERT ON edu_student_record
+FOR EACH ROW
+BEGIN
+    IF NEW.deleted = 0 AND IFNULL(@edu_record_bulk_loading, 0) = 0 THEN
+        INSERT INTO edu_record_stats (stat_date, student_id, class_id, teacher_id, type, importance,
+                                      record_count, public_count, notified_count, last_record_time)
+        VALUES (DATE(IFNULL(NEW.created_time, NOW())), NEW.student_id,
+                IFNULL(NEW.class_id, 0),
+                NEW.teacher_id, NEW.type, IFNULL(NEW.importance, 'MEDIUM'),
+                1, IFNULL(NEW.is_public, 0), IFNULL(NEW.parent_notified, 0), IFNULL(NEW.created_time, NOW()))
+        ON DUPLICATE KEY UPDATE
+            class_id = IFNULL(NEW.class_id, 0),
+            record_count = record_count + 1,
+            public_count = public_count + IFNULL(NEW.is_public, 0),
+            notified_count = notified_count + IFNULL(NEW.parent_notified, 0),
+            last_record_time = GREATEST(IFNULL(last_record_time, NEW.created_time), IFNULL(NEW.created_time, NOW()));
+    END IF;
+END$$
+
+DELIMITER ;
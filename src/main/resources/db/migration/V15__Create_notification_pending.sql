@@ -0,0 +1,19 @@
+-- 通知合并待投递表脚本
+-- V15__Create_notification_pending.sql
+-- 合并窗口与小时配额期间暂存的通知与档案记录的 parent_notified 标记在同一事务内写入，
+-- 投递成功后在投递事务内删除；应用重启或节点宕机后由其他节点重新加载，不会丢失
+
+USE home_school;
+
+CREATE TABLE IF NOT EXISTS sys_notification_pending (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '待投递ID',
+    user_id BIGINT NOT NULL COMMENT '接收人ID',
+    type ENUM('SYSTEM', 'RECORD', 'CLASS', 'STUDENT') NOT NULL COMMENT '通知类型',
+    group_id BIGINT COMMENT '合并分组ID(如RECORD通知的学生ID)',
+    related_id BIGINT COMMENT '关联ID',
+    title VARCHAR(100) NOT NULL COMMENT '标题',
+    content TEXT NOT NULL COMMENT '内容',
+    created_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '提交时间',
+
+    INDEX idx_notification_pending_created (created_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='通知合并待投递表';
@@ -0,0 +1,16 @@
+-- 学生离校日期脚本
+-- V17__Add_student_leave_date.sql
+-- 冷归档按学生毕业/转出的实际日期判定宽限期，不再使用会随任意字段修改而变化的 updated_time
+
+USE home_school;
+
+ALTER TABLE edu_student
+    ADD COLUMN leave_date DATE NULL COMMENT '离校日期（毕业/转出，状态变为非在读时记录）' AFTER status,
+    ALGORITHM=INSTANT;
+
+-- 存量已离校学生没有记录离校日期，以当前的最后更新时间近似
+UPDATE edu_student SET leave_date = DATE(updated_time)
+WHERE status IN ('GRADUATED', 'TRANSFERRED') AND leave_date IS NULL;
+
+-- 归档任务按 status + leave_date 筛选离校学生
+CREATE INDEX idx_edu_student_status_leave ON edu_student (status, leave_date);
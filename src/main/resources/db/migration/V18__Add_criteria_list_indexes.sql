@@ -0,0 +1,26 @@
+-- 列表筛选排序索引脚本
+-- V18__Add_criteria_list_indexes.sql
+-- 管理端列表按单个等值条件筛选并按 (created_time, id) 倒序分页，原有索引只覆盖筛选列或排序方向不一致，
+-- 执行计划为全表扫描加文件排序
+
+USE home_school;
+
+-- 用户列表按状态筛选
+CREATE INDEX idx_sys_user_status_time
+    ON sys_user(status, created_time DESC, id DESC)
+    ALGORITHM=INPLACE LOCK=NONE;
+
+-- 档案列表按重要程度筛选
+CREATE INDEX idx_edu_record_importance_time
+    ON edu_student_record(importance, created_time DESC, id DESC)
+    ALGORITHM=INPLACE LOCK=NONE;
+
+-- 通知列表按类型筛选：idx_sys_notification_type_time 不含 id，按 id 倒序的次要排序仍需文件排序；
+-- 新索引以其为前缀（含 findByTypeOrderByCreatedTimeDesc 在内的按类型查询均可使用），旧索引随之删除，
+-- 避免每次写入通知维护两棵冗余索引
+CREATE INDEX idx_sys_notification_type_time_id
+    ON sys_notification(type, created_time DESC, id DESC)
+    ALGORITHM=INPLACE LOCK=NONE;
+
+DROP INDEX idx_sys_notification_type_time ON sys_notification
+    ALGORITHM=INPLACE LOCK=NONE;
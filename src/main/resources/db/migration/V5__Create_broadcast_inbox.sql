@@ -0,0 +1,50 @@
+-- 广播通知收件箱脚本（fan-out-on-read）
+-- V5__Create_broadcast_inbox.sql
+-- 全校/年级/班级通知只写入一行，读取时按用户受众合并，避免逐用户写入sys_notification
+-- 年级名称在各校之间重复，年级受众ID为“学校ID:年级”（BroadcastAudience.gradeAudienceId），受众键如 GRADE:1:高一
+
+USE home_school;
+
+-- 广播通知表
+CREATE TABLE IF NOT EXISTS sys_broadcast (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '广播ID',
+    title VARCHAR(100) NOT NULL COMMENT '标题',
+    content TEXT NOT NULL COMMENT '内容',
+    type ENUM('SYSTEM', 'RECORD', 'CLASS', 'STUDENT') NOT NULL COMMENT '通知类型',
+    audience_type ENUM('SCHOOL', 'GRADE', 'CLASS') NOT NULL COMMENT '受众范围',
+    audience_id VARCHAR(50) NOT NULL COMMENT '受众ID(学校ID/学校ID:年级/班级ID)',
+    audience_key VARCHAR(80) NOT NULL COMMENT '受众键(受众范围:受众ID)',
+    related_id BIGINT COMMENT '关联ID',
+    publisher_id BIGINT NOT NULL COMMENT '发布人ID',
+    created_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    updated_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    created_by BIGINT COMMENT '创建人ID',
+    updated_by BIGINT COMMENT '更新人ID',
+    deleted TINYINT(1) DEFAULT 0 COMMENT '逻辑删除标识',
+
+    INDEX idx_sys_broadcast_audience_time (audience_key, created_time DESC),
+    INDEX idx_sys_broadcast_audience_id (audience_key, id),
+    INDEX idx_sys_broadcast_publisher (publisher_id, created_time DESC)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='广播通知表';
+
+-- 广播已读记录表（仅保存阅读游标之后的零散已读）
+CREATE TABLE IF NOT EXISTS sys_broadcast_read (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '记录ID',
+    user_id BIGINT NOT NULL COMMENT '用户ID',
+    broadcast_id BIGINT NOT NULL COMMENT '广播ID',
+    read_time DATETIME NOT NULL COMMENT '阅读时间',
+
+    UNIQUE KEY uk_user_broadcast (user_id, broadcast_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='广播已读记录表';
+
+-- 广播阅读游标表（ID不大于游标的广播均视为已读）
+CREATE TABLE IF NOT EXISTS sys_broadcast_cursor (
+    user_id BIGINT PRIMARY KEY COMMENT '用户ID',
+    last_read_id BIGINT NOT NULL DEFAULT 0 COMMENT '已读的最大广播ID',
+    updated_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='广播阅读游标表';
+
+-- 个人通知信息流索引：按用户倒序分页
+CREATE INDEX idx_sys_notification_user_time ON sys_notification(user_id, created_time DESC);
+
+ANALYZE TABLE sys_notification;
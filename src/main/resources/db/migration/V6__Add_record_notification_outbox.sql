@@ -0,0 +1,18 @@
+-- 档案记录家长通知Outbox脚本
+-- V6__Add_record_notification_outbox.sql
+-- 待通知记录(is_public=1, parent_notified=0)作为Outbox，由分发任务通过 FOR UPDATE SKIP LOCKED 分批认领
+
+USE home_school;
+
+-- 1. 通知重试状态：尝试次数与下次尝试时间（指数退避）
+ALTER TABLE edu_student_record
+    ADD COLUMN notify_attempts INT NOT NULL DEFAULT 0 COMMENT '家长通知尝试次数',
+    ADD COLUMN notify_next_time DATETIME NULL COMMENT '下次通知尝试时间';
+
+-- 2. 存量记录视为已通知：迁移前的档案不再推送，分发任务只处理上线后新建的公开记录
+UPDATE edu_student_record SET parent_notified = 1 WHERE parent_notified = 0;
+
+-- 3. 复合索引：待通知记录认领（高重要程度优先，按ID顺序）
+CREATE INDEX idx_edu_record_notify_pending ON edu_student_record(parent_notified, is_public, importance, id);
+
+ANALYZE TABLE edu_student_record;
@@ -0,0 +1,18 @@
+-- 数据保留清理进度脚本
+-- V7__Create_retention_checkpoint.sql
+
+USE home_school;
+
+-- 清理任务检查点与租约表
+CREATE TABLE IF NOT EXISTS sys_retention_checkpoint (
+    job_name VARCHAR(50) PRIMARY KEY COMMENT '任务名称',
+    last_id BIGINT NOT NULL DEFAULT 0 COMMENT '最后处理到的ID',
+    cutoff_time DATETIME COMMENT '本轮清理截止时间',
+    deleted_rows BIGINT NOT NULL DEFAULT 0 COMMENT '本轮已删除行数',
+    lease_owner VARCHAR(100) COMMENT '租约持有者',
+    lease_until DATETIME COMMENT '租约到期时间',
+    updated_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='数据保留清理进度表';
+
+INSERT INTO sys_retention_checkpoint (job_name) VALUES ('sys_notification_retention')
+ON DUPLICATE KEY UPDATE job_name = job_name;
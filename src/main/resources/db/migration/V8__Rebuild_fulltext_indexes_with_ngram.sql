@@ -0,0 +1,14 @@
+-- 全文索引ngram重建脚本
+-- V8__Rebuild_fulltext_indexes_with_ngram.sql
+
+USE home_school;
+
+-- 默认全文解析器按空格分词，对中文无效；改用ngram解析器（分词长度由 ngram_token_size 控制，默认2）
+
+-- 学生档案记录：标题和内容
+DROP INDEX idx_edu_record_content_fulltext ON edu_student_record;
+CREATE FULLTEXT INDEX idx_edu_record_content_fulltext ON edu_student_record(title, content) WITH PARSER ngram;
+
+-- 学生：姓名
+DROP INDEX idx_edu_student_name_fulltext ON edu_student;
+CREATE FULLTEXT INDEX idx_edu_student_name_fulltext ON edu_student(name) WITH PARSER ngram;
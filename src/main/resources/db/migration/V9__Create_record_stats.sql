@@ -0,0 +1,137 @@
+-- 档案记录预聚合统计脚本
+-- V9__Create_record_stats.sql
+
+USE home_school;
+
+-- 档案记录日统计表（日期 × 学生 × 教师 × 类型 × 重要程度）
+-- 班级ID不属于统计粒度，与档案记录的 class_id 一致（即学生当前班级）：新增记录时取记录的班级，
+-- 学生调班时由应用同步改写该学生全部档案记录与统计行（ClassServiceImpl），不按记录当时的班级留存历史
+CREATE TABLE IF NOT EXISTS edu_record_stats (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '统计ID',
+    stat_date DATE NOT NULL COMMENT '统计日期（记录创建日期）',
+    student_id BIGINT NOT NULL COMMENT '学生ID',
+    class_id BIGINT NOT NULL DEFAULT 0 COMMENT '班级ID（同档案记录 class_id，学生当前班级；无班级为0）',
+    teacher_id BIGINT NOT NULL COMMENT '教师ID',
+    type VARCHAR(20) NOT NULL COMMENT '记录类型',
+    importance VARCHAR(20) NOT NULL COMMENT '重要程度',
+    record_count INT NOT NULL DEFAULT 0 COMMENT '记录数',
+    public_count INT NOT NULL DEFAULT 0 COMMENT '对家长公开的记录数',
+    notified_count INT NOT NULL DEFAULT 0 COMMENT '已通知家长的记录数',
+    last_record_time DATETIME COMMENT '最后记录时间',
+    updated_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+
+    UNIQUE KEY uk_record_stats_grain (stat_date, student_id, teacher_id, type, importance),
+    INDEX idx_record_stats_student (student_id, type),
+    INDEX idx_record_stats_class_date (class_id, stat_date),
+    INDEX idx_record_stats_teacher_date (teacher_id, stat_date),
+    INDEX idx_record_stats_type (type, importance)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='档案记录日统计表';
+
+-- 回填历史数据（档案记录的 class_id 列由 V10 增加，此时按学生当前班级回填，两者取值相同）
+INSERT INTO edu_record_stats (stat_date, student_id, class_id, teacher_id, type, importance,
+                              record_count, public_count, notified_count, last_record_time)
+SELECT DATE(r.created_time), r.student_id, IFNULL(s.class_id, 0), r.teacher_id, r.type, IFNULL(r.importance, 'MEDIUM'),
+       COUNT(*), SUM(IFNULL(r.is_public, 0)), SUM(IFNULL(r.parent_notified, 0)), MAX(r.created_time)
+FROM edu_student_record r
+LEFT JOIN edu_student s ON s.id = r.student_id
+WHERE r.deleted = 0 AND r.created_time IS NOT NULL
+GROUP BY DATE(r.created_time), r.student_id, IFNULL(s.class_id, 0), r.teacher_id, r.type, IFNULL(r.importance, 'MEDIUM');
+
+-- 增量维护：新增、修改（含逻辑删除）、物理删除时在同一事务内调整统计行
+
+DELIMITER $$
+
+CREATE TRIGGER trg_edu_record_stats_insert AFTER INSERT ON edu_student_record
+FOR EACH ROW
+BEGIN
+    IF NEW.deleted = 0 THEN
+        INSERT INTO edu_record_stats (stat_date, student_id, class_id, teacher_id, type, importance,
+                                      record_count, public_count, notified_count, last_record_time)
+        VALUES (DATE(IFNULL(NEW.created_time, NOW())), NEW.student_id,
+                IFNULL((SELECT class_id FROM edu_student WHERE id = NEW.student_id), 0),
+                NEW.teacher_id, NEW.type, IFNULL(NEW.importance, 'MEDIUM'),
+                1, IFNULL(NEW.is_public, 0), IFNULL(NEW.parent_notified, 0), IFNULL(NEW.created_time, NOW()))
+        ON DUPLICATE KEY UPDATE
+            record_count = record_count + 1,
+            public_count = public_count + IFNULL(NEW.is_public, 0),
+            notified_count = notified_count + IFNULL(NEW.parent_notified, 0),
+            last_record_time = GREATEST(IFNULL(last_record_time, NEW.created_time), IFNULL(NEW.created_time, NOW()));
+    END IF;
+END$$
+
+CREATE TRIGGER trg_edu_record_stats_update AFTER UPDATE ON edu_student_record
+FOR EACH ROW
+BEGIN
+    IF NOT (OLD.deleted <=> NEW.deleted AND OLD.student_id <=> NEW.student_id AND OLD.teacher_id <=> NEW.teacher_id
+            AND OLD.type <=> NEW.type AND OLD.importance <=> NEW.importance AND OLD.created_time <=> NEW.created_time
+            AND OLD.is_public <=> NEW.is_public AND OLD.parent_notified <=> NEW.parent_notified) THEN
+        IF OLD.deleted = 0 THEN
+            UPDATE edu_record_stats
+            SET record_count = record_count - 1,
+                public_count = public_count - IFNULL(OLD.is_public, 0),
+                notified_count = notified_count - IFNULL(OLD.parent_notified, 0)
+            WHERE stat_date = DATE(IFNULL(OLD.created_time, NOW())) AND student_id = OLD.student_id
+              AND teacher_id = OLD.teacher_id AND type = OLD.type AND importance = IFNULL(OLD.importance, 'MEDIUM');
+        END IF;
+        IF NEW.deleted = 0 THEN
+            INSERT INTO edu_record_stats (stat_date, student_id, class_id, teacher_id, type, importance,
+                                          record_count, public_count, notified_count, last_record_time)
+            VALUES (DATE(IFNULL(NEW.created_time, NOW())), NEW.student_id,
+                    IFNULL((SELECT class_id FROM edu_student WHERE id = NEW.student_id), 0),
+                    NEW.teacher_id, NEW.type, IFNULL(NEW.importance, 'MEDIUM'),
+                    1, IFNULL(NEW.is_public, 0), IFNULL(NEW.parent_notified, 0), IFNULL(NEW.created_time, NOW()))
+            ON DUPLICATE KEY UPDATE
+                record_count = record_count + 1,
+                public_count = public_count + IFNULL(NEW.is_public, 0),
+                notified_count = notified_count + IFNULL(NEW.parent_notified, 0),
+                last_record_time = GREATEST(IFNULL(last_record_time, NEW.created_time), IFNULL(NEW.created_time, NOW()));
+        END IF;
+    END IF;
+END$$
+
+CREATE TRIGGER trg_edu_record_stats_delete AFTER DELETE ON edu_student_record
+FOR EACH ROW
+BEGIN
+    IF OLD.deleted = 0 THEN
+        UPDATE edu_record_stats
+        SET record_count = record_count - 1,
+            public_count = public_count - IFNULL(OLD.is_public, 0),
+            notified_count = notified_count - IFNULL(OLD.parent_notified, 0)
+        WHERE stat_date = DATE(IFNULL(OLD.created_time, NOW())) AND student_id = OLD.student_id
+          AND teacher_id = OLD.teacher_id AND type = OLD.type AND importance = IFNULL(OLD.importance, 'MEDIUM');
+    END IF;
+END$$
+
+DELIMITER ;
+
+-- 学生档案统计视图改为读取预聚合统计表
+CREATE OR REPLACE VIEW v_student_record_statistics AS
+SELECT
+    s.id AS student_id,
+    s.name AS student_name,
+    c.name AS class_name,
+    c.grade,
+
+    IFNULL(SUM(CASE WHEN rs.type = 'PRAISE' THEN rs.record_count END), 0) AS praise_count,
+    IFNULL(SUM(CASE WHEN rs.type = 'CRITICISM' THEN rs.record_count END), 0) AS criticism_count,
+    IFNULL(SUM(CASE WHEN rs.type = 'NEUTRAL' THEN rs.record_count END), 0) AS neutral_count,
+    IFNULL(SUM(rs.record_count), 0) AS total_record_count,
+
+    IFNULL(SUM(CASE WHEN rs.importance = 'HIGH' THEN rs.record_count END), 0) AS high_importance_count,
+    IFNULL(SUM(CASE WHEN rs.importance = 'MEDIUM' THEN rs.record_count END), 0) AS medium_importance_count,
+    IFNULL(SUM(CASE WHEN rs.importance = 'LOW' THEN rs.record_count END), 0) AS low_importance_count,
+
+    MAX(CASE WHEN rs.record_count > 0 THEN rs.last_record_time END) AS last_record_time,
+
+    IFNULL(SUM(rs.public_count), 0) AS public_record_count,
+    IFNULL(SUM(rs.notified_count), 0) AS notified_record_count
+
+FROM edu_student s
+INNER JOIN edu_class c ON s.class_id = c.id
+LEFT JOIN edu_record_stats rs ON s.id = rs.student_id
+WHERE s.deleted = 0 AND c.deleted = 0
+GROUP BY s.id, s.name, c.name, c.grade;
+
+-- 统计对账任务租约
+INSERT INTO sys_retention_checkpoint (job_name) VALUES ('edu_record_stats_reconcile')
+ON DUPLICATE KEY UPDATE job_name = job_name;
@@ -0,0 +1,44 @@
+-- sys_notification按月分区脚本（可选）
+-- V7_1__Partition_sys_notification_by_month.sql
+--
+-- 不在默认迁移路径中，需要时显式启用：
+--   mvn flyway:migrate -Dflyway.locations=classpath:db/migration,classpath:db/optional -Dflyway.outOfOrder=true
+-- 分区后过期月份由NotificationRetentionPurger直接DROP PARTITION，后续月份分区由其自动从pmax中拆分预建。
+--
+-- 注意：
+-- 1. 分区表的每个唯一键都必须包含分区列，因此主键改为 (id, created_time)，created_time改为NOT NULL；
+-- 2. 对已有大表执行会重建整表，生产环境请使用 gh-ost / pt-online-schema-change 在线变更；
+-- 3. 查询条件需包含created_time范围才能裁剪分区，例如 countNotificationsByDay(startDate)：
+--      EXPLAIN SELECT DATE(created_time), COUNT(*) FROM sys_notification
+--      WHERE created_time >= DATE_SUB(NOW(), INTERVAL 30 DAY) GROUP BY DATE(created_time);
+--    partitions列应只包含最近两个月的分区及pmax（见performance_test.sql分区裁剪验证）。
+
+USE home_school;
+
+ALTER TABLE sys_notification
+    MODIFY created_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间';
+
+ALTER TABLE sys_notification
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_time);
+
+ALTER TABLE sys_notification
+    PARTITION BY RANGE COLUMNS(created_time) (
+        PARTITION p_history VALUES LESS THAN ('2026-01-01'),
+        PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+        PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+        PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+        PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+        PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+        PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+        PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+        PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+        PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+        PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+        PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+        PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+        PARTITION p202701 VALUES LESS THAN ('2027-02-01'),
+        PARTITION pmax VALUES LESS THAN (MAXVALUE)
+    );
+
+ANALYZE TABLE sys_notification;
@@ -43,6 +43,10 @@ EXPLAIN SELECT * FROM edu_student_record WHERE student_id = 1 ORDER BY created_t
 -- 测试通知用户索引效果
 EXPLAIN SELECT * FROM sys_notification WHERE user_id = 1 AND is_read = 0;
 
+-- 分区裁剪验证（仅在启用db/optional分区脚本后有意义，partitions列应只包含最近的分区）
+EXPLAIN SELECT DATE(created_time), COUNT(*) FROM sys_notification
+WHERE created_time >= DATE_SUB(NOW(), INTERVAL 30 DAY) GROUP BY DATE(created_time);
+
 -- 3. 复杂查询性能测试
 SELECT '3. 复杂查询性能测试' AS test_section;
 
@@ -0,0 +1,151 @@
+package com.school.cooperation.loadtest;
+
+import com.school.cooperation.loadtest.LoadStats.Summary;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 负载测试配置、基线与报告
+ * 读取 load-test.yml 中的场景规模、容差与基线；汇总结果写出 Markdown 报告，
+ * 记录模式下另写出本次结果供更新基线。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+final class LoadBaseline {
+
+    static final String RESOURCE = "load-test.yml";
+
+    static final Path REPORT_FILE = Path.of("target", "load-test-report.md");
+
+    static final Path ACTUAL_FILE = Path.of("target", "load-baseline-actual.yml");
+
+    private final Map<String, Scenario> scenarios = new LinkedHashMap<>();
+    private final Map<String, Map<String, Number>> baseline = new LinkedHashMap<>();
+    private double p95Increase;
+    private double p99Increase;
+    private double throughputDecrease;
+    private double maxErrorRate;
+
+    /**
+     * 场景规模：并发虚拟用户数、持续时间与每次操作后的思考时间
+     */
+    record Scenario(int users, int seconds, long thinkMillis) {
+    }
+
+    @SuppressWarnings("unchecked")
+    static LoadBaseline load() {
+        try (InputStream in = LoadBaseline.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("找不到负载测试配置: " + RESOURCE);
+            }
+            Map<String, Object> config = new Yaml().load(in);
+            LoadBaseline result = new LoadBaseline();
+            Map<String, Map<String, Number>> scenarios = (Map<String, Map<String, Number>>) config.get("scenarios");
+            scenarios.forEach((name, values) -> {
+                // 可用 -Dloadtest.parent-timeline.users=300 等临时覆盖
+                int users = Integer.getInteger("loadtest." + name + ".users", values.get("users").intValue());
+                int seconds = Integer.getInteger("loadtest." + name + ".seconds", values.get("seconds").intValue());
+                long think = Long.getLong("loadtest." + name + ".think-millis", values.get("think-millis").longValue());
+                result.scenarios.put(name, new Scenario(users, seconds, think));
+            });
+            Map<String, Number> tolerances = (Map<String, Number>) config.get("tolerances");
+            result.p95Increase = tolerances.get("p95-increase").doubleValue();
+            result.p99Increase = tolerances.get("p99-increase").doubleValue();
+            result.throughputDecrease = tolerances.get("throughput-decrease").doubleValue();
+            result.maxErrorRate = tolerances.get("max-error-rate").doubleValue();
+            Map<String, Map<String, Number>> baseline = (Map<String, Map<String, Number>>) config.get("baseline");
+            if (baseline != null) {
+                result.baseline.putAll(baseline);
+            }
+            return result;
+        } catch (IOException e) {
+            throw new IllegalStateException("读取负载测试配置失败: " + RESOURCE, e);
+        }
+    }
+
+    Scenario scenario(String name) {
+        Scenario scenario = scenarios.get(name);
+        if (scenario == null) {
+            throw new IllegalStateException("负载测试配置缺少场景: " + name);
+        }
+        return scenario;
+    }
+
+    /**
+     * 与基线比较，返回超出容差的问题；错误率不依赖基线始终检查
+     */
+    List<String> compare(Summary summary) {
+        List<String> problems = new ArrayList<>();
+        if (summary.errorRate() > maxErrorRate) {
+            problems.add(String.format(Locale.ROOT, "%s 错误率 %.2f%% 超过 %.2f%%",
+                    summary.name(), summary.errorRate() * 100, maxErrorRate * 100));
+        }
+        Map<String, Number> expected = baseline.get(summary.name());
+        if (expected == null) {
+            return problems;
+        }
+        check(problems, summary.name(), "p95", summary.p95(), expected.get("p95"), p95Increase);
+        check(problems, summary.name(), "p99", summary.p99(), expected.get("p99"), p99Increase);
+        Number throughput = expected.get("throughput");
+        if (throughput != null && summary.throughput() < throughput.doubleValue() * (1 - throughputDecrease)) {
+            problems.add(String.format(Locale.ROOT, "%s 吞吐量 %.1f/s 低于基线 %.1f/s 的 %.0f%%",
+                    summary.name(), summary.throughput(), throughput.doubleValue(), (1 - throughputDecrease) * 100));
+        }
+        return problems;
+    }
+
+    private static void check(List<String> problems, String name, String metric, double actual,
+                              Number expected, double tolerance) {
+        if (expected != null && actual > expected.doubleValue() * (1 + tolerance)) {
+            problems.add(String.format(Locale.ROOT, "%s %s %.1fms 超过基线 %.1fms 的 %.0f%%",
+                    name, metric, actual, expected.doubleValue(), (1 + tolerance) * 100));
+        }
+    }
+
+    /**
+     * 写出报告（及记录模式下的实际基线）
+     */
+    void write(List<Summary> summaries, List<String> problems, boolean writeActual) throws IOException {
+        Files.createDirectories(REPORT_FILE.getParent());
+        try (Writer writer = Files.newBufferedWriter(REPORT_FILE, StandardCharsets.UTF_8)) {
+            writer.write("# 负载测试报告\n\n");
+            writer.write("场景：" + scenarios + "\n\n");
+            writer.write("| 请求 | 次数 | 错误率 | 吞吐量(/s) | p50(ms) | p95(ms) | p99(ms) | max(ms) | 基线p95(ms) |\n");
+            writer.write("|---|---|---|---|---|---|---|---|---|\n");
+            for (Summary summary : summaries) {
+                Map<String, Number> expected = baseline.get(summary.name());
+                writer.write(String.format(Locale.ROOT, "| %s | %d | %.2f%% | %.1f | %.1f | %.1f | %.1f | %.1f | %s |\n",
+                        summary.name(), summary.count(), summary.errorRate() * 100, summary.throughput(),
+                        summary.p50(), summary.p95(), summary.p99(), summary.max(),
+                        expected != null && expected.get("p95") != null ? expected.get("p95") : "-"));
+            }
+            if (!problems.isEmpty()) {
+                writer.write("\n超出容差：\n\n");
+                for (String problem : problems) {
+                    writer.write("- " + problem + "\n");
+                }
+            }
+        }
+        if (writeActual) {
+            try (Writer writer = Files.newBufferedWriter(ACTUAL_FILE, StandardCharsets.UTF_8)) {
+                writer.write("baseline:\n");
+                for (Summary summary : summaries) {
+                    writer.write(String.format(Locale.ROOT, "  %s: { throughput: %.1f, p50: %.1f, p95: %.1f, p99: %.1f }\n",
+                            summary.name(), summary.throughput(), summary.p50(), summary.p95(), summary.p99()));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.school.cooperation.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 虚拟用户的HTTP会话
+ * 持有登录后的令牌；每次调用计入统计，HTTP 2xx 且响应体 code 为0才算成功，失败时返回null。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+final class LoadClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final LoadStats stats;
+    private final String scenario;
+    private String token;
+
+    LoadClient(HttpClient http, ObjectMapper objectMapper, String baseUrl, LoadStats stats, String scenario) {
+        this.http = http;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.stats = stats;
+        this.scenario = scenario;
+    }
+
+    /**
+     * 登录并保存令牌，返回是否成功
+     */
+    boolean login(String request, String path, String username, String password) {
+        JsonNode data = post(request, path, Map.of("username", username, "password", password));
+        token = data != null ? data.path("token").asText(null) : null;
+        return token != null;
+    }
+
+    JsonNode get(String request, String pathAndQuery) {
+        return send(request, builder(pathAndQuery).GET());
+    }
+
+    JsonNode post(String request, String path, Object body) {
+        return send(request, builder(path).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json(body))));
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode send(String request, HttpRequest.Builder builder) {
+        long start = System.nanoTime();
+        JsonNode data = null;
+        try {
+            HttpResponse<String> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 == 2) {
+                JsonNode body = objectMapper.readTree(response.body());
+                if (body.path("code").asInt(-1) == 0) {
+                    data = body.path("data");
+                }
+            }
+        } catch (IOException e) {
+            data = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        stats.record(scenario, request, System.nanoTime() - start, data != null);
+        return data;
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.school.cooperation.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 负载测试统计
+ * 按“场景.请求”记录每次调用的耗时与成败，场景结束后按场景实际运行时长计算吞吐量与分位数。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+final class LoadStats {
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private final Map<String, Double> scenarioSeconds = new ConcurrentHashMap<>();
+
+    /**
+     * 单个请求的统计汇总（耗时单位毫秒）
+     */
+    record Summary(String name, long count, long errors, double throughput,
+                   double p50, double p95, double p99, double max) {
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+
+    void record(String scenario, String request, long nanos, boolean success) {
+        series.computeIfAbsent(scenario + "." + request, name -> new Series()).add(nanos, success);
+    }
+
+    void scenarioFinished(String scenario, double seconds) {
+        scenarioSeconds.put(scenario, seconds);
+    }
+
+    List<Summary> summarize() {
+        List<Summary> summaries = new ArrayList<>();
+        new TreeMap<>(series).forEach((name, values) -> {
+            double seconds = scenarioSeconds.getOrDefault(name.substring(0, name.indexOf('.')), 1.0);
+            summaries.add(values.summarize(name, seconds));
+        });
+        return summaries;
+    }
+
+    private static final class Series {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void add(long nanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized Summary summarize(String name, double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Summary(name, count, errors, count / Math.max(seconds, 0.001),
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
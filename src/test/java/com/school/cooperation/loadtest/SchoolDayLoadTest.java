@@ -0,0 +1,285 @@
+package com.school.cooperation.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.cooperation.loadtest.LoadBaseline.Scenario;
+import com.school.cooperation.loadtest.LoadStats.Summary;
+import com.school.cooperation.support.MySqlTestDatabase;
+import com.school.cooperation.support.RequiresDocker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 上学日负载测试
+ * 以随机端口启动应用，连接 MySQL 与 Redis 容器（db/test-seed.sql 数据集），通过真实HTTP接口按
+ * load-test.yml 的规模依次运行两个阶段：
+ * <ol>
+ *     <li>早高峰登录：教师与家长集中登录</li>
+ *     <li>日间混合负载：家长浏览通知与档案时间线、教师查看班级并发布班级通知、管理员分页导出用户</li>
+ * </ol>
+ * 统计各请求的吞吐量、p50/p95/p99 与错误率，与基线比较，报告写入 target/load-test-report.md。
+ * 默认不运行：mvn test -Dtest=SchoolDayLoadTest -Dloadtest=true（开启后 Docker 不可用即失败，见 {@link RequiresDocker}）；
+ * 以 -Dloadtest.record=true 运行时只记录不断言，结果写入 target/load-baseline-actual.yml。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.query-guard.fail-on-exceed=false",
+        "spring.datasource.hikari.maximum-pool-size=20",
+        "logging.level.com.school.cooperation=WARN"
+})
+@ActiveProfiles("test")
+// 条件按声明顺序求值：未开启负载测试时先被跳过，不做Docker检查
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@RequiresDocker
+class SchoolDayLoadTest {
+
+    private static final String PASSWORD = "Load123";
+
+    private static final boolean RECORD = Boolean.getBoolean("loadtest.record");
+
+    private static final long SEED = 20240901L;
+
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    /**
+     * 有班主任且状态正常的班级（班级c的班主任为 teacher+c，每20名教师一个未激活，36班已停用）
+     */
+    private static final List<Integer> TEACHER_CLASSES = IntStream.rangeClosed(1, 35)
+            .filter(c -> c % 20 != 0).boxed().toList();
+
+    /**
+     * 状态正常的家长序号（每50人一个停用，覆盖了每200人一个的已删除账号）
+     */
+    private static final List<Integer> PARENTS = IntStream.rangeClosed(1, 1600)
+            .filter(n -> n % 50 != 0).boxed().toList();
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        MySqlTestDatabase.register(registry);
+        REDIS.start();
+        registry.add("spring.data.redis.host", REDIS::getHost);
+        registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+        registry.add("spring.cache.type", () -> "redis");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final LoadBaseline config = LoadBaseline.load();
+    private final LoadStats stats = new LoadStats();
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    /**
+     * 虚拟用户的一步操作
+     */
+    @FunctionalInterface
+    private interface Step {
+        void run(LoadClient client, int user, SplittableRandom random) throws InterruptedException;
+    }
+
+    @Test
+    void schoolDay() throws Exception {
+        jdbcTemplate.update("UPDATE sys_user SET password = ?", passwordEncoder.encode(PASSWORD));
+
+        // 阶段一：早高峰登录（单独运行，登录受BCrypt计算限制）
+        AtomicInteger next = new AtomicInteger();
+        runScenario("morning-login", null, (client, user, random) -> {
+            int k = next.getAndIncrement();
+            if (k % 10 == 0) {
+                int c = TEACHER_CLASSES.get(k / 10 % TEACHER_CLASSES.size());
+                client.login("teacherLogin", "/api/v1/auth/login", teacher(c), PASSWORD);
+            } else {
+                client.login("parentLogin", "/api/v1/auth/parent-login", parent(PARENTS.get(k % PARENTS.size())), PASSWORD);
+            }
+        });
+
+        // 阶段二：日间混合负载
+        CompletableFuture.allOf(
+                CompletableFuture.runAsync(() -> runScenario("parent-timeline", this::parentLogin, this::parentBrowse)),
+                CompletableFuture.runAsync(() -> runScenario("teacher-class", this::teacherLogin, this::teacherReview)),
+                CompletableFuture.runAsync(() -> runScenario("admin-export", this::adminLogin, this::adminExport))
+        ).get();
+
+        List<Summary> summaries = stats.summarize();
+        List<String> problems = new ArrayList<>();
+        summaries.forEach(summary -> problems.addAll(config.compare(summary)));
+        config.write(summaries, problems, RECORD);
+        if (!RECORD) {
+            assertThat(problems).as("负载测试结果超出容差，详见 " + LoadBaseline.REPORT_FILE).isEmpty();
+        }
+    }
+
+    private void parentLogin(LoadClient client, int user, SplittableRandom random) {
+        client.login("login", "/api/v1/auth/parent-login", parent(PARENTS.get(user % PARENTS.size())), PASSWORD);
+    }
+
+    /**
+     * 家长：通知信息流、未读数、孩子档案时间线（两页）与一条记录详情
+     */
+    private void parentBrowse(LoadClient client, int user, SplittableRandom random) {
+        int n = PARENTS.get(user % PARENTS.size());
+        // 家长1-1440为学生n的主要联系人，1441-1600为学生1-160的另一位家长
+        int student = n <= 1440 ? n : n - 1440;
+        client.get("feed", "/api/notifications/feed?size=20");
+        client.get("unreadCount", "/api/notifications/unread-count");
+        JsonNode page = client.get("timeline", "/api/records/timeline?size=20&studentId=" + student);
+        if (page == null) {
+            return;
+        }
+        if (page.path("hasMore").asBoolean()) {
+            // 在线与归档各自一组游标，某一路本页未取到记录时游标为空
+            StringBuilder next = new StringBuilder("/api/records/timeline?size=20&studentId=").append(student);
+            if (page.hasNonNull("nextBeforeTime")) {
+                next.append("&beforeTime=").append(encode(page.path("nextBeforeTime").asText()))
+                        .append("&beforeId=").append(page.path("nextBeforeId").asLong());
+            }
+            if (page.hasNonNull("nextArchiveBeforeTime")) {
+                next.append("&archiveBeforeTime=").append(encode(page.path("nextArchiveBeforeTime").asText()))
+                        .append("&archiveBeforeId=").append(page.path("nextArchiveBeforeId").asLong());
+            }
+            client.get("timelineNextPage", next.toString());
+        }
+        JsonNode items = page.path("items");
+        if (items.size() > 0) {
+            client.get("recordDetail", "/api/records/" + items.get(random.nextInt(items.size())).path("id").asLong());
+        }
+    }
+
+    private void teacherLogin(LoadClient client, int user, SplittableRandom random) {
+        client.login("login", "/api/v1/auth/login", teacher(TEACHER_CLASSES.get(user % TEACHER_CLASSES.size())), PASSWORD);
+    }
+
+    /**
+     * 教师：班级学生名单、抽查三名学生的时间线、班级统计，约每十轮发布一次班级通知
+     */
+    private void teacherReview(LoadClient client, int user, SplittableRandom random) {
+        int c = TEACHER_CLASSES.get(user % TEACHER_CLASSES.size());
+        JsonNode students = client.get("classStudents", "/api/classes/" + c + "/students");
+        if (students != null && students.size() > 0) {
+            for (int i = 0; i < 3; i++) {
+                long student = students.get(random.nextInt(students.size())).path("id").asLong();
+                client.get("studentTimeline", "/api/records/timeline?size=20&studentId=" + student);
+            }
+        }
+        client.get("classStatistics", "/api/classes/" + c + "/statistics");
+        client.get("unreadCount", "/api/notifications/unread-count");
+        if (random.nextInt(10) == 0) {
+            client.post("publishBroadcast", "/api/notifications/broadcasts", Map.of(
+                    "title", "班级通知", "content", "明天上午第二节课后进行班级大扫除，请提醒孩子带好抹布。",
+                    "type", "CLASS", "audienceType", "CLASS", "audienceId", String.valueOf(c)));
+        }
+    }
+
+    private void adminLogin(LoadClient client, int user, SplittableRandom random) {
+        client.login("login", "/api/v1/auth/login", "admin", PASSWORD);
+    }
+
+    /**
+     * 管理员：按键集游标分页拉取全部用户（每页200条）并查看统计
+     */
+    private void adminExport(LoadClient client, int user, SplittableRandom random) {
+        String cursor = "";
+        for (int pages = 0; pages < 1000; pages++) {
+            JsonNode page = client.get("usersPage", "/api/users/search/page?size=200" + cursor);
+            if (page == null || !page.path("hasMore").asBoolean()) {
+                break;
+            }
+            JsonNode next = page.path("nextCursor");
+            cursor = "&cursorTime=" + encode(next.path("createdTime").asText()) + "&cursorId=" + next.path("id").asLong();
+        }
+        client.get("userStatistics", "/api/users/statistics");
+        client.get("statusStatistics", "/api/users/status-statistics");
+    }
+
+    /**
+     * 以固定数量的虚拟用户循环执行操作直到场景时长结束，每个虚拟用户先执行一次准备步骤
+     */
+    private void runScenario(String name, Step setup, Step iteration) {
+        Scenario scenario = config.scenario(name);
+        String baseUrl = "http://localhost:" + port;
+        ExecutorService pool = Executors.newFixedThreadPool(scenario.users());
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(scenario.seconds());
+        for (int u = 0; u < scenario.users(); u++) {
+            int user = u;
+            pool.submit(() -> {
+                LoadClient client = new LoadClient(http, objectMapper, baseUrl, stats, name);
+                SplittableRandom random = new SplittableRandom(SEED ^ ((long) name.hashCode() << 20) ^ user);
+                try {
+                    if (setup != null) {
+                        setup.run(client, user, random);
+                    }
+                    while (System.nanoTime() < deadline) {
+                        iteration.run(client, user, random);
+                        if (scenario.thinkMillis() > 0) {
+                            Thread.sleep(random.nextLong(scenario.thinkMillis() / 2, scenario.thinkMillis() * 3 / 2 + 1));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            });
+        }
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(scenario.seconds() + 120L, TimeUnit.SECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pool.shutdownNow();
+        }
+        stats.scenarioFinished(name, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static String teacher(int classId) {
+        return String.format("teacher%03d", classId);
+    }
+
+    private static String parent(int n) {
+        return String.format("parent%04d", n);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
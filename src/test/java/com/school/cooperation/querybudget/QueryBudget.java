@@ -0,0 +1,81 @@
+package com.school.cooperation.querybudget;
+
+import com.school.cooperation.support.SqlCounter;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 接口SQL预算文件
+ * 读取 query-budget.yml，记录模式下把实际计数写回 target 目录供核对。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+final class QueryBudget {
+
+    static final String RESOURCE = "query-budget.yml";
+
+    static final Path ACTUAL_FILE = Path.of("target", "query-budget-actual.yml");
+
+    private final Map<String, Map<String, Integer>> budgets;
+    private final Map<String, Map<String, Integer>> actuals = new LinkedHashMap<>();
+
+    private QueryBudget(Map<String, Map<String, Integer>> budgets) {
+        this.budgets = budgets;
+    }
+
+    static QueryBudget load() {
+        try (InputStream in = QueryBudget.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("找不到预算文件: " + RESOURCE);
+            }
+            Map<String, Map<String, Integer>> budgets = new Yaml().load(in);
+            return new QueryBudget(budgets != null ? budgets : new LinkedHashMap<>());
+        } catch (IOException e) {
+            throw new IllegalStateException("读取预算文件失败: " + RESOURCE, e);
+        }
+    }
+
+    boolean contains(String endpoint) {
+        return budgets.containsKey(endpoint);
+    }
+
+    int statements(String endpoint) {
+        return budgets.get(endpoint).get("statements");
+    }
+
+    int rows(String endpoint) {
+        return budgets.get(endpoint).get("rows");
+    }
+
+    void record(String endpoint, SqlCounter.Counts counts) {
+        Map<String, Integer> actual = new LinkedHashMap<>();
+        actual.put("statements", counts.getStatements());
+        actual.put("rows", counts.getRows());
+        actuals.put(endpoint, actual);
+    }
+
+    /**
+     * 写出本次运行的实际计数
+     */
+    void writeActuals() throws IOException {
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.FLOW);
+        options.setPrettyFlow(false);
+        Files.createDirectories(ACTUAL_FILE.getParent());
+        try (Writer writer = Files.newBufferedWriter(ACTUAL_FILE, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Map<String, Integer>> entry : actuals.entrySet()) {
+                writer.write(entry.getKey() + ": " + new Yaml(options).dump(entry.getValue()));
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.school.cooperation.querybudget;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.cooperation.support.MySqlTestDatabase;
+import com.school.cooperation.support.RequiresDocker;
+import com.school.cooperation.support.SqlCounter;
+import com.school.cooperation.support.SqlCountingConfig;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * 接口SQL预算回归测试
+ * 在 MySQL 容器与 db/test-seed.sql 数据集上逐个调用用户、班级、认证接口，
+ * 统计每次调用执行的语句数与读取的行数，超出 query-budget.yml 中的预算即失败。
+ * 只统计SQL，不校验业务结果；读接口先执行，写接口随后按顺序执行，删除类放在最后。
+ * 以 -Dquery-budget.record=true 运行时只记录不断言，实际值写入 target/query-budget-actual.yml。
+ * Docker 不可用时测试失败而不是静默通过，见 {@link RequiresDocker}。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@RequiresDocker
+@Import(SqlCountingConfig.class)
+class QueryBudgetTest {
+
+    private static final String PASSWORD = "Budget123";
+
+    private static final boolean RECORD = Boolean.getBoolean("query-budget.record");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        MySqlTestDatabase.register(registry);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final QueryBudget budget = QueryBudget.load();
+
+    private String adminToken;
+    private String teacherToken;
+    private String refreshToken;
+    private Long createdClassId;
+
+    @TestFactory
+    Stream<DynamicTest> endpointsStayWithinBudget() throws Exception {
+        prepareAccounts();
+        List<Call> calls = calls();
+
+        List<DynamicTest> tests = new ArrayList<>();
+        tests.add(DynamicTest.dynamicTest("预算文件覆盖所有用例", () -> {
+            Set<String> endpoints = new TreeSet<>();
+            calls.forEach(call -> endpoints.add(call.endpoint()));
+            assertThat(endpoints).allMatch(budget::contains, "在 " + QueryBudget.RESOURCE + " 中有预算");
+        }));
+        for (Call call : calls) {
+            tests.add(DynamicTest.dynamicTest(call.endpoint(), () -> run(call)));
+        }
+        if (RECORD) {
+            tests.add(DynamicTest.dynamicTest("写出实际计数", budget::writeActuals));
+        }
+        return tests.stream();
+    }
+
+    /**
+     * 统一测试账号密码并取得令牌（不计入预算）
+     */
+    private void prepareAccounts() throws Exception {
+        jdbcTemplate.update("UPDATE sys_user SET password = ?", passwordEncoder.encode(PASSWORD));
+        JsonNode admin = data(mockMvc.perform(login("/api/v1/auth/login", "admin", PASSWORD)).andReturn());
+        adminToken = admin.path("token").asText();
+        refreshToken = admin.path("refreshToken").asText();
+        teacherToken = data(mockMvc.perform(login("/api/v1/auth/login", "teacher002", PASSWORD)).andReturn())
+                .path("token").asText();
+    }
+
+    private void run(Call call) throws Exception {
+        MockHttpServletRequestBuilder request = call.request().build();
+        MvcResult result;
+        SqlCounter.Counts counts;
+        SqlCounter.start();
+        try {
+            result = mockMvc.perform(request).andReturn();
+        } finally {
+            counts = SqlCounter.stop();
+        }
+        if (call.after() != null) {
+            call.after().accept(result);
+        }
+        budget.record(call.endpoint(), counts);
+
+        // 未通过认证时几乎不执行SQL，会掩盖回归
+        assertThat(result.getResponse().getStatus()).as("%s 响应状态", call.endpoint()).isNotIn(401, 403);
+        if (!RECORD) {
+            assertThat(counts.getStatements()).as("%s 语句数", call.endpoint())
+                    .isLessThanOrEqualTo(budget.statements(call.endpoint()));
+            assertThat(counts.getRows()).as("%s 读取行数", call.endpoint())
+                    .isLessThanOrEqualTo(budget.rows(call.endpoint()));
+        }
+    }
+
+    private List<Call> calls() {
+        List<Call> calls = new ArrayList<>();
+
+        // 认证：只读
+        calls.add(new Call("AuthController.validateToken", () -> admin(get("/api/v1/auth/validate"))));
+        calls.add(new Call("AuthController.getCurrentUser", () -> admin(get("/api/v1/auth/me"))));
+        calls.add(new Call("AuthController.refreshToken", () -> admin(post("/api/v1/auth/refresh"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("refreshToken", refreshToken)))));
+
+        // 用户：只读
+        calls.add(new Call("UserController.getUsers", () -> admin(get("/api/users")
+                .param("page", "1").param("pageSize", "20"))));
+        calls.add(new Call("UserController.getCurrentUser", () -> admin(get("/api/users/current"))));
+        calls.add(new Call("UserController.getUserById", () -> admin(get("/api/users/101"))));
+        calls.add(new Call("UserController.getUsersByRole", () -> admin(get("/api/users/role/TEACHER"))));
+        calls.add(new Call("UserController.getUsersByStatus", () -> admin(get("/api/users/status/SUSPENDED"))));
+        calls.add(new Call("UserController.getAdminUsers", () -> admin(get("/api/users/admins"))));
+        calls.add(new Call("UserController.getTeacherUsers", () -> admin(get("/api/users/teachers"))));
+        calls.add(new Call("UserController.getParentUsers", () -> admin(get("/api/users/parents"))));
+        calls.add(new Call("UserController.searchUsers", () -> admin(get("/api/users/search")
+                .param("role", "TEACHER").param("status", "ACTIVE"))));
+        calls.add(new Call("UserController.searchUsersPage", () -> admin(get("/api/users/search/page")
+                .param("role", "PARENT").param("size", "20"))));
+        calls.add(new Call("UserController.searchUsersByName", () -> admin(get("/api/users/search/by-name")
+                .param("realName", "王老师"))));
+        calls.add(new Call("UserController.getUserStatisticsByRole", () -> admin(get("/api/users/statistics"))));
+        calls.add(new Call("UserController.getUserStatisticsByStatus", () -> admin(get("/api/users/status-statistics"))));
+        calls.add(new Call("UserController.getInactiveUsers", () -> admin(get("/api/users/inactive-users")
+                .param("days", "30"))));
+
+        // 班级：只读
+        calls.add(new Call("ClassController.getAllClasses", () -> admin(get("/api/classes"))));
+        calls.add(new Call("ClassController.getClassById", () -> admin(get("/api/classes/1"))));
+        calls.add(new Call("ClassController.getClassesByStatus", () -> admin(get("/api/classes/status/ACTIVE"))));
+        calls.add(new Call("ClassController.getClassesByGrade", () -> admin(get("/api/classes/grade/1"))));
+        calls.add(new Call("ClassController.getClassesByTeacher", () -> admin(get("/api/classes/teacher/101"))));
+        calls.add(new Call("ClassController.getStudentsByClass", () -> admin(get("/api/classes/1/students"))));
+        calls.add(new Call("ClassController.getTeacherByClass", () -> admin(get("/api/classes/1/teacher"))));
+        calls.add(new Call("ClassController.getClassStatistics", () -> admin(get("/api/classes/1/statistics"))));
+
+        // 认证：写
+        calls.add(new Call("AuthController.login", () -> login("/api/v1/auth/login", "school_admin", PASSWORD)));
+        calls.add(new Call("AuthController.parentLogin", () -> login("/api/v1/auth/parent-login", "parent0001", PASSWORD)));
+        calls.add(new Call("AuthController.changePassword", () -> bearer(post("/api/v1/auth/change-password"), teacherToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("oldPassword", PASSWORD, "newPassword", "Budget456", "confirmPassword", "Budget456")))));
+        calls.add(new Call("AuthController.register", () -> admin(post("/api/v1/auth/register"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(user("budget_parent", "PARENT", "13500000002")))));
+        calls.add(new Call("AuthController.resetPassword", () -> post("/api/v1/auth/reset-password")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("username", "parent0002", "newPassword", "Budget456", "confirmPassword", "Budget456")))));
+
+        // 用户：写
+        calls.add(new Call("UserController.createUser", () -> admin(post("/api/users"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(user("budget_teacher", "TEACHER", "13500000001")))));
+        calls.add(new Call("UserController.updateUser", () -> admin(put("/api/users/2597"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("username", "parent1597", "realName", "预算家长", "status", "ACTIVE",
+                        "phone", "13700001597", "email", "parent1597@homeschool.test")))));
+        calls.add(new Call("UserController.deactivateUser", () -> admin(put("/api/users/159/deactivate"))));
+        calls.add(new Call("UserController.activateUser", () -> admin(put("/api/users/159/activate"))));
+        calls.add(new Call("UserController.resetPassword", () -> admin(put("/api/users/2598/reset-password")
+                .param("newPassword", "Budget456"))));
+        calls.add(new Call("UserController.batchUpdateUserStatus", () -> admin(put("/api/users/batch-status")
+                .param("userIds", "2593", "2594", "2595").param("status", "SUSPENDED"))));
+        calls.add(new Call("UserController.deleteUser", () -> admin(delete("/api/users/2596"))));
+        calls.add(new Call("UserController.batchDeleteUsers", () -> admin(delete("/api/users/batch")
+                .param("userIds", "2591", "2592"))));
+
+        // 班级：写
+        calls.add(new Call("ClassController.createClass", () -> admin(post("/api/classes"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("className", "预算测试班", "grade", "6", "teacherId", 158,
+                        "description", "查询预算用例"))),
+                result -> createdClassId = data(result).path("id").asLong()));
+        calls.add(new Call("ClassController.updateClass", () -> admin(put("/api/classes/35"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("className", "6年级5班", "grade", "6", "teacherId", 135,
+                        "description", "测试班级35", "status", "ACTIVE")))));
+        calls.add(new Call("ClassController.assignTeacher", () -> admin(put("/api/classes/35/assign-teacher")
+                .param("teacherId", "157"))));
+        calls.add(new Call("ClassController.removeTeacher", () -> admin(put("/api/classes/35/remove-teacher"))));
+        calls.add(new Call("ClassController.addStudentToClass", () -> admin(post("/api/classes/35/add-student")
+                .param("studentId", "1"))));
+        calls.add(new Call("ClassController.removeStudentFromClass", () -> admin(delete("/api/classes/35/remove-student/1"))));
+        calls.add(new Call("ClassController.addStudentsToClass", () -> admin(post("/api/classes/34/add-students"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(List.of(2, 3, 4, 5, 6)))));
+        calls.add(new Call("ClassController.removeStudentsFromClass", () -> admin(delete("/api/classes/34/remove-students"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(List.of(2, 3)))));
+        calls.add(new Call("ClassController.deactivateClass", () -> admin(put("/api/classes/35/deactivate"))));
+        calls.add(new Call("ClassController.activateClass", () -> admin(put("/api/classes/35/activate"))));
+        calls.add(new Call("ClassController.deleteClass", () -> admin(delete("/api/classes/" + createdClassId))));
+
+        // 最后登出
+        calls.add(new Call("AuthController.logout", () -> admin(post("/api/v1/auth/logout"))));
+        return calls;
+    }
+
+    private MockHttpServletRequestBuilder login(String path, String username, String password) throws Exception {
+        return post(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("username", username, "password", password)));
+    }
+
+    private MockHttpServletRequestBuilder admin(MockHttpServletRequestBuilder request) {
+        return bearer(request, adminToken);
+    }
+
+    private static MockHttpServletRequestBuilder bearer(MockHttpServletRequestBuilder request, String token) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+
+    private static Map<String, Object> user(String username, String role, String phone) {
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("username", username);
+        user.put("password", PASSWORD);
+        user.put("realName", "预算用户");
+        user.put("role", role);
+        user.put("phone", phone);
+        user.put("email", username + "@homeschool.test");
+        return user;
+    }
+
+    private String json(Object value) throws Exception {
+        return objectMapper.writeValueAsString(value);
+    }
+
+    private JsonNode data(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString()).path("data");
+    }
+
+    /**
+     * 一次接口调用；请求在执行时才构造，以便引用前序调用的结果
+     */
+    private record Call(String endpoint, RequestFactory request, ResultHandler after) {
+
+        Call(String endpoint, RequestFactory request) {
+            this(endpoint, request, null);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        MockHttpServletRequestBuilder build() throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface ResultHandler {
+        void accept(MvcResult result) throws Exception;
+    }
+}
@@ -0,0 +1,125 @@
+package com.school.cooperation.queryplan;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.cooperation.support.SqlRecorder.RecordedStatement;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 执行计划检查
+ * 在独立连接上以相同参数执行 EXPLAIN FORMAT=JSON，按预估行数标记全表扫描、文件排序和临时表；
+ * 严格模式（必须走索引的用例）下不论行数一律标记。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+final class PlanInspector {
+
+    /**
+     * 计划问题类型
+     */
+    enum IssueType {
+        FULL_SCAN,
+        FILESORT,
+        TEMPORARY
+    }
+
+    /**
+     * 单个计划问题
+     */
+    record Issue(IssueType type, String table, long rows) {
+
+        String describe() {
+            return type + "(" + table + ", ~" + rows + " rows)";
+        }
+    }
+
+    /**
+     * 单条语句的计划
+     */
+    record Plan(String sql, List<Issue> issues) {
+    }
+
+    private final Connection connection;
+    private final ObjectMapper objectMapper;
+    private final Map<IssueType, Long> thresholds;
+
+    PlanInspector(Connection connection, ObjectMapper objectMapper, Map<IssueType, Long> thresholds) {
+        this.connection = connection;
+        this.objectMapper = objectMapper;
+        this.thresholds = thresholds;
+    }
+
+    Plan explain(RecordedStatement statement, boolean strict) throws SQLException, IOException {
+        String json;
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN FORMAT=JSON " + statement.sql())) {
+            statement.bind(explain);
+            try (ResultSet rs = explain.executeQuery()) {
+                rs.next();
+                json = rs.getString(1);
+            }
+        }
+        List<Issue> issues = new ArrayList<>();
+        inspect(objectMapper.readTree(json), strict, issues);
+        return new Plan(statement.sql(), issues);
+    }
+
+    private void inspect(JsonNode node, boolean strict, List<Issue> issues) {
+        if (node.isArray()) {
+            node.forEach(child -> inspect(child, strict, issues));
+            return;
+        }
+        if (!node.isObject()) {
+            return;
+        }
+        if (node.has("table_name") && "ALL".equals(node.path("access_type").asText())) {
+            flag(IssueType.FULL_SCAN, node.path("table_name").asText(), node.path("rows_examined_per_scan").asLong(), strict, issues);
+        }
+        if (node.path("using_filesort").asBoolean(false)) {
+            flag(IssueType.FILESORT, firstTable(node), maxRows(node), strict, issues);
+        }
+        if (node.path("using_temporary_table").asBoolean(false)) {
+            flag(IssueType.TEMPORARY, firstTable(node), maxRows(node), strict, issues);
+        }
+        for (Iterator<JsonNode> it = node.elements(); it.hasNext(); ) {
+            inspect(it.next(), strict, issues);
+        }
+    }
+
+    private void flag(IssueType type, String table, long rows, boolean strict, List<Issue> issues) {
+        if (strict || rows > thresholds.get(type)) {
+            issues.add(new Issue(type, table, rows));
+        }
+    }
+
+    /**
+     * 节点下各表预估产出行数的最大值（排序与临时表的规模）
+     */
+    private static long maxRows(JsonNode node) {
+        long max = 0;
+        if (node.has("table_name")) {
+            max = Math.max(node.path("rows_produced_per_join").asLong(), node.path("rows_examined_per_scan").asLong());
+        }
+        for (Iterator<JsonNode> it = node.elements(); it.hasNext(); ) {
+            JsonNode child = it.next();
+            if (child.isContainerNode()) {
+                max = Math.max(max, maxRows(child));
+            }
+        }
+        return max;
+    }
+
+    private static String firstTable(JsonNode node) {
+        JsonNode table = node.findValue("table_name");
+        return table != null ? table.asText() : "?";
+    }
+}
@@ -0,0 +1,178 @@
+package com.school.cooperation.queryplan;
+
+import com.school.cooperation.queryplan.PlanInspector.IssueType;
+import com.school.cooperation.queryplan.PlanInspector.Plan;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 执行计划基线与报告
+ * 读取 query-plan.yml 中的行数阈值、必须走索引的用例与已知问题基线；汇总每个用例的计划，写出 Markdown 报告，
+ * 记录模式下另写出实际问题集合供更新基线。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+final class QueryPlanBaseline {
+
+    static final String RESOURCE = "query-plan.yml";
+
+    static final Path REPORT_FILE = Path.of("target", "query-plan-report.md");
+
+    static final Path ACTUAL_FILE = Path.of("target", "query-plan-baseline-actual.yml");
+
+    private final Map<IssueType, Long> thresholds = new EnumMap<>(IssueType.class);
+    private final Set<String> indexed = new TreeSet<>();
+    private final Map<String, Set<IssueType>> baseline = new LinkedHashMap<>();
+    private final Map<String, CaseResult> results = new LinkedHashMap<>();
+
+    /**
+     * 单个用例的结果
+     */
+    record CaseResult(String name, List<Plan> plans, Set<IssueType> found, Set<IssueType> unexpected, String error) {
+    }
+
+    @SuppressWarnings("unchecked")
+    static QueryPlanBaseline load() {
+        try (InputStream in = QueryPlanBaseline.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("找不到执行计划配置: " + RESOURCE);
+            }
+            Map<String, Object> config = new Yaml().load(in);
+            QueryPlanBaseline result = new QueryPlanBaseline();
+            Map<String, Number> thresholds = (Map<String, Number>) config.getOrDefault("thresholds", Map.of());
+            for (IssueType type : IssueType.values()) {
+                // 可用 -Dquery-plan.threshold.FULL_SCAN=5000 等临时覆盖
+                Long override = Long.getLong("query-plan.threshold." + type.name());
+                Number configured = thresholds.get(type.name());
+                result.thresholds.put(type, override != null ? override : configured != null ? configured.longValue() : 1000L);
+            }
+            result.indexed.addAll((List<String>) config.getOrDefault("indexed", List.of()));
+            Map<String, List<String>> baseline = (Map<String, List<String>>) config.get("baseline");
+            if (baseline != null) {
+                baseline.forEach((name, types) -> {
+                    if (result.indexed.contains(name)) {
+                        throw new IllegalStateException("必须走索引的用例不能出现在基线中: " + name);
+                    }
+                    Set<IssueType> allowed = EnumSet.noneOf(IssueType.class);
+                    types.forEach(type -> allowed.add(IssueType.valueOf(type)));
+                    result.baseline.put(name, allowed);
+                });
+            }
+            return result;
+        } catch (IOException e) {
+            throw new IllegalStateException("读取执行计划配置失败: " + RESOURCE, e);
+        }
+    }
+
+    Map<IssueType, Long> thresholds() {
+        return thresholds;
+    }
+
+    /**
+     * 是否为必须走索引的用例
+     */
+    boolean isIndexed(String name) {
+        return indexed.contains(name);
+    }
+
+    /**
+     * 登记用例结果，返回基线之外的新问题
+     */
+    CaseResult record(String name, List<Plan> plans) {
+        Set<IssueType> found = EnumSet.noneOf(IssueType.class);
+        plans.forEach(plan -> plan.issues().forEach(issue -> found.add(issue.type())));
+        Set<IssueType> unexpected = EnumSet.noneOf(IssueType.class);
+        unexpected.addAll(found);
+        unexpected.removeAll(baseline.getOrDefault(name, Set.of()));
+        CaseResult result = new CaseResult(name, plans, found, unexpected, null);
+        results.put(name, result);
+        return result;
+    }
+
+    void recordError(String name, String error) {
+        results.put(name, new CaseResult(name, List.of(), Set.of(), Set.of(), error));
+    }
+
+    /**
+     * 写出报告（及记录模式下的实际基线）
+     */
+    void write(boolean writeActual) throws IOException {
+        Files.createDirectories(REPORT_FILE.getParent());
+        try (Writer writer = Files.newBufferedWriter(REPORT_FILE, StandardCharsets.UTF_8)) {
+            writer.write("# 执行计划报告\n\n");
+            writer.write("阈值：" + thresholds + "\n\n");
+            writer.write("| 用例 | 状态 | 问题 | SQL |\n|---|---|---|---|\n");
+            for (CaseResult result : results.values()) {
+                writer.write("| " + result.name() + " | " + status(result) + " | " + issues(result) + " | "
+                        + sql(result) + " |\n");
+            }
+            List<String> stale = new ArrayList<>();
+            baseline.forEach((name, allowed) -> {
+                CaseResult result = results.get(name);
+                if (result != null && result.error() == null && !result.found().containsAll(allowed)) {
+                    stale.add(name);
+                }
+            });
+            if (!stale.isEmpty()) {
+                writer.write("\n基线中已不再出现的问题（可从 " + RESOURCE + " 移除）：\n\n");
+                for (String name : stale) {
+                    writer.write("- " + name + "\n");
+                }
+            }
+        }
+        if (writeActual) {
+            try (Writer writer = Files.newBufferedWriter(ACTUAL_FILE, StandardCharsets.UTF_8)) {
+                writer.write("baseline:\n");
+                for (CaseResult result : results.values()) {
+                    if (!result.found().isEmpty() && !indexed.contains(result.name())) {
+                        writer.write("  " + result.name() + ": " + new TreeSet<>(result.found().stream().map(Enum::name).toList()) + "\n");
+                    }
+                }
+            }
+        }
+    }
+
+    private String status(CaseResult result) {
+        if (result.error() != null) {
+            return "ERROR";
+        }
+        if (!result.unexpected().isEmpty()) {
+            return indexed.contains(result.name()) ? "INDEX_REQUIRED" : "NEW";
+        }
+        return result.found().isEmpty() ? "OK" : "BASELINE";
+    }
+
+    private static String issues(CaseResult result) {
+        if (result.error() != null) {
+            return escape(result.error());
+        }
+        List<String> issues = new ArrayList<>();
+        result.plans().forEach(plan -> plan.issues().forEach(issue -> issues.add(issue.describe())));
+        return String.join("<br>", issues);
+    }
+
+    private static String sql(CaseResult result) {
+        List<String> sql = new ArrayList<>();
+        result.plans().forEach(plan -> sql.add("`" + escape(plan.sql()) + "`"));
+        return String.join("<br>", sql);
+    }
+
+    private static String escape(String value) {
+        return value.replace("|", "\\|").replace("\n", " ");
+    }
+}
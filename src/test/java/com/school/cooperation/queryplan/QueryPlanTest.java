@@ -0,0 +1,358 @@
+package com.school.cooperation.queryplan;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.school.cooperation.entity.enums.ClassStatus;
+import com.school.cooperation.entity.enums.Gender;
+import com.school.cooperation.entity.enums.Importance;
+import com.school.cooperation.entity.enums.NotificationType;
+import com.school.cooperation.entity.enums.RecordType;
+import com.school.cooperation.entity.enums.StudentStatus;
+import com.school.cooperation.entity.enums.UserRole;
+import com.school.cooperation.entity.enums.UserStatus;
+import com.school.cooperation.queryplan.PlanInspector.IssueType;
+import com.school.cooperation.queryplan.PlanInspector.Plan;
+import com.school.cooperation.queryplan.QueryPlanBaseline.CaseResult;
+import com.school.cooperation.repository.EduClassRepository;
+import com.school.cooperation.repository.NotificationRepository;
+import com.school.cooperation.repository.StudentRecordRepository;
+import com.school.cooperation.repository.StudentRepository;
+import com.school.cooperation.repository.UserRepository;
+import com.school.cooperation.repository.criteria.ClassCriteria;
+import com.school.cooperation.repository.criteria.NotificationCriteria;
+import com.school.cooperation.repository.criteria.RecordCriteria;
+import com.school.cooperation.repository.criteria.StudentCriteria;
+import com.school.cooperation.repository.criteria.UserCriteria;
+import com.school.cooperation.support.MySqlTestDatabase;
+import com.school.cooperation.support.RequiresDocker;
+import com.school.cooperation.support.SqlRecorder;
+import com.school.cooperation.support.SqlRecorder.RecordedStatement;
+import com.school.cooperation.support.SqlRecordingConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DynamicContainer;
+import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 执行计划回归测试
+ * 在 MySQL 容器与 db/test-seed.sql 数据集上调用仓库层的每个查询方法，以及各 Criteria 的过滤条件组合
+ * （无条件、单个条件、两两组合、全部条件），记录实际下发的SQL与参数，在独立连接上执行 EXPLAIN FORMAT=JSON，
+ * 预估行数超过阈值的全表扫描、文件排序、临时表若不在 query-plan.yml 的基线中即失败；
+ * 列在 indexed 中的用例出现任何全表扫描或文件排序都失败。
+ * 报告写入 target/query-plan-report.md；以 -Dquery-plan.record=true 运行时除 indexed 用例外只记录不断言，
+ * 并写出 target/query-plan-baseline-actual.yml 供更新基线。Docker 不可用时测试失败，见 {@link RequiresDocker}。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@RequiresDocker
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Import(SqlRecordingConfig.class)
+class QueryPlanTest {
+
+    private static final boolean RECORD = Boolean.getBoolean("query-plan.record");
+
+    private static final String REPOSITORY_PACKAGE = "com.school.cooperation.repository";
+
+    private static final Set<String> WRITE_PREFIXES = Set.of("save", "delete", "remove", "update", "insert",
+            "increment", "decrement", "clear", "mark", "acquire", "release", "start", "backfill", "schedule");
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        MySqlTestDatabase.register(registry);
+    }
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EduClassRepository classRepository;
+
+    @Autowired
+    private StudentRecordRepository recordRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private TransactionTemplate transactionTemplate;
+    private QueryPlanBaseline baseline;
+    private PlanInspector inspector;
+    private Connection explainConnection;
+
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @TestFactory
+    Stream<DynamicNode> queriesUseIndexes() throws SQLException {
+        baseline = QueryPlanBaseline.load();
+        explainConnection = MySqlTestDatabase.openConnection();
+        inspector = new PlanInspector(explainConnection, objectMapper, baseline.thresholds());
+
+        return Stream.of(
+                DynamicContainer.dynamicContainer("仓库方法", repositoryCases()),
+                DynamicContainer.dynamicContainer("条件组合", criteriaCases()),
+                DynamicTest.dynamicTest("写出报告", () -> baseline.write(RECORD)));
+    }
+
+    @AfterAll
+    void closeConnection() throws SQLException {
+        if (explainConnection != null) {
+            explainConnection.close();
+        }
+    }
+
+    /**
+     * 仓库接口中声明的每个只读查询方法
+     */
+    @SuppressWarnings("rawtypes")
+    private List<DynamicTest> repositoryCases() {
+        List<DynamicTest> tests = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        Map<String, Repository> beans = applicationContext.getBeansOfType(Repository.class);
+        beans.values().stream()
+                .flatMap(bean -> ClassUtils.getAllInterfacesForClassAsSet(bean.getClass()).stream()
+                        .filter(type -> REPOSITORY_PACKAGE.equals(type.getPackageName()))
+                        .flatMap(type -> Stream.of(type.getDeclaredMethods())
+                                .filter(QueryPlanTest::isQueryMethod)
+                                .sorted(Comparator.comparing(Method::getName).thenComparing(Method::getParameterCount))
+                                .map(method -> Map.entry(bean, method))))
+                .sorted(Comparator.comparing(entry -> entry.getValue().getDeclaringClass().getSimpleName()))
+                .forEach(entry -> {
+                    Method method = entry.getValue();
+                    String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+                    if (!names.add(name)) {
+                        name = name + "/" + method.getParameterCount();
+                    }
+                    String caseName = name;
+                    tests.add(DynamicTest.dynamicTest(caseName, () -> invokeRepositoryMethod(caseName, entry.getKey(), method)));
+                });
+        return tests;
+    }
+
+    private void invokeRepositoryMethod(String name, Object repository, Method method) throws Exception {
+        Object[] args = RepositoryArguments.resolve(method);
+        if (args == null) {
+            baseline.recordError(name, "跳过：无法为参数构造测试值");
+            Assumptions.abort("无法为参数构造测试值: " + method);
+        }
+        explain(name, () -> {
+            try {
+                method.invoke(repository, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException() instanceof RuntimeException runtime ? runtime
+                        : new IllegalStateException(e.getTargetException());
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static boolean isQueryMethod(Method method) {
+        if (Modifier.isStatic(method.getModifiers()) || method.isSynthetic() || method.isBridge()
+                || method.getReturnType() == void.class || method.isAnnotationPresent(Modifying.class)) {
+            return false;
+        }
+        Query query = method.getAnnotation(Query.class);
+        if (query != null) {
+            String head = query.value().stripLeading().toUpperCase(Locale.ROOT);
+            if (head.startsWith("UPDATE") || head.startsWith("DELETE") || head.startsWith("INSERT")) {
+                return false;
+            }
+        }
+        String name = method.getName();
+        return WRITE_PREFIXES.stream().noneMatch(name::startsWith);
+    }
+
+    /**
+     * Criteria 过滤条件组合，按列表接口的默认顺序（创建时间倒序）分页
+     */
+    private List<DynamicTest> criteriaCases() {
+        List<DynamicTest> tests = new ArrayList<>();
+
+        Map<String, Consumer<UserCriteria.UserCriteriaBuilder>> user = new LinkedHashMap<>();
+        user.put("username", b -> b.username("teacher0").prefixMatch(true));
+        user.put("realName", b -> b.realName("王"));
+        user.put("phone", b -> b.phone("1390000").prefixMatch(true));
+        user.put("role", b -> b.role(UserRole.TEACHER));
+        user.put("status", b -> b.status(UserStatus.ACTIVE));
+        user.put("createdFrom", b -> b.createdFrom(LocalDateTime.of(2023, 9, 1, 0, 0)));
+        user.put("createdTo", b -> b.createdTo(LocalDateTime.of(2023, 10, 1, 0, 0)));
+        tests.addAll(combinations("UserCriteria", UserCriteria::builder, user, b -> {
+            UserCriteria criteria = b.sortBy("createdTime").direction(Sort.Direction.DESC).build();
+            return () -> userRepository.findAll(criteria.toSpecification(), PageRequest.of(0, 20, criteria.toSort()));
+        }));
+
+        Map<String, Consumer<StudentCriteria.StudentCriteriaBuilder>> student = new LinkedHashMap<>();
+        student.put("studentId", b -> b.studentId("S0001"));
+        student.put("name", b -> b.name("王").prefixMatch(true));
+        student.put("idCard", b -> b.idCard("110101"));
+        student.put("classId", b -> b.classId(1L));
+        student.put("classIds", b -> b.classIds(List.of(1L, 2L, 3L)));
+        student.put("gender", b -> b.gender(Gender.MALE));
+        student.put("status", b -> b.status(StudentStatus.ACTIVE));
+        tests.addAll(combinations("StudentCriteria", StudentCriteria::builder, student, b -> {
+            StudentCriteria criteria = b.sortBy("createdTime").direction(Sort.Direction.DESC).build();
+            return () -> studentRepository.findAll(criteria.toSpecification(), PageRequest.of(0, 20, criteria.toSort()));
+        }));
+
+        Map<String, Consumer<ClassCriteria.ClassCriteriaBuilder>> eduClass = new LinkedHashMap<>();
+        eduClass.put("name", b -> b.name("1年级"));
+        eduClass.put("grade", b -> b.grade("1"));
+        eduClass.put("teacherId", b -> b.teacherId(101L));
+        eduClass.put("status", b -> b.status(ClassStatus.ACTIVE));
+        tests.addAll(combinations("ClassCriteria", ClassCriteria::builder, eduClass, b -> {
+            ClassCriteria criteria = b.sortBy("createdTime").direction(Sort.Direction.DESC).build();
+            return () -> classRepository.findAll(criteria.toSpecification(), PageRequest.of(0, 20, criteria.toSort()));
+        }));
+
+        Map<String, Consumer<RecordCriteria.RecordCriteriaBuilder>> record = new LinkedHashMap<>();
+        record.put("studentId", b -> b.studentId(1L));
+        record.put("teacherId", b -> b.teacherId(101L));
+        record.put("classId", b -> b.classId(1L));
+        record.put("type", b -> b.type(RecordType.PRAISE));
+        record.put("category", b -> b.category("学习"));
+        record.put("title", b -> b.title("课堂"));
+        record.put("importance", b -> b.importance(Importance.HIGH));
+        record.put("isPublic", b -> b.isPublic(true));
+        record.put("startDate", b -> b.startDate(NOW.minusDays(30)));
+        record.put("endDate", b -> b.endDate(NOW));
+        tests.addAll(combinations("RecordCriteria", RecordCriteria::builder, record, b -> {
+            RecordCriteria criteria = b.sortBy("createdTime").direction(Sort.Direction.DESC).build();
+            return () -> recordRepository.findAll(criteria.toSpecification(), PageRequest.of(0, 20, criteria.toSort()));
+        }));
+
+        Map<String, Consumer<NotificationCriteria.NotificationCriteriaBuilder>> notification = new LinkedHashMap<>();
+        notification.put("userId", b -> b.userId(1001L));
+        notification.put("type", b -> b.type(NotificationType.RECORD));
+        notification.put("isRead", b -> b.isRead(false));
+        notification.put("relatedId", b -> b.relatedId(1L));
+        notification.put("startDate", b -> b.startDate(NOW.minusDays(30)));
+        notification.put("endDate", b -> b.endDate(NOW));
+        notification.put("title", b -> b.title("档案"));
+        tests.addAll(combinations("NotificationCriteria", NotificationCriteria::builder, notification, b -> {
+            NotificationCriteria criteria = b.sortBy("createdTime").direction(Sort.Direction.DESC).build();
+            return () -> notificationRepository.findAll(criteria.toSpecification(), PageRequest.of(0, 20, criteria.toSort()));
+        }));
+        return tests;
+    }
+
+    /**
+     * 无条件、每个单独条件、两两组合与全部条件
+     */
+    private <B> List<DynamicTest> combinations(String criteria, Supplier<B> builder, Map<String, Consumer<B>> filters,
+                                               Function<B, Runnable> query) {
+        List<String> keys = new ArrayList<>(filters.keySet());
+        List<List<String>> combinations = new ArrayList<>();
+        combinations.add(List.of());
+        keys.forEach(key -> combinations.add(List.of(key)));
+        for (int i = 0; i < keys.size(); i++) {
+            for (int j = i + 1; j < keys.size(); j++) {
+                combinations.add(List.of(keys.get(i), keys.get(j)));
+            }
+        }
+        if (keys.size() > 2) {
+            combinations.add(keys);
+        }
+
+        List<DynamicTest> tests = new ArrayList<>();
+        for (List<String> combination : combinations) {
+            String name = criteria + "[" + String.join("+", combination) + "]";
+            tests.add(DynamicTest.dynamicTest(name, () -> {
+                B target = builder.get();
+                combination.forEach(key -> filters.get(key).accept(target));
+                explain(name, query.apply(target));
+            }));
+        }
+        return tests;
+    }
+
+    /**
+     * 在回滚事务中执行调用，对其下发的每条查询执行 EXPLAIN 并与基线比较
+     */
+    private void explain(String name, Runnable invocation) throws Exception {
+        List<RecordedStatement> statements;
+        SqlRecorder.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                invocation.run();
+            });
+        } catch (RuntimeException e) {
+            baseline.recordError(name, e.toString());
+            throw e;
+        } finally {
+            statements = SqlRecorder.stop();
+        }
+
+        boolean indexed = baseline.isIndexed(name);
+        List<Plan> plans = new ArrayList<>();
+        for (RecordedStatement statement : statements) {
+            if (statement.isQuery()) {
+                plans.add(inspector.explain(statement, indexed));
+            }
+        }
+        CaseResult result = baseline.record(name, plans);
+        if (indexed) {
+            assertThat(result.found())
+                    .as("%s 必须走索引，实际执行计划: %s", name, plans)
+                    .doesNotContain(IssueType.FULL_SCAN, IssueType.FILESORT);
+        } else if (!RECORD) {
+            assertThat(result.unexpected())
+                    .as("%s 出现基线外的执行计划问题: %s", name, plans)
+                    .isEmpty();
+        }
+    }
+}
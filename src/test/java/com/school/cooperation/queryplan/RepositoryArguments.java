@@ -0,0 +1,167 @@
+package com.school.cooperation.queryplan;
+
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.Param;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 为仓库方法构造调用参数
+ * 按参数类型与参数名取测试数据集（db/test-seed.sql）中存在的值，使执行计划反映真实数据分布。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+final class RepositoryArguments {
+
+    private static final ParameterNameDiscoverer NAMES = new DefaultParameterNameDiscoverer();
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private RepositoryArguments() {
+    }
+
+    /**
+     * 构造参数，存在无法构造的参数类型时返回null
+     */
+    static Object[] resolve(Method method) {
+        Parameter[] parameters = method.getParameters();
+        String[] discovered = NAMES.getParameterNames(method);
+        Object[] args = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Param param = parameters[i].getAnnotation(Param.class);
+            String name = param != null ? param.value() : discovered != null ? discovered[i] : parameters[i].getName();
+            Object value = value(parameters[i].getType(), parameters[i].getParameterizedType(), name.toLowerCase(Locale.ROOT));
+            if (value == null) {
+                return null;
+            }
+            args[i] = value;
+        }
+        return args;
+    }
+
+    private static Object value(Class<?> type, Type genericType, String name) {
+        if (type == Long.class || type == long.class) {
+            return longValue(name);
+        }
+        if (type == Integer.class || type == int.class) {
+            return intValue(name);
+        }
+        if (type == String.class) {
+            return stringValue(name);
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return name.contains("public");
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        if (type == LocalDateTime.class) {
+            return isUpperBound(name) ? NOW : NOW.minusDays(30);
+        }
+        if (type == LocalDate.class) {
+            return isUpperBound(name) ? NOW.toLocalDate() : NOW.toLocalDate().minusYears(1);
+        }
+        if (Pageable.class.isAssignableFrom(type)) {
+            return PageRequest.of(0, 20);
+        }
+        if (type == Sort.class) {
+            return Sort.by("id");
+        }
+        if (Collection.class.isAssignableFrom(type) && genericType instanceof ParameterizedType parameterized) {
+            Type element = parameterized.getActualTypeArguments()[0];
+            List<?> values = element == String.class ? stringValues(name) : element == Long.class ? longValues(name) : null;
+            if (values == null) {
+                return null;
+            }
+            return Set.class.isAssignableFrom(type) ? Set.copyOf(values) : values;
+        }
+        return null;
+    }
+
+    private static Long longValue(String name) {
+        if (name.contains("teacher")) {
+            return 101L;
+        }
+        if (name.contains("parent") || name.contains("user")) {
+            return 1001L;
+        }
+        if (name.equals("lastid") || name.equals("cursor") || name.equals("startid") || name.equals("deleted")) {
+            return 0L;
+        }
+        if (name.equals("endid") || name.equals("beforeid")) {
+            return 1000L;
+        }
+        if (name.contains("backoff")) {
+            return 60L;
+        }
+        return 1L;
+    }
+
+    private static Integer intValue(String name) {
+        return switch (name) {
+            case "limit", "size" -> 20;
+            case "days" -> 7;
+            case "minage" -> 6;
+            case "maxage" -> 12;
+            case "maxattempts" -> 5;
+            case "maxcount" -> 30;
+            case "snippetlength" -> 100;
+            default -> 1;
+        };
+    }
+
+    private static String stringValue(String name) {
+        return switch (name) {
+            case "studentid" -> "S000001";
+            case "name", "realname", "query", "keyword" -> "王";
+            case "classname" -> "1年级";
+            case "username" -> "teacher001";
+            case "phone" -> "13900000001";
+            case "email" -> "teacher1@homeschool.test";
+            case "idcard" -> "110101000000000001";
+            case "category" -> "学习";
+            case "grade" -> "1";
+            case "title" -> "课堂";
+            case "tag" -> "阅读";
+            case "jobname" -> "sys_notification_retention";
+            case "owner" -> "query-plan-test";
+            default -> "test";
+        };
+    }
+
+    private static List<Long> longValues(String name) {
+        if (name.contains("parent")) {
+            return List.of(1001L, 1002L, 1003L);
+        }
+        if (name.contains("student")) {
+            return List.of(1L, 2L, 3L, 4L, 5L);
+        }
+        return List.of(1L, 2L, 3L);
+    }
+
+    private static List<String> stringValues(String name) {
+        if (name.contains("audience")) {
+            return List.of("SCHOOL:1", "GRADE:1:1", "CLASS:1");
+        }
+        return List.of("S000001", "S000002", "S000003");
+    }
+
+    private static boolean isUpperBound(String name) {
+        return name.contains("end") || name.contains("until") || name.contains("before") || name.equals("now")
+                || name.contains("readtime") || name.contains("logintime");
+    }
+}
@@ -0,0 +1,31 @@
+package com.school.cooperation.support;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.testcontainers.DockerClientFactory;
+
+/**
+ * {@link RequiresDocker} 的执行条件
+ * 在创建测试实例（加载Spring上下文、启动容器）之前检查Docker是否可用。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+class DockerRequiredCondition implements ExecutionCondition {
+
+    static final String SKIP_PROPERTY = "testcontainers.skip-without-docker";
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        if (DockerClientFactory.instance().isDockerAvailable()) {
+            return ConditionEvaluationResult.enabled("Docker可用");
+        }
+        String reason = "Docker不可用，无法启动测试容器";
+        if (Boolean.getBoolean(SKIP_PROPERTY)) {
+            return ConditionEvaluationResult.disabled(reason + "（-D" + SKIP_PROPERTY + "=true，已跳过）");
+        }
+        throw new ExtensionConfigurationException(reason + "；确需跳过请以 -D" + SKIP_PROPERTY + "=true 运行");
+    }
+}
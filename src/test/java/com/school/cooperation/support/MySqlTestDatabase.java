@@ -0,0 +1,139 @@
+package com.school.cooperation.support;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.containers.Container;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 测试用MySQL容器
+ * 所有测试共用一个容器：启动后按版本顺序用mysql客户端执行迁移脚本（脚本使用DELIMITER定义触发器），
+ * 再导入测试数据集。V4示例数据与当前表结构不一致，由测试数据集代替。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public final class MySqlTestDatabase {
+
+    public static final String DATABASE = "home_school";
+
+    private static final String IMAGE = "mysql:8.0.36";
+
+    private static final String MIGRATION_PATTERN = "classpath:db/migration/V*__*.sql";
+
+    private static final String SEED_SCRIPT = "db/test-seed.sql";
+
+    private static final Pattern VERSION = Pattern.compile("^V(\\d+)(?:_(\\d+))?__.*\\.sql$");
+
+    private static final List<String> SKIPPED_MIGRATIONS = List.of("V4__Insert_basic_test_data.sql");
+
+    private static final MySQLContainer<?> CONTAINER = new MySQLContainer<>(DockerImageName.parse(IMAGE))
+            .withDatabaseName(DATABASE)
+            .withUsername("test")
+            .withPassword("test")
+            .withCommand("--character-set-server=utf8mb4", "--collation-server=utf8mb4_unicode_ci",
+                    "--log-bin-trust-function-creators=1");
+
+    private static boolean initialized;
+
+    private MySqlTestDatabase() {
+    }
+
+    /**
+     * 启动容器并初始化表结构与数据（只执行一次）
+     */
+    public static synchronized MySQLContainer<?> start() {
+        if (!initialized) {
+            CONTAINER.start();
+            for (Resource migration : migrations()) {
+                if (!SKIPPED_MIGRATIONS.contains(migration.getFilename())) {
+                    execute("db/migration/" + migration.getFilename());
+                }
+            }
+            execute(SEED_SCRIPT);
+            initialized = true;
+        }
+        return CONTAINER;
+    }
+
+    /**
+     * 注册数据源属性
+     */
+    public static void register(DynamicPropertyRegistry registry) {
+        MySQLContainer<?> container = start();
+        registry.add("spring.datasource.url", MySqlTestDatabase::jdbcUrl);
+        registry.add("spring.datasource.username", container::getUsername);
+        registry.add("spring.datasource.password", container::getPassword);
+    }
+
+    /**
+     * 应用使用的JDBC连接串
+     */
+    public static String jdbcUrl() {
+        return start().getJdbcUrl()
+                + "?useUnicode=true&characterEncoding=utf8&useSSL=false&serverTimezone=Asia/Shanghai"
+                + "&allowPublicKeyRetrieval=true";
+    }
+
+    /**
+     * 打开一个独立于应用数据源的连接
+     */
+    public static Connection openConnection() throws SQLException {
+        MySQLContainer<?> container = start();
+        return DriverManager.getConnection(jdbcUrl(), container.getUsername(), container.getPassword());
+    }
+
+    /**
+     * 以root身份用mysql客户端执行classpath中的脚本
+     */
+    public static void execute(String classpathScript) {
+        String target = "/tmp/" + classpathScript.replace('/', '_');
+        CONTAINER.copyFileToContainer(MountableFile.forClasspathResource(classpathScript), target);
+        try {
+            Container.ExecResult result = CONTAINER.execInContainer("sh", "-c",
+                    "mysql --default-character-set=utf8mb4 -uroot -p" + CONTAINER.getPassword() + " < " + target);
+            if (result.getExitCode() != 0) {
+                throw new IllegalStateException("执行脚本失败: " + classpathScript + "\n" + result.getStderr());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("执行脚本被中断: " + classpathScript, e);
+        }
+    }
+
+    private static List<Resource> migrations() {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources(MIGRATION_PATTERN);
+            return Arrays.stream(resources)
+                    .filter(resource -> resource.getFilename() != null && VERSION.matcher(resource.getFilename()).matches())
+                    .sorted(Comparator.comparingInt((Resource resource) -> version(resource, 1))
+                            .thenComparingInt(resource -> version(resource, 2)))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int version(Resource resource, int group) {
+        Matcher matcher = VERSION.matcher(resource.getFilename());
+        matcher.matches();
+        String value = matcher.group(group);
+        return value != null ? Integer.parseInt(value) : 0;
+    }
+}
@@ -0,0 +1,25 @@
+package com.school.cooperation.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 依赖Docker容器的测试
+ * 替代 {@code @Testcontainers(disabledWithoutDocker = true)}：Docker 不可用时测试直接失败，
+ * 而不是被静默跳过；确需在无Docker环境跳过时以 -Dtestcontainers.skip-without-docker=true 运行，
+ * 测试在报告中标记为跳过并给出原因。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ExtendWith(DockerRequiredCondition.class)
+public @interface RequiresDocker {
+}
@@ -0,0 +1,124 @@
+package com.school.cooperation.support;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * JDBC层SQL计数
+ * 代理数据源，统计当前线程执行的语句数（批量执行按一次往返计）和读取的结果行数。
+ * 在JDBC层计数，Hibernate、JdbcTemplate 与原生查询都会被统计。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public final class SqlCounter {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    private SqlCounter() {
+    }
+
+    /**
+     * 开始统计当前线程
+     */
+    public static void start() {
+        CURRENT.set(new Counts());
+    }
+
+    /**
+     * 结束统计并返回结果
+     */
+    public static Counts stop() {
+        Counts counts = CURRENT.get();
+        CURRENT.remove();
+        return counts != null ? counts : new Counts();
+    }
+
+    /**
+     * 包装数据源
+     */
+    public static DataSource wrap(DataSource dataSource) {
+        return proxy(dataSource, DataSource.class, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? wrapConnection(connection) : result;
+        });
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return proxy(connection, Connection.class, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Statement statement ? wrapStatement(statement) : result;
+        });
+    }
+
+    private static Statement wrapStatement(Statement statement) {
+        Class<? extends Statement> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return proxy(statement, type, (target, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                Counts counts = CURRENT.get();
+                if (counts != null) {
+                    counts.statements++;
+                }
+            }
+            Object result = invoke(target, method, args);
+            return result instanceof ResultSet resultSet ? wrapResultSet(resultSet) : result;
+        });
+    }
+
+    private static ResultSet wrapResultSet(ResultSet resultSet) {
+        return proxy(resultSet, ResultSet.class, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                Counts counts = CURRENT.get();
+                if (counts != null) {
+                    counts.rows++;
+                }
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target, Class<? super T> type, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+        return (T) Proxy.newProxyInstance(SqlCounter.class.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    /**
+     * 统计结果
+     */
+    public static final class Counts {
+        private int statements;
+        private int rows;
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public int getRows() {
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.school.cooperation.support;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JDBC层SQL记录
+ * 代理数据源，记录当前线程执行的SQL及其参数绑定，供测试在另一连接上重放（如 EXPLAIN）。
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+public final class SqlRecorder {
+
+    private static final ThreadLocal<List<RecordedStatement>> CURRENT = new ThreadLocal<>();
+
+    private SqlRecorder() {
+    }
+
+    /**
+     * 开始记录当前线程
+     */
+    public static void start() {
+        CURRENT.set(new ArrayList<>());
+    }
+
+    /**
+     * 结束记录并返回按执行顺序排列的语句
+     */
+    public static List<RecordedStatement> stop() {
+        List<RecordedStatement> statements = CURRENT.get();
+        CURRENT.remove();
+        return statements != null ? statements : List.of();
+    }
+
+    /**
+     * 包装数据源
+     */
+    public static DataSource wrap(DataSource dataSource) {
+        return (DataSource) Proxy.newProxyInstance(SqlRecorder.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(dataSource, method, args);
+                    return result instanceof Connection connection ? wrapConnection(connection) : result;
+                });
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(SqlRecorder.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof PreparedStatement statement && args != null && args[0] instanceof String sql) {
+                        return wrapPrepared(statement, sql);
+                    }
+                    return result instanceof Statement statement ? wrapStatement(statement) : result;
+                });
+    }
+
+    private static Statement wrapStatement(Statement statement) {
+        return (Statement) Proxy.newProxyInstance(SqlRecorder.class.getClassLoader(), new Class<?>[]{Statement.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute") && args != null && args[0] instanceof String sql) {
+                        record(sql, Map.of());
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static PreparedStatement wrapPrepared(PreparedStatement statement, String sql) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class : PreparedStatement.class;
+        Map<Integer, Binding> bindings = new TreeMap<>();
+        return (PreparedStatement) Proxy.newProxyInstance(SqlRecorder.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        bindings.put(index, new Binding(method, args.clone()));
+                    } else if ("clearParameters".equals(name)) {
+                        bindings.clear();
+                    } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                        record(sql, bindings);
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static void record(String sql, Map<Integer, Binding> bindings) {
+        List<RecordedStatement> statements = CURRENT.get();
+        if (statements != null) {
+            statements.add(new RecordedStatement(sql, List.copyOf(bindings.values())));
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * 一次参数绑定（按原调用重放）
+     */
+    private record Binding(Method method, Object[] args) {
+    }
+
+    /**
+     * 一条已执行的语句
+     */
+    public record RecordedStatement(String sql, List<Binding> bindings) {
+
+        /**
+         * 是否为查询语句
+         */
+        public boolean isQuery() {
+            String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+            return head.startsWith("select") || head.startsWith("with") || head.startsWith("(");
+        }
+
+        /**
+         * 把记录的参数绑定到另一条语句上（占位符位置须一致）
+         */
+        public void bind(PreparedStatement target) throws SQLException {
+            for (Binding binding : bindings) {
+                try {
+                    binding.method().invoke(target, binding.args());
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException() instanceof SQLException sqlException ? sqlException
+                            : new SQLException("重放参数绑定失败: " + binding.method().getName(), e.getTargetException());
+                } catch (IllegalAccessException e) {
+                    throw new SQLException("重放参数绑定失败: " + binding.method().getName(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.school.cooperation.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * 为应用数据源挂上 {@link SqlRecorder}
+ *
+ * @author homeschool
+ * @since 1.0.0
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class SqlRecordingConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlRecordingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? SqlRecorder.wrap(dataSource) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,90 @@
+-- 测试数据集（查询预算与执行计划测试共用）
+-- 约1,700个用户、36个班级、1,440名学生、28,800条档案记录、8,000条通知，ID固定便于用例引用；
+-- 密码为占位值，由测试启动后统一写入已知密码的哈希
+
+USE home_school;
+
+SET SESSION cte_max_recursion_depth = 100000;
+
+-- 管理员
+INSERT INTO sys_user (id, username, password, real_name, phone, email, role, status, last_login_time, created_time, updated_time, deleted) VALUES
+(1, 'admin', '-', '系统管理员', '13800000001', 'admin@homeschool.test', 'ADMIN', 'ACTIVE', NOW(), TIMESTAMP '2023-08-01 08:00:00', NOW(), 0),
+(2, 'school_admin', '-', '学校管理员', '13800000002', 'school_admin@homeschool.test', 'SCHOOL_ADMIN', 'ACTIVE', NOW(), TIMESTAMP '2023-08-01 08:00:00', NOW(), 0);
+
+-- 教师（ID 101-160，每20人一个未激活，每7人一个从未登录）
+INSERT INTO sys_user (id, username, password, real_name, phone, email, role, status, last_login_time, created_time, updated_time, deleted)
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 60)
+SELECT 100 + n, CONCAT('teacher', LPAD(n, 3, '0')), '-', CONCAT(ELT(1 + n % 10, '王', '李', '张', '刘', '陈', '杨', '赵', '黄', '周', '吴'), '老师', n),
+       CONCAT('1390000', LPAD(n, 4, '0')), CONCAT('teacher', n, '@homeschool.test'), 'TEACHER',
+       IF(n % 20 = 0, 'INACTIVE', 'ACTIVE'),
+       IF(n % 7 = 0, NULL, NOW() - INTERVAL n DAY),
+       TIMESTAMP '2023-08-01 08:00:00' + INTERVAL n HOUR, NOW(), 0
+FROM seq;
+
+-- 家长（ID 1001-2600）
+INSERT INTO sys_user (id, username, password, real_name, phone, email, role, status, last_login_time, created_time, updated_time, deleted)
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1600)
+SELECT 1000 + n, CONCAT('parent', LPAD(n, 4, '0')), '-', CONCAT(ELT(1 + n % 10, '王', '李', '张', '刘', '陈', '杨', '赵', '黄', '周', '吴'), '家长', n),
+       CONCAT('1370000', LPAD(n, 4, '0')), IF(n % 4 = 0, NULL, CONCAT('parent', n, '@homeschool.test')), 'PARENT',
+       IF(n % 50 = 0, 'SUSPENDED', 'ACTIVE'),
+       IF(n % 5 = 0, NULL, NOW() - INTERVAL (n % 120) DAY),
+       TIMESTAMP '2023-09-01 08:00:00' + INTERVAL n MINUTE, NOW(), IF(n % 200 = 0, 1, 0)
+FROM seq;
+
+-- 班级（ID 1-36，6个年级各6个班，班主任为教师 100+ID）
+INSERT INTO edu_class (id, name, grade, teacher_id, student_count, description, status, created_time, updated_time, deleted)
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 36)
+SELECT n, CONCAT((n - 1) DIV 6 + 1, '年级', (n - 1) % 6 + 1, '班'), CAST((n - 1) DIV 6 + 1 AS CHAR), 100 + n, 40,
+       CONCAT('测试班级', n), IF(n = 36, 'INACTIVE', 'ACTIVE'),
+       TIMESTAMP '2023-08-15 08:00:00' + INTERVAL n HOUR, NOW(), 0
+FROM seq;
+
+-- 学生（ID 1-1440，每班40人，每50人一个转出）
+INSERT INTO edu_student (id, student_id, name, gender, birth_date, id_card, class_id, address, emergency_contact_name,
+                         emergency_contact_phone, emergency_contact_relation, enrollment_date, status, created_time, updated_time, deleted)
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1440)
+SELECT n, CONCAT('S', LPAD(n, 6, '0')),
+       CONCAT(ELT(1 + n % 10, '王', '李', '张', '刘', '陈', '杨', '赵', '黄', '周', '吴'),
+              ELT(1 + n % 12, '子涵', '欣怡', '浩然', '梓轩', '雨桐', '一诺', '宇航', '思远', '佳怡', '俊杰', '若曦', '明轩')),
+       IF(n % 2 = 1, 'MALE', 'FEMALE'),
+       DATE '2012-01-01' + INTERVAL ((n * 7) % 2190) DAY,
+       CONCAT('110101', LPAD(n, 12, '0')),
+       (n - 1) DIV 40 + 1,
+       CONCAT('测试市测试区', n, '号'), CONCAT('联系人', n), CONCAT('1360000', LPAD(n, 4, '0')), '父亲',
+       DATE '2023-09-01' - INTERVAL ((n - 1) DIV 240) YEAR,
+       IF(n % 50 = 0, 'TRANSFERRED', 'ACTIVE'),
+       TIMESTAMP '2023-09-01 08:00:00' + INTERVAL n MINUTE, NOW(), 0
+FROM seq;
+
+-- 家长学生关联：每名学生一位主要联系人，前160名学生另有一位家长
+INSERT INTO edu_parent_student (parent_id, student_id, relation, is_primary, created_time)
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1440)
+SELECT 1000 + n, n, 'FATHER', TRUE, NOW() FROM seq;
+
+INSERT INTO edu_parent_student (parent_id, student_id, relation, is_primary, created_time)
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 160)
+SELECT 2440 + n, n, 'MOTHER', FALSE, NOW() FROM seq;
+
+-- 档案记录（每名学生20条，分布在近两年内；班级ID与学期由触发器填充）
+INSERT INTO edu_student_record (id, student_id, teacher_id, type, category, title, content, tags, importance, is_public,
+                                parent_notified, created_time, updated_time, deleted)
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 28800)
+SELECT n, (n - 1) % 1440 + 1, 100 + ((n - 1) % 1440) DIV 40 + 1,
+       ELT(1 + n % 3, 'PRAISE', 'CRITICISM', 'NEUTRAL'),
+       ELT(1 + n % 5, '学习', '纪律', '卫生', '体育', '品德'),
+       CONCAT(ELT(1 + n % 5, '课堂表现', '作业情况', '值日表现', '运动会', '助人为乐'), n),
+       CONCAT('今天在', ELT(1 + n % 5, '语文课', '数学课', '大扫除', '体育课', '班会'), '上的表现记录，编号', n, '。'),
+       JSON_ARRAY(ELT(1 + n % 6, '阅读', '数学', '劳动', '合作', '礼貌', '进步')),
+       ELT(1 + n % 3, 'HIGH', 'MEDIUM', 'LOW'),
+       n % 10 <> 0, TRUE,
+       NOW() - INTERVAL (n % 700) DAY - INTERVAL (n % 1440) MINUTE, NOW(),
+       IF(n % 97 = 0, 1, 0)
+FROM seq;
+
+-- 家长通知（每位家长5条）
+INSERT INTO sys_notification (id, user_id, title, content, type, related_id, is_read, read_time, created_time)
+WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 8000)
+SELECT n, 1001 + (n - 1) % 1600, CONCAT('档案通知', n), CONCAT('您的孩子有一条新的档案记录，编号', n), 'RECORD', n,
+       n % 3 = 0, IF(n % 3 = 0, NOW() - INTERVAL (n % 30) DAY, NULL),
+       NOW() - INTERVAL (n % 180) DAY
+FROM seq;